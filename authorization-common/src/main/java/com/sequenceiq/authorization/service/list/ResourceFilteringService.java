@@ -14,6 +14,7 @@ import java.util.stream.Collectors;
 import jakarta.inject.Inject;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.authorization.resource.AuthorizationResourceAction;
@@ -23,9 +24,15 @@ import com.sequenceiq.cloudbreak.auth.crn.Crn;
 @Service
 public class ResourceFilteringService {
 
+    @Value("${authorization.list.decision.cache.enabled:false}")
+    private boolean decisionCacheEnabled;
+
     @Inject
     private GrpcUmsClient umsClient;
 
+    @Inject
+    private ResourceRightDecisionCache resourceRightDecisionCache;
+
     public <R extends Resource, E> List<E> filter(
             Crn userCrn,
             AuthorizationResourceAction action,
@@ -36,7 +43,9 @@ public class ResourceFilteringService {
         }
         Map<Optional<String>, List<R>> resourcesByParents = sortByParentResources(resources);
         List<String> resourceCrns = flattenByParentResources(resourcesByParents);
-        List<Boolean> result = umsClient.hasRightsOnResources(userCrn.toString(), resourceCrns, action.getRight());
+        List<Boolean> result = decisionCacheEnabled
+                ? resourceRightDecisionCache.hasRightsOnResources(userCrn, resourceCrns, action.getRight())
+                : umsClient.hasRightsOnResources(userCrn.toString(), resourceCrns, action.getRight());
         Map<String, Boolean> resultMap = calculateResultMap(resourcesByParents, result);
         return resultMapper.apply(resourceCrn -> resultMap.getOrDefault(resourceCrn, Boolean.FALSE));
     }
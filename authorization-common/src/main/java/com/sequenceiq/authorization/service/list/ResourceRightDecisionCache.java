@@ -0,0 +1,224 @@
+package com.sequenceiq.authorization.service.list;
+
+import static com.sequenceiq.authorization.service.list.ResourceRightDecisionCacheMetricType.AUTHZ_DECISION_CACHE_COVERAGE;
+import static com.sequenceiq.authorization.service.list.ResourceRightDecisionCacheMetricType.AUTHZ_DECISION_CACHE_HIT;
+import static com.sequenceiq.authorization.service.list.ResourceRightDecisionCacheMetricType.AUTHZ_DECISION_CACHE_INVALIDATION;
+import static com.sequenceiq.authorization.service.list.ResourceRightDecisionCacheMetricType.AUTHZ_DECISION_CACHE_MISS;
+import static com.sequenceiq.authorization.service.list.ResourceRightDecisionCacheMetricType.AUTHZ_DECISION_CACHE_SIZE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cloudera.thunderhead.service.usermanagement.UserManagementProto.GetEventGenerationIdsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Lists;
+import com.sequenceiq.cloudbreak.auth.altus.GrpcUmsClient;
+import com.sequenceiq.cloudbreak.auth.crn.Crn;
+import com.sequenceiq.cloudbreak.auth.crn.RegionAwareInternalCrnGeneratorUtil;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+import com.sequenceiq.cloudbreak.concurrent.MDCCopyDecorator;
+
+/**
+ * Caches the right check decisions of the list filtering per member, right and resource CRN, so a list call asks UMS only about the
+ * resources it has not seen recently, in chunks that are sent in parallel.
+ * <p>
+ * The decisions are keyed by the UMS event generation ids of the account, the same ids that FreeIPA user sync uses to detect group
+ * membership, role and resource assignment changes, so once the ids change the earlier decisions are not served anymore, even the ones
+ * of a UMS call that was still running when the ids changed. The old decisions are evicted by the TTL and the size limit. The ids are checked at most once in
+ * {@code authorization.list.decision.cache.generation.check.seconds} per account, and a decision is never kept longer than
+ * {@code authorization.list.decision.cache.ttl.seconds}. If the ids cannot be fetched, the list call is checked on UMS without the cache.
+ */
+@Component
+public class ResourceRightDecisionCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceRightDecisionCache.class);
+
+    private static final String RIGHT_TAG = "right";
+
+    @Value("${authorization.list.decision.cache.ttl.seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${authorization.list.decision.cache.max.entries:200000}")
+    private long maxEntries;
+
+    @Value("${authorization.list.decision.cache.generation.check.seconds:10}")
+    private long generationCheckSeconds;
+
+    @Value("${authorization.list.decision.cache.chunk.size:500}")
+    private int chunkSize;
+
+    @Value("${authorization.list.decision.cache.parallelism:4}")
+    private int parallelism;
+
+    @Inject
+    private GrpcUmsClient umsClient;
+
+    @Inject
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @Inject
+    private MetricService metricService;
+
+    private final ConcurrentMap<String, RightsGenerationIds> knownGenerationIds = new ConcurrentHashMap<>();
+
+    private Cache<DecisionKey, Boolean> decisions;
+
+    private Cache<String, RightsGenerationIds> checkedAccounts;
+
+    private ExecutorService umsCallExecutor;
+
+    @PostConstruct
+    public void init() {
+        decisions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+        checkedAccounts = Caffeine.newBuilder()
+                .expireAfterWrite(generationCheckSeconds, TimeUnit.SECONDS)
+                .build();
+        umsCallExecutor = commonExecutorServiceFactory.newThreadPoolExecutorService("authz-decision-ums", "authzDecisionUmsExecutor",
+                parallelism, parallelism, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy(),
+                List.of(new MDCCopyDecorator()));
+        metricService.registerGaugeMetric(AUTHZ_DECISION_CACHE_SIZE, decisions, Cache::estimatedSize, Map.of());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        umsCallExecutor.shutdownNow();
+    }
+
+    public List<Boolean> hasRightsOnResources(Crn memberCrn, List<String> resourceCrns, String right) {
+        String member = memberCrn.toString();
+        String accountId = memberCrn.getAccountId();
+        Optional<RightsGenerationIds> generationIds = RegionAwareInternalCrnGeneratorUtil.isInternalCrn(member)
+                ? Optional.empty()
+                : getGenerationIds(accountId);
+        if (generationIds.isEmpty()) {
+            return umsClient.hasRightsOnResources(member, resourceCrns, right);
+        }
+        Map<String, Boolean> decisionsByResource = new HashMap<>();
+        List<String> unknownResourceCrns = new ArrayList<>();
+        for (String resourceCrn : new LinkedHashSet<>(resourceCrns)) {
+            Boolean decision = decisions.getIfPresent(new DecisionKey(generationIds.get(), member, right, resourceCrn));
+            if (decision == null) {
+                unknownResourceCrns.add(resourceCrn);
+            } else {
+                decisionsByResource.put(resourceCrn, decision);
+            }
+        }
+        recordCoverage(right, decisionsByResource.size(), unknownResourceCrns.size());
+        Map<String, Boolean> umsDecisions = checkOnUms(member, unknownResourceCrns, right);
+        umsDecisions.forEach((resourceCrn, decision) -> decisions.put(new DecisionKey(generationIds.get(), member, right, resourceCrn), decision));
+        decisionsByResource.putAll(umsDecisions);
+        return resourceCrns.stream()
+                .map(decisionsByResource::get)
+                .toList();
+    }
+
+    private Optional<RightsGenerationIds> getGenerationIds(String accountId) {
+        RightsGenerationIds checkedGenerationIds = checkedAccounts.getIfPresent(accountId);
+        if (checkedGenerationIds != null) {
+            return Optional.of(checkedGenerationIds);
+        }
+        try {
+            RightsGenerationIds generationIds = RightsGenerationIds.of(accountId, umsClient.getEventGenerationIds(accountId));
+            RightsGenerationIds previousGenerationIds = knownGenerationIds.put(accountId, generationIds);
+            if (previousGenerationIds != null && !previousGenerationIds.equals(generationIds)) {
+                LOGGER.debug("UMS event generation ids of account {} changed, its earlier right check decisions are not used anymore", accountId);
+                metricService.incrementMetricCounter(AUTHZ_DECISION_CACHE_INVALIDATION);
+            }
+            checkedAccounts.put(accountId, generationIds);
+            return Optional.of(generationIds);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to get the UMS event generation ids of account {}, checking the rights without the decision cache", accountId, e);
+            return Optional.empty();
+        }
+    }
+
+    private Map<String, Boolean> checkOnUms(String member, List<String> resourceCrns, String right) {
+        if (resourceCrns.isEmpty()) {
+            return Map.of();
+        }
+        List<List<String>> chunks = Lists.partition(resourceCrns, chunkSize);
+        List<List<Boolean>> results = new ArrayList<>();
+        if (chunks.size() == 1) {
+            results.add(umsClient.hasRightsOnResources(member, resourceCrns, right));
+        } else {
+            LOGGER.debug("Checking right {} of {} on {} resources in {} chunks", right, member, resourceCrns.size(), chunks.size());
+            List<Future<List<Boolean>>> futures = chunks.stream()
+                    .map(chunk -> umsCallExecutor.submit(() -> umsClient.hasRightsOnResources(member, chunk, right)))
+                    .toList();
+            for (Future<List<Boolean>> future : futures) {
+                results.add(getChunkResult(future));
+            }
+        }
+        Map<String, Boolean> decisionsByResource = new HashMap<>();
+        for (int chunkIndex = 0; chunkIndex < chunks.size(); chunkIndex++) {
+            List<String> chunk = chunks.get(chunkIndex);
+            List<Boolean> chunkResult = results.get(chunkIndex);
+            for (int i = 0; i < chunk.size(); i++) {
+                decisionsByResource.put(chunk.get(i), chunkResult.get(i));
+            }
+        }
+        return decisionsByResource;
+    }
+
+    private List<Boolean> getChunkResult(Future<List<Boolean>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking rights on UMS", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to check rights on UMS", e.getCause());
+        }
+    }
+
+    private void recordCoverage(String right, int cachedCount, int unknownCount) {
+        metricService.incrementMetricCounter(AUTHZ_DECISION_CACHE_HIT, cachedCount, RIGHT_TAG, right);
+        metricService.incrementMetricCounter(AUTHZ_DECISION_CACHE_MISS, unknownCount, RIGHT_TAG, right);
+        int total = cachedCount + unknownCount;
+        if (total > 0) {
+            metricService.gauge(AUTHZ_DECISION_CACHE_COVERAGE, (double) cachedCount / total, Map.of(RIGHT_TAG, right));
+        }
+    }
+
+    private record DecisionKey(RightsGenerationIds generationIds, String memberCrn, String right, String resourceCrn) {
+    }
+
+    // Workload credential changes are left out, they do not change any right
+    private record RightsGenerationIds(String accountId, String roleAssignment, String resourceRoleAssignment, String groupMembership,
+            String actorDeleted) {
+
+        private static RightsGenerationIds of(String accountId, GetEventGenerationIdsResponse response) {
+            return new RightsGenerationIds(accountId, response.getLastRoleAssignmentEventId(), response.getLastResourceRoleAssignmentEventId(),
+                    response.getLastGroupMembershipChangedEventId(), response.getLastActorDeletedEventId());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sequenceiq.authorization.service.list;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum ResourceRightDecisionCacheMetricType implements Metric {
+
+    AUTHZ_DECISION_CACHE_HIT("authz.decision.cache.hit"),
+    AUTHZ_DECISION_CACHE_MISS("authz.decision.cache.miss"),
+    AUTHZ_DECISION_CACHE_COVERAGE("authz.decision.cache.coverage"),
+    AUTHZ_DECISION_CACHE_INVALIDATION("authz.decision.cache.invalidation"),
+    AUTHZ_DECISION_CACHE_SIZE("authz.decision.cache.size");
+
+    private final String metricName;
+
+    ResourceRightDecisionCacheMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
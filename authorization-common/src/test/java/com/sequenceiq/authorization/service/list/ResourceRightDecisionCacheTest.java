@@ -0,0 +1,163 @@
+package com.sequenceiq.authorization.service.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cloudera.thunderhead.service.usermanagement.UserManagementProto.GetEventGenerationIdsResponse;
+import com.sequenceiq.cloudbreak.auth.altus.GrpcUmsClient;
+import com.sequenceiq.cloudbreak.auth.crn.Crn;
+import com.sequenceiq.cloudbreak.auth.crn.CrnTestUtil;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceRightDecisionCacheTest {
+
+    private static final String ACCOUNT_ID = "ACCOUNT_ID";
+
+    private static final Crn USER_CRN = CrnTestUtil.getUserCrnBuilder()
+            .setAccountId(ACCOUNT_ID)
+            .setResource("RESOURCE_ID")
+            .build();
+
+    private static final String RIGHT = "datahub/describeDatahub";
+
+    private static final String DATAHUB_1 = "crn:cdp:datahub:us-west-1:ACCOUNT_ID:cluster:datahub-1";
+
+    private static final String DATAHUB_2 = "crn:cdp:datahub:us-west-1:ACCOUNT_ID:cluster:datahub-2";
+
+    private static final String DATAHUB_3 = "crn:cdp:datahub:us-west-1:ACCOUNT_ID:cluster:datahub-3";
+
+    @InjectMocks
+    private ResourceRightDecisionCache underTest;
+
+    @Mock
+    private GrpcUmsClient umsClient;
+
+    @Mock
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @Mock
+    private MetricService metricService;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(underTest, "maxEntries", 1000L);
+        ReflectionTestUtils.setField(underTest, "generationCheckSeconds", 60L);
+        ReflectionTestUtils.setField(underTest, "chunkSize", 500);
+        ReflectionTestUtils.setField(underTest, "parallelism", 2);
+        when(commonExecutorServiceFactory.newThreadPoolExecutorService(anyString(), anyString(), anyInt(), anyInt(), anyLong(), any(), any(), any(),
+                anyList())).thenReturn(executorService);
+        underTest.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void testOnlyUnknownResourcesAreCheckedOnUms() {
+        when(umsClient.getEventGenerationIds(ACCOUNT_ID)).thenReturn(generationIds("1"));
+        when(umsClient.hasRightsOnResources(USER_CRN.toString(), List.of(DATAHUB_1, DATAHUB_2), RIGHT)).thenReturn(List.of(true, false));
+        when(umsClient.hasRightsOnResources(USER_CRN.toString(), List.of(DATAHUB_3), RIGHT)).thenReturn(List.of(true));
+
+        List<Boolean> first = underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1, DATAHUB_2), RIGHT);
+        List<Boolean> second = underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1, DATAHUB_2, DATAHUB_3), RIGHT);
+
+        assertEquals(List.of(true, false), first);
+        assertEquals(List.of(true, false, true), second);
+    }
+
+    @Test
+    void testDecisionsAreDroppedWhenGenerationIdsChange() {
+        ReflectionTestUtils.setField(underTest, "generationCheckSeconds", 0L);
+        underTest.init();
+        when(umsClient.getEventGenerationIds(ACCOUNT_ID)).thenReturn(generationIds("1"), generationIds("2"));
+        when(umsClient.hasRightsOnResources(USER_CRN.toString(), List.of(DATAHUB_1), RIGHT)).thenReturn(List.of(false), List.of(true));
+
+        List<Boolean> beforeChange = underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1), RIGHT);
+        List<Boolean> afterChange = underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1), RIGHT);
+
+        assertEquals(List.of(false), beforeChange);
+        assertEquals(List.of(true), afterChange);
+    }
+
+    @Test
+    void testDecisionOfAnInFlightCheckIsNotServedAfterGenerationIdsChange() {
+        ReflectionTestUtils.setField(underTest, "generationCheckSeconds", 0L);
+        underTest.init();
+        when(umsClient.getEventGenerationIds(ACCOUNT_ID)).thenReturn(generationIds("1"), generationIds("2"));
+        List<List<Boolean>> duringFirstCheck = new ArrayList<>();
+        AtomicInteger umsCalls = new AtomicInteger();
+        when(umsClient.hasRightsOnResources(USER_CRN.toString(), List.of(DATAHUB_1), RIGHT)).thenAnswer(invocation -> {
+            if (umsCalls.getAndIncrement() == 0) {
+                duringFirstCheck.add(underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1), RIGHT));
+                return List.of(false);
+            }
+            return List.of(true);
+        });
+
+        List<Boolean> staleResult = underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1), RIGHT);
+        List<Boolean> afterChange = underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1), RIGHT);
+
+        assertEquals(List.of(false), staleResult);
+        assertEquals(List.of(List.of(true)), duringFirstCheck);
+        assertEquals(List.of(true), afterChange);
+        assertEquals(2, umsCalls.get());
+    }
+
+    @Test
+    void testUnknownResourcesAreCheckedInChunks() {
+        ReflectionTestUtils.setField(underTest, "chunkSize", 2);
+        when(umsClient.getEventGenerationIds(ACCOUNT_ID)).thenReturn(generationIds("1"));
+        when(umsClient.hasRightsOnResources(USER_CRN.toString(), List.of(DATAHUB_1, DATAHUB_2), RIGHT)).thenReturn(List.of(false, true));
+        when(umsClient.hasRightsOnResources(USER_CRN.toString(), List.of(DATAHUB_3), RIGHT)).thenReturn(List.of(true));
+
+        List<Boolean> result = underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1, DATAHUB_2, DATAHUB_3), RIGHT);
+
+        assertEquals(List.of(false, true, true), result);
+    }
+
+    @Test
+    void testRightsAreCheckedWithoutCacheWhenGenerationIdsAreNotAvailable() {
+        when(umsClient.getEventGenerationIds(ACCOUNT_ID)).thenThrow(new IllegalStateException("UMS is not available"));
+        when(umsClient.hasRightsOnResources(USER_CRN.toString(), List.of(DATAHUB_1, DATAHUB_1), RIGHT)).thenReturn(List.of(true, true));
+
+        List<Boolean> result = underTest.hasRightsOnResources(USER_CRN, List.of(DATAHUB_1, DATAHUB_1), RIGHT);
+
+        assertEquals(List.of(true, true), result);
+        verify(umsClient, never()).hasRightsOnResources(USER_CRN.toString(), List.of(DATAHUB_1), RIGHT);
+    }
+
+    private GetEventGenerationIdsResponse generationIds(String roleAssignmentEventId) {
+        return GetEventGenerationIdsResponse.newBuilder()
+                .setLastRoleAssignmentEventId(roleAssignmentEventId)
+                .build();
+    }
+}
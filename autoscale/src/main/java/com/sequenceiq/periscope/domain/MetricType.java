@@ -30,7 +30,10 @@ public enum MetricType implements Metric {
     THREADPOOL_QUEUE_SIZE("threadpool.queue.size"),
     THREADPOOL_ACTIVE_THREADS("threadpool.threads.active"),
     THREADPOOL_THREADS_TOTAL("threadpool.threads.coresize"),
-    THREADPOOL_TASKS_COMPLETED("threadpool.tasks.completed");
+    THREADPOOL_TASKS_COMPLETED("threadpool.tasks.completed"),
+
+    MONITOR_TICK_DURATION("monitor.tick.duration"),
+    MONITOR_SCHEDULING_LAG("monitor.scheduling.lag");
 
     private final String metricName;
 
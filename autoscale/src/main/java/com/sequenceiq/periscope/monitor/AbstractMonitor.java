@@ -1,5 +1,6 @@
 package com.sequenceiq.periscope.monitor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -9,29 +10,55 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 
+import com.google.common.collect.Lists;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
+import com.sequenceiq.periscope.domain.MetricType;
 import com.sequenceiq.periscope.monitor.context.EvaluatorContext;
 import com.sequenceiq.periscope.monitor.evaluator.EvaluatorExecutor;
 import com.sequenceiq.periscope.monitor.executor.ExecutorServiceWithRegistry;
+import com.sequenceiq.periscope.service.PeriscopeMetricService;
 import com.sequenceiq.periscope.service.RejectedThreadService;
 
 public abstract class AbstractMonitor<M extends Monitored> implements Monitor<M> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractMonitor.class);
 
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String MONITOR_TAG = "monitor";
+
     private ApplicationContext applicationContext;
 
     private ExecutorServiceWithRegistry executorServiceWithRegistry;
 
     private RejectedThreadService rejectedThreadService;
 
+    private PeriscopeMetricService metricService;
+
     @Override
     public void execute(JobExecutionContext context) {
         MDCBuilder.buildMdcContext();
         evalContext(context);
+        long tickStart = System.currentTimeMillis();
         List<M> monitoredData = getMonitored();
         LOGGER.debug("Job started: {}, monitored: {}", context.getJobDetail().getKey(), monitoredData.size());
-        for (M monitored : monitoredData) {
+        int submittedCount = 0;
+        for (List<M> chunk : Lists.partition(monitoredData, CHUNK_SIZE)) {
+            List<M> submitted = submitAll(chunk, tickStart);
+            long lastEvaluated = System.currentTimeMillis();
+            submitted.forEach(monitored -> monitored.setLastEvaluated(lastEvaluated));
+            saveAll(submitted);
+            submittedCount += submitted.size();
+        }
+        long tickDuration = System.currentTimeMillis() - tickStart;
+        metricService.recordTimer(tickDuration, MetricType.MONITOR_TICK_DURATION, MONITOR_TAG, getIdentifier());
+        LOGGER.debug("Job finished: {}, submitted {} of {} monitored in {}ms", context.getJobDetail().getKey(), submittedCount, monitoredData.size(),
+                tickDuration);
+    }
+
+    private List<M> submitAll(List<M> chunk, long tickStart) {
+        List<M> submitted = new ArrayList<>(chunk.size());
+        for (M monitored : chunk) {
             try {
                 EvaluatorExecutor evaluatorExecutor = getEvaluatorExecutorBean(monitored);
                 EvaluatorContext evaluatorContext = getContext(monitored);
@@ -40,12 +67,13 @@ public abstract class AbstractMonitor<M extends Monitored> implements Monitor<M>
                 // TODO CB-14972: The size of the queue needs to be logged occasionally.
                 LOGGER.debug("Successfully submitted {} for cluster {}.", evaluatorExecutor.getName(), evaluatorContext.getData());
                 rejectedThreadService.remove(evaluatorContext.getData());
-                monitored.setLastEvaluated(System.currentTimeMillis());
-                save(monitored);
+                metricService.recordTimer(System.currentTimeMillis() - tickStart, MetricType.MONITOR_SCHEDULING_LAG, MONITOR_TAG, getIdentifier());
+                submitted.add(monitored);
             } catch (RejectedExecutionException ignore) {
                 LOGGER.info("Error in processing monitor: {}", monitored, ignore);
             }
         }
+        return submitted;
     }
 
     void evalContext(JobExecutionContext context) {
@@ -53,6 +81,7 @@ public abstract class AbstractMonitor<M extends Monitored> implements Monitor<M>
         applicationContext = (ApplicationContext) monitorContext.get(MonitorContext.APPLICATION_CONTEXT.name());
         executorServiceWithRegistry = applicationContext.getBean(ExecutorServiceWithRegistry.class);
         rejectedThreadService = applicationContext.getBean(RejectedThreadService.class);
+        metricService = applicationContext.getBean(PeriscopeMetricService.class);
     }
 
     protected ApplicationContext getApplicationContext() {
@@ -67,6 +96,14 @@ public abstract class AbstractMonitor<M extends Monitored> implements Monitor<M>
 
     protected abstract void save(M monitored);
 
+    /**
+     * Persists the evaluation timestamp of a chunk of monitored items. Monitors that can update all of them with one statement should
+     * override it, by default every item is saved one by one.
+     */
+    protected void saveAll(List<M> monitored) {
+        monitored.forEach(this::save);
+    }
+
     protected RejectedThreadService getRejectedThreadService() {
         return rejectedThreadService;
     }
@@ -36,6 +36,14 @@ public abstract class ClusterMonitor extends AbstractMonitor<Cluster> {
         clusterService.setLastEvaluated(monitored.getId(), monitored.getLastEvaluated());
     }
 
+    @Override
+    protected void saveAll(List<Cluster> monitored) {
+        if (!monitored.isEmpty()) {
+            //All clusters of a chunk are evaluated with the same timestamp, so one update is enough.
+            clusterService.setLastEvaluated(monitored.stream().map(Cluster::getId).toList(), monitored.getFirst().getLastEvaluated());
+        }
+    }
+
     NodeConfig getPeriscopeNodeConfig() {
         return periscopeNodeConfig;
     }
@@ -6,6 +6,7 @@ import static com.sequenceiq.periscope.common.MessageCode.CLUSTER_EXISTS_FOR_CRN
 import static com.sequenceiq.periscope.service.NotFoundException.notFound;
 import static org.springframework.util.StringUtils.isEmpty;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -237,6 +238,12 @@ public class ClusterService {
         clusterRepository.setClusterLastEvaluated(clusterId, lastEvaluated);
     }
 
+    public void setLastEvaluated(Collection<Long> clusterIds, Long lastEvaluated) {
+        if (!clusterIds.isEmpty()) {
+            clusterRepository.setClustersLastEvaluated(clusterIds, lastEvaluated);
+        }
+    }
+
     public void setEnvironmentCrn(Long clusterId, String environmentCrn) {
         clusterRepository.setEnvironmentCrn(clusterId, environmentCrn);
     }
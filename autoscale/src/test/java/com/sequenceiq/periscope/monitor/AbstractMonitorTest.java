@@ -1,6 +1,8 @@
 package com.sequenceiq.periscope.monitor;
 
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -22,10 +24,12 @@ import org.springframework.context.ApplicationContext;
 import com.sequenceiq.cloudbreak.ha.NodeConfig;
 import com.sequenceiq.periscope.api.model.ClusterState;
 import com.sequenceiq.periscope.domain.Cluster;
+import com.sequenceiq.periscope.domain.MetricType;
 import com.sequenceiq.periscope.monitor.context.EvaluatorContext;
 import com.sequenceiq.periscope.monitor.evaluator.EvaluatorExecutor;
 import com.sequenceiq.periscope.monitor.executor.ExecutorServiceWithRegistry;
 import com.sequenceiq.periscope.service.ClusterService;
+import com.sequenceiq.periscope.service.PeriscopeMetricService;
 import com.sequenceiq.periscope.service.RejectedThreadService;
 
 public class AbstractMonitorTest {
@@ -49,6 +53,9 @@ public class AbstractMonitorTest {
     @Mock
     private RejectedThreadService rejectedThreadService;
 
+    @Mock
+    private PeriscopeMetricService metricService;
+
     @Mock
     private Monitored monitored;
 
@@ -72,6 +79,8 @@ public class AbstractMonitorTest {
         verify(executorServiceWithRegistry).submitIfAbsent(testExecutor, CLUSTER_ID);
         verify(monitored).setLastEvaluated(anyLong());
         verify(rejectedThreadService).remove(CLUSTER_ID);
+        verify(metricService).recordTimer(anyLong(), eq(MetricType.MONITOR_SCHEDULING_LAG), eq("monitor"), isNull());
+        verify(metricService).recordTimer(anyLong(), eq(MetricType.MONITOR_TICK_DURATION), eq("monitor"), isNull());
     }
 
     private JobExecutionContext getContext() {
@@ -88,6 +97,7 @@ public class AbstractMonitorTest {
         when(applicationContext.getBean(NodeConfig.class)).thenReturn(periscopeNodeConfig);
         when(applicationContext.getBean(testExecutor.getClass().getSimpleName(), EvaluatorExecutor.class)).thenReturn(testExecutor);
         when(applicationContext.getBean(RejectedThreadService.class)).thenReturn(rejectedThreadService);
+        when(applicationContext.getBean(PeriscopeMetricService.class)).thenReturn(metricService);
 
         return jobExecutionContext;
     }
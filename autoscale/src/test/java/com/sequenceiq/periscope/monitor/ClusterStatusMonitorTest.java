@@ -4,8 +4,10 @@ package com.sequenceiq.periscope.monitor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +32,8 @@ class ClusterStatusMonitorTest {
 
     private static final String TEST_PERISCOPE_NODE_CONFIG = "periscope-node-id";
 
+    private static final Long LAST_EVALUATED = 1000L;
+
     @InjectMocks
     private ClusterStatusMonitor underTest;
 
@@ -52,4 +56,17 @@ class ClusterStatusMonitorTest {
         assertThat(result).hasSize(1);
         verify(clusterService).findClusterIdsByStackTypeAndPeriscopeNodeIdAndAutoscalingEnabled(any(StackType.class), anyString(), anyBoolean());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSaveAllUpdatesLastEvaluatedWithOneStatement() {
+        Cluster cluster1 = new Cluster(TEST_CLUSTER_ID);
+        Cluster cluster2 = new Cluster(2L);
+        cluster1.setLastEvaluated(LAST_EVALUATED);
+        cluster2.setLastEvaluated(LAST_EVALUATED);
+
+        underTest.saveAll(List.of(cluster1, cluster2));
+
+        verify(clusterService).setLastEvaluated(List.of(TEST_CLUSTER_ID, 2L), LAST_EVALUATED);
+        verify(clusterService, never()).setLastEvaluated(anyLong(), anyLong());
+    }
+}
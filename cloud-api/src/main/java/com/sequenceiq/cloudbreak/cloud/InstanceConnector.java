@@ -120,6 +120,29 @@ public interface InstanceConnector {
         return check(authenticatedContext, vms);
     }
 
+    /**
+     * Tells whether {@link #checkInBulk(AuthenticatedContext, List)} can check the instances of several stacks with the authenticated context
+     * of one of them.
+     *
+     * @return true if the instances of stacks sharing the credential, the region and the platform variant can be checked together
+     */
+    default boolean isBulkCheckSupported() {
+        return false;
+    }
+
+    /**
+     * Invoked to check the state of instances which may belong to different stacks sharing the credential, the region and the platform
+     * variant of the authenticated context. Implementations query the provider with as few calls as possible. (Retry logic won't be used
+     * in this case)
+     *
+     * @param authenticatedContext the authenticated context of one of the stacks which holds the client object
+     * @param vms                  the VM instances of all the stacks for which the status needs to be checked
+     * @return status of instances, holding the same {@link CloudInstance} objects as {@code vms}
+     */
+    default List<CloudVmInstanceStatus> checkInBulk(AuthenticatedContext authenticatedContext, List<CloudInstance> vms) {
+        return checkWithoutRetry(authenticatedContext, vms);
+    }
+
     /**
      * Gets the Consol output of a particular VM, useful for debugging and also required for setting up a secure connection between Cloudbreak and VM instances
      * since the SSH fingerprint is written into the console output.
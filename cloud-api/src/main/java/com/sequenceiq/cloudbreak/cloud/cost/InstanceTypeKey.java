@@ -0,0 +1,6 @@
+package com.sequenceiq.cloudbreak.cloud.cost;
+
+import com.sequenceiq.cloudbreak.common.mappable.CloudPlatform;
+
+public record InstanceTypeKey(CloudPlatform cloudPlatform, String region, String instanceType) {
+}
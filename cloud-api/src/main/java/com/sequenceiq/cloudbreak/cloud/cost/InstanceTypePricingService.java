@@ -0,0 +1,118 @@
+package com.sequenceiq.cloudbreak.cloud.cost;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.sequenceiq.cloudbreak.cloud.PricingCache;
+import com.sequenceiq.cloudbreak.cloud.model.ExtendedCloudCredential;
+import com.sequenceiq.cloudbreak.common.mappable.CloudPlatform;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+import com.sequenceiq.cloudbreak.concurrent.MDCCopyDecorator;
+
+/**
+ * Looks up the prices and resources of the instance types of many stacks at once. Every platform, region and instance type is looked up only
+ * once, and the lookups, which may reach the pricing API of the provider, run in parallel. A lookup that does not finish in
+ * {@code cb.cost.pricing.lookup.timeout.seconds} is handled as if the provider had no price for the instance type.
+ */
+@Service
+public class InstanceTypePricingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstanceTypePricingService.class);
+
+    @Value("${cb.cost.pricing.lookup.parallelism:8}")
+    private int parallelism;
+
+    @Value("${cb.cost.pricing.lookup.timeout.seconds:120}")
+    private long timeoutSeconds;
+
+    @Inject
+    private Map<CloudPlatform, PricingCache> pricingCacheMap;
+
+    @Inject
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    private ExecutorService lookupExecutor;
+
+    @PostConstruct
+    public void init() {
+        lookupExecutor = commonExecutorServiceFactory.newThreadPoolExecutorService("pricing-lookup", "pricingLookupExecutor", parallelism,
+                parallelism, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy(),
+                List.of(new MDCCopyDecorator()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    public Map<InstanceTypeKey, Double> getPricesForInstanceTypes(Map<InstanceTypeKey, ExtendedCloudCredential> instanceTypes) {
+        return lookUp(instanceTypes, (pricingCache, instanceType, credential) ->
+                pricingCache.getPriceForInstanceType(instanceType.region(), instanceType.instanceType(), credential));
+    }
+
+    public Map<InstanceTypeKey, InstanceTypeResources> getResourcesForInstanceTypes(Map<InstanceTypeKey, ExtendedCloudCredential> instanceTypes) {
+        return lookUp(instanceTypes, (pricingCache, instanceType, credential) -> {
+            Optional<Integer> cpuCount = pricingCache.getCpuCountForInstanceType(instanceType.region(), instanceType.instanceType(), credential);
+            Optional<Integer> memory = pricingCache.getMemoryForInstanceType(instanceType.region(), instanceType.instanceType(), credential);
+            return cpuCount.isPresent() && memory.isPresent()
+                    ? Optional.of(new InstanceTypeResources(cpuCount.get(), memory.get()))
+                    : Optional.empty();
+        });
+    }
+
+    private <T> Map<InstanceTypeKey, T> lookUp(Map<InstanceTypeKey, ExtendedCloudCredential> instanceTypes, InstanceTypeLookup<T> lookup) {
+        LOGGER.debug("Looking up {} instance types in parallel", instanceTypes.size());
+        Map<InstanceTypeKey, Future<Optional<T>>> futures = new HashMap<>();
+        instanceTypes.forEach((instanceType, credential) -> {
+            PricingCache pricingCache = pricingCacheMap.get(instanceType.cloudPlatform());
+            if (pricingCache != null) {
+                futures.put(instanceType, lookupExecutor.submit(() -> lookup.lookUp(pricingCache, instanceType, credential)));
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        Map<InstanceTypeKey, T> result = new HashMap<>();
+        futures.forEach((instanceType, future) -> getLookupResult(instanceType, future, deadline).ifPresent(value -> result.put(instanceType, value)));
+        return result;
+    }
+
+    private <T> Optional<T> getLookupResult(InstanceTypeKey instanceType, Future<Optional<T>> future, long deadline) {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn("Looking up instance type {} did not finish in {} seconds, it is skipped", instanceType, timeoutSeconds);
+            future.cancel(true);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while looking up instance type " + instanceType, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to look up instance type " + instanceType, e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface InstanceTypeLookup<T> {
+        Optional<T> lookUp(PricingCache pricingCache, InstanceTypeKey instanceType, ExtendedCloudCredential credential);
+    }
+}
@@ -0,0 +1,4 @@
+package com.sequenceiq.cloudbreak.cloud.cost;
+
+public record InstanceTypeResources(int cpuCount, int memory) {
+}
@@ -0,0 +1,94 @@
+package com.sequenceiq.cloudbreak.cloud.cost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.PricingCache;
+import com.sequenceiq.cloudbreak.cloud.model.ExtendedCloudCredential;
+import com.sequenceiq.cloudbreak.common.mappable.CloudPlatform;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+
+@ExtendWith(MockitoExtension.class)
+class InstanceTypePricingServiceTest {
+
+    private static final InstanceTypeKey M5_XLARGE = new InstanceTypeKey(CloudPlatform.AWS, "us-west-1", "m5.xlarge");
+
+    private static final InstanceTypeKey M5_2XLARGE = new InstanceTypeKey(CloudPlatform.AWS, "us-west-1", "m5.2xlarge");
+
+    private static final InstanceTypeKey N2_STANDARD = new InstanceTypeKey(CloudPlatform.GCP, "us-west1", "n2-standard-8");
+
+    @InjectMocks
+    private InstanceTypePricingService underTest;
+
+    @Mock
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @Mock
+    private PricingCache pricingCache;
+
+    @Mock
+    private ExtendedCloudCredential credential;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "parallelism", 2);
+        ReflectionTestUtils.setField(underTest, "timeoutSeconds", 10L);
+        ReflectionTestUtils.setField(underTest, "pricingCacheMap", Map.of(CloudPlatform.AWS, pricingCache));
+        when(commonExecutorServiceFactory.newThreadPoolExecutorService(anyString(), anyString(), anyInt(), anyInt(), anyLong(), any(), any(), any(),
+                anyList())).thenReturn(executorService);
+        underTest.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void testPricesAreLookedUpOnlyForPlatformsWithPricing() {
+        when(pricingCache.getPriceForInstanceType("us-west-1", "m5.xlarge", credential)).thenReturn(Optional.of(0.192));
+        when(pricingCache.getPriceForInstanceType("us-west-1", "m5.2xlarge", credential)).thenReturn(Optional.empty());
+
+        Map<InstanceTypeKey, Double> result = underTest.getPricesForInstanceTypes(Map.of(
+                M5_XLARGE, credential,
+                M5_2XLARGE, credential,
+                N2_STANDARD, credential));
+
+        assertThat(result).containsExactlyEntriesOf(Map.of(M5_XLARGE, 0.192));
+    }
+
+    @Test
+    void testResourcesAreReturnedOnlyWhenCpuCountAndMemoryAreKnown() {
+        when(pricingCache.getCpuCountForInstanceType("us-west-1", "m5.xlarge", credential)).thenReturn(Optional.of(4));
+        when(pricingCache.getMemoryForInstanceType("us-west-1", "m5.xlarge", credential)).thenReturn(Optional.of(16));
+        when(pricingCache.getCpuCountForInstanceType("us-west-1", "m5.2xlarge", credential)).thenReturn(Optional.of(8));
+        when(pricingCache.getMemoryForInstanceType("us-west-1", "m5.2xlarge", credential)).thenReturn(Optional.empty());
+
+        Map<InstanceTypeKey, InstanceTypeResources> result = underTest.getResourcesForInstanceTypes(Map.of(
+                M5_XLARGE, credential,
+                M5_2XLARGE, credential));
+
+        assertThat(result).containsExactlyEntriesOf(Map.of(M5_XLARGE, new InstanceTypeResources(4, 16)));
+    }
+}
@@ -38,7 +38,7 @@ public class AwsCloudFormationClient extends AwsClient {
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
                 .region(Region.of(regionName))
-                .overrideConfiguration(getDefaultClientConfiguration());
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential));
         return cloudFormationClientBuilder.build();
     }
 
@@ -47,7 +47,7 @@ public class AwsCloudFormationClient extends AwsClient {
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
                 .region(Region.of(regionName))
-                .overrideConfiguration(getDefaultClientConfiguration());
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential));
         return new AmazonAutoScalingClient(proxy(autoScalingClientBuilder.build(), awsCredential, regionName), retry);
     }
 }
@@ -44,6 +44,7 @@ import com.sequenceiq.cloudbreak.cloud.aws.common.AwsSessionCredentialClient;
 import com.sequenceiq.cloudbreak.cloud.aws.common.AwsTagValidator;
 import com.sequenceiq.cloudbreak.cloud.aws.common.CommonAwsClient;
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApacheClient;
+import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApiRateLimiter;
 import com.sequenceiq.cloudbreak.cloud.aws.common.config.AwsConfig;
 import com.sequenceiq.cloudbreak.cloud.aws.common.endpoint.AwsRegionEndpointProvider;
 import com.sequenceiq.cloudbreak.cloud.aws.common.endpoint.AwsServiceEndpointProvider;
@@ -240,6 +241,7 @@ class AwsValidatorsTest {
             AwsConfig.class,
             AwsAuthenticator.class,
             CommonAwsClient.class,
+            AwsApiRateLimiter.class,
             AwsSessionCredentialClient.class,
             AwsDefaultZoneProvider.class,
             AwsEnvironmentVariableChecker.class,
@@ -27,6 +27,7 @@ import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
 import com.sequenceiq.cloudbreak.cloud.template.GroupResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.NetworkResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.transform.CloudResourceHelper;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.service.Retry;
 import com.sequenceiq.cloudbreak.tag.CostTagging;
 import com.sequenceiq.cloudbreak.util.FreeMarkerTemplateUtils;
@@ -77,6 +78,9 @@ public class TestConfig {
     @MockBean
     private FreeMarkerTemplateUtils freeMarkerTemplateUtils;
 
+    @MockBean(name = "CommonMetricService")
+    private MetricService metricService;
+
     static Answer<?> getAnswer() {
         return invocation -> {
             Object[] args = invocation.getArguments();
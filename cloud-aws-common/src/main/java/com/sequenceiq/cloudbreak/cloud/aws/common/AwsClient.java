@@ -22,6 +22,7 @@ import com.sequenceiq.cloudbreak.cloud.aws.common.client.AmazonS3Client;
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AmazonSecretsManagerClient;
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AmazonSecurityTokenServiceClient;
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApacheClient;
+import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApiRateLimiter;
 import com.sequenceiq.cloudbreak.cloud.aws.common.mapper.SdkClientExceptionMapper;
 import com.sequenceiq.cloudbreak.cloud.aws.common.metrics.AwsMetricPublisher;
 import com.sequenceiq.cloudbreak.cloud.aws.common.util.AwsPageCollector;
@@ -100,6 +101,9 @@ public abstract class AwsClient {
     @Inject
     private AwsApacheClient awsApacheClient;
 
+    @Inject
+    private AwsApiRateLimiter awsApiRateLimiter;
+
     public AuthenticatedContext createAuthenticatedContext(CloudContext cloudContext, CloudCredential cloudCredential) {
         AuthenticatedContext authenticatedContext = new AuthenticatedContext(cloudContext, cloudCredential);
         try {
@@ -122,7 +126,7 @@ public abstract class AwsClient {
     }
 
     public AmazonEc2Client createAccessWithMinimalRetries(AwsCredentialView awsCredential, String regionName) {
-        Ec2Client ec2Client = createAccessWithClientConfiguration(awsCredential, regionName, getClientConfigurationWithMinimalRetries());
+        Ec2Client ec2Client = createAccessWithClientConfiguration(awsCredential, regionName, getClientConfigurationWithMinimalRetries(awsCredential));
         return new AmazonEc2Client(ec2Client, retry);
     }
 
@@ -141,7 +145,7 @@ public abstract class AwsClient {
     }
 
     private Ec2Client createAccess(AwsCredentialView awsCredential, String regionName) {
-        return createAccessWithClientConfiguration(awsCredential, regionName, getDefaultClientConfiguration());
+        return createAccessWithClientConfiguration(awsCredential, regionName, getDefaultClientConfiguration(awsCredential));
     }
 
     private Ec2Client createAccessWithClientConfiguration(AwsCredentialView awsCredential, String regionName, ClientOverrideConfiguration clientConfiguration) {
@@ -157,7 +161,7 @@ public abstract class AwsClient {
     public AmazonCloudWatchClient createCloudWatchClient(AwsCredentialView awsCredential, String regionName) {
         CloudWatchClientBuilder cloudWatchClientBuilder = CloudWatchClient.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
-                .overrideConfiguration(getDefaultClientConfiguration())
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential))
                 .credentialsProvider(getCredentialProvider(awsCredential))
                 .region(Region.of(regionName));
         return new AmazonCloudWatchClient(proxy(cloudWatchClientBuilder.build(), awsCredential, regionName));
@@ -172,7 +176,7 @@ public abstract class AwsClient {
         StsClientBuilder stsClientBuilder = StsClient.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
-                .overrideConfiguration(getDefaultClientConfiguration())
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential))
                 .region(Region.of(regionName));
         return new AmazonSecurityTokenServiceClient(proxy(stsClientBuilder.build(), awsCredential, regionName));
     }
@@ -182,7 +186,7 @@ public abstract class AwsClient {
         IamClientBuilder iamClientBuilder = IamClient.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .region(Region.of(regionName))
-                .overrideConfiguration(getDefaultClientConfiguration())
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential))
                 .credentialsProvider(getCredentialProvider(awsCredential));
         return new AmazonIdentityManagementClient(proxy(iamClientBuilder.build(), awsCredential, regionName));
     }
@@ -208,6 +212,7 @@ public abstract class AwsClient {
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
                 .region(Region.of(regionName))
+                .overrideConfiguration(getClientConfigurationWithSdkRetries(awsCredential))
                 .build();
     }
 
@@ -216,7 +221,7 @@ public abstract class AwsClient {
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
                 .region(Region.of(regionName))
-                .overrideConfiguration(getDefaultClientConfiguration());
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential));
         return new AmazonElasticLoadBalancingClient(proxy(loadBalancingClientBuilder.build(), awsCredential, regionName));
     }
 
@@ -224,7 +229,8 @@ public abstract class AwsClient {
         EfsClientBuilder efsClientBuilder = EfsClient.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
-                .region(Region.of(regionName));
+                .region(Region.of(regionName))
+                .overrideConfiguration(getClientConfigurationWithSdkRetries(awsCredential));
         return new AmazonEfsClient(proxy(efsClientBuilder.build(), awsCredential, regionName), retry);
     }
 
@@ -232,6 +238,7 @@ public abstract class AwsClient {
         S3ClientBuilder s3ClientBuilder = S3Client.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .region(Region.of(regionName))
+                .overrideConfiguration(getClientConfigurationWithSdkRetries(awsCredential))
                 .credentialsProvider(getCredentialProvider(awsCredential));
         return new AmazonS3Client(proxy(s3ClientBuilder.build(), awsCredential, regionName));
     }
@@ -239,7 +246,7 @@ public abstract class AwsClient {
     public AmazonDynamoDBClient createDynamoDbClient(AwsCredentialView awsCredential, String regionName) {
         DynamoDbClientBuilder dynamoDbClientBuilder = DynamoDbClient.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
-                .overrideConfiguration(getDefaultClientConfiguration())
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential))
                 .credentialsProvider(getCredentialProvider(awsCredential))
                 .region(Region.of(regionName));
         return new AmazonDynamoDBClient(proxy(dynamoDbClientBuilder.build(), awsCredential, regionName));
@@ -249,7 +256,7 @@ public abstract class AwsClient {
         RdsClientBuilder rdsClientBuilder = RdsClient.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
-                .overrideConfiguration(getDefaultClientConfiguration())
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential))
                 .region(Region.of(regionName));
         return new AmazonRdsClient(proxy(rdsClientBuilder.build(), awsCredential, regionName), awsPageCollector);
     }
@@ -258,7 +265,7 @@ public abstract class AwsClient {
         PricingClientBuilder clientBuilder = PricingClient.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
-                .overrideConfiguration(getDefaultClientConfiguration())
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential))
                 .region(Region.of(regionName));
         return new AmazonPricingClient(proxy(clientBuilder.build(), awsCredential, regionName), retry);
     }
@@ -267,7 +274,7 @@ public abstract class AwsClient {
         SecretsManagerClientBuilder clientBuilder = SecretsManagerClient.builder()
                 .httpClient(awsApacheClient.getApacheHttpClient())
                 .credentialsProvider(getCredentialProvider(awsCredential))
-                .overrideConfiguration(getDefaultClientConfiguration())
+                .overrideConfiguration(getDefaultClientConfiguration(awsCredential))
                 .region(Region.of(regionName));
         return new AmazonSecretsManagerClient(proxy(clientBuilder.build(), awsCredential, regionName), retry);
     }
@@ -335,20 +342,22 @@ public abstract class AwsClient {
         return proxyFactory.getProxy();
     }
 
-    protected ClientOverrideConfiguration getDefaultClientConfiguration() {
-        ClientOverrideConfiguration.Builder clientOverrideConfigurationBuilder = ClientOverrideConfiguration.builder()
-                .retryPolicy(RetryPolicy.builder()
-                        .numRetries(MAX_CLIENT_RETRIES)
-                        .build());
+    protected ClientOverrideConfiguration getDefaultClientConfiguration(AwsCredentialView awsCredential) {
+        ClientOverrideConfiguration.Builder clientOverrideConfigurationBuilder = awsApiRateLimiter.configure(ClientOverrideConfiguration.builder(),
+                RetryPolicy.builder().numRetries(MAX_CLIENT_RETRIES), awsCredential);
         if (awsMetricsEnabled) {
             clientOverrideConfigurationBuilder.addMetricPublisher(awsMetricPublisher);
         }
         return clientOverrideConfigurationBuilder.build();
     }
 
-    private ClientOverrideConfiguration getClientConfigurationWithMinimalRetries() {
-        return ClientOverrideConfiguration.builder()
-                .retryPolicy(RetryPolicy.defaultRetryPolicy())
+    private ClientOverrideConfiguration getClientConfigurationWithMinimalRetries(AwsCredentialView awsCredential) {
+        return awsApiRateLimiter.configure(ClientOverrideConfiguration.builder(), RetryPolicy.defaultRetryPolicy().toBuilder(), awsCredential)
+                .build();
+    }
+
+    private ClientOverrideConfiguration getClientConfigurationWithSdkRetries(AwsCredentialView awsCredential) {
+        return awsApiRateLimiter.configure(ClientOverrideConfiguration.builder(), awsCredential)
                 .build();
     }
 }
@@ -7,9 +7,11 @@ import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -17,6 +19,7 @@ import java.util.stream.Collectors;
 import jakarta.inject.Inject;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,6 +27,7 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.sequenceiq.cloudbreak.cloud.InstanceConnector;
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AmazonEc2Client;
@@ -43,6 +47,7 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.ec2.model.DescribeInstancesRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeInstancesResponse;
 import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.ec2.model.Filter;
 import software.amazon.awssdk.services.ec2.model.GetConsoleOutputRequest;
 import software.amazon.awssdk.services.ec2.model.GetConsoleOutputResponse;
 import software.amazon.awssdk.services.ec2.model.Instance;
@@ -59,6 +64,10 @@ public class AwsInstanceConnector implements InstanceConnector {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AwsInstanceConnector.class);
 
+    private static final int MAX_INSTANCE_IDS_PER_DESCRIBE = 200;
+
+    private static final String INSTANCE_ID_FILTER = "instance-id";
+
     @Inject
     private PollerUtil pollerUtil;
 
@@ -354,6 +363,49 @@ public class AwsInstanceConnector implements InstanceConnector {
         return Collections.emptyList();
     }
 
+    @Override
+    public boolean isBulkCheckSupported() {
+        return true;
+    }
+
+    @Override
+    public List<CloudVmInstanceStatus> checkInBulk(AuthenticatedContext ac, List<CloudInstance> vms) {
+        List<CloudInstance> cloudInstancesWithInstanceId = vms.stream()
+                .filter(cloudInstance -> cloudInstance.getInstanceId() != null)
+                .collect(Collectors.toList());
+        AmazonEc2Client amazonEC2Client = new AuthenticatedContextView(ac).getAmazonEC2Client();
+        List<String> instanceIds = cloudInstancesWithInstanceId.stream().map(CloudInstance::getInstanceId).distinct().collect(Collectors.toList());
+        LOGGER.debug("Check {} instances on aws side in bulk", instanceIds.size());
+        Map<String, Instance> instancesById = Lists.partition(instanceIds, MAX_INSTANCE_IDS_PER_DESCRIBE).stream()
+                .flatMap(instanceIdChunk -> describeInstancesByFilter(amazonEC2Client, instanceIdChunk).stream())
+                .collect(Collectors.toMap(Instance::instanceId, Function.identity(), (first, second) -> first));
+        return cloudInstancesWithInstanceId.stream()
+                .map(cloudInstance -> Optional.ofNullable(instancesById.get(cloudInstance.getInstanceId()))
+                        .map(instance -> new CloudVmInstanceStatus(cloudInstance,
+                                AwsInstanceStatusMapper.getInstanceStatusByAwsStateAndReason(instance.state(), instance.stateReason())))
+                        .orElseGet(() -> new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Describes the instances with an instance-id filter instead of the instance ids of the request, so the ids which do not exist anymore are
+     * left out of the response instead of failing the whole chunk with {@value #INSTANCE_NOT_FOUND_ERROR_CODE}.
+     */
+    private List<Instance> describeInstancesByFilter(AmazonEc2Client amazonEC2Client, List<String> instanceIds) {
+        List<Instance> instances = new ArrayList<>();
+        DescribeInstancesRequest request = DescribeInstancesRequest.builder()
+                .filters(Filter.builder().name(INSTANCE_ID_FILTER).values(instanceIds).build())
+                .build();
+        String nextToken;
+        do {
+            DescribeInstancesResponse response = amazonEC2Client.describeInstances(request);
+            response.reservations().forEach(reservation -> instances.addAll(reservation.instances()));
+            nextToken = response.nextToken();
+            request = request.toBuilder().nextToken(nextToken).build();
+        } while (StringUtils.isNotEmpty(nextToken));
+        return instances;
+    }
+
     private List<CloudVmInstanceStatus> fillCloudVmInstanceStatuses(AuthenticatedContext ac, List<CloudInstance> cloudIntancesWithInstanceId, String region,
             DescribeInstancesResponse result) {
         List<CloudVmInstanceStatus> cloudVmInstanceStatuses = new ArrayList<>();
@@ -0,0 +1,132 @@
+package com.sequenceiq.cloudbreak.cloud.aws.common.client;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cloud.aws.common.metrics.AwsMetricPublisher;
+import com.sequenceiq.cloudbreak.cloud.aws.common.view.AwsCredentialView;
+import com.sequenceiq.cloudbreak.logger.LoggerContextKey;
+
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+
+/**
+ * Process-wide rate limiter of the AWS API calls, shared by every client created by {@link com.sequenceiq.cloudbreak.cloud.aws.common.AwsClient}.
+ * Each account, region and API family has its own adaptive token bucket, so the flows calling the same account and region slow down together
+ * when AWS starts throttling them, instead of retrying in a storm. The API family is the service, split to read and mutating operations as
+ * the EC2 request rate limits are.
+ */
+@Component
+public class AwsApiRateLimiter {
+
+    static final ExecutionAttribute<ApiFamily> API_FAMILY = new ExecutionAttribute<>("CbAwsApiFamily");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AwsApiRateLimiter.class);
+
+    private static final String NO_FLOW = "";
+
+    @Value("${cb.aws.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cb.aws.ratelimit.permits.per.second:50}")
+    private double maxPermitsPerSecond;
+
+    @Value("${cb.aws.ratelimit.min.permits.per.second:1}")
+    private double minPermitsPerSecond;
+
+    @Value("${cb.aws.ratelimit.max.wait.seconds:60}")
+    private long maxWaitSeconds;
+
+    @Inject
+    private AwsMetricPublisher awsMetricPublisher;
+
+    private final Map<ApiFamily, AwsApiTokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the rate limiting of the calls to the client configuration, and reports the throttled attempts to the limiter through the retry
+     * condition of the given retry policy.
+     */
+    public ClientOverrideConfiguration.Builder configure(ClientOverrideConfiguration.Builder configuration, RetryPolicy.Builder retryPolicy,
+            AwsCredentialView awsCredential) {
+        if (enabled) {
+            retryPolicy.retryCondition(new ThrottlingAwareRetryCondition(retryPolicy.retryCondition(), this));
+            configuration.addExecutionInterceptor(new AwsRateLimitingInterceptor(this, accountOf(awsCredential), false));
+        }
+        return configuration.retryPolicy(retryPolicy.build());
+    }
+
+    /**
+     * Adds the rate limiting of the calls to the configuration of a client which keeps the retry policy of the SDK, the throttling is reported
+     * to the limiter when the call fails after the retries of the SDK.
+     */
+    public ClientOverrideConfiguration.Builder configure(ClientOverrideConfiguration.Builder configuration, AwsCredentialView awsCredential) {
+        if (enabled) {
+            configuration.addExecutionInterceptor(new AwsRateLimitingInterceptor(this, accountOf(awsCredential), true));
+        }
+        return configuration;
+    }
+
+    void acquire(ExecutionAttributes executionAttributes) {
+        ApiFamily apiFamily = executionAttributes.getAttribute(API_FAMILY);
+        if (apiFamily != null) {
+            String flowId = MDC.get(LoggerContextKey.FLOW_ID.toString());
+            try {
+                long waitNanos = bucket(apiFamily).acquire(flowId == null ? NO_FLOW : flowId, TimeUnit.SECONDS.toNanos(maxWaitSeconds));
+                awsMetricPublisher.publishRateLimiterWaitTime(apiFamily.serviceName(), apiFamily.region(), Duration.ofNanos(waitNanos));
+            } catch (InterruptedException e) {
+                LOGGER.debug("Waiting for the rate limiter of {} in {} was interrupted", apiFamily.serviceName(), apiFamily.region());
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void onThrottled(ExecutionAttributes executionAttributes) {
+        ApiFamily apiFamily = executionAttributes.getAttribute(API_FAMILY);
+        if (apiFamily != null) {
+            AwsApiTokenBucket bucket = bucket(apiFamily);
+            bucket.onThrottled();
+            LOGGER.debug("AWS call of {} in {} is throttled, rate limit is {} per second", apiFamily.serviceName(), apiFamily.region(), bucket.getRate());
+            awsMetricPublisher.publishThrottledRequest(apiFamily.serviceName(), apiFamily.region());
+        }
+    }
+
+    void onSuccess(ExecutionAttributes executionAttributes) {
+        ApiFamily apiFamily = executionAttributes.getAttribute(API_FAMILY);
+        if (apiFamily != null) {
+            bucket(apiFamily).onSuccess();
+        }
+    }
+
+    private AwsApiTokenBucket bucket(ApiFamily apiFamily) {
+        return buckets.computeIfAbsent(apiFamily, key -> new AwsApiTokenBucket(maxPermitsPerSecond, minPermitsPerSecond, System::nanoTime));
+    }
+
+    private String accountOf(AwsCredentialView awsCredential) {
+        String roleArn = awsCredential.getRoleArn();
+        if (isNotEmpty(roleArn)) {
+            String[] arnParts = roleArn.split(":");
+            return arnParts.length > 4 && isNotEmpty(arnParts[4]) ? arnParts[4] : roleArn;
+        } else if (isNotEmpty(awsCredential.getAccessKey())) {
+            return awsCredential.getAccessKey();
+        } else {
+            return String.valueOf(awsCredential.getCredentialCrn());
+        }
+    }
+
+    record ApiFamily(String account, String region, String serviceName, boolean mutating) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.sequenceiq.cloudbreak.cloud.aws.common.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket of one AWS API family. The rate is halved on throttling, at most once per second, and it grows back by about one permit per
+ * second for every second of successful calls. Callers that have to wait for a token are served round-robin by flow, so a flow that sends
+ * many requests at once does not starve the other flows calling the same API family.
+ */
+class AwsApiTokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long DECREASE_INTERVAL_NANOS = NANOS_PER_SECOND;
+
+    private final double maxRate;
+
+    private final double minRate;
+
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition tokenAvailable = lock.newCondition();
+
+    private final Map<String, Deque<Object>> waitersByFlow = new LinkedHashMap<>();
+
+    private double rate;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    private long lastDecrease;
+
+    AwsApiTokenBucket(double maxRate, double minRate, LongSupplier nanoClock) {
+        this.maxRate = maxRate;
+        this.minRate = Math.min(minRate, maxRate);
+        this.nanoClock = nanoClock;
+        rate = maxRate;
+        tokens = burst();
+        lastRefill = nanoClock.getAsLong();
+        lastDecrease = lastRefill - DECREASE_INTERVAL_NANOS;
+    }
+
+    /**
+     * Takes a token, waiting for it in the queue of the flow at most {@code maxWaitNanos}. The caller proceeds without a token when the
+     * maximum wait elapses, the SDK retries are responsible for the call from there.
+     *
+     * @return the nanoseconds spent waiting
+     */
+    long acquire(String flowId, long maxWaitNanos) throws InterruptedException {
+        long start = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            refill();
+            if (waitersByFlow.isEmpty() && tokens >= 1) {
+                tokens--;
+                return 0L;
+            }
+            Object waiter = new Object();
+            waitersByFlow.computeIfAbsent(flowId, key -> new ArrayDeque<>()).addLast(waiter);
+            try {
+                while (true) {
+                    refill();
+                    boolean next = isNext(flowId, waiter);
+                    if (next && tokens >= 1) {
+                        tokens--;
+                        dequeue(flowId, waiter, true);
+                        return nanoClock.getAsLong() - start;
+                    }
+                    long remaining = maxWaitNanos - (nanoClock.getAsLong() - start);
+                    if (remaining <= 0) {
+                        dequeue(flowId, waiter, false);
+                        return nanoClock.getAsLong() - start;
+                    }
+                    long untilNextToken = next ? (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / rate) : remaining;
+                    tokenAvailable.awaitNanos(Math.max(1L, Math.min(remaining, untilNextToken)));
+                }
+            } catch (InterruptedException e) {
+                dequeue(flowId, waiter, false);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onThrottled() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            refill();
+            if (now - lastDecrease >= DECREASE_INTERVAL_NANOS) {
+                rate = Math.max(minRate, rate / 2);
+                tokens = 0;
+                lastDecrease = now;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess() {
+        lock.lock();
+        try {
+            if (rate < maxRate) {
+                refill();
+                rate = Math.min(maxRate, rate + 1 / rate);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getWaitingCount() {
+        lock.lock();
+        try {
+            return waitersByFlow.values().stream().mapToInt(Deque::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isNext(String flowId, Object waiter) {
+        Map.Entry<String, Deque<Object>> first = waitersByFlow.entrySet().iterator().next();
+        return first.getKey().equals(flowId) && first.getValue().peekFirst() == waiter;
+    }
+
+    private void dequeue(String flowId, Object waiter, boolean served) {
+        Deque<Object> waiters = waitersByFlow.get(flowId);
+        waiters.remove(waiter);
+        if (served || waiters.isEmpty()) {
+            waitersByFlow.remove(flowId);
+            if (!waiters.isEmpty()) {
+                // the served flow goes to the end of the round, the others keep their turn
+                waitersByFlow.put(flowId, waiters);
+            }
+        }
+        tokenAvailable.signalAll();
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst(), tokens + (now - lastRefill) * rate / NANOS_PER_SECOND);
+        lastRefill = now;
+    }
+
+    private double burst() {
+        return Math.max(1, rate);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sequenceiq.cloudbreak.cloud.aws.common.client;
+
+import java.util.Set;
+
+import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApiRateLimiter.ApiFamily;
+
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Takes a token of the {@link AwsApiRateLimiter} before every attempt of an AWS call is sent, including the retries of the SDK.
+ */
+class AwsRateLimitingInterceptor implements ExecutionInterceptor {
+
+    private static final Set<String> READ_OPERATION_PREFIXES = Set.of("Describe", "Get", "List", "Search", "Lookup");
+
+    private static final String GLOBAL_REGION = "global";
+
+    private final AwsApiRateLimiter rateLimiter;
+
+    private final String account;
+
+    private final boolean reportThrottledFailures;
+
+    AwsRateLimitingInterceptor(AwsApiRateLimiter rateLimiter, String account, boolean reportThrottledFailures) {
+        this.rateLimiter = rateLimiter;
+        this.account = account;
+        this.reportThrottledFailures = reportThrottledFailures;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        Region region = executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
+        String operationName = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        executionAttributes.putAttribute(AwsApiRateLimiter.API_FAMILY, new ApiFamily(account, region == null ? GLOBAL_REGION : region.id(),
+                executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME), !isReadOperation(operationName)));
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        rateLimiter.acquire(executionAttributes);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        rateLimiter.onSuccess(executionAttributes);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        if (reportThrottledFailures && context.exception() instanceof SdkException sdkException && RetryUtils.isThrottlingException(sdkException)) {
+            rateLimiter.onThrottled(executionAttributes);
+        }
+    }
+
+    private boolean isReadOperation(String operationName) {
+        return operationName != null && READ_OPERATION_PREFIXES.stream().anyMatch(operationName::startsWith);
+    }
+}
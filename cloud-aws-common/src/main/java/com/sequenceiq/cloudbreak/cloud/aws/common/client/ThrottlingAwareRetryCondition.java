@@ -0,0 +1,39 @@
+package com.sequenceiq.cloudbreak.cloud.aws.common.client;
+
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+
+/**
+ * Reports every throttled attempt of an AWS call to the {@link AwsApiRateLimiter}, the decision about the retry is left to the original
+ * retry condition.
+ */
+class ThrottlingAwareRetryCondition implements RetryCondition {
+
+    private final RetryCondition delegate;
+
+    private final AwsApiRateLimiter rateLimiter;
+
+    ThrottlingAwareRetryCondition(RetryCondition delegate, AwsApiRateLimiter rateLimiter) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean shouldRetry(RetryPolicyContext context) {
+        if (RetryUtils.isThrottlingException(context.exception())) {
+            rateLimiter.onThrottled(context.executionAttributes());
+        }
+        return delegate.shouldRetry(context);
+    }
+
+    @Override
+    public void requestWillNotBeRetried(RetryPolicyContext context) {
+        delegate.requestWillNotBeRetried(context);
+    }
+
+    @Override
+    public void requestSucceeded(RetryPolicyContext context) {
+        delegate.requestSucceeded(context);
+    }
+}
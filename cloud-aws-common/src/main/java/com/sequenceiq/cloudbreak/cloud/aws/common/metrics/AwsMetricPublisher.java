@@ -1,6 +1,7 @@
 package com.sequenceiq.cloudbreak.cloud.aws.common.metrics;
 
 import static com.sequenceiq.cloudbreak.cloud.aws.common.metrics.AwsMetricTag.OPERATION_NAME;
+import static com.sequenceiq.cloudbreak.cloud.aws.common.metrics.AwsMetricTag.REGION;
 import static com.sequenceiq.cloudbreak.cloud.aws.common.metrics.AwsMetricTag.SERVICE_ID;
 
 import java.time.Duration;
@@ -37,6 +38,10 @@ public class AwsMetricPublisher implements MetricPublisher {
 
     private static final String API_CALL_FAILED_METRIC_NAME = "aws_api_call_failed_total";
 
+    private static final String RATE_LIMITER_WAIT_TIME_METRIC_NAME = "aws_rate_limiter_wait_time";
+
+    private static final String THROTTLED_REQUEST_METRIC_NAME = "aws_throttled_request_total";
+
     @Qualifier("CommonMetricService")
     @Inject
     private MetricService metricService;
@@ -83,6 +88,14 @@ public class AwsMetricPublisher implements MetricPublisher {
         metricCollection.children().forEach(child -> publishMetrics(child, serviceId, operationName));
     }
 
+    public void publishRateLimiterWaitTime(String serviceName, String region, Duration waitTime) {
+        metricService.recordTimerMetric(RATE_LIMITER_WAIT_TIME_METRIC_NAME, waitTime, SERVICE_ID.name(), serviceName, REGION.name(), region);
+    }
+
+    public void publishThrottledRequest(String serviceName, String region) {
+        metricService.incrementMetricCounter(THROTTLED_REQUEST_METRIC_NAME, SERVICE_ID.name(), serviceName, REGION.name(), region);
+    }
+
     @Override
     public void close() {
     }
@@ -3,5 +3,6 @@ package com.sequenceiq.cloudbreak.cloud.aws.common.metrics;
 public enum AwsMetricTag {
 
     SERVICE_ID,
-    OPERATION_NAME
+    OPERATION_NAME,
+    REGION
 }
@@ -29,6 +29,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AmazonEc2Client;
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApacheClient;
+import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApiRateLimiter;
 import com.sequenceiq.cloudbreak.cloud.aws.common.endpoint.AwsRegionEndpointProvider;
 import com.sequenceiq.cloudbreak.cloud.aws.common.endpoint.AwsServiceEndpointProvider;
 import com.sequenceiq.cloudbreak.cloud.aws.common.mapper.SdkClientExceptionMapper;
@@ -135,6 +136,7 @@ class AwsAuthenticatorTest {
     @Configuration
     @Import({AwsAuthenticator.class,
             CommonAwsClient.class,
+            AwsApiRateLimiter.class,
             AwsSessionCredentialClient.class,
             AwsDefaultZoneProvider.class,
             AwsEnvironmentVariableChecker.class,
@@ -47,6 +47,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import com.dyngr.exception.PollerStoppedException;
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AmazonEc2Client;
 import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApacheClient;
+import com.sequenceiq.cloudbreak.cloud.aws.common.client.AwsApiRateLimiter;
 import com.sequenceiq.cloudbreak.cloud.aws.common.endpoint.AwsRegionEndpointProvider;
 import com.sequenceiq.cloudbreak.cloud.aws.common.endpoint.AwsServiceEndpointProvider;
 import com.sequenceiq.cloudbreak.cloud.aws.common.mapper.SdkClientExceptionMapper;
@@ -198,6 +199,45 @@ class AwsInstanceConnectorTest {
         assertThat(cloudVmInstanceStatuses, hasItem(new CloudVmInstanceStatus(nonExistingInstance, InstanceStatus.TERMINATED)));
     }
 
+    @Test
+    void testCheckInBulkMapsInstancesOfEveryStack() {
+        when(amazonEC2Client.describeInstances(any(DescribeInstancesRequest.class))).thenReturn(getDescribeInstancesResult("running", 16));
+        List<CloudInstance> extistingInstances = getCloudInstances();
+        List<CloudInstance> list = new ArrayList<>(extistingInstances);
+        CloudInstance nonExistingInstance = new CloudInstance("i-xxxx", null, null, "subnet-123", "az1");
+        list.add(nonExistingInstance);
+        list.add(new CloudInstance(null, null, null, "subnet-123", "az1"));
+
+        List<CloudVmInstanceStatus> cloudVmInstanceStatuses = underTest.checkInBulk(authenticatedContext, list);
+
+        assertTrue(underTest.isBulkCheckSupported());
+        verify(amazonEC2Client, times(1)).describeInstances(any(DescribeInstancesRequest.class));
+        assertThat(cloudVmInstanceStatuses, hasSize(3));
+        assertThat(cloudVmInstanceStatuses, hasItem(new CloudVmInstanceStatus(extistingInstances.get(0), InstanceStatus.STARTED)));
+        assertThat(cloudVmInstanceStatuses, hasItem(new CloudVmInstanceStatus(extistingInstances.get(1), InstanceStatus.STARTED)));
+        assertThat(cloudVmInstanceStatuses, hasItem(new CloudVmInstanceStatus(nonExistingInstance, InstanceStatus.TERMINATED)));
+    }
+
+    @Test
+    void testCheckInBulkQueriesByFilterSoMissingInstancesAreTerminated() {
+        CloudInstance existingInstance = new CloudInstance("i-1", null, null, "subnet-1", "az1");
+        CloudInstance deletedInstance = new CloudInstance("i-deleted", null, null, "subnet-1", "az1");
+        Instance instance = Instance.builder().instanceId("i-1").state(InstanceState.builder().name("running").code(16).build()).build();
+        ArgumentCaptor<DescribeInstancesRequest> requestCaptor = ArgumentCaptor.forClass(DescribeInstancesRequest.class);
+        when(amazonEC2Client.describeInstances(requestCaptor.capture()))
+                .thenReturn(DescribeInstancesResponse.builder().reservations(Reservation.builder().instances(instance).build()).build());
+
+        List<CloudVmInstanceStatus> cloudVmInstanceStatuses = underTest.checkInBulk(authenticatedContext, List.of(existingInstance, deletedInstance));
+
+        DescribeInstancesRequest request = requestCaptor.getValue();
+        assertTrue(request.instanceIds().isEmpty());
+        assertEquals("instance-id", request.filters().get(0).name());
+        assertEquals(List.of("i-1", "i-deleted"), request.filters().get(0).values());
+        assertThat(cloudVmInstanceStatuses, hasSize(2));
+        assertThat(cloudVmInstanceStatuses, hasItem(new CloudVmInstanceStatus(existingInstance, InstanceStatus.STARTED)));
+        assertThat(cloudVmInstanceStatuses, hasItem(new CloudVmInstanceStatus(deletedInstance, InstanceStatus.TERMINATED)));
+    }
+
     @Test
     void testCheckException() {
         mockDescribeInstancesException("silence of the lambs", "would you ...");
@@ -544,6 +584,7 @@ class AwsInstanceConnectorTest {
     @Import({AwsInstanceConnector.class,
             AwsAuthenticator.class,
             CommonAwsClient.class,
+            AwsApiRateLimiter.class,
             PollerUtil.class,
             AwsSessionCredentialClient.class,
             AwsDefaultZoneProvider.class,
@@ -0,0 +1,115 @@
+package com.sequenceiq.cloudbreak.cloud.aws.common.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AwsApiTokenBucketTest {
+
+    private static final long MAX_WAIT = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testTokensAreTakenWithoutWaitingUntilTheBurstIsUsed() throws InterruptedException {
+        AwsApiTokenBucket underTest = new AwsApiTokenBucket(5, 1, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0L, underTest.acquire("flow", MAX_WAIT));
+        }
+        assertEquals(0, underTest.getWaitingCount());
+    }
+
+    @Test
+    void testWaitingCallsAreServedRoundRobinByFlow() throws Exception {
+        AwsApiTokenBucket underTest = new AwsApiTokenBucket(5, 1, clock::get);
+        for (int i = 0; i < 5; i++) {
+            underTest.acquire("other", MAX_WAIT);
+        }
+        List<String> served = Collections.synchronizedList(new ArrayList<>());
+        enqueue(underTest, "flowA", "A1", served, 1);
+        enqueue(underTest, "flowA", "A2", served, 2);
+        enqueue(underTest, "flowA", "A3", served, 3);
+        enqueue(underTest, "flowB", "B1", served, 4);
+
+        for (int i = 1; i <= 4; i++) {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+            waitUntil(served, i);
+        }
+
+        assertEquals(List.of("A1", "B1", "A2", "A3"), served);
+    }
+
+    @Test
+    void testCallerProceedsWhenTheMaximumWaitElapses() throws InterruptedException {
+        AwsApiTokenBucket underTest = new AwsApiTokenBucket(1, 1, clock::get);
+        underTest.acquire("flow", MAX_WAIT);
+
+        assertEquals(0L, underTest.acquire("flow", 0L));
+        assertEquals(0, underTest.getWaitingCount());
+    }
+
+    @Test
+    void testRateIsHalvedOnThrottlingOncePerSecondAndRecoversOnSuccess() {
+        AwsApiTokenBucket underTest = new AwsApiTokenBucket(8, 1, clock::get);
+
+        underTest.onThrottled();
+        assertEquals(4.0, underTest.getRate());
+        underTest.onThrottled();
+        assertEquals(4.0, underTest.getRate());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        underTest.onThrottled();
+        assertEquals(2.0, underTest.getRate());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        underTest.onThrottled();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        underTest.onThrottled();
+        assertEquals(1.0, underTest.getRate());
+
+        underTest.onSuccess();
+        assertEquals(2.0, underTest.getRate());
+        for (int i = 0; i < 100; i++) {
+            underTest.onSuccess();
+        }
+        assertEquals(8.0, underTest.getRate());
+    }
+
+    private void enqueue(AwsApiTokenBucket bucket, String flowId, String name, List<String> served, int expectedWaiting) throws InterruptedException {
+        executorService.submit(() -> {
+            bucket.acquire(flowId, MAX_WAIT);
+            served.add(name);
+            return null;
+        });
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (bucket.getWaitingCount() < expectedWaiting) {
+            assertTrue(System.currentTimeMillis() < deadline, "Caller did not start waiting");
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitUntil(List<String> served, int expectedSize) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (served.size() < expectedSize) {
+            assertTrue(System.currentTimeMillis() < deadline, "Waiting caller was not served");
+            Thread.sleep(5);
+        }
+    }
+}
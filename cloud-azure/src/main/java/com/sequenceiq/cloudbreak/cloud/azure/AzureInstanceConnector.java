@@ -10,6 +10,7 @@ import jakarta.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.cloud.InstanceConnector;
@@ -30,6 +31,9 @@ public class AzureInstanceConnector implements InstanceConnector {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AzureInstanceConnector.class);
 
+    @Value("${cb.azure.instance.status.bulk.enabled:true}")
+    private boolean bulkStatusCheckEnabled;
+
     @Inject
     private AzureUtils azureUtils;
 
@@ -161,12 +165,18 @@ public class AzureInstanceConnector implements InstanceConnector {
     @Override
     public List<CloudVmInstanceStatus> check(AuthenticatedContext ac, List<CloudInstance> cloudInstances) {
         LOGGER.info("Check instances on Azure: {}", cloudInstances.stream().map(CloudInstance::getInstanceId).collect(Collectors.toList()));
+        if (bulkStatusCheckEnabled) {
+            return azureVirtualMachineService.getVmStatusesFromAzureInBulk(ac, cloudInstances);
+        }
         return azureVirtualMachineService.getVmsAndVmStatusesFromAzure(ac, cloudInstances).getStatuses();
     }
 
     @Override
     public List<CloudVmInstanceStatus> checkWithoutRetry(AuthenticatedContext ac, List<CloudInstance> cloudInstances) {
         LOGGER.info("Check instances on Azure: {}", cloudInstances.stream().map(CloudInstance::getInstanceId).collect(Collectors.toList()));
+        if (bulkStatusCheckEnabled) {
+            return azureVirtualMachineService.getVmStatusesFromAzureInBulkWithoutRetry(ac, cloudInstances);
+        }
         return azureVirtualMachineService.getVmsAndVmStatusesFromAzureWithoutRetry(ac, cloudInstances).getStatuses();
     }
 }
@@ -0,0 +1,21 @@
+package com.sequenceiq.cloudbreak.cloud.azure;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum AzureVirtualMachineMetricType implements Metric {
+
+    VM_STATUS_SYNC("azure.vm.status.sync"),
+    VM_STATUS_SYNC_ARM_CALLS("azure.vm.status.sync.arm.calls"),
+    VM_STATUS_SYNC_STRAGGLERS("azure.vm.status.sync.stragglers");
+
+    private final String metricName;
+
+    AzureVirtualMachineMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -1,24 +1,35 @@
 package com.sequenceiq.cloudbreak.cloud.azure;
 
+import static com.sequenceiq.cloudbreak.cloud.azure.AzureVirtualMachineMetricType.VM_STATUS_SYNC;
+import static com.sequenceiq.cloudbreak.cloud.azure.AzureVirtualMachineMetricType.VM_STATUS_SYNC_ARM_CALLS;
+import static com.sequenceiq.cloudbreak.cloud.azure.AzureVirtualMachineMetricType.VM_STATUS_SYNC_STRAGGLERS;
 import static com.sequenceiq.cloudbreak.cloud.model.CloudInstance.INSTANCE_NAME;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 
 import com.azure.core.management.exception.ManagementException;
+import com.azure.resourcemanager.compute.fluent.models.VirtualMachineInner;
+import com.azure.resourcemanager.compute.models.InstanceViewStatus;
 import com.azure.resourcemanager.compute.models.PowerState;
 import com.azure.resourcemanager.compute.models.VirtualMachine;
 import com.azure.resourcemanager.compute.models.VirtualMachineInstanceView;
@@ -27,6 +38,7 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimaps;
 import com.sequenceiq.cloudbreak.client.ProviderAuthenticationFailedException;
 import com.sequenceiq.cloudbreak.cloud.azure.client.AzureClient;
+import com.sequenceiq.cloudbreak.cloud.azure.client.AzureListResult;
 import com.sequenceiq.cloudbreak.cloud.azure.status.AzureInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.azure.util.AzureExceptionHandler;
 import com.sequenceiq.cloudbreak.cloud.azure.util.ReactiveUtils;
@@ -36,6 +48,7 @@ import com.sequenceiq.cloudbreak.cloud.exception.CloudConnectorException;
 import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 
 import reactor.core.publisher.Mono;
 
@@ -44,6 +57,14 @@ public class AzureVirtualMachineService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AzureVirtualMachineService.class);
 
+    private static final String POWER_STATE_CODE_PREFIX = "PowerState/";
+
+    private static final String PROVISIONING_STATE_FAILED_CODE = "ProvisioningState/failed";
+
+    private static final String MODE_TAG = "mode";
+
+    private static final String BULK_MODE = "bulk";
+
     @Inject
     private AzureResourceGroupMetadataProvider azureResourceGroupMetadataProvider;
 
@@ -53,6 +74,10 @@ public class AzureVirtualMachineService {
     @Inject
     private AzureExceptionHandler azureExceptionHandler;
 
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
     @Retryable(backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000), maxAttempts = 60, noRetryFor = ProviderAuthenticationFailedException.class)
     public Map<String, VirtualMachine> getVirtualMachinesByName(AzureClient azureClient, String resourceGroup, Collection<String> privateInstanceIds) {
         LOGGER.debug("Starting to retrieve vm metadata from Azure for {} for ids: {}", resourceGroup, privateInstanceIds);
@@ -65,7 +90,7 @@ public class AzureVirtualMachineService {
 
     private List<VirtualMachine> getVirtualMachinesByPrivateInstanceIds(
             AzureClient azureClient, String resourceGroup, Collection<String> privateInstanceIds) {
-        List<VirtualMachine> virtualMachines = azureClient.getVirtualMachines(resourceGroup).getWhile(vms -> !hasMissingVm(vms, privateInstanceIds));
+        List<VirtualMachine> virtualMachines = azureClient.getVirtualMachines(resourceGroup).getWhile(new AllVmsFound(privateInstanceIds));
         if (!virtualMachines.isEmpty()) {
             return virtualMachines;
         }
@@ -98,6 +123,19 @@ public class AzureVirtualMachineService {
         return getUpdatedVMs(ac, cloudInstances);
     }
 
+    /**
+     * Fetches the power state of the VMs with one list-with-instance-view call per resource group, instead of refreshing the instance view of
+     * every VM one by one. Only the VMs which are missing from the list, or listed without power state, are fetched one by one.
+     */
+    @Retryable(backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000), maxAttempts = 5)
+    public List<CloudVmInstanceStatus> getVmStatusesFromAzureInBulk(AuthenticatedContext ac, List<CloudInstance> cloudInstances) {
+        return getVmStatusesInBulk(ac, cloudInstances);
+    }
+
+    public List<CloudVmInstanceStatus> getVmStatusesFromAzureInBulkWithoutRetry(AuthenticatedContext ac, List<CloudInstance> cloudInstances) {
+        return getVmStatusesInBulk(ac, cloudInstances);
+    }
+
     private AzureVirtualMachinesWithStatuses getUpdatedVMs(AuthenticatedContext ac, List<CloudInstance> cloudInstances) {
         AzureVirtualMachinesWithStatuses virtualMachinesWithStatuses = getVmsFromAzureAndFillStatusesIfResourceGroupRemoved(ac, cloudInstances);
         LOGGER.info("VirtualMachines from Azure: {}", virtualMachinesWithStatuses.getVirtualMachines().keySet());
@@ -106,6 +144,42 @@ public class AzureVirtualMachineService {
         return virtualMachinesWithStatuses;
     }
 
+    private List<CloudVmInstanceStatus> getVmStatusesInBulk(AuthenticatedContext ac, List<CloudInstance> cloudInstances) {
+        AzureClient azureClient = ac.getParameter(AzureClient.class);
+        List<CloudVmInstanceStatus> statuses = new ArrayList<>();
+        Map<String, List<CloudInstance>> instancesByResourceGroup = new LinkedHashMap<>();
+        for (CloudInstance cloudInstance : cloudInstances) {
+            if (cloudInstance.getInstanceId() == null) {
+                statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED));
+            } else {
+                instancesByResourceGroup.computeIfAbsent(azureResourceGroupMetadataProvider.getResourceGroupName(ac.getCloudContext(), cloudInstance),
+                        resourceGroup -> new ArrayList<>()).add(cloudInstance);
+            }
+        }
+        BulkStatusSync sync = new BulkStatusSync(azureClient, statuses);
+        for (Map.Entry<String, List<CloudInstance>> resourceGroupInstances : instancesByResourceGroup.entrySet()) {
+            try {
+                sync.collectStatuses(resourceGroupInstances.getKey(), resourceGroupInstances.getValue());
+            } catch (ManagementException e) {
+                LOGGER.debug("Exception occurred during the list of Virtual Machines by resource group", e);
+                for (CloudInstance cloudInstance : resourceGroupInstances.getValue()) {
+                    if (azureExceptionHandler.isNotFound(e)) {
+                        statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED));
+                    } else {
+                        String msg = String.format("Failed to get VM's state from Azure: %s", e.toString());
+                        statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.UNKNOWN, msg));
+                    }
+                }
+            }
+        }
+        LOGGER.info("Statuses of {} VMs are fetched from Azure with {} ARM calls, {} of them one by one", cloudInstances.size(), sync.armCalls,
+                sync.stragglers);
+        metricService.incrementMetricCounter(VM_STATUS_SYNC.getMetricName(), MODE_TAG, BULK_MODE);
+        metricService.incrementMetricCounter(VM_STATUS_SYNC_ARM_CALLS.getMetricName(), sync.armCalls, MODE_TAG, BULK_MODE);
+        metricService.incrementMetricCounter(VM_STATUS_SYNC_STRAGGLERS.getMetricName(), sync.stragglers, MODE_TAG, BULK_MODE);
+        return statuses;
+    }
+
     @Retryable(backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000), maxAttempts = 5)
     public void refreshInstanceViews(Map<String, VirtualMachine> virtualMachines) {
         LOGGER.info("Parallel instance views refresh to download instance view fields from azure, like PowerState of the machines: {}",
@@ -210,4 +284,128 @@ public class AzureVirtualMachineService {
         LOGGER.info("Cloud instance '{}' could not be found in the response from Azure, but it's status already requested to be updated to '{}'",
                 cloudInstanceWithStatus.getCloudInstance().getInstanceId(), cloudInstanceWithStatus.getStatus().name());
     }
+
+    private Optional<PowerState> getPowerState(VirtualMachineInner virtualMachine) {
+        return getInstanceViewStatusCodes(virtualMachine).stream()
+                .filter(code -> code.startsWith(POWER_STATE_CODE_PREFIX))
+                .findFirst()
+                .map(PowerState::fromString);
+    }
+
+    private List<String> getInstanceViewStatusCodes(VirtualMachineInner virtualMachine) {
+        if (virtualMachine.instanceView() == null || virtualMachine.instanceView().statuses() == null) {
+            return List.of();
+        }
+        return virtualMachine.instanceView().statuses().stream()
+                .map(InstanceViewStatus::code)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private String getComputerName(VirtualMachineInner virtualMachine) {
+        if (virtualMachine.instanceView() != null && virtualMachine.instanceView().computerName() != null) {
+            return virtualMachine.instanceView().computerName();
+        }
+        return virtualMachine.osProfile() == null ? null : virtualMachine.osProfile().computerName();
+    }
+
+    private class BulkStatusSync {
+
+        private final AzureClient azureClient;
+
+        private final List<CloudVmInstanceStatus> statuses;
+
+        private int armCalls;
+
+        private int stragglers;
+
+        BulkStatusSync(AzureClient azureClient, List<CloudVmInstanceStatus> statuses) {
+            this.azureClient = azureClient;
+            this.statuses = statuses;
+        }
+
+        /**
+         * The statuses of the resource group are added to the result only when all of them are collected, so a failure after the first page
+         * does not leave statuses of the group behind next to the ones reported for the failure.
+         */
+        void collectStatuses(String resourceGroup, List<CloudInstance> cloudInstances) {
+            Map<String, List<CloudInstance>> instancesById = cloudInstances.stream().collect(Collectors.groupingBy(CloudInstance::getInstanceId));
+            Set<String> missingIds = new HashSet<>(instancesById.keySet());
+            Map<String, List<CloudVmInstanceStatus>> resourceGroupStatuses = new LinkedHashMap<>();
+            AzureListResult<VirtualMachineInner> virtualMachines = azureClient.getVirtualMachinesWithInstanceView(resourceGroup);
+            Integer pages = virtualMachines == null ? null : virtualMachines.forEachPageUntil(page -> {
+                page.forEach(virtualMachine -> {
+                    List<CloudInstance> matchingInstances = instancesById.get(virtualMachine.name());
+                    Optional<PowerState> powerState = getPowerState(virtualMachine);
+                    if (matchingInstances != null && powerState.isPresent()) {
+                        missingIds.remove(virtualMachine.name());
+                        String statusReason = getInstanceViewStatusCodes(virtualMachine).contains(PROVISIONING_STATE_FAILED_CODE)
+                                ? "Provisioning of the VM failed on Azure" : null;
+                        resourceGroupStatuses.put(virtualMachine.name(), toStatuses(matchingInstances, getComputerName(virtualMachine),
+                                AzureInstanceStatus.get(powerState.get()), statusReason));
+                    }
+                });
+                return missingIds.isEmpty();
+            });
+            armCalls++;
+            if (pages == null) {
+                LOGGER.debug("Resource group {} is not found, its VMs are terminated", resourceGroup);
+                cloudInstances.forEach(cloudInstance -> statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED)));
+                return;
+            }
+            armCalls += Math.max(0, pages - 1);
+            for (String missingId : missingIds) {
+                resourceGroupStatuses.put(missingId, collectStatusOneByOne(resourceGroup, missingId, instancesById.get(missingId)));
+            }
+            resourceGroupStatuses.values().forEach(statuses::addAll);
+        }
+
+        private List<CloudVmInstanceStatus> collectStatusOneByOne(String resourceGroup, String vmName, List<CloudInstance> cloudInstances) {
+            LOGGER.debug("VM {} is not listed with power state in {}, fetching its instance view", vmName, resourceGroup);
+            stragglers++;
+            armCalls++;
+            VirtualMachine virtualMachine = azureClient.getVirtualMachineByResourceGroup(resourceGroup, vmName);
+            if (virtualMachine == null) {
+                return cloudInstances.stream().map(cloudInstance -> new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED)).toList();
+            } else {
+                armCalls++;
+                PowerState powerState = virtualMachine.powerState();
+                return toStatuses(cloudInstances, virtualMachine.computerName(), AzureInstanceStatus.get(powerState), null);
+            }
+        }
+
+        private List<CloudVmInstanceStatus> toStatuses(List<CloudInstance> cloudInstances, String computerName, InstanceStatus instanceStatus,
+                String statusReason) {
+            List<CloudVmInstanceStatus> instanceStatuses = new ArrayList<>();
+            for (CloudInstance cloudInstance : cloudInstances) {
+                cloudInstance.putParameter(INSTANCE_NAME, computerName);
+                instanceStatuses.add(new CloudVmInstanceStatus(cloudInstance, instanceStatus, statusReason));
+            }
+            return instanceStatuses;
+        }
+    }
+
+    /**
+     * Tells whether every requested VM is listed already. Only the VMs of the new pages are checked, so the names are not collected again
+     * for every page.
+     */
+    private static class AllVmsFound implements Predicate<List<VirtualMachine>> {
+
+        private final Set<String> missingNames;
+
+        private int checkedCount;
+
+        AllVmsFound(Collection<String> privateInstanceIds) {
+            missingNames = new HashSet<>(privateInstanceIds);
+        }
+
+        @Override
+        public boolean test(List<VirtualMachine> virtualMachines) {
+            for (VirtualMachine virtualMachine : virtualMachines.subList(checkedCount, virtualMachines.size())) {
+                missingNames.remove(virtualMachine.name());
+            }
+            checkedCount = virtualMachines.size();
+            return missingNames.isEmpty();
+        }
+    }
 }
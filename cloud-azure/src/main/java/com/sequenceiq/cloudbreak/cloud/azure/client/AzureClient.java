@@ -36,6 +36,7 @@ import com.azure.core.management.Region;
 import com.azure.core.management.exception.ManagementError;
 import com.azure.core.management.exception.ManagementException;
 import com.azure.core.util.BinaryData;
+import com.azure.core.util.Context;
 import com.azure.resourcemanager.AzureResourceManager;
 import com.azure.resourcemanager.authorization.fluent.models.RoleAssignmentInner;
 import com.azure.resourcemanager.authorization.models.RoleAssignment;
@@ -45,6 +46,7 @@ import com.azure.resourcemanager.compute.ComputeManager;
 import com.azure.resourcemanager.compute.fluent.models.DiskEncryptionSetInner;
 import com.azure.resourcemanager.compute.fluent.models.DiskInner;
 import com.azure.resourcemanager.compute.fluent.models.ResourceSkuInner;
+import com.azure.resourcemanager.compute.fluent.models.VirtualMachineInner;
 import com.azure.resourcemanager.compute.models.ApiErrorException;
 import com.azure.resourcemanager.compute.models.AvailabilitySet;
 import com.azure.resourcemanager.compute.models.CachingTypes;
@@ -57,6 +59,7 @@ import com.azure.resourcemanager.compute.models.DiskStorageAccountTypes;
 import com.azure.resourcemanager.compute.models.DiskUpdate;
 import com.azure.resourcemanager.compute.models.Encryption;
 import com.azure.resourcemanager.compute.models.EncryptionSetIdentity;
+import com.azure.resourcemanager.compute.models.ExpandTypeForListVMs;
 import com.azure.resourcemanager.compute.models.KeyForDiskEncryptionSet;
 import com.azure.resourcemanager.compute.models.NetworkAccessPolicy;
 import com.azure.resourcemanager.compute.models.OperatingSystemStateTypes;
@@ -544,6 +547,11 @@ public class AzureClient {
         return handleException(() -> azureListResultFactory.listByResourceGroup(azure.virtualMachines(), resourceGroup));
     }
 
+    public AzureListResult<VirtualMachineInner> getVirtualMachinesWithInstanceView(String resourceGroup) {
+        return handleException(() -> azureListResultFactory.create(computeManager.serviceClient().getVirtualMachines()
+                .listByResourceGroup(resourceGroup, null, ExpandTypeForListVMs.INSTANCE_VIEW, Context.NONE)));
+    }
+
     public VirtualMachine getVirtualMachineByResourceGroup(String resourceGroup, String vmName) {
         return handleException(() -> azure.virtualMachines().getByResourceGroup(resourceGroup, vmName));
     }
@@ -48,4 +48,22 @@ public class AzureListResult<T> {
         });
     }
 
+    /**
+     * Passes the pages to the consumer one by one, and stops fetching the next page when the consumer returns true.
+     *
+     * @return the number of the fetched pages, or null if the listed resource is not found, e.g. the resource group is deleted
+     */
+    public Integer forEachPageUntil(Predicate<List<T>> pageConsumer) {
+        return azureExceptionHandler.handleException(() -> {
+            int pageCount = 0;
+            for (PagedResponse<T> page : pagedIterable.iterableByPage()) {
+                pageCount++;
+                if (pageConsumer.test(page.getValue())) {
+                    break;
+                }
+            }
+            return pageCount;
+        });
+    }
+
 }
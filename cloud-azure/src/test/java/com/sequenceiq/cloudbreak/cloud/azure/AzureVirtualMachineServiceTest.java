@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -14,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -24,8 +26,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.azure.core.http.HttpResponse;
+import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.core.util.IterableStream;
+import com.azure.resourcemanager.compute.fluent.models.VirtualMachineInner;
+import com.azure.resourcemanager.compute.fluent.models.VirtualMachineInstanceViewInner;
 import com.azure.resourcemanager.compute.models.ApiError;
 import com.azure.resourcemanager.compute.models.ApiErrorException;
+import com.azure.resourcemanager.compute.models.InstanceViewStatus;
 import com.azure.resourcemanager.compute.models.PowerState;
 import com.azure.resourcemanager.compute.models.VirtualMachine;
 import com.sequenceiq.cloudbreak.cloud.azure.client.AzureClient;
@@ -38,6 +46,7 @@ import com.sequenceiq.cloudbreak.cloud.exception.CloudConnectorException;
 import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -74,6 +83,9 @@ public class AzureVirtualMachineServiceTest {
     @Mock
     private AzureExceptionHandler azureExceptionHandler;
 
+    @Mock
+    private MetricService metricService;
+
     @BeforeEach
     public void setUp() {
         lenient().when(schedulerProvider.io()).thenReturn(Schedulers.immediate());
@@ -246,6 +258,120 @@ public class AzureVirtualMachineServiceTest {
         assertEquals(InstanceStatus.TERMINATED, vmStatus.getStatus());
     }
 
+    @Test
+    public void testGetVmStatusesInBulkFetchesOnlyTheStragglersOneByOne() {
+        when(ac.getParameter(AzureClient.class)).thenReturn(azureClient);
+        when(ac.getCloudContext()).thenReturn(cloudContext);
+        CloudInstance listedInstance = cloudInstance(INSTANCE_1);
+        CloudInstance instanceWithoutPowerState = cloudInstance(INSTANCE_2);
+        CloudInstance missingInstance = cloudInstance(INSTANCE_3);
+        when(azureResourceGroupMetadataProvider.getResourceGroupName(eq(cloudContext), any(CloudInstance.class))).thenReturn(RESOURCE_GROUP);
+        AzureListResult<VirtualMachineInner> virtualMachines = mock(AzureListResult.class);
+        when(virtualMachines.forEachPageUntil(any())).thenAnswer(invocation -> {
+            Predicate<List<VirtualMachineInner>> pageConsumer = invocation.getArgument(0);
+            pageConsumer.test(List.of(createVirtualMachineInner(INSTANCE_1, "ProvisioningState/succeeded", "PowerState/running"),
+                    createVirtualMachineInner(INSTANCE_2, "ProvisioningState/updating")));
+            return 1;
+        });
+        when(azureClient.getVirtualMachinesWithInstanceView(RESOURCE_GROUP)).thenReturn(virtualMachines);
+        VirtualMachine stoppedVirtualMachine = mock(VirtualMachine.class);
+        when(stoppedVirtualMachine.powerState()).thenReturn(PowerState.DEALLOCATED);
+        when(azureClient.getVirtualMachineByResourceGroup(RESOURCE_GROUP, INSTANCE_2)).thenReturn(stoppedVirtualMachine);
+        when(azureClient.getVirtualMachineByResourceGroup(RESOURCE_GROUP, INSTANCE_3)).thenReturn(null);
+
+        List<CloudVmInstanceStatus> result = underTest.getVmStatusesFromAzureInBulk(ac, List.of(listedInstance, instanceWithoutPowerState, missingInstance));
+
+        assertEquals(3, result.size());
+        assertEquals(InstanceStatus.STARTED, statusOf(result, listedInstance));
+        assertEquals(InstanceStatus.STOPPED, statusOf(result, instanceWithoutPowerState));
+        assertEquals(InstanceStatus.TERMINATED, statusOf(result, missingInstance));
+        assertEquals("computer-" + INSTANCE_1, listedInstance.getStringParameter(CloudInstance.INSTANCE_NAME));
+        verify(azureClient, times(0)).getVirtualMachineByResourceGroup(RESOURCE_GROUP, INSTANCE_1);
+        verify(metricService).incrementMetricCounter(AzureVirtualMachineMetricType.VM_STATUS_SYNC_ARM_CALLS.getMetricName(), 4, "mode", "bulk");
+        verify(metricService).incrementMetricCounter(AzureVirtualMachineMetricType.VM_STATUS_SYNC_STRAGGLERS.getMetricName(), 2, "mode", "bulk");
+    }
+
+    @Test
+    public void testGetVmStatusesInBulkWhenResourceGroupIsNotFound() {
+        when(ac.getParameter(AzureClient.class)).thenReturn(azureClient);
+        when(ac.getCloudContext()).thenReturn(cloudContext);
+        CloudInstance cloudInstance = cloudInstance(INSTANCE_1);
+        when(azureResourceGroupMetadataProvider.getResourceGroupName(cloudContext, cloudInstance)).thenReturn(RESOURCE_GROUP);
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        when(httpResponse.getStatusCode()).thenReturn(404);
+        PagedIterable<VirtualMachineInner> pagedIterable = mock(PagedIterable.class);
+        when(pagedIterable.iterableByPage()).thenThrow(new ApiErrorException("Resource group not found", httpResponse, new ApiError()));
+        when(azureClient.getVirtualMachinesWithInstanceView(RESOURCE_GROUP)).thenReturn(new AzureListResult<>(pagedIterable, new AzureExceptionHandler()));
+
+        List<CloudVmInstanceStatus> result = underTest.getVmStatusesFromAzureInBulkWithoutRetry(ac, List.of(cloudInstance));
+
+        assertEquals(1, result.size());
+        assertEquals(InstanceStatus.TERMINATED, result.get(0).getStatus());
+        verify(azureClient, times(0)).getVirtualMachineByResourceGroup(any(), any());
+    }
+
+    @Test
+    public void testGetVmStatusesInBulkStopsPagingWhenEveryVmIsFound() {
+        when(ac.getParameter(AzureClient.class)).thenReturn(azureClient);
+        when(ac.getCloudContext()).thenReturn(cloudContext);
+        CloudInstance cloudInstance = cloudInstance(INSTANCE_1);
+        when(azureResourceGroupMetadataProvider.getResourceGroupName(cloudContext, cloudInstance)).thenReturn(RESOURCE_GROUP);
+        PagedResponse<VirtualMachineInner> firstPage = mock(PagedResponse.class);
+        when(firstPage.getValue()).thenReturn(List.of(createVirtualMachineInner(INSTANCE_1, "ProvisioningState/succeeded", "PowerState/running")));
+        PagedResponse<VirtualMachineInner> secondPage = mock(PagedResponse.class);
+        PagedIterable<VirtualMachineInner> pagedIterable = mock(PagedIterable.class);
+        when(pagedIterable.iterableByPage()).thenReturn(IterableStream.of(List.of(firstPage, secondPage)));
+        when(azureClient.getVirtualMachinesWithInstanceView(RESOURCE_GROUP)).thenReturn(new AzureListResult<>(pagedIterable, new AzureExceptionHandler()));
+
+        List<CloudVmInstanceStatus> result = underTest.getVmStatusesFromAzureInBulkWithoutRetry(ac, List.of(cloudInstance));
+
+        assertEquals(1, result.size());
+        assertEquals(InstanceStatus.STARTED, result.get(0).getStatus());
+        verify(secondPage, times(0)).getValue();
+        verify(metricService).incrementMetricCounter(AzureVirtualMachineMetricType.VM_STATUS_SYNC_ARM_CALLS.getMetricName(), 1, "mode", "bulk");
+    }
+
+    @Test
+    public void testGetVmStatusesInBulkReportsEveryVmOnceWhenALaterPageFails() {
+        when(ac.getParameter(AzureClient.class)).thenReturn(azureClient);
+        when(ac.getCloudContext()).thenReturn(cloudContext);
+        CloudInstance listedInstance = cloudInstance(INSTANCE_1);
+        CloudInstance notListedInstance = cloudInstance(INSTANCE_2);
+        when(azureResourceGroupMetadataProvider.getResourceGroupName(eq(cloudContext), any(CloudInstance.class))).thenReturn(RESOURCE_GROUP);
+        PagedResponse<VirtualMachineInner> firstPage = mock(PagedResponse.class);
+        when(firstPage.getValue()).thenReturn(List.of(createVirtualMachineInner(INSTANCE_1, "ProvisioningState/succeeded", "PowerState/running")));
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        PagedResponse<VirtualMachineInner> secondPage = mock(PagedResponse.class);
+        when(secondPage.getValue()).thenThrow(new ApiErrorException("Internal server error", httpResponse, new ApiError()));
+        PagedIterable<VirtualMachineInner> pagedIterable = mock(PagedIterable.class);
+        when(pagedIterable.iterableByPage()).thenReturn(IterableStream.of(List.of(firstPage, secondPage)));
+        when(azureClient.getVirtualMachinesWithInstanceView(RESOURCE_GROUP)).thenReturn(new AzureListResult<>(pagedIterable, new AzureExceptionHandler()));
+
+        List<CloudVmInstanceStatus> result = underTest.getVmStatusesFromAzureInBulkWithoutRetry(ac, List.of(listedInstance, notListedInstance));
+
+        assertEquals(2, result.size());
+        assertEquals(InstanceStatus.UNKNOWN, statusOf(result, listedInstance));
+        assertEquals(InstanceStatus.UNKNOWN, statusOf(result, notListedInstance));
+        verify(azureClient, times(0)).getVirtualMachineByResourceGroup(any(), any());
+    }
+
+    private InstanceStatus statusOf(List<CloudVmInstanceStatus> statuses, CloudInstance cloudInstance) {
+        return statuses.stream()
+                .filter(status -> status.getCloudInstance() == cloudInstance)
+                .findFirst()
+                .map(CloudVmInstanceStatus::getStatus)
+                .orElse(null);
+    }
+
+    private VirtualMachineInner createVirtualMachineInner(String vmId, String... statusCodes) {
+        VirtualMachineInner virtualMachine = mock(VirtualMachineInner.class);
+        when(virtualMachine.name()).thenReturn(vmId);
+        List<InstanceViewStatus> statuses = Stream.of(statusCodes).map(code -> new InstanceViewStatus().withCode(code)).toList();
+        lenient().when(virtualMachine.instanceView())
+                .thenReturn(new VirtualMachineInstanceViewInner().withComputerName("computer-" + vmId).withStatuses(statuses));
+        return virtualMachine;
+    }
+
     private AzureListResult<VirtualMachine> createPagedList() {
         List<VirtualMachine> list = new ArrayList<>();
         list.add(createVirtualMachine(INSTANCE_1));
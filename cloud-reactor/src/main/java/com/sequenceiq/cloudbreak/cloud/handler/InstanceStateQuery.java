@@ -34,4 +34,14 @@ public class InstanceStateQuery {
         return connector.instances().checkWithoutRetry(auth, instances);
     }
 
+    public boolean isBulkCheckSupported(CloudContext cloudContext) {
+        return cloudPlatformConnectors.get(cloudContext.getPlatformVariant()).instances().isBulkCheckSupported();
+    }
+
+    public List<CloudVmInstanceStatus> getCloudVmInstanceStatusesInBulk(
+            CloudCredential cloudCredential, CloudContext cloudContext, List<CloudInstance> instances) {
+        CloudConnector connector = cloudPlatformConnectors.get(cloudContext.getPlatformVariant());
+        AuthenticatedContext auth = connector.authentication().authenticate(cloudContext, cloudCredential);
+        return connector.instances().checkInBulk(auth, instances);
+    }
 }
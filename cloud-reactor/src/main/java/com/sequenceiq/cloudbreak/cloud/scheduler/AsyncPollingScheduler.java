@@ -0,0 +1,190 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cloud.task.PollTask;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.concurrent.ActorCrnTaskDecorator;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+import com.sequenceiq.cloudbreak.concurrent.MDCCopyDecorator;
+
+/**
+ * Non-blocking poller for {@link PollTask}s. Waiting polls are only entries in the queue of a single timer thread, which hands the due
+ * checks over to a small worker pool, so a poll occupies a thread only while its check runs and not while it waits for the next attempt.
+ * <p>
+ * The semantics are the same as the ones of {@link SyncPollingScheduler}: the first check runs immediately, the poll fails after
+ * {@code maxFailureTolerant} failed checks, and times out after {@code maxAttempt} unsuccessful checks.
+ */
+@Component
+public class AsyncPollingScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncPollingScheduler.class);
+
+    private static final String TIMER_THREAD_NAME = "async-polling-timer";
+
+    @Value("${cb.polling.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.polling.async.worker.threads:8}")
+    private int workerThreads;
+
+    @Inject
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
+    private final AtomicInteger inFlightPolls = new AtomicInteger();
+
+    private ScheduledThreadPoolExecutor timer;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        timer = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name(TIMER_THREAD_NAME).daemon().factory());
+        timer.setRemoveOnCancelPolicy(true);
+        workers = commonExecutorServiceFactory.newThreadPoolExecutorService("async-polling-worker", "asyncPollingWorkerExecutor", workerThreads,
+                workerThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy(), List.of());
+        metricService.registerGaugeMetric(MetricType.POLLING_IN_FLIGHT, inFlightPolls, AtomicInteger::get, Map.of());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        LOGGER.info("Stopping async polling scheduler with {} polls in flight", inFlightPolls.get());
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * @return true if the callers which poll several resources at once should schedule them on this scheduler instead of polling them one
+     * after the other with the {@link SyncPollingScheduler}
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getInFlightPollCount() {
+        return inFlightPolls.get();
+    }
+
+    public <T> CompletableFuture<T> schedule(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) {
+        Poll<T> poll = new Poll<>(task, interval, maxAttempt, maxFailureTolerant);
+        inFlightPolls.incrementAndGet();
+        poll.result.whenComplete((result, throwable) -> inFlightPolls.decrementAndGet());
+        poll.submitCheck();
+        return poll.result;
+    }
+
+    private final class Poll<T> {
+
+        private final PollTask<T> task;
+
+        private final int interval;
+
+        private final int maxAttempt;
+
+        private final int maxFailureTolerant;
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final Runnable check;
+
+        // checks of the same poll never overlap, the timer and the worker pool hand over these counters
+        private int attempts;
+
+        private int failures;
+
+        private Poll(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) {
+            this.task = task;
+            this.interval = interval;
+            this.maxAttempt = maxAttempt;
+            this.maxFailureTolerant = maxFailureTolerant;
+            check = new ActorCrnTaskDecorator().decorate(new MDCCopyDecorator().decorate(this::checkSafely));
+        }
+
+        private void submitCheck() {
+            try {
+                workers.execute(check);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void checkSafely() {
+            try {
+                if (!result.isDone()) {
+                    check();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unexpected error while polling {}", task.getClass().getSimpleName(), e);
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void check() {
+            if (task.cancelled()) {
+                result.completeExceptionally(new CancellationException("Task was cancelled."));
+            } else {
+                attempts++;
+                long start = System.currentTimeMillis();
+                callTask();
+                metricService.recordTimerMetric(MetricType.POLLING_CHECK, Duration.ofMillis(System.currentTimeMillis() - start));
+                if (!result.isDone()) {
+                    scheduleNextCheck();
+                }
+            }
+        }
+
+        private void callTask() {
+            try {
+                T callResult = task.call();
+                if (task.completed(callResult)) {
+                    result.complete(callResult);
+                }
+            } catch (Exception e) {
+                failures++;
+                if (failures >= maxFailureTolerant) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }
+
+        private void scheduleNextCheck() {
+            if (attempts >= maxAttempt) {
+                long duration = (long) interval * maxAttempt;
+                result.completeExceptionally(new TimeoutException(String.format("Task (%s) did not finish within %d seconds",
+                        task.getClass().getSimpleName(), TimeUnit.MILLISECONDS.toSeconds(duration))));
+            } else {
+                try {
+                    timer.schedule(this::submitCheck, interval, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.sequenceiq.cloudbreak.cloud.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
+import com.sequenceiq.cloudbreak.cloud.task.PollTask;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncPollingSchedulerTest {
+
+    private static final int INTERVAL = 10;
+
+    private static final int POLL_COUNT = 1000;
+
+    private static final int WORKER_THREADS = 2;
+
+    private static final long TIMEOUT_SECONDS = 30L;
+
+    @InjectMocks
+    private AsyncPollingScheduler underTest;
+
+    @Mock
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @Mock
+    private MetricService metricService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "workerThreads", WORKER_THREADS);
+        when(commonExecutorServiceFactory.newThreadPoolExecutorService(any(), any(), anyInt(), anyInt(), anyLong(), any(), any(), any(), any()))
+                .thenReturn(Executors.newFixedThreadPool(WORKER_THREADS));
+        underTest.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void testThousandsOfPollsCompleteOnAFewThreads() throws Exception {
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < POLL_COUNT; i++) {
+            results.add(underTest.schedule(new CountingPollTask(3), INTERVAL, 10, 5));
+        }
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        for (CompletableFuture<Integer> result : results) {
+            assertEquals(3, result.get());
+        }
+        assertEquals(0, underTest.getInFlightPollCount());
+    }
+
+    @Test
+    void testPollTimesOutAfterMaxAttempt() {
+        CountingPollTask task = new CountingPollTask(Integer.MAX_VALUE);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> underTest.schedule(task, INTERVAL, 3, 5).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals(3, task.calls.get());
+    }
+
+    @Test
+    void testPollFailsAfterMaxFailureTolerant() {
+        CountingPollTask task = new CountingPollTask(Integer.MAX_VALUE) {
+            @Override
+            public Integer call() {
+                calls.incrementAndGet();
+                throw new IllegalStateException("cloud provider error");
+            }
+        };
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> underTest.schedule(task, INTERVAL, 10, 2).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(2, task.calls.get());
+    }
+
+    @Test
+    void testCancelledTaskCompletesWithCancellation() {
+        CountingPollTask task = new CountingPollTask(Integer.MAX_VALUE) {
+            @Override
+            public boolean cancelled() {
+                return true;
+            }
+        };
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> underTest.schedule(task, INTERVAL, 10, 2).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertInstanceOf(CancellationException.class, exception.getCause());
+        assertEquals(0, task.calls.get());
+    }
+
+    private static class CountingPollTask implements PollTask<Integer> {
+
+        protected final AtomicInteger calls = new AtomicInteger();
+
+        private final int completeAfter;
+
+        CountingPollTask(int completeAfter) {
+            this.completeAfter = completeAfter;
+        }
+
+        @Override
+        public AuthenticatedContext getAuthenticatedContext() {
+            return null;
+        }
+
+        @Override
+        public Integer call() {
+            return calls.incrementAndGet();
+        }
+
+        @Override
+        public boolean completed(Integer callCount) {
+            return callCount >= completeAfter;
+        }
+
+        @Override
+        public boolean cancelled() {
+            return false;
+        }
+    }
+}
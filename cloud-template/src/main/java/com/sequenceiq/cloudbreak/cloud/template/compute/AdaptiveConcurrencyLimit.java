@@ -0,0 +1,50 @@
+package com.sequenceiq.cloudbreak.cloud.template.compute;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
+
+/**
+ * Additive increase, multiplicative decrease limit of the instances built at the same time: every instance built without failure raises
+ * the limit by one up to the maximum, and every instance failed because of the throttling of the cloud provider halves it.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private static final List<String> THROTTLING_MARKERS = List.of("throttl", "requestlimitexceeded", "ratelimitexceeded", "rate exceeded",
+            "too many requests", "slow down");
+
+    private final int maxLimit;
+
+    private int limit;
+
+    AdaptiveConcurrencyLimit(int maxLimit) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = this.maxLimit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return {@code true} if the limit has changed
+     */
+    boolean onResult(List<CloudResourceStatus> statuses) {
+        int previousLimit = limit;
+        if (isThrottled(statuses)) {
+            limit = Math.max(1, limit / 2);
+        } else if (statuses.stream().noneMatch(status -> ResourceStatus.FAILED == status.getStatus())) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        return previousLimit != limit;
+    }
+
+    static boolean isThrottled(List<CloudResourceStatus> statuses) {
+        return statuses.stream()
+                .filter(status -> ResourceStatus.FAILED == status.getStatus() && status.getStatusReason() != null)
+                .map(status -> status.getStatusReason().toLowerCase(Locale.ROOT))
+                .anyMatch(reason -> THROTTLING_MARKERS.stream().anyMatch(reason::contains));
+    }
+}
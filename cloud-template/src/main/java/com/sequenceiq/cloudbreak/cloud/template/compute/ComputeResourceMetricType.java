@@ -0,0 +1,20 @@
+package com.sequenceiq.cloudbreak.cloud.template.compute;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum ComputeResourceMetricType implements Metric {
+
+    RESOURCE_BUILD_TIME("compute.resource.build.time"),
+    RESOURCE_CREATION_CONCURRENCY("compute.resource.creation.concurrency");
+
+    private final String metricName;
+
+    ComputeResourceMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
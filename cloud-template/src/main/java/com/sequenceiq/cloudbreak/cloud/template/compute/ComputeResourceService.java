@@ -3,6 +3,7 @@ package com.sequenceiq.cloudbreak.cloud.template.compute;
 import static com.sequenceiq.cloudbreak.cloud.model.InstanceStatus.CREATE_REQUESTED;
 import static com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup.CANCELLED;
 import static com.sequenceiq.cloudbreak.cloud.template.compute.CloudFailureHandler.ScaleContext;
+import static com.sequenceiq.cloudbreak.cloud.template.compute.ComputeResourceMetricType.RESOURCE_CREATION_CONCURRENCY;
 import static java.lang.String.format;
 
 import java.util.ArrayList;
@@ -12,8 +13,12 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -21,6 +26,7 @@ import jakarta.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
@@ -40,6 +46,7 @@ import com.sequenceiq.cloudbreak.cloud.model.Group;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.Variant;
+import com.sequenceiq.cloudbreak.cloud.scheduler.AsyncPollingScheduler;
 import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
 import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
 import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
@@ -49,6 +56,7 @@ import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
 import com.sequenceiq.cloudbreak.cloud.template.init.ResourceBuilders;
 import com.sequenceiq.cloudbreak.cloud.template.task.ResourcePollTaskFactory;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.common.api.adjustment.AdjustmentTypeWithThreshold;
 import com.sequenceiq.common.api.type.AdjustmentType;
 import com.sequenceiq.common.api.type.ResourceType;
@@ -75,12 +83,19 @@ public class ComputeResourceService {
     @Inject
     private SyncPollingScheduler<List<CloudResourceStatus>> syncPollingScheduler;
 
+    @Inject
+    private AsyncPollingScheduler asyncPollingScheduler;
+
     @Inject
     private ResourcePollTaskFactory resourcePollTaskFactory;
 
     @Inject
     private ResourceActionFactory resourceActionFactory;
 
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
     public List<CloudResourceStatus> buildResourcesForLaunch(ResourceBuilderContext ctx, AuthenticatedContext auth, CloudStack cloudStack,
             AdjustmentTypeWithThreshold adjustmentTypeWithThreshold) {
         LOGGER.info("Build compute resources for launch with adjustment type and threshold: {}", adjustmentTypeWithThreshold);
@@ -291,6 +306,10 @@ public class ComputeResourceService {
         return flatList(waitForRequests(futures).get(FutureResult.SUCCESS));
     }
 
+    private record InstancePoll(List<CloudResourceStatus> cloudResourceStatuses, CloudResourceStatus instanceResourceStatus,
+            CompletableFuture<List<CloudResourceStatus>> poll) {
+    }
+
     private class ResourceBuilder {
 
         private final ResourceBuilderContext ctx;
@@ -305,29 +324,14 @@ public class ComputeResourceService {
         public List<CloudResourceStatus> buildResources(CloudStack cloudStack, Iterable<Group> groups,
                 Boolean upscale, AdjustmentTypeWithThreshold adjustmentTypeAndThreshold) {
             List<CloudResourceStatus> results = new ArrayList<>();
-            Collection<Future<ResourceRequestResult<List<CloudResourceStatus>>>> futures = new ArrayList<>();
             for (Group group : getOrderedCopy(groups)) {
                 List<CloudInstance> instances = group.getInstances().stream()
                         .filter(cloudInstance -> CREATE_REQUESTED.equals(cloudInstance.getTemplate().getStatus()))
                         .collect(Collectors.toList());
                 Integer createBatchSize = resourceBuilders.getCreateBatchSize(auth.getCloudContext().getVariant());
+                List<List<CloudResourceStatus>> cloudResourceStatusChunks = createInstances(cloudStack, group, instances, createBatchSize);
 
-                LOGGER.debug("Split the instances to {} chunks to execute the operation in parallel", createBatchSize);
-                AtomicInteger counter = new AtomicInteger();
-                Collection<List<CloudInstance>> instancesChunks = instances.stream()
-                        .collect(Collectors.groupingBy(it -> counter.getAndIncrement() / createBatchSize)).values();
-
-                for (List<CloudInstance> instancesChunk : instancesChunks) {
-                    LOGGER.debug("Submit the create operation thread with {} instances", instancesChunk.size());
-                    ResourceCreationCallablePayload creationCallablePayload = new ResourceCreationCallablePayload(instancesChunk, group, ctx, auth, cloudStack);
-                    ResourceCreationCallable creationCallable = resourceActionFactory.buildCreationCallable(creationCallablePayload);
-                    Future<ResourceRequestResult<List<CloudResourceStatus>>> future = resourceBuilderExecutor.submit(creationCallable);
-                    futures.add(future);
-                }
-
-                if (!futures.isEmpty()) {
-                    LOGGER.debug("Wait for all {} creation threads to finish", futures.size());
-                    List<List<CloudResourceStatus>> cloudResourceStatusChunks = waitForRequests(futures).get(FutureResult.SUCCESS);
+                if (!cloudResourceStatusChunks.isEmpty()) {
                     List<CloudResourceStatus> resourceStatuses = waitForResourceCreations(cloudResourceStatusChunks);
                     List<CloudResourceStatus> failedResources = filterResourceStatuses(resourceStatuses, ResourceStatus.FAILED);
                     if (adjustmentTypeAndThreshold == null) {
@@ -347,6 +351,63 @@ public class ComputeResourceService {
             return results;
         }
 
+        /**
+         * Builds the compute resources of every instance with its own creation callable, and starts the next instance as soon as one of
+         * the running ones finishes, so a slow instance does not hold back the others. At most as many instances are built at the same time
+         * as the parallel resource request limit of the context, or as many batches of {@code createBatchSize} the instances make up if
+         * that is higher; the limit is lowered when the cloud provider throttles the requests.
+         *
+         * @return the resource statuses of the instances, in the order of the instances
+         */
+        private List<List<CloudResourceStatus>> createInstances(CloudStack cloudStack, Group group, List<CloudInstance> instances, int createBatchSize) {
+            if (instances.isEmpty()) {
+                return List.of();
+            }
+            AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(
+                    Math.max(ctx.getParallelResourceRequest(), Math.ceilDiv(instances.size(), createBatchSize)));
+            LOGGER.debug("Create {} instances of group {} with at most {} in parallel", instances.size(), group.getName(), concurrencyLimit.getLimit());
+            List<List<CloudResourceStatus>> results = new ArrayList<>(Collections.nCopies(instances.size(), List.of()));
+            BlockingQueue<InstanceCreationTask> finishedTasks = new LinkedBlockingQueue<>();
+            List<InstanceCreationTask> startedTasks = new ArrayList<>();
+            long start = System.currentTimeMillis();
+            int nextInstance = 0;
+            int runningTasks = 0;
+            try {
+                while (nextInstance < instances.size() || runningTasks > 0) {
+                    while (nextInstance < instances.size() && runningTasks < concurrencyLimit.getLimit()) {
+                        ResourceCreationCallablePayload creationCallablePayload =
+                                new ResourceCreationCallablePayload(List.of(instances.get(nextInstance)), group, ctx, auth, cloudStack);
+                        ResourceCreationCallable creationCallable = resourceActionFactory.buildCreationCallable(creationCallablePayload);
+                        InstanceCreationTask creationTask = new InstanceCreationTask(nextInstance, creationCallable, finishedTasks);
+                        startedTasks.add(creationTask);
+                        resourceBuilderExecutor.execute(creationTask);
+                        nextInstance++;
+                        runningTasks++;
+                    }
+                    InstanceCreationTask finishedTask = finishedTasks.take();
+                    runningTasks--;
+                    List<CloudResourceStatus> instanceResult = finishedTask.get().getResult();
+                    results.set(finishedTask.getIndex(), instanceResult);
+                    if (concurrencyLimit.onResult(instanceResult)) {
+                        LOGGER.info("Parallel instance creation limit of group {} is changed to {}", group.getName(), concurrencyLimit.getLimit());
+                        metricService.gauge(RESOURCE_CREATION_CONCURRENCY, concurrencyLimit.getLimit());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                startedTasks.forEach(creationTask -> creationTask.cancel(true));
+                throw new CancellationException(format("Creation of the instances of group %s has been interrupted", group.getName()));
+            } catch (ExecutionException e) {
+                startedTasks.forEach(creationTask -> creationTask.cancel(true));
+                String causeMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                String msg = "The execution of infrastructure operations failed: " + causeMessage;
+                LOGGER.warn(msg, e);
+                throw new CloudConnectorException(msg, e);
+            }
+            LOGGER.debug("{} instances of group {} have been created in {} ms", instances.size(), group.getName(), System.currentTimeMillis() - start);
+            return results;
+        }
+
         public List<CloudResourceStatus> updateResources(ResourceBuilderContext ctx, AuthenticatedContext auth,
                 List<CloudResource> computeResources, CloudStack cloudStack, Optional<String> group, UpdateType updateType) {
             List<CloudResourceStatus> results = new ArrayList<>();
@@ -382,8 +443,13 @@ public class ComputeResourceService {
             return Strings.isNullOrEmpty(cloudResource.getInstanceId()) ? cloudResource.getName() : cloudResource.getInstanceId();
         }
 
+        /**
+         * Polls the instances which are still in progress after their creation. All the polls are started before the first one is waited
+         * for, so with the {@link AsyncPollingScheduler} the instances are polled at the same time instead of one after the other.
+         */
         private List<CloudResourceStatus> waitForResourceCreations(List<List<CloudResourceStatus>> cloudResourceStatusChunks) {
             List<CloudResourceStatus> result = new ArrayList<>();
+            List<InstancePoll> instancePolls = new ArrayList<>();
             for (List<CloudResourceStatus> cloudResourceStatuses : cloudResourceStatusChunks) {
                 List<CloudResourceStatus> instanceResourceStatuses = cloudResourceStatuses.stream()
                         .filter(crs -> ResourceType.isInstanceResource(crs.getCloudResource().getType()))
@@ -401,21 +467,13 @@ public class ComputeResourceService {
                     for (CloudResourceStatus instanceResourceStatus : instanceResourceStatuses) {
                         PollGroup pollGroup = InMemoryStateStore.getStack(auth.getCloudContext().getId());
                         if (pollGroup == null || CANCELLED.equals(pollGroup)) {
+                            instancePolls.forEach(instancePoll -> instancePoll.poll().cancel(true));
                             throw new CancellationException(format("Building of %s has been cancelled", instanceResourceStatus));
                         }
                         CloudResource instance = instanceResourceStatus.getCloudResource();
                         PollTask<List<CloudResourceStatus>> pollTask = resourcePollTaskFactory
                                 .newPollResourceTask(builder, auth, List.of(instance), ctx, true);
-                        try {
-                            List<CloudResourceStatus> statuses = syncPollingScheduler.schedule(pollTask);
-                            instanceResourceStatus.setStatus(statuses.get(0).getStatus());
-                        } catch (Exception e) {
-                            LOGGER.debug("Failure during polling the instance status of {}", instanceResourceStatus, e);
-                            cloudResourceStatuses.stream().filter(crs -> crs.getPrivateId().equals(instanceResourceStatus.getPrivateId())).forEach(crs -> {
-                                crs.setStatus(ResourceStatus.FAILED);
-                                crs.setStatusReason(e.getMessage());
-                            });
-                        }
+                        instancePolls.add(new InstancePoll(cloudResourceStatuses, instanceResourceStatus, schedulePoll(pollTask)));
                     }
                     result.addAll(cloudResourceStatuses);
                 } else {
@@ -423,9 +481,48 @@ public class ComputeResourceService {
                     LOGGER.debug("No instances to poll");
                 }
             }
+            for (InstancePoll instancePoll : instancePolls) {
+                CloudResourceStatus instanceResourceStatus = instancePoll.instanceResourceStatus();
+                try {
+                    List<CloudResourceStatus> statuses = waitForPoll(instancePoll.poll());
+                    instanceResourceStatus.setStatus(statuses.get(0).getStatus());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    instancePolls.forEach(poll -> poll.poll().cancel(true));
+                    throw new CancellationException(format("Polling of %s has been interrupted", instanceResourceStatus));
+                } catch (Exception e) {
+                    LOGGER.debug("Failure during polling the instance status of {}", instanceResourceStatus, e);
+                    instancePoll.cloudResourceStatuses().stream()
+                            .filter(crs -> crs.getPrivateId().equals(instanceResourceStatus.getPrivateId()))
+                            .forEach(crs -> {
+                                crs.setStatus(ResourceStatus.FAILED);
+                                crs.setStatusReason(e.getMessage());
+                            });
+                }
+            }
             return result;
         }
 
+        private CompletableFuture<List<CloudResourceStatus>> schedulePoll(PollTask<List<CloudResourceStatus>> pollTask) {
+            if (asyncPollingScheduler.isEnabled()) {
+                return asyncPollingScheduler.schedule(pollTask, SyncPollingScheduler.POLLING_INTERVAL, SyncPollingScheduler.MAX_POLLING_ATTEMPT,
+                        SyncPollingScheduler.FAILURE_TOLERANT_ATTEMPT);
+            }
+            try {
+                return CompletableFuture.completedFuture(syncPollingScheduler.schedule(pollTask));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private List<CloudResourceStatus> waitForPoll(CompletableFuture<List<CloudResourceStatus>> poll) throws Exception {
+            try {
+                return poll.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
         private List<CloudResourceStatus> filterResourceStatuses(List<CloudResourceStatus> cloudResourceStatuses, ResourceStatus resourceStatus) {
             return cloudResourceStatuses.stream().filter(rs -> resourceStatus.equals(rs.getStatus())).collect(Collectors.toList());
         }
@@ -446,4 +543,26 @@ public class ComputeResourceService {
             return byLengthOrdering.sortedCopy(groups);
         }
     }
+
+    private static class InstanceCreationTask extends FutureTask<ResourceRequestResult<List<CloudResourceStatus>>> {
+
+        private final int index;
+
+        private final BlockingQueue<InstanceCreationTask> finishedTasks;
+
+        InstanceCreationTask(int index, ResourceCreationCallable creationCallable, BlockingQueue<InstanceCreationTask> finishedTasks) {
+            super(creationCallable);
+            this.index = index;
+            this.finishedTasks = finishedTasks;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        @Override
+        protected void done() {
+            finishedTasks.add(this);
+        }
+    }
 }
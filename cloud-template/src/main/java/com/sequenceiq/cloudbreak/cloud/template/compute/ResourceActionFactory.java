@@ -4,6 +4,7 @@ import java.util.List;
 
 import jakarta.inject.Inject;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
@@ -11,6 +12,7 @@ import com.sequenceiq.cloudbreak.cloud.notification.PersistenceNotifier;
 import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
 import com.sequenceiq.cloudbreak.cloud.template.init.ResourceBuilders;
 import com.sequenceiq.cloudbreak.cloud.template.task.ResourcePollTaskFactory;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 
 @Component
 public class ResourceActionFactory {
@@ -27,9 +29,13 @@ public class ResourceActionFactory {
     @Inject
     private PersistenceNotifier persistenceNotifier;
 
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
     public ResourceCreationCallable buildCreationCallable(ResourceCreationCallablePayload payload) {
         return new ResourceCreationCallable(payload, resourceBuilders, syncPollingScheduler,
-                resourcePollTaskFactory, persistenceNotifier);
+                resourcePollTaskFactory, persistenceNotifier, metricService);
     }
 
     public ResourceDeletionCallable buildDeletionCallable(ResourceDeletionCallablePayload payload) {
@@ -1,8 +1,10 @@
 package com.sequenceiq.cloudbreak.cloud.template.compute;
 
 import static com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup.CANCELLED;
+import static com.sequenceiq.cloudbreak.cloud.template.compute.ComputeResourceMetricType.RESOURCE_BUILD_TIME;
 import static java.lang.String.format;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -30,6 +32,7 @@ import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
 import com.sequenceiq.cloudbreak.cloud.template.init.ResourceBuilders;
 import com.sequenceiq.cloudbreak.cloud.template.task.ResourcePollTaskFactory;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.common.api.type.ResourceType;
 
 public class ResourceCreationCallable implements Callable<ResourceRequestResult<List<CloudResourceStatus>>> {
@@ -49,6 +52,8 @@ public class ResourceCreationCallable implements Callable<ResourceRequestResult<
 
     private final PersistenceNotifier persistenceNotifier;
 
+    private final MetricService metricService;
+
     private final List<CloudInstance> instances;
 
     private final Group group;
@@ -61,11 +66,12 @@ public class ResourceCreationCallable implements Callable<ResourceRequestResult<
 
     public ResourceCreationCallable(ResourceCreationCallablePayload payload, ResourceBuilders resourceBuilders,
             SyncPollingScheduler<List<CloudResourceStatus>> syncPollingScheduler, ResourcePollTaskFactory resourcePollTaskFactory,
-            PersistenceNotifier persistenceNotifier) {
+            PersistenceNotifier persistenceNotifier, MetricService metricService) {
         this.resourceBuilders = resourceBuilders;
         this.syncPollingScheduler = syncPollingScheduler;
         this.resourcePollTaskFactory = resourcePollTaskFactory;
         this.persistenceNotifier = persistenceNotifier;
+        this.metricService = metricService;
         this.instances = payload.getInstances();
         this.group = payload.getGroup();
         this.context = payload.getContext();
@@ -96,11 +102,15 @@ public class ResourceCreationCallable implements Callable<ResourceRequestResult<
                                 builder.getClass().getSimpleName(),
                                 group.getName(),
                                 stackName);
+                        long start = System.currentTimeMillis();
                         List<CloudResourceStatus> computeResults = createComputeResources(instance, privateId, builder);
                         results.addAll(computeResults);
-                        if (containsFailed(computeResults)) {
+                        boolean builderFailed = containsFailed(computeResults);
+                        if (builderFailed) {
                             failedComputeCreation = true;
                         }
+                        metricService.recordTimerMetric(RESOURCE_BUILD_TIME, Duration.ofMillis(System.currentTimeMillis() - start),
+                                "resourceType", String.valueOf(builder.resourceType()), "failed", String.valueOf(builderFailed));
                     }
                     LOGGER.info("Finished building '{} ({})' resources of '{}' instance group of '{}' stack", builder.resourceType(),
                             builder.getClass().getSimpleName(), group.getName(), stackName);
@@ -0,0 +1,52 @@
+package com.sequenceiq.cloudbreak.cloud.template.compute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final CloudResource cloudResource = mock(CloudResource.class);
+
+    @Test
+    void testLimitIsHalvedOnThrottlingAndRaisedOnSuccess() {
+        AdaptiveConcurrencyLimit underTest = new AdaptiveConcurrencyLimit(10);
+
+        assertTrue(underTest.onResult(List.of(failed("Request limit exceeded. (Service: Ec2, Status Code: 503, RequestLimitExceeded)"))));
+        assertEquals(5, underTest.getLimit());
+        assertTrue(underTest.onResult(List.of(failed("Rate Limit Exceeded: rateLimitExceeded"))));
+        assertEquals(2, underTest.getLimit());
+        assertTrue(underTest.onResult(List.of(new CloudResourceStatus(cloudResource, ResourceStatus.CREATED))));
+        assertEquals(3, underTest.getLimit());
+    }
+
+    @Test
+    void testLimitStaysBetweenOneAndTheMaximum() {
+        AdaptiveConcurrencyLimit underTest = new AdaptiveConcurrencyLimit(1);
+
+        assertFalse(underTest.onResult(List.of(new CloudResourceStatus(cloudResource, ResourceStatus.CREATED))));
+        assertFalse(underTest.onResult(List.of(failed("Throttling: Rate exceeded"))));
+        assertEquals(1, underTest.getLimit());
+    }
+
+    @Test
+    void testOtherFailureDoesNotChangeTheLimit() {
+        AdaptiveConcurrencyLimit underTest = new AdaptiveConcurrencyLimit(4);
+
+        assertFalse(underTest.onResult(List.of(failed("InsufficientInstanceCapacity"))));
+        assertEquals(4, underTest.getLimit());
+    }
+
+    private CloudResourceStatus failed(String statusReason) {
+        return new CloudResourceStatus(cloudResource, ResourceStatus.FAILED, statusReason);
+    }
+}
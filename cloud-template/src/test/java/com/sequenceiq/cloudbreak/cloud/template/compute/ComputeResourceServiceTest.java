@@ -3,6 +3,7 @@ package com.sequenceiq.cloudbreak.cloud.template.compute;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -18,8 +19,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,12 +58,16 @@ import com.sequenceiq.cloudbreak.cloud.model.Location;
 import com.sequenceiq.cloudbreak.cloud.model.Region;
 import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.Variant;
+import com.sequenceiq.cloudbreak.cloud.scheduler.AsyncPollingScheduler;
+import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
 import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
 import com.sequenceiq.cloudbreak.cloud.task.PollTask;
 import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
 import com.sequenceiq.cloudbreak.cloud.template.init.ResourceBuilders;
 import com.sequenceiq.cloudbreak.cloud.template.task.ResourcePollTaskFactory;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.common.api.type.CommonStatus;
 import com.sequenceiq.common.api.type.ResourceType;
 
@@ -67,6 +78,8 @@ class ComputeResourceServiceTest {
 
     private static final int MAX_POLLING_ATTEMPT = 100;
 
+    private static final Long STACK_ID = 1L;
+
     @InjectMocks
     private ComputeResourceService underTest;
 
@@ -85,6 +98,9 @@ class ComputeResourceServiceTest {
     @Mock
     private SyncPollingScheduler<List<CloudVmInstanceStatus>> syncVMPollingScheduler;
 
+    @Mock
+    private AsyncPollingScheduler asyncPollingScheduler;
+
     @Mock
     private AuthenticatedContext authenticatedContext;
 
@@ -103,6 +119,9 @@ class ComputeResourceServiceTest {
     @Mock
     private CloudFailureHandler cloudFailureHandler;
 
+    @Mock
+    private MetricService metricService;
+
     @Captor
     private ArgumentCaptor<ResourceDeletionCallablePayload> deletionCallableCaptor;
 
@@ -235,7 +254,7 @@ class ComputeResourceServiceTest {
     }
 
     @Test
-    void testBuildResourcesForLaunch() throws ExecutionException, InterruptedException {
+    void testBuildResourcesForLaunch() throws Exception {
         ResourceBuilderContext resourceBuilderContext = new ResourceBuilderContext("name", Location.location(Region.region("region")), 8, true);
         when(cloudResource.getType()).thenReturn(ResourceType.AWS_INSTANCE);
         CloudStack cloudStack = mock(CloudStack.class);
@@ -250,11 +269,13 @@ class ComputeResourceServiceTest {
         when(resourceBuilders.getCreateBatchSize(any())).thenReturn(Integer.valueOf(8));
         ResourceCreationCallable resourceCreationCallable = mock(ResourceCreationCallable.class);
         when(resourceActionFactory.buildCreationCallable(any())).thenReturn(resourceCreationCallable);
-        Future resourceRequestFuture = mock(Future.class);
         ResourceRequestResult<List<CloudResourceStatus>> resourceRequestResult = new ResourceRequestResult<>(FutureResult.SUCCESS,
                 List.of(new CloudResourceStatus(cloudResource, ResourceStatus.CREATED)));
-        when(resourceRequestFuture.get()).thenReturn(resourceRequestResult);
-        when(resourceBuilderExecutor.submit(eq(resourceCreationCallable))).thenReturn(resourceRequestFuture);
+        when(resourceCreationCallable.call()).thenReturn(resourceRequestResult);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(resourceBuilderExecutor).execute(any(Runnable.class));
         List<Boolean> rollbackContextBuildValue = new ArrayList<>();
         doAnswer(new Answer<Void>() {
             @Override
@@ -276,6 +297,151 @@ class ComputeResourceServiceTest {
         assertThat(rollbackContextBuildValue).containsExactly(Boolean.FALSE, Boolean.FALSE);
     }
 
+    @Test
+    void testBuildResourcesForUpscaleStartsTheNextInstanceWhenOneFinishes() throws Exception {
+        ResourceBuilderContext resourceBuilderContext = new ResourceBuilderContext("name", Location.location(Region.region("region")), 2, true);
+        when(cloudResource.getType()).thenReturn(ResourceType.AWS_INSTANCE);
+        CloudStack cloudStack = mock(CloudStack.class);
+        Group group = mock(Group.class);
+        List<CloudInstance> instances = new ArrayList<>();
+        List<ResourceCreationCallable> creationCallables = new ArrayList<>();
+        AtomicInteger runningCreations = new AtomicInteger();
+        AtomicInteger maxRunningCreations = new AtomicInteger();
+        for (long privateId = 0; privateId < 5; privateId++) {
+            InstanceTemplate template = new InstanceTemplate("flavor", "group", privateId, List.of(), InstanceStatus.CREATE_REQUESTED, null, 1L, "imageId",
+                    null, 1L);
+            instances.add(new CloudInstance("instance" + privateId, template, null, null, null));
+            ResourceCreationCallable creationCallable = mock(ResourceCreationCallable.class);
+            long privateIdFinal = privateId;
+            when(creationCallable.call()).thenAnswer(invocation -> {
+                maxRunningCreations.accumulateAndGet(runningCreations.incrementAndGet(), Math::max);
+                // the first instance is the slowest one
+                Thread.sleep(privateIdFinal == 0 ? 200 : 20);
+                runningCreations.decrementAndGet();
+                return new ResourceRequestResult<>(FutureResult.SUCCESS,
+                        List.of(new CloudResourceStatus(cloudResource, ResourceStatus.CREATED, privateIdFinal)));
+            });
+            creationCallables.add(creationCallable);
+        }
+        when(group.getInstances()).thenReturn(instances);
+        when(resourceBuilders.getCreateBatchSize(any())).thenReturn(Integer.valueOf(5));
+        when(resourceActionFactory.buildCreationCallable(any())).thenReturn(creationCallables.get(0), creationCallables.subList(1, 5).toArray(
+                new ResourceCreationCallable[0]));
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        doAnswer(invocation -> {
+            executorService.execute(invocation.getArgument(0, Runnable.class));
+            return null;
+        }).when(resourceBuilderExecutor).execute(any(Runnable.class));
+
+        try {
+            List<CloudResourceStatus> cloudResourceStatuses = underTest.buildResourcesForUpscale(resourceBuilderContext, authenticatedContext, cloudStack,
+                    List.of(group), null);
+
+            assertThat(cloudResourceStatuses).extracting(CloudResourceStatus::getPrivateId).containsExactly(0L, 1L, 2L, 3L, 4L);
+            assertEquals(2, maxRunningCreations.get());
+            verify(resourceActionFactory, times(5)).buildCreationCallable(argThat(payload -> payload.getInstances().size() == 1));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBuildResourcesForUpscaleCancelsTheRunningInstanceCreationsWhenOneFails() throws Exception {
+        ResourceBuilderContext resourceBuilderContext = new ResourceBuilderContext("name", Location.location(Region.region("region")), 2, true);
+        CloudStack cloudStack = mock(CloudStack.class);
+        Group group = mock(Group.class);
+        List<CloudInstance> instances = new ArrayList<>();
+        for (long privateId = 0; privateId < 2; privateId++) {
+            InstanceTemplate template = new InstanceTemplate("flavor", "group", privateId, List.of(), InstanceStatus.CREATE_REQUESTED, null, 1L, "imageId",
+                    null, 1L);
+            instances.add(new CloudInstance("instance" + privateId, template, null, null, null));
+        }
+        CountDownLatch slowCreationStarted = new CountDownLatch(1);
+        CountDownLatch slowCreationInterrupted = new CountDownLatch(1);
+        ResourceCreationCallable slowCreationCallable = mock(ResourceCreationCallable.class);
+        when(slowCreationCallable.call()).thenAnswer(invocation -> {
+            slowCreationStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                slowCreationInterrupted.countDown();
+            }
+            return new ResourceRequestResult<>(FutureResult.SUCCESS, List.of());
+        });
+        ResourceCreationCallable failingCreationCallable = mock(ResourceCreationCallable.class);
+        when(failingCreationCallable.call()).thenAnswer(invocation -> {
+            slowCreationStarted.await();
+            throw new CloudConnectorException("Connector Failure");
+        });
+        when(group.getInstances()).thenReturn(instances);
+        when(resourceBuilders.getCreateBatchSize(any())).thenReturn(Integer.valueOf(2));
+        when(resourceActionFactory.buildCreationCallable(any())).thenReturn(slowCreationCallable, failingCreationCallable);
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        doAnswer(invocation -> {
+            executorService.execute(invocation.getArgument(0, Runnable.class));
+            return null;
+        }).when(resourceBuilderExecutor).execute(any(Runnable.class));
+
+        try {
+            CloudConnectorException exception = assertThrows(CloudConnectorException.class, () -> underTest.buildResourcesForUpscale(resourceBuilderContext,
+                    authenticatedContext, cloudStack, List.of(group), null));
+
+            assertEquals("The execution of infrastructure operations failed: Connector Failure", exception.getMessage());
+            assertTrue(slowCreationInterrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBuildResourcesForUpscalePollsTheCreatedInstancesConcurrently() throws Exception {
+        ResourceBuilderContext resourceBuilderContext = new ResourceBuilderContext("name", Location.location(Region.region("region")), 2, true);
+        when(cloudContext.getId()).thenReturn(STACK_ID);
+        when(cloudResource.getType()).thenReturn(ResourceType.GCP_INSTANCE);
+        when(computeResourceBuilder1.resourceType()).thenReturn(ResourceType.GCP_INSTANCE);
+        when(resourceBuilders.compute(AWS_VARIANT)).thenReturn(List.of(computeResourceBuilder1));
+        CloudStack cloudStack = mock(CloudStack.class);
+        Group group = mock(Group.class);
+        List<CloudInstance> instances = new ArrayList<>();
+        List<ResourceCreationCallable> creationCallables = new ArrayList<>();
+        for (long privateId = 0; privateId < 2; privateId++) {
+            InstanceTemplate template = new InstanceTemplate("flavor", "group", privateId, List.of(), InstanceStatus.CREATE_REQUESTED, null, 1L, "imageId",
+                    null, 1L);
+            instances.add(new CloudInstance("instance" + privateId, template, null, null, null));
+            ResourceCreationCallable creationCallable = mock(ResourceCreationCallable.class);
+            when(creationCallable.call()).thenReturn(new ResourceRequestResult<>(FutureResult.SUCCESS,
+                    List.of(new CloudResourceStatus(cloudResource, ResourceStatus.IN_PROGRESS, privateId))));
+            creationCallables.add(creationCallable);
+        }
+        when(group.getInstances()).thenReturn(instances);
+        when(resourceBuilders.getCreateBatchSize(any())).thenReturn(Integer.valueOf(2));
+        when(resourceActionFactory.buildCreationCallable(any())).thenReturn(creationCallables.get(0), creationCallables.get(1));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(resourceBuilderExecutor).execute(any(Runnable.class));
+        when(asyncPollingScheduler.isEnabled()).thenReturn(true);
+        // the first poll only finishes when the second one is scheduled, so the instances have to be polled at the same time
+        CompletableFuture<List<CloudResourceStatus>> firstPoll = new CompletableFuture<List<CloudResourceStatus>>().orTimeout(10, TimeUnit.SECONDS);
+        when(asyncPollingScheduler.schedule(any(), anyInt(), anyInt(), anyInt())).thenReturn(firstPoll).thenAnswer(invocation -> {
+            firstPoll.complete(List.of(new CloudResourceStatus(cloudResource, ResourceStatus.CREATED)));
+            return CompletableFuture.failedFuture(new CloudConnectorException("Instance creation failed"));
+        });
+        InMemoryStateStore.putStack(STACK_ID, PollGroup.POLLABLE);
+
+        try {
+            List<CloudResourceStatus> cloudResourceStatuses = underTest.buildResourcesForUpscale(resourceBuilderContext, authenticatedContext, cloudStack,
+                    List.of(group), null);
+
+            assertThat(cloudResourceStatuses).extracting(CloudResourceStatus::getStatus).containsExactly(ResourceStatus.CREATED, ResourceStatus.FAILED);
+            assertEquals("Instance creation failed", cloudResourceStatuses.get(1).getStatusReason());
+            verify(asyncPollingScheduler, times(2)).schedule(any(), eq(SyncPollingScheduler.POLLING_INTERVAL), eq(SyncPollingScheduler.MAX_POLLING_ATTEMPT),
+                    eq(SyncPollingScheduler.FAILURE_TOLERANT_ATTEMPT));
+        } finally {
+            InMemoryStateStore.deleteStack(STACK_ID);
+        }
+    }
+
     private Future<ResourceRequestResult<List<CloudResourceStatus>>> givenDeletionResult(FutureResult futureResult, CloudResourceStatus cloudResourceStatus)
             throws ExecutionException, InterruptedException {
         ResourceDeletionCallable resourceDeletionCallable = mock(ResourceDeletionCallable.class);
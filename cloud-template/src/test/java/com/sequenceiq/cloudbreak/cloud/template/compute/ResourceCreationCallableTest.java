@@ -37,6 +37,7 @@ import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
 import com.sequenceiq.cloudbreak.cloud.template.init.ResourceBuilders;
 import com.sequenceiq.cloudbreak.cloud.template.task.ResourcePollTaskFactory;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.common.api.type.CommonStatus;
 import com.sequenceiq.common.api.type.ResourceType;
 
@@ -57,6 +58,9 @@ class ResourceCreationCallableTest {
     @Mock
     private PersistenceNotifier persistenceNotifier;
 
+    @Mock
+    private MetricService metricService;
+
     @Mock
     private Group group;
 
@@ -78,7 +82,8 @@ class ResourceCreationCallableTest {
         cloudInstance = cloudInstance();
         ResourceCreationCallablePayload payload = new ResourceCreationCallablePayload(
                 List.of(cloudInstance), group, context, auth, cloudStack);
-        underTest = new ResourceCreationCallable(payload, resourceBuilders, syncPollingScheduler, resourcePollTaskFactory, persistenceNotifier);
+        underTest = new ResourceCreationCallable(payload, resourceBuilders, syncPollingScheduler, resourcePollTaskFactory, persistenceNotifier,
+                metricService);
     }
 
     @Test
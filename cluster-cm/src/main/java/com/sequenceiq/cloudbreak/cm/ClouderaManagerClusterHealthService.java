@@ -62,6 +62,7 @@ import com.sequenceiq.cloudbreak.cmtemplate.CmTemplateProcessorFactory;
 import com.sequenceiq.cloudbreak.cmtemplate.configproviders.yarn.YarnRoles;
 import com.sequenceiq.cloudbreak.common.type.HealthCheckResult;
 import com.sequenceiq.cloudbreak.dto.StackDtoDelegate;
+import com.sequenceiq.cloudbreak.view.ClusterManagerCredentials;
 import com.sequenceiq.cloudbreak.view.ClusterView;
 
 @Service
@@ -107,10 +108,9 @@ public class ClouderaManagerClusterHealthService implements ClusterHealthService
     @PostConstruct
     private void initApiClient() throws ClusterClientInitException {
         ClusterView cluster = stack.getCluster();
-        String user = cluster.getCloudbreakAmbariUser();
-        String password = cluster.getCloudbreakAmbariPassword();
+        ClusterManagerCredentials credentials = cluster.getCloudbreakClusterManagerCredentials();
         try {
-            apiClient = clouderaManagerApiClientProvider.getV31Client(stack.getGatewayPort(), user, password, httpClientConfig);
+            apiClient = clouderaManagerApiClientProvider.getV31Client(stack.getGatewayPort(), credentials.user(), credentials.password(), httpClientConfig);
         } catch (ClouderaManagerClientInitException e) {
             throw new ClusterClientInitException(e);
         }
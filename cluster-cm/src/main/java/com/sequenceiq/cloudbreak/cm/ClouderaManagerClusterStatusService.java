@@ -64,6 +64,7 @@ import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.domain.stack.cluster.ClusterCommandType;
 import com.sequenceiq.cloudbreak.dto.StackDtoDelegate;
 import com.sequenceiq.cloudbreak.service.CloudbreakException;
+import com.sequenceiq.cloudbreak.view.ClusterManagerCredentials;
 import com.sequenceiq.cloudbreak.view.ClusterView;
 
 @Service
@@ -218,8 +219,9 @@ public class ClouderaManagerClusterStatusService implements ClusterStatusService
     @PostConstruct
     public void initApiClient() throws ClusterClientInitException {
         ClusterView cluster = stack.getCluster();
-        String cloudbreakAmbariUser = cluster.getCloudbreakAmbariUser();
-        String cloudbreakAmbariPassword = cluster.getCloudbreakAmbariPassword();
+        ClusterManagerCredentials credentials = cluster.getCloudbreakClusterManagerCredentials();
+        String cloudbreakAmbariUser = credentials.user();
+        String cloudbreakAmbariPassword = credentials.password();
         try {
             client = clouderaManagerApiClientProvider
                     .getV31Client(stack.getGatewayPort(), cloudbreakAmbariUser, cloudbreakAmbariPassword, clientConfig);
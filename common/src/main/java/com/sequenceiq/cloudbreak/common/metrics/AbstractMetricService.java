@@ -64,6 +64,11 @@ public abstract class AbstractMetricService implements MetricService {
         incrementMetricCounter(getMetricName(metric), 1.0, tags);
     }
 
+    @Override
+    public void incrementMetricCounter(Metric metric, double amount, String... tags) {
+        incrementMetricCounter(getMetricName(metric), amount, tags);
+    }
+
     @Override
     public void incrementMetricCounter(String metric, String... tags) {
         incrementMetricCounter(metric, 1.0, tags);
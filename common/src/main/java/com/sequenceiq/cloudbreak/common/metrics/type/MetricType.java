@@ -13,7 +13,21 @@ public enum MetricType implements Metric {
     REST_OPERATION_CALLER_ID("rest.operation.caller.id"),
     DB_TRANSACTION_ID("db.transaction"),
     UMS_CALL_SUCCESS("ums.call.success"),
-    UMS_CALL_FAILED("ums.call.failed");
+    UMS_CALL_FAILED("ums.call.failed"),
+    POLLING_IN_FLIGHT("polling.inflight"),
+    POLLING_CHECK("polling.check"),
+    VAULT_CACHE_HIT("vault.cache.hit"),
+    VAULT_CACHE_MISS("vault.cache.miss"),
+    VAULT_CACHE_LOAD_TIME("vault.cache.load.time"),
+    VAULT_CACHE_SIZE("vault.cache.size"),
+    INSTANCE_STATUS_CHECK_BATCH_SIZE("instance.status.check.batch.size"),
+    INSTANCE_STATUS_CHECK_BATCH_CALL("instance.status.check.batch.call"),
+    INSTANCE_STATUS_CHECK_BATCHED_REQUEST("instance.status.check.batched.request"),
+    INSTANCE_STATUS_CHECK_BATCH_FALLBACK("instance.status.check.batch.fallback"),
+    CM_TEMPLATE_CACHE_HIT("cmtemplate.cache.hit"),
+    CM_TEMPLATE_CACHE_MISS("cmtemplate.cache.miss"),
+    CM_TEMPLATE_PARSE_TIME("cmtemplate.parse.time"),
+    CM_TEMPLATE_CACHE_SIZE("cmtemplate.cache.size");
 
     private final String metricName;
 
@@ -3,7 +3,10 @@ package com.sequenceiq.cloudbreak.common.service;
 public enum LockNumber {
 
     // 'Q' + 'u' + 'a' + 'r' + 't' + 'z' = 647
-    QUARTZ(647);
+    QUARTZ(647),
+
+    // 'F' + 'l' + 'o' + 'w' + 'L' + 'o' + 'g' = 698
+    FLOW_LOG(698);
 
     private final int lockNumber;
 
@@ -4,6 +4,7 @@ import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import com.google.common.base.Preconditions;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
@@ -14,9 +15,21 @@ public class EventBus {
 
     private final Executor executor;
 
+    private final KeyedLaneExecutor laneExecutor;
+
+    private final Function<Event<?>, String> laneKeyResolver;
+
     public EventBus(EventRouter eventRouter, Executor executor) {
+        this(eventRouter, executor, null, null);
+    }
+
+    public EventBus(EventRouter eventRouter, Executor executor, KeyedLaneExecutor laneExecutor, Function<Event<?>, String> laneKeyResolver) {
         this.eventRouter = Preconditions.checkNotNull(eventRouter, "eventRouter must not be null.");
         this.executor = Preconditions.checkNotNull(executor, "executor must not be null.");
+        Preconditions.checkArgument((laneExecutor == null) == (laneKeyResolver == null),
+                "laneExecutor and laneKeyResolver must be set together.");
+        this.laneExecutor = laneExecutor;
+        this.laneKeyResolver = laneKeyResolver;
     }
 
     public void notify(String key, Event<?> event) {
@@ -24,14 +37,20 @@ public class EventBus {
         Preconditions.checkNotNull(event, "event must not be null.");
         event.setKey(key);
         Map<String, String> mdcContext = MDCBuilder.getMdcContextMap();
-        executor.execute(() -> {
+        Runnable task = () -> {
             try {
                 MDCBuilder.buildMdcContextFromMap(mdcContext);
                 eventRouter.handle(event);
             } finally {
                 MDCBuilder.cleanupMdc();
             }
-        });
+        };
+        String laneKey = laneKeyResolver != null ? laneKeyResolver.apply(event) : null;
+        if (laneKey != null) {
+            laneExecutor.execute(laneKey, task);
+        } else {
+            executor.execute(() -> KeyedLaneExecutor.dispatch(task));
+        }
     }
 
     public <T extends Event<?>> void on(String key, Consumer<T> handler) {
@@ -52,6 +71,10 @@ public class EventBus {
 
         private BiConsumer<Event<?>, Throwable> exceptionHandler;
 
+        private KeyedLaneExecutor laneExecutor;
+
+        private Function<Event<?>, String> laneKeyResolver;
+
         public Builder executor(Executor executor) {
             this.executor = Preconditions.checkNotNull(executor, "executor must not be null.");
             return this;
@@ -67,8 +90,17 @@ public class EventBus {
             return this;
         }
 
+        /**
+         * Events for which the resolver returns a key are dispatched in order on the lane of that key, the others go to the executor.
+         */
+        public Builder lanes(KeyedLaneExecutor laneExecutor, Function<Event<?>, String> laneKeyResolver) {
+            this.laneExecutor = Preconditions.checkNotNull(laneExecutor, "laneExecutor must not be null.");
+            this.laneKeyResolver = Preconditions.checkNotNull(laneKeyResolver, "laneKeyResolver must not be null.");
+            return this;
+        }
+
         public EventBus build() {
-            return new EventBus(new EventRouter(unhandledEventHandler, exceptionHandler), executor);
+            return new EventBus(new EventRouter(unhandledEventHandler, exceptionHandler), executor, laneExecutor, laneKeyResolver);
         }
     }
 }
@@ -0,0 +1,254 @@
+package com.sequenceiq.cloudbreak.eventbus;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Runs tasks submitted with the same lane key one after the other, in submission order, while tasks of different lanes run in parallel
+ * on the delegate executor. A lane only occupies a thread of the delegate while it has queued tasks, and gives the thread back after
+ * {@code maxTasksPerTurn} tasks so a busy lane cannot starve the others.
+ * <p>
+ * Every lane has its own capacity: a producer submitting to a full lane waits until the lane drains, and only that submission is rejected
+ * if the lane stays full for longer than the offer timeout. Tasks submitted from an event bus thread never wait, they are queued over the
+ * capacity instead, otherwise a task posting to its own full lane would wait for itself.
+ * <p>
+ * The delegate executor must throw {@link RejectedExecutionException} when it rejects a task, the queued tasks of the lane are dropped then.
+ */
+public class KeyedLaneExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyedLaneExecutor.class);
+
+    private static final ThreadLocal<Boolean> DISPATCHING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+
+    private final int laneCapacity;
+
+    private final long offerTimeoutMillis;
+
+    private final int maxTasksPerTurn;
+
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+
+    private final LongAdder executedTasks = new LongAdder();
+
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public KeyedLaneExecutor(Executor executor, int laneCapacity, long offerTimeoutMillis, int maxTasksPerTurn) {
+        this.executor = Preconditions.checkNotNull(executor, "executor must not be null.");
+        Preconditions.checkArgument(laneCapacity > 0, "laneCapacity must be positive.");
+        Preconditions.checkArgument(maxTasksPerTurn > 0, "maxTasksPerTurn must be positive.");
+        this.laneCapacity = laneCapacity;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxTasksPerTurn = maxTasksPerTurn;
+    }
+
+    public void execute(String laneKey, Runnable runnable) {
+        Preconditions.checkNotNull(laneKey, "laneKey must not be null.");
+        Preconditions.checkNotNull(runnable, "runnable must not be null.");
+        Semaphore capacity = lanes.computeIfAbsent(laneKey, Lane::new).capacity;
+        boolean permit = acquire(laneKey, capacity);
+        LaneTask task = new LaneTask(runnable, permit ? capacity : null, System.nanoTime());
+        AtomicInteger pendingBefore = new AtomicInteger();
+        Lane lane = lanes.compute(laneKey, (key, existing) -> {
+            Lane current = existing == null ? new Lane(key) : existing;
+            current.tasks.add(task);
+            pendingBefore.set(current.pending++);
+            return current;
+        });
+        queuedTasks.incrementAndGet();
+        if (pendingBefore.get() == 0 && !schedule(lane)) {
+            throw new RejectedExecutionException(String.format("Lane %s cannot be scheduled on the executor.", laneKey));
+        }
+    }
+
+    public LaneStatistics getStatistics() {
+        return new LaneStatistics(lanes.size(), queuedTasks.get(), getMaxLaneDepth(), executedTasks.sum(), rejectedTasks.sum(), getAverageWaitMillis(),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.getAndSet(0)));
+    }
+
+    public int getMaxLaneDepth() {
+        return lanes.values().stream().mapToInt(lane -> lane.pending).max().orElse(0);
+    }
+
+    public long getAverageWaitMillis() {
+        long executed = executedTasks.sum();
+        return executed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / executed);
+    }
+
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    public int getQueuedTaskCount() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * @return false if the task is queued over the capacity of the lane because it was submitted from an event bus thread
+     */
+    private boolean acquire(String laneKey, Semaphore capacity) {
+        if (DISPATCHING.get()) {
+            boolean acquired = capacity.tryAcquire();
+            if (!acquired) {
+                LOGGER.debug("Lane {} is full, the task submitted from an event bus thread is queued over its capacity", laneKey);
+            }
+            return acquired;
+        }
+        boolean acquired = false;
+        try {
+            acquired = capacity.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            LOGGER.warn("Interrupted while waiting for free capacity in lane {}", laneKey);
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            lanes.computeIfPresent(laneKey, (key, lane) -> lane.pending == 0 ? null : lane);
+            rejectedTasks.increment();
+            throw new RejectedExecutionException(String.format("Lane %s is full, it has %d queued tasks for more than %d ms.",
+                    laneKey, laneCapacity, offerTimeoutMillis));
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the executor rejected the lane and its queued tasks were dropped
+     */
+    private boolean schedule(Lane lane) {
+        try {
+            executor.execute(() -> dispatch(() -> drain(lane)));
+            return true;
+        } catch (RejectedExecutionException e) {
+            LOGGER.error("Lane {} cannot be scheduled on the executor, its {} tasks are dropped.", lane.key, lane.pending, e);
+            dropAll(lane);
+            return false;
+        }
+    }
+
+    /**
+     * Runs the task as an event bus dispatch, lanes do not make the task wait for free capacity.
+     */
+    static void dispatch(Runnable task) {
+        boolean dispatching = DISPATCHING.get();
+        DISPATCHING.set(Boolean.TRUE);
+        try {
+            task.run();
+        } finally {
+            DISPATCHING.set(dispatching);
+        }
+    }
+
+    private void drain(Lane lane) {
+        int executedInTurn = 0;
+        boolean hasMore = true;
+        while (hasMore && executedInTurn < maxTasksPerTurn) {
+            LaneTask task = lane.tasks.poll();
+            if (task != null) {
+                run(task);
+                executedInTurn++;
+            }
+            hasMore = complete(lane);
+        }
+        if (hasMore) {
+            schedule(lane);
+        }
+    }
+
+    private void run(LaneTask task) {
+        long waitNanos = System.nanoTime() - task.enqueuedNanos;
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        try {
+            task.runnable.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Unhandled exception in lane task", e);
+        } finally {
+            task.release();
+            queuedTasks.decrementAndGet();
+            executedTasks.increment();
+        }
+    }
+
+    /**
+     * Marks one task of the lane as done and removes the lane when it became idle.
+     *
+     * @return true if the lane still has pending tasks
+     */
+    private boolean complete(Lane lane) {
+        AtomicInteger pendingAfter = new AtomicInteger();
+        lanes.computeIfPresent(lane.key, (key, current) -> {
+            current.pending--;
+            pendingAfter.set(current.pending);
+            return current.pending == 0 ? null : current;
+        });
+        return pendingAfter.get() > 0;
+    }
+
+    private void dropAll(Lane lane) {
+        boolean hasMore = true;
+        while (hasMore) {
+            LaneTask task = lane.tasks.poll();
+            if (task != null) {
+                task.release();
+                queuedTasks.decrementAndGet();
+                rejectedTasks.increment();
+            }
+            hasMore = complete(lane);
+        }
+    }
+
+    private final class Lane {
+
+        private final String key;
+
+        private final Semaphore capacity = new Semaphore(laneCapacity);
+
+        private final Queue<LaneTask> tasks = new ConcurrentLinkedQueue<>();
+
+        // only modified inside compute calls on the map entry of the lane
+        private volatile int pending;
+
+        private Lane(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * The capacity is null if the task was queued over the capacity of the lane.
+     */
+    private record LaneTask(Runnable runnable, Semaphore capacity, long enqueuedNanos) {
+
+        private void release() {
+            if (capacity != null) {
+                capacity.release();
+            }
+        }
+    }
+
+    /**
+     * The maximum wait time is measured since the previous statistics request.
+     */
+    public record LaneStatistics(int laneCount, int queuedTasks, int maxLaneDepth, long executedTasks, long rejectedTasks,
+            long averageWaitMillis, long maxWaitMillis) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.sequenceiq.cloudbreak.eventbus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class KeyedLaneExecutorTest {
+
+    private static final int LANE_COUNT = 20;
+
+    private static final int TASKS_PER_LANE = 200;
+
+    private static final long TIMEOUT_SECONDS = 10L;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testTasksOfTheSameLaneRunInSubmissionOrder() throws InterruptedException {
+        KeyedLaneExecutor underTest = new KeyedLaneExecutor(executorService, TASKS_PER_LANE, 1000L, 4);
+        Map<String, List<Integer>> executionOrder = new ConcurrentHashMap<>();
+        CountDownLatch finished = new CountDownLatch(LANE_COUNT * TASKS_PER_LANE);
+
+        for (int task = 0; task < TASKS_PER_LANE; task++) {
+            for (int lane = 0; lane < LANE_COUNT; lane++) {
+                String laneKey = "lane" + lane;
+                int taskIndex = task;
+                underTest.execute(laneKey, () -> {
+                    executionOrder.computeIfAbsent(laneKey, key -> Collections.synchronizedList(new ArrayList<>())).add(taskIndex);
+                    finished.countDown();
+                });
+            }
+        }
+
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        executionOrder.values().forEach(order -> {
+            for (int i = 0; i < TASKS_PER_LANE; i++) {
+                assertEquals(i, order.get(i));
+            }
+        });
+        awaitIdle(underTest);
+        assertEquals(LANE_COUNT * TASKS_PER_LANE, underTest.getStatistics().executedTasks());
+    }
+
+    @Test
+    void testFullLaneRejectsOnlyItsOwnTasks() throws InterruptedException {
+        KeyedLaneExecutor underTest = new KeyedLaneExecutor(executorService, 1, 50L, 1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch otherLaneFinished = new CountDownLatch(1);
+
+        underTest.execute("busy", () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThrows(RejectedExecutionException.class, () -> underTest.execute("busy", () -> {
+        }));
+        underTest.execute("other", otherLaneFinished::countDown);
+
+        assertTrue(otherLaneFinished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, underTest.getStatistics().rejectedTasks());
+        blocker.countDown();
+        awaitIdle(underTest);
+    }
+
+    @Test
+    void testLaneIsDroppedWhenTheExecutorRejectsIt() {
+        KeyedLaneExecutor underTest = new KeyedLaneExecutor(command -> {
+            throw new RejectedExecutionException("rejected");
+        }, 1, 50L, 1);
+
+        assertThrows(RejectedExecutionException.class, () -> underTest.execute("rejected", () -> {
+        }));
+
+        assertEquals(0, underTest.getLaneCount());
+        assertEquals(0, underTest.getQueuedTaskCount());
+        assertEquals(1, underTest.getStatistics().rejectedTasks());
+    }
+
+    @Test
+    void testTaskPostingToItsOwnFullLaneDoesNotWait() throws InterruptedException {
+        KeyedLaneExecutor underTest = new KeyedLaneExecutor(executorService, 1, TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS * 2), 1);
+        CountDownLatch followUpFinished = new CountDownLatch(1);
+
+        underTest.execute("flow", () -> underTest.execute("flow", followUpFinished::countDown));
+
+        assertTrue(followUpFinished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        awaitIdle(underTest);
+        assertEquals(2, underTest.getStatistics().executedTasks());
+        assertEquals(0, underTest.getStatistics().rejectedTasks());
+    }
+
+    private void awaitIdle(KeyedLaneExecutor underTest) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (underTest.getLaneCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(0, underTest.getLaneCount());
+        assertEquals(0, underTest.getQueuedTaskCount());
+    }
+}
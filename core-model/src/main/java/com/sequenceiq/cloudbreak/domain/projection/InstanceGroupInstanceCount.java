@@ -0,0 +1,7 @@
+package com.sequenceiq.cloudbreak.domain.projection;
+
+public interface InstanceGroupInstanceCount {
+    Long getInstanceGroupId();
+
+    Integer getInstanceCount();
+}
@@ -44,6 +44,7 @@ import com.sequenceiq.cloudbreak.domain.stack.cluster.host.HostGroup;
 import com.sequenceiq.cloudbreak.service.secret.SecretValue;
 import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
 import com.sequenceiq.cloudbreak.service.secret.domain.SecretToString;
+import com.sequenceiq.cloudbreak.view.ClusterManagerCredentials;
 import com.sequenceiq.cloudbreak.view.ClusterView;
 import com.sequenceiq.cloudbreak.workspace.model.Workspace;
 import com.sequenceiq.cloudbreak.workspace.model.WorkspaceAwareResource;
@@ -528,6 +529,13 @@ public class Cluster implements ProvisionEntity, WorkspaceAwareResource, Cluster
         return getIfNotNull(cloudbreakClusterManagerPassword, Secret::getRaw);
     }
 
+    @Override
+    public ClusterManagerCredentials getCloudbreakClusterManagerCredentials() {
+        ClusterManagerCredentials credentials = ClusterManagerCredentials.resolve(cloudbreakClusterManagerUser, cloudbreakClusterManagerPassword);
+        return new ClusterManagerCredentials(isNotEmpty(credentials.user()) ? credentials.user() : cloudbreakAmbariUser.getRaw(),
+                isNotEmpty(credentials.password()) ? credentials.password() : cloudbreakAmbariPassword.getRaw());
+    }
+
     public String getCloudbreakAmbariPasswordSecretPath() {
         return isNotEmpty(getCloudbreakClusterManagerPasswordSecret()) ? getCloudbreakClusterManagerPasswordSecret() : cloudbreakAmbariPassword.getSecret();
     }
@@ -0,0 +1,24 @@
+package com.sequenceiq.cloudbreak.view;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.sequenceiq.cloudbreak.app.StaticApplicationContext;
+import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
+import com.sequenceiq.cloudbreak.service.secret.domain.SecretProxy;
+import com.sequenceiq.cloudbreak.service.secret.service.SecretService;
+
+/**
+ * The user and the password Cloudbreak uses to connect to the cluster manager, resolved from Vault in one pass.
+ */
+public record ClusterManagerCredentials(String user, String password) {
+
+    public static ClusterManagerCredentials resolve(Secret user, Secret password) {
+        List<Secret> secrets = Arrays.asList(user, password);
+        if (secrets.stream().noneMatch(SecretProxy.class::isInstance)) {
+            return new ClusterManagerCredentials(user == null ? null : user.getRaw(), password == null ? null : password.getRaw());
+        }
+        List<String> values = StaticApplicationContext.getBean(SecretService.class).getAllRaw(secrets);
+        return new ClusterManagerCredentials(values.get(0), values.get(1));
+    }
+}
@@ -138,6 +138,13 @@ public interface ClusterView extends MdcContextInfoProvider {
         return getIfNotNull(getCloudbreakAmbariPasswordSecret(), Secret::getRaw);
     }
 
+    /**
+     * Resolves {@link #getCloudbreakAmbariUser()} and {@link #getCloudbreakAmbariPassword()} in one pass, for the callers which need both.
+     */
+    default ClusterManagerCredentials getCloudbreakClusterManagerCredentials() {
+        return ClusterManagerCredentials.resolve(getCloudbreakAmbariUserSecret(), getCloudbreakAmbariPasswordSecret());
+    }
+
     default String getCloudbreakClusterManagerMonitoringUser() {
         return getIfNotNull(getCloudbreakClusterManagerMonitoringUserSecret(), Secret::getRaw);
     }
@@ -0,0 +1,6 @@
+package com.sequenceiq.cloudbreak.view.delegate;
+
+public interface StackInstanceGroupViewDelegate extends InstanceGroupViewDelegate {
+
+    Long getStackId();
+}
@@ -20,6 +20,7 @@ import com.sequenceiq.cloudbreak.domain.SecurityGroup;
 import com.sequenceiq.cloudbreak.domain.stack.instance.InstanceGroup;
 import com.sequenceiq.cloudbreak.view.AvailabilityZoneView;
 import com.sequenceiq.cloudbreak.view.delegate.InstanceGroupViewDelegate;
+import com.sequenceiq.cloudbreak.view.delegate.StackInstanceGroupViewDelegate;
 import com.sequenceiq.cloudbreak.workspace.repository.EntityType;
 
 @EntityType(entityClass = InstanceGroup.class)
@@ -85,6 +86,16 @@ public interface InstanceGroupRepository extends CrudRepository<InstanceGroup, L
     )
     List<InstanceGroupViewDelegate> findInstanceGroupViewByStackId(@Param("stackId") Long stackId);
 
+    @Query("SELECT s.id as stackId, " + PROJECTION +
+            "FROM InstanceGroup ig " +
+            "LEFT JOIN ig.stack s " +
+            "LEFT JOIN ig.securityGroup sg " +
+            "LEFT JOIN ig.template t " +
+            "LEFT JOIN ig.instanceGroupNetwork n " +
+            "WHERE s.id IN :stackIds "
+    )
+    List<StackInstanceGroupViewDelegate> findInstanceGroupViewByStackIds(@Param("stackIds") Collection<Long> stackIds);
+
     @Query("SELECT " + PROJECTION +
             "FROM InstanceGroup ig " +
             "LEFT JOIN ig.securityGroup sg " +
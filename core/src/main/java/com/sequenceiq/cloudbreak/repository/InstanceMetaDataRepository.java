@@ -21,6 +21,7 @@ import org.springframework.data.repository.query.Param;
 import com.sequenceiq.cloudbreak.api.endpoint.v4.common.StackType;
 import com.sequenceiq.cloudbreak.api.endpoint.v4.stacks.base.InstanceStatus;
 import com.sequenceiq.cloudbreak.common.json.Json;
+import com.sequenceiq.cloudbreak.domain.projection.InstanceGroupInstanceCount;
 import com.sequenceiq.cloudbreak.domain.projection.InstanceMetaDataGroupView;
 import com.sequenceiq.cloudbreak.domain.projection.StackInstanceCount;
 import com.sequenceiq.cloudbreak.domain.stack.instance.InstanceGroup;
@@ -262,6 +263,12 @@ public interface InstanceMetaDataRepository extends JpaRepository<InstanceMetaDa
             + "WHERE i.instanceStatus <> 'TERMINATED' AND i.instanceGroup.id = :instanceGroupId")
     int countByInstanceGroupId(@Param("instanceGroupId") Long instanceGroupId);
 
+    @Query("SELECT i.instanceGroup.id as instanceGroupId, COUNT(i) as instanceCount "
+            + "FROM InstanceMetaData i "
+            + "WHERE i.instanceStatus <> 'TERMINATED' AND i.instanceGroup.id IN :instanceGroupIds "
+            + "GROUP BY i.instanceGroup.id")
+    Set<InstanceGroupInstanceCount> countByInstanceGroupIds(@Param("instanceGroupIds") Collection<Long> instanceGroupIds);
+
     @Query("SELECT s.id as stackId, COUNT(i) as instanceCount "
             + "FROM InstanceMetaData i JOIN i.instanceGroup ig JOIN ig.stack s WHERE s.workspace.id= :id AND i.instanceStatus = 'SERVICES_UNHEALTHY' "
             + "GROUP BY s.id")
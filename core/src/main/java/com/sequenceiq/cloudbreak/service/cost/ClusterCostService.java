@@ -71,8 +71,9 @@ public class ClusterCostService {
         }
 
         List<StackView> stacks = ListUtils.union(stacksByCrns, stackByEnvs);
+        Map<Long, ClusterCostDto> clusterCostDtos = instanceTypeCollectorService.getAllInstanceTypesForCost(stacks);
         for (StackView stack : stacks) {
-            Optional<ClusterCostDto> clusterCostDto = instanceTypeCollectorService.getAllInstanceTypesForCost(stack);
+            Optional<ClusterCostDto> clusterCostDto = Optional.ofNullable(clusterCostDtos.get(stack.getId()));
 
             if (clusterCostDto.isPresent()) {
                 RealTimeCost realTimeCost = new RealTimeCost();
@@ -103,8 +104,9 @@ public class ClusterCostService {
         }
 
         List<StackView> stacks = ListUtils.union(stacksByCrns, stackByEnvs);
+        Map<Long, ClusterCO2Dto> clusterCO2Dtos = instanceTypeCollectorService.getAllInstanceTypesForCO2(stacks);
         for (StackView stack : stacks) {
-            Optional<ClusterCO2Dto> clusterCO2Dto = instanceTypeCollectorService.getAllInstanceTypesForCO2(stack);
+            Optional<ClusterCO2Dto> clusterCO2Dto = Optional.ofNullable(clusterCO2Dtos.get(stack.getId()));
 
             if (clusterCO2Dto.isPresent()) {
                 RealTimeCO2 realTimeCO2 = new RealTimeCO2();
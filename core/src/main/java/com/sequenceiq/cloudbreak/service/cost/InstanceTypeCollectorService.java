@@ -1,16 +1,21 @@
 package com.sequenceiq.cloudbreak.service.cost;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
 
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.cloud.PricingCache;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypeKey;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypePricingService;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypeResources;
 import com.sequenceiq.cloudbreak.cloud.model.ExtendedCloudCredential;
 import com.sequenceiq.cloudbreak.co2.model.ClusterCO2Dto;
 import com.sequenceiq.cloudbreak.co2.model.DiskCO2Dto;
@@ -23,7 +28,6 @@ import com.sequenceiq.cloudbreak.cost.model.DiskCostDto;
 import com.sequenceiq.cloudbreak.cost.model.InstanceGroupCostDto;
 import com.sequenceiq.cloudbreak.domain.Template;
 import com.sequenceiq.cloudbreak.domain.VolumeTemplate;
-import com.sequenceiq.cloudbreak.dto.credential.Credential;
 import com.sequenceiq.cloudbreak.service.environment.credential.CredentialClientService;
 import com.sequenceiq.cloudbreak.service.stack.InstanceGroupService;
 import com.sequenceiq.cloudbreak.service.stack.InstanceMetaDataService;
@@ -51,60 +55,112 @@ public class InstanceTypeCollectorService {
     @Inject
     private CredentialToExtendedCloudCredentialConverter credentialConverter;
 
-    public Optional<ClusterCostDto> getAllInstanceTypesForCost(StackView stack) {
-        String region = stack.getRegion();
-        CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
-        Credential credential = credentialClientService.getByEnvironmentCrn(stack.getEnvironmentCrn());
-
-        ClusterCostDto clusterCostDto = new ClusterCostDto();
-        clusterCostDto.setStatus(stack.getStackStatus().getStatus().name());
-        clusterCostDto.setRegion(region);
+    @Inject
+    private InstanceTypePricingService instanceTypePricingService;
+
+    public Map<Long, ClusterCostDto> getAllInstanceTypesForCost(List<StackView> stacks) {
+        Map<Long, List<InstanceGroupView>> instanceGroupsByStackId = getInstanceGroupsByStackId(stacks);
+        Map<Long, Integer> instanceCounts = instanceMetaDataService.countByInstanceGroupIds(getInstanceGroupIds(instanceGroupsByStackId));
+        Map<InstanceTypeKey, Double> prices = instanceTypePricingService.getPricesForInstanceTypes(
+                collectInstanceTypes(stacks, instanceGroupsByStackId));
+
+        Map<Long, ClusterCostDto> clusterCostDtos = new HashMap<>();
+        for (StackView stack : stacks) {
+            String region = stack.getRegion();
+            CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
+
+            ClusterCostDto clusterCostDto = new ClusterCostDto();
+            clusterCostDto.setStatus(stack.getStackStatus().getStatus().name());
+            clusterCostDto.setRegion(region);
+
+            List<InstanceGroupCostDto> instanceGroupCostDtos = new ArrayList<>();
+            for (InstanceGroupView instanceGroupView : instanceGroupsByStackId.getOrDefault(stack.getId(), List.of())) {
+                getInstanceGroupCostDto(region, cloudPlatform, instanceGroupView, prices, instanceCounts).ifPresent(instanceGroupCostDtos::add);
+            }
 
-        List<InstanceGroupCostDto> instanceGroupCostDtos = new ArrayList<>();
-        for (InstanceGroupView instanceGroupView : instanceGroupService.getInstanceGroupViewByStackId(stack.getId())) {
-            getInstanceGroupCostDto(region, cloudPlatform, instanceGroupView, credential).ifPresent(instanceGroupCostDtos::add);
+            if (!instanceGroupCostDtos.isEmpty()) {
+                clusterCostDto.setInstanceGroups(instanceGroupCostDtos);
+                clusterCostDtos.put(stack.getId(), clusterCostDto);
+            }
         }
+        return clusterCostDtos;
+    }
 
-        if (!instanceGroupCostDtos.isEmpty()) {
-            clusterCostDto.setInstanceGroups(instanceGroupCostDtos);
-            return Optional.of(clusterCostDto);
+    public Map<Long, ClusterCO2Dto> getAllInstanceTypesForCO2(List<StackView> stacks) {
+        Map<Long, List<InstanceGroupView>> instanceGroupsByStackId = getInstanceGroupsByStackId(stacks);
+        Map<Long, Integer> instanceCounts = instanceMetaDataService.countByInstanceGroupIds(getInstanceGroupIds(instanceGroupsByStackId));
+        Map<InstanceTypeKey, InstanceTypeResources> resources = instanceTypePricingService.getResourcesForInstanceTypes(
+                collectInstanceTypes(stacks, instanceGroupsByStackId));
+
+        Map<Long, ClusterCO2Dto> clusterCO2Dtos = new HashMap<>();
+        for (StackView stack : stacks) {
+            String region = stack.getRegion();
+            CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
+
+            ClusterCO2Dto clusterCO2Dto = new ClusterCO2Dto();
+            clusterCO2Dto.setStatus(stack.getStackStatus().getStatus().name());
+            clusterCO2Dto.setRegion(region);
+            clusterCO2Dto.setCloudPlatform(cloudPlatform);
+
+            List<InstanceGroupCO2Dto> instanceGroupCO2Dtos = new ArrayList<>();
+            for (InstanceGroupView instanceGroupView : instanceGroupsByStackId.getOrDefault(stack.getId(), List.of())) {
+                getInstanceGroupCO2Dto(region, cloudPlatform, instanceGroupView, resources, instanceCounts).ifPresent(instanceGroupCO2Dtos::add);
+            }
+
+            if (!instanceGroupCO2Dtos.isEmpty()) {
+                clusterCO2Dto.setInstanceGroups(instanceGroupCO2Dtos);
+                clusterCO2Dtos.put(stack.getId(), clusterCO2Dto);
+            }
         }
-        return Optional.empty();
+        return clusterCO2Dtos;
     }
 
-    public Optional<ClusterCO2Dto> getAllInstanceTypesForCO2(StackView stack) {
-        String region = stack.getRegion();
-        CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
-        Credential credential = credentialClientService.getByEnvironmentCrn(stack.getEnvironmentCrn());
-
-        ClusterCO2Dto clusterCO2Dto = new ClusterCO2Dto();
-        clusterCO2Dto.setStatus(stack.getStackStatus().getStatus().name());
-        clusterCO2Dto.setRegion(region);
-        clusterCO2Dto.setCloudPlatform(cloudPlatform);
+    private Map<Long, List<InstanceGroupView>> getInstanceGroupsByStackId(List<StackView> stacks) {
+        Set<Long> stackIds = stacks.stream().map(StackView::getId).collect(Collectors.toSet());
+        return instanceGroupService.getInstanceGroupViewsByStackIds(stackIds);
+    }
 
-        List<InstanceGroupCO2Dto> instanceGroupCO2Dtos = new ArrayList<>();
-        for (InstanceGroupView instanceGroupView : instanceGroupService.getInstanceGroupViewByStackId(stack.getId())) {
-            getInstanceGroupCO2Dto(region, cloudPlatform, instanceGroupView, credential).ifPresent(instanceGroupCO2Dtos::add);
-        }
+    private Set<Long> getInstanceGroupIds(Map<Long, List<InstanceGroupView>> instanceGroupsByStackId) {
+        return instanceGroupsByStackId.values().stream()
+                .flatMap(List::stream)
+                .map(InstanceGroupView::getId)
+                .collect(Collectors.toSet());
+    }
 
-        if (!instanceGroupCO2Dtos.isEmpty()) {
-            clusterCO2Dto.setInstanceGroups(instanceGroupCO2Dtos);
-            return Optional.of(clusterCO2Dto);
+    // The prices are cached per region and instance type by the pricing caches, so the credential of any environment will do
+    private Map<InstanceTypeKey, ExtendedCloudCredential> collectInstanceTypes(List<StackView> stacks,
+            Map<Long, List<InstanceGroupView>> instanceGroupsByStackId) {
+        Map<String, ExtendedCloudCredential> credentialsByEnvironmentCrn = new HashMap<>();
+        Map<InstanceTypeKey, ExtendedCloudCredential> instanceTypes = new HashMap<>();
+        for (StackView stack : stacks) {
+            CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
+            if (pricingCacheMap.containsKey(cloudPlatform)) {
+                for (InstanceGroupView instanceGroupView : instanceGroupsByStackId.getOrDefault(stack.getId(), List.of())) {
+                    Template template = instanceGroupView.getTemplate();
+                    if (template != null) {
+                        InstanceTypeKey instanceType = new InstanceTypeKey(cloudPlatform, stack.getRegion(), template.getInstanceType());
+                        if (!instanceTypes.containsKey(instanceType)) {
+                            ExtendedCloudCredential credential = credentialsByEnvironmentCrn.computeIfAbsent(stack.getEnvironmentCrn(),
+                                    environmentCrn -> credentialConverter.convert(credentialClientService.getByEnvironmentCrn(environmentCrn)));
+                            instanceTypes.put(instanceType, credential);
+                        }
+                    }
+                }
+            }
         }
-        return Optional.empty();
+        return instanceTypes;
     }
 
     private Optional<InstanceGroupCostDto> getInstanceGroupCostDto(String region, CloudPlatform cloudPlatform,
-            InstanceGroupView instanceGroupView, Credential credential) {
+            InstanceGroupView instanceGroupView, Map<InstanceTypeKey, Double> prices, Map<Long, Integer> instanceCounts) {
         Template template = instanceGroupView.getTemplate();
         if (pricingCacheMap.containsKey(cloudPlatform) && template != null) {
             PricingCache pricingCache = pricingCacheMap.get(cloudPlatform);
             String instanceType = template.getInstanceType();
-            ExtendedCloudCredential extendedCloudCredential = credentialConverter.convert(credential);
-            Optional<Double> pricePerInstance = pricingCache.getPriceForInstanceType(region, instanceType, extendedCloudCredential);
+            Optional<Double> pricePerInstance = Optional.ofNullable(prices.get(new InstanceTypeKey(cloudPlatform, region, instanceType)));
 
             if (pricePerInstance.isPresent()) {
-                int count = instanceMetaDataService.countByInstanceGroupId(instanceGroupView.getId());
+                int count = instanceCounts.getOrDefault(instanceGroupView.getId(), 0);
                 InstanceGroupCostDto instanceGroupCostDto = new InstanceGroupCostDto();
                 instanceGroupCostDto.setPricePerInstance(pricePerInstance.get());
                 instanceGroupCostDto.setClouderaPricePerInstance(clouderaCostCache.getPriceByType(instanceType));
@@ -129,21 +185,18 @@ public class InstanceTypeCollectorService {
     }
 
     private Optional<InstanceGroupCO2Dto> getInstanceGroupCO2Dto(String region, CloudPlatform cloudPlatform,
-            InstanceGroupView instanceGroupView, Credential credential) {
+            InstanceGroupView instanceGroupView, Map<InstanceTypeKey, InstanceTypeResources> resources, Map<Long, Integer> instanceCounts) {
         Template template = instanceGroupView.getTemplate();
         if (pricingCacheMap.containsKey(cloudPlatform) && template != null) {
-            PricingCache pricingCache = pricingCacheMap.get(cloudPlatform);
             String instanceType = template.getInstanceType();
-            ExtendedCloudCredential extendedCloudCredential = credentialConverter.convert(credential);
-            Optional<Integer> coresPerInstance = pricingCache.getCpuCountForInstanceType(region, instanceType, extendedCloudCredential);
-            Optional<Integer> memoryPerInstance = pricingCache.getMemoryForInstanceType(region, instanceType, extendedCloudCredential);
+            Optional<InstanceTypeResources> resourcesPerInstance = Optional.ofNullable(resources.get(new InstanceTypeKey(cloudPlatform, region, instanceType)));
 
-            if (coresPerInstance.isPresent() && memoryPerInstance.isPresent()) {
-                int count = instanceMetaDataService.countByInstanceGroupId(instanceGroupView.getId());
+            if (resourcesPerInstance.isPresent()) {
+                int count = instanceCounts.getOrDefault(instanceGroupView.getId(), 0);
                 InstanceGroupCO2Dto instanceGroupCO2Dto = new InstanceGroupCO2Dto();
                 instanceGroupCO2Dto.setCount(count);
-                instanceGroupCO2Dto.setvCPUs(coresPerInstance.get());
-                instanceGroupCO2Dto.setMemory(memoryPerInstance.get());
+                instanceGroupCO2Dto.setvCPUs(resourcesPerInstance.get().cpuCount());
+                instanceGroupCO2Dto.setMemory(resourcesPerInstance.get().memory());
 
                 List<DiskCO2Dto> diskCO2Dtos = new ArrayList<>();
                 Set<VolumeTemplate> volumeTemplates = template.getVolumeTemplates();
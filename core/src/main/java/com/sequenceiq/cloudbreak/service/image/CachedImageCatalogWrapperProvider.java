@@ -2,52 +2,85 @@ package com.sequenceiq.cloudbreak.service.image;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.Response.Status.Family;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.sequenceiq.cloudbreak.client.RestClientFactory;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakImageCatalogV3;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.Image;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.Images;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
 import com.sequenceiq.cloudbreak.core.CloudbreakImageCatalogException;
 import com.sequenceiq.cloudbreak.service.image.catalog.ImageCatalogServiceProxy;
+import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogIndex;
 import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogMetaData;
 import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogWrapper;
-import com.sequenceiq.cloudbreak.util.FileReaderUtils;
 
+/**
+ * Loads the image catalogs and keeps them in memory together with the lookup index of their images.
+ * <p>
+ * A catalog that has been loaded is refreshed in the background when it is read after the {@code cb.image.catalog.cache.ttl} minutes
+ * elapsed, and the readers get the loaded catalog until the refresh finishes, so a request thread waits for a catalog only when it is
+ * loaded for the first time or after a forced refresh. The refresh is a conditional request that uses the {@code ETag} and
+ * {@code Last-Modified} headers of the previous response, or the modification time for a catalog file, and the catalog is parsed again
+ * only if it has changed. The response is parsed as a stream, without reading it into a string first. If a refresh fails, the previously
+ * loaded catalog is kept. The refreshes run on their own small thread pool, and a catalog that is not read for {@code cb.image.catalog.cache.ttl}
+ * minutes is dropped from the memory.
+ */
 @Component
 public class CachedImageCatalogWrapperProvider {
     private static final Logger LOGGER = LoggerFactory.getLogger(CachedImageCatalogWrapperProvider.class);
 
+    private static final long MAX_ENTRIES = 1000L;
+
     @Value("${cb.etc.config.dir:}")
     private String etcConfigDir;
 
     @Value("#{'${cb.enabled.linux.types}'.split(',')}")
     private List<String> enabledLinuxTypes;
 
+    @Value("${cb.image.catalog.cache.ttl:15}")
+    private long ttlMinutes;
+
+    @Value("${cb.image.catalog.cache.refresh.threads:2}")
+    private int refreshThreads;
+
     @Inject
     private ObjectMapper objectMapper;
 
@@ -57,33 +90,62 @@ public class CachedImageCatalogWrapperProvider {
     @Inject
     private RestClientFactory restClientFactory;
 
-    @Cacheable(cacheNames = "imageCatalogCache", key = "#catalogUrl")
+    @Inject
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    private ExecutorService refreshExecutor;
+
+    private LoadingCache<String, LoadedImageCatalog> imageCatalogs;
+
+    @PostConstruct
+    public void init() {
+        refreshExecutor = commonExecutorServiceFactory.newThreadPoolExecutorService("image-catalog-refresh", "imageCatalogRefreshExecutor",
+                refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy(), List.of());
+        long ttlSeconds = ttlMinutes == 0L ? 1L : TimeUnit.MINUTES.toSeconds(ttlMinutes);
+        imageCatalogs = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .executor(refreshExecutor)
+                .refreshAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .expireAfterAccess(ttlSeconds, TimeUnit.SECONDS)
+                .build(new ImageCatalogLoader());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
     public ImageCatalogWrapper getImageCatalogWrapper(String catalogUrl) throws CloudbreakImageCatalogException {
+        if (Objects.isNull(catalogUrl)) {
+            throw new CloudbreakImageCatalogException("Unable to fetch image catalog. The catalogUrl is null.");
+        }
         try {
-            if (Objects.nonNull(catalogUrl)) {
-                long started = System.currentTimeMillis();
-                String content;
-                if (catalogUrl.startsWith("http")) {
-                    Client client = restClientFactory.getOrCreateWithFollowRedirects();
-                    WebTarget target = client.target(catalogUrl);
-                    Response response = target.request().get();
-                    content = readResponse(target, response);
-                } else {
-                    content = readCatalogFromFile(catalogUrl);
-                }
-                CloudbreakImageCatalogV3 catalog = objectMapper.readValue(content, CloudbreakImageCatalogV3.class);
-                if (Objects.nonNull(catalog)) {
-                    imageCatalogServiceProxy.validate(catalog);
-                    cleanAndValidateMaps(catalog);
-                    catalog = filterImagesByOsType(catalog);
-                    ImageCatalogMetaData metaData = imageCatalogServiceProxy.getImageCatalogMetaData(catalog);
-                    long timeOfParse = System.currentTimeMillis() - started;
-                    LOGGER.debug("ImageCatalog has been get and parsed from '{}' and took '{}' ms.", catalogUrl, timeOfParse);
-                    return new ImageCatalogWrapper(catalog, metaData);
-                }
-                throw new CloudbreakImageCatalogException(String.format("Failed to read the content of '%s' as an image catalog.", catalogUrl));
+            return imageCatalogs.get(catalogUrl).imageCatalogWrapper();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CloudbreakImageCatalogException imageCatalogException) {
+                throw imageCatalogException;
             }
-            throw new CloudbreakImageCatalogException("Unable to fetch image catalog. The catalogUrl is null.");
+            throw new CloudbreakImageCatalogException(String.format("Failed to get image catalog: %s from %s", e.getMessage(), catalogUrl), e);
+        }
+    }
+
+    public void evictImageCatalogCache(String catalogUrl) {
+        imageCatalogs.invalidate(catalogUrl);
+    }
+
+    private LoadedImageCatalog loadImageCatalog(String catalogUrl, LoadedImageCatalog previous) throws CloudbreakImageCatalogException {
+        try {
+            long started = System.currentTimeMillis();
+            LoadedImageCatalog loadedImageCatalog = catalogUrl.startsWith("http")
+                    ? fetchImageCatalog(catalogUrl, previous)
+                    : readImageCatalogFromFile(catalogUrl, previous);
+            long timeOfLoad = System.currentTimeMillis() - started;
+            if (loadedImageCatalog == previous) {
+                LOGGER.debug("ImageCatalog from '{}' has not changed, checking it took '{}' ms.", catalogUrl, timeOfLoad);
+            } else {
+                LOGGER.debug("ImageCatalog has been get and parsed from '{}' and took '{}' ms.", catalogUrl, timeOfLoad);
+            }
+            return loadedImageCatalog;
         } catch (CloudbreakImageCatalogException e) {
             throw e;
         } catch (RuntimeException e) {
@@ -95,6 +157,51 @@ public class CachedImageCatalogWrapperProvider {
         }
     }
 
+    private LoadedImageCatalog fetchImageCatalog(String catalogUrl, LoadedImageCatalog previous) throws CloudbreakImageCatalogException, IOException {
+        Client client = restClientFactory.getOrCreateWithFollowRedirects();
+        WebTarget target = client.target(catalogUrl);
+        Invocation.Builder request = target.request();
+        if (previous != null && previous.entityTag() != null) {
+            request = request.header(HttpHeaders.IF_NONE_MATCH, previous.entityTag());
+        }
+        if (previous != null && previous.lastModified() != null) {
+            request = request.header(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+        }
+        try (Response response = request.get()) {
+            if (previous != null && response.getStatus() == Status.NOT_MODIFIED.getStatusCode()) {
+                return previous;
+            }
+            try (InputStream content = readResponse(target, response)) {
+                ImageCatalogWrapper imageCatalogWrapper = parseImageCatalog(catalogUrl, content);
+                return new LoadedImageCatalog(imageCatalogWrapper, response.getHeaderString(HttpHeaders.ETAG),
+                        response.getHeaderString(HttpHeaders.LAST_MODIFIED));
+            }
+        }
+    }
+
+    private LoadedImageCatalog readImageCatalogFromFile(String catalogUrl, LoadedImageCatalog previous) throws CloudbreakImageCatalogException, IOException {
+        File customCatalogFile = new File(etcConfigDir, catalogUrl);
+        String lastModified = String.valueOf(customCatalogFile.lastModified());
+        if (previous != null && lastModified.equals(previous.lastModified())) {
+            return previous;
+        }
+        try (InputStream content = Files.newInputStream(customCatalogFile.toPath())) {
+            return new LoadedImageCatalog(parseImageCatalog(catalogUrl, content), null, lastModified);
+        }
+    }
+
+    private ImageCatalogWrapper parseImageCatalog(String catalogUrl, InputStream content) throws CloudbreakImageCatalogException, IOException {
+        CloudbreakImageCatalogV3 catalog = objectMapper.readValue(content, CloudbreakImageCatalogV3.class);
+        if (Objects.nonNull(catalog)) {
+            imageCatalogServiceProxy.validate(catalog);
+            cleanAndValidateMaps(catalog);
+            catalog = filterImagesByOsType(catalog);
+            ImageCatalogMetaData metaData = imageCatalogServiceProxy.getImageCatalogMetaData(catalog);
+            return new ImageCatalogWrapper(catalog, metaData, ImageCatalogIndex.of(catalog));
+        }
+        throw new CloudbreakImageCatalogException(String.format("Failed to read the content of '%s' as an image catalog.", catalogUrl));
+    }
+
     private CloudbreakImageCatalogV3 filterImagesByOsType(CloudbreakImageCatalogV3 catalog) {
         LOGGER.debug("Filtering images by OS type {}", getEnabledLinuxTypes());
         if (CollectionUtils.isEmpty(getEnabledLinuxTypes())) {
@@ -134,29 +241,19 @@ public class CachedImageCatalogWrapperProvider {
         return enabledLinuxTypes.stream().filter(StringUtils::isNoneBlank).collect(Collectors.toList());
     }
 
-    private String readResponse(WebTarget target, Response response) throws CloudbreakImageCatalogException {
-        CloudbreakImageCatalogV3 catalog;
+    private InputStream readResponse(WebTarget target, Response response) throws CloudbreakImageCatalogException {
         if (!response.getStatusInfo().getFamily().equals(Family.SUCCESSFUL)) {
             throw new CloudbreakImageCatalogException(String.format("Failed to get image catalog from '%s' due to: '%s'",
                     target.getUri().toString(), response.getStatusInfo().getReasonPhrase()));
         }
         try {
-            return response.readEntity(String.class);
+            return response.readEntity(InputStream.class);
         } catch (ProcessingException e) {
             throw new CloudbreakImageCatalogException(String.format("Failed to process image catalog from '%s' due to: '%s'",
                     target.getUri().toString(), e.getMessage()));
         }
     }
 
-    @CacheEvict(value = "imageCatalogCache", key = "#catalogUrl")
-    public void evictImageCatalogCache(String catalogUrl) {
-    }
-
-    private String readCatalogFromFile(String catalogUrl) throws IOException {
-        File customCatalogFile = new File(etcConfigDir, catalogUrl);
-        return FileReaderUtils.readFileFromPath(customCatalogFile.toPath());
-    }
-
     private void cleanAndValidateMaps(CloudbreakImageCatalogV3 catalog) throws CloudbreakImageCatalogException {
         if (Objects.isNull(catalog.getImages())) {
             throw new CloudbreakImageCatalogException("Images are missing from the image catalog.");
@@ -182,4 +279,20 @@ public class CachedImageCatalogWrapperProvider {
                 .peek(i -> i.getImageSetsByProvider().values().removeIf(Objects::isNull))
                 .allMatch(i -> i.getImageSetsByProvider().isEmpty());
     }
+
+    private record LoadedImageCatalog(ImageCatalogWrapper imageCatalogWrapper, String entityTag, String lastModified) {
+    }
+
+    private final class ImageCatalogLoader implements CacheLoader<String, LoadedImageCatalog> {
+
+        @Override
+        public LoadedImageCatalog load(String catalogUrl) throws CloudbreakImageCatalogException {
+            return loadImageCatalog(catalogUrl, null);
+        }
+
+        @Override
+        public LoadedImageCatalog reload(String catalogUrl, LoadedImageCatalog oldValue) throws CloudbreakImageCatalogException {
+            return loadImageCatalog(catalogUrl, oldValue);
+        }
+    }
 }
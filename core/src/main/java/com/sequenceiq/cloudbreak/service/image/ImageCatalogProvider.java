@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakImageCatalogV3;
 import com.sequenceiq.cloudbreak.core.CloudbreakImageCatalogException;
+import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogIndex;
 import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogMetaData;
 import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogWrapper;
 
@@ -27,6 +28,18 @@ public class ImageCatalogProvider {
         return imageCatalogWrapper.getImageCatalog();
     }
 
+    public ImageCatalogIndex getImageCatalogIndex(String catalogUrl) throws CloudbreakImageCatalogException {
+        return getImageCatalogIndex(catalogUrl, false);
+    }
+
+    public ImageCatalogIndex getImageCatalogIndex(String catalogUrl, boolean forceRefresh) throws CloudbreakImageCatalogException {
+        if (forceRefresh) {
+            cachedImageCatalogWrapperProvider.evictImageCatalogCache(catalogUrl);
+        }
+        ImageCatalogWrapper imageCatalogWrapper = cachedImageCatalogWrapperProvider.getImageCatalogWrapper(catalogUrl);
+        return imageCatalogWrapper.getImageCatalogIndex();
+    }
+
     public ImageCatalogMetaData getImageCatalogMetaData(String catalogUrl) throws CloudbreakImageCatalogException {
         ImageCatalogWrapper imageCatalogWrapper = cachedImageCatalogWrapperProvider.getImageCatalogWrapper(catalogUrl);
         return imageCatalogWrapper.getImageCatalogMetaData();
@@ -538,19 +538,6 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
         return new Images(emptyList(), emptyList(), emptyList(), emptySet());
     }
 
-    private Optional<? extends Image> getImage(String imageId, Images images) {
-        Optional<? extends Image> image;
-        if (!images.getFreeIpaImages().isEmpty()) {
-            image = findFirstWithImageId(imageId, images.getFreeIpaImages());
-        } else {
-            image = findFirstWithImageId(imageId, images.getBaseImages());
-            if (image.isEmpty()) {
-                image = findFirstWithImageId(imageId, images.getCdhImages());
-            }
-        }
-        return image;
-    }
-
     StatedImages getImages(ImageFilter imageFilter) throws CloudbreakImageCatalogException {
         LOGGER.info("Determine images for {}", imageFilter);
         validateRequestPlatforms(imageFilter.getPlatforms());
@@ -677,12 +664,6 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
         return baseImageEnabled;
     }
 
-    private Optional<? extends Image> findFirstWithImageId(String imageId, Collection<? extends Image> images) {
-        return images.stream()
-                .filter(img -> img.getUuid().equals(imageId))
-                .findFirst();
-    }
-
     private static Predicate<Image> isPlatformMatching(Collection<String> platforms, Collection<String> vMImageUUIDs) {
         return img -> vMImageUUIDs.contains(img.getUuid())
                 && img.getImageSetsByProvider().keySet().stream().anyMatch(p -> platforms.stream().anyMatch(platform -> platform.equalsIgnoreCase(p)));
@@ -865,11 +846,9 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
 
     private StatedImage getImageByUrl(String catalogUrl, String catalogName, String imageId) throws CloudbreakImageNotFoundException,
             CloudbreakImageCatalogException {
-        Images images = imageCatalogProvider.getImageCatalogV3(catalogUrl).getImages();
-        Optional<? extends Image> image = getImage(imageId, images);
+        Optional<Image> image = imageCatalogProvider.getImageCatalogIndex(catalogUrl).getImageById(imageId);
         if (image.isEmpty()) {
-            images = imageCatalogProvider.getImageCatalogV3(catalogUrl, true).getImages();
-            image = getImage(imageId, images);
+            image = imageCatalogProvider.getImageCatalogIndex(catalogUrl, true).getImageById(imageId);
         }
         if (image.isEmpty()) {
             throw new CloudbreakImageNotFoundException(String.format("Could not find any image with id: '%s' in catalog: '%s'", imageId, catalogName));
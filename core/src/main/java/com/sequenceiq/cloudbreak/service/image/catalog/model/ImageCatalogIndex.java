@@ -0,0 +1,59 @@
+package com.sequenceiq.cloudbreak.service.image.catalog.model;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakImageCatalogV3;
+import com.sequenceiq.cloudbreak.cloud.model.catalog.Image;
+import com.sequenceiq.cloudbreak.cloud.model.catalog.Images;
+
+/**
+ * Lookup table of the images of a loaded image catalog by image id. It is built once when the catalog is loaded, so an image lookup by id
+ * does not scan the image lists of the catalog.
+ */
+public class ImageCatalogIndex {
+
+    private final Map<String, Image> imagesById;
+
+    private ImageCatalogIndex(Map<String, Image> imagesById) {
+        this.imagesById = ImmutableMap.copyOf(imagesById);
+    }
+
+    public static ImageCatalogIndex of(CloudbreakImageCatalogV3 imageCatalog) {
+        Map<String, Image> imagesById = new LinkedHashMap<>();
+        Images images = imageCatalog.getImages();
+        if (images != null) {
+            // The same precedence as the image lookup of ImageCatalogService: a FreeIPA catalog is looked up in its FreeIPA images only,
+            // other catalogs in the base images first and in the runtime images after them
+            if (images.getFreeIpaImages() != null && !images.getFreeIpaImages().isEmpty()) {
+                addAll(imagesById, images.getFreeIpaImages());
+            } else {
+                addAll(imagesById, images.getBaseImages());
+                addAll(imagesById, images.getCdhImages());
+            }
+        }
+        return new ImageCatalogIndex(imagesById);
+    }
+
+    public Optional<Image> getImageById(String imageId) {
+        return Optional.ofNullable(imagesById.get(imageId));
+    }
+
+    @Override
+    public String toString() {
+        return "ImageCatalogIndex{" +
+                "images=" + imagesById.size() +
+                '}';
+    }
+
+    private static void addAll(Map<String, Image> imagesById, Collection<Image> images) {
+        if (images != null) {
+            images.stream()
+                    .filter(image -> image.getUuid() != null)
+                    .forEach(image -> imagesById.putIfAbsent(image.getUuid(), image));
+        }
+    }
+}
@@ -8,9 +8,12 @@ public class ImageCatalogWrapper {
 
     private ImageCatalogMetaData imageCatalogMetaData;
 
-    public ImageCatalogWrapper(CloudbreakImageCatalogV3 imageCatalog, ImageCatalogMetaData imageCatalogMetaData) {
+    private ImageCatalogIndex imageCatalogIndex;
+
+    public ImageCatalogWrapper(CloudbreakImageCatalogV3 imageCatalog, ImageCatalogMetaData imageCatalogMetaData, ImageCatalogIndex imageCatalogIndex) {
         this.imageCatalog = imageCatalog;
         this.imageCatalogMetaData = imageCatalogMetaData;
+        this.imageCatalogIndex = imageCatalogIndex;
     }
 
     public CloudbreakImageCatalogV3 getImageCatalog() {
@@ -21,11 +24,16 @@ public class ImageCatalogWrapper {
         return imageCatalogMetaData;
     }
 
+    public ImageCatalogIndex getImageCatalogIndex() {
+        return imageCatalogIndex;
+    }
+
     @Override
     public String toString() {
         return "ImageCatalogWrapper{" +
                 "imageCatalog=" + imageCatalog +
                 ", imageCatalogMetaData=" + imageCatalogMetaData +
+                ", imageCatalogIndex=" + imageCatalogIndex +
                 '}';
     }
 }
@@ -31,6 +31,7 @@ import com.sequenceiq.cloudbreak.service.network.instancegroup.InstanceGroupNetw
 import com.sequenceiq.cloudbreak.service.securitygroup.SecurityGroupService;
 import com.sequenceiq.cloudbreak.service.template.TemplateService;
 import com.sequenceiq.cloudbreak.view.AvailabilityZoneView;
+import com.sequenceiq.cloudbreak.view.delegate.StackInstanceGroupViewDelegate;
 import com.sequenceiq.cloudbreak.workspace.model.Workspace;
 import com.sequenceiq.common.model.CloudIdentityType;
 
@@ -162,6 +163,15 @@ public class InstanceGroupService {
         return new ArrayList<>(repository.findInstanceGroupViewByStackId(stackId));
     }
 
+    public Map<Long, List<com.sequenceiq.cloudbreak.view.InstanceGroupView>> getInstanceGroupViewsByStackIds(Collection<Long> stackIds) {
+        if (stackIds.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findInstanceGroupViewByStackIds(stackIds).stream()
+                .collect(Collectors.groupingBy(StackInstanceGroupViewDelegate::getStackId,
+                        Collectors.mapping(com.sequenceiq.cloudbreak.view.InstanceGroupView.class::cast, Collectors.toList())));
+    }
+
     public Map<Long, List<AvailabilityZoneView>> getAvailabilityZonesByStackId(Long stackId) {
         List<AvailabilityZoneView> availabilityZones = repository.findAvailabilityZonesByStackId(stackId);
         return availabilityZones.stream().collect(Collectors.groupingBy(AvailabilityZoneView::getInstanceGroupId));
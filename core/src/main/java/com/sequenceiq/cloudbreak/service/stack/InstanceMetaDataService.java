@@ -41,6 +41,7 @@ import com.sequenceiq.cloudbreak.common.json.Json;
 import com.sequenceiq.cloudbreak.common.mappable.CloudPlatform;
 import com.sequenceiq.cloudbreak.core.flow2.dto.NetworkScaleDetails;
 import com.sequenceiq.cloudbreak.domain.Network;
+import com.sequenceiq.cloudbreak.domain.projection.InstanceGroupInstanceCount;
 import com.sequenceiq.cloudbreak.domain.projection.StackInstanceCount;
 import com.sequenceiq.cloudbreak.domain.stack.instance.InstanceGroup;
 import com.sequenceiq.cloudbreak.domain.stack.instance.InstanceMetaData;
@@ -477,6 +478,14 @@ public class InstanceMetaDataService {
         return repository.countByInstanceGroupId(instanceGroupId);
     }
 
+    public Map<Long, Integer> countByInstanceGroupIds(Collection<Long> instanceGroupIds) {
+        if (instanceGroupIds.isEmpty()) {
+            return Map.of();
+        }
+        return repository.countByInstanceGroupIds(instanceGroupIds).stream()
+                .collect(Collectors.toMap(InstanceGroupInstanceCount::getInstanceGroupId, InstanceGroupInstanceCount::getInstanceCount));
+    }
+
     public List<InstanceMetaData> findAllByInstanceGroupAndInstanceStatus(InstanceGroup instanceGroup,
             com.sequenceiq.cloudbreak.api.endpoint.v4.stacks.base.InstanceStatus status) {
         return repository.findAllByInstanceGroupAndInstanceStatus(instanceGroup, status);
@@ -0,0 +1,219 @@
+package com.sequenceiq.cloudbreak.service.stack;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.handler.InstanceStateQuery;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.CloudPlatformVariant;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+
+/**
+ * Collects the instance checks of the stack status checker jobs that run close to each other and share the credential, the region and the
+ * platform variant, and queries the provider for them with one bulk check instead of one check per stack. A batch is sent when its window
+ * elapses or when it reaches the instance limit, and the statuses are handed back to the waiting jobs.
+ * <p>
+ * If the bulk check fails or does not finish in time, every stack of the batch is checked on its own as without batching. The
+ * {@code instance.status.check.batched.request} and {@code instance.status.check.batch.call} counters show how many provider calls were
+ * avoided.
+ */
+@Service
+public class InstanceStatusCheckCoordinator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstanceStatusCheckCoordinator.class);
+
+    private static final String TIMER_THREAD_NAME = "instance-status-batch-timer";
+
+    @Value("${cb.statuschecker.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.statuschecker.batch.window.millis:2000}")
+    private long windowMillis;
+
+    @Value("${cb.statuschecker.batch.max.instances:500}")
+    private int maxInstances;
+
+    @Value("${cb.statuschecker.batch.timeout.seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${cb.statuschecker.batch.worker.threads:4}")
+    private int workerThreads;
+
+    @Inject
+    private InstanceStateQuery instanceStateQuery;
+
+    @Inject
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
+    private final ConcurrentMap<BatchKey, Batch> pendingBatches = new ConcurrentHashMap<>();
+
+    private ScheduledThreadPoolExecutor timer;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        timer = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name(TIMER_THREAD_NAME).daemon().factory());
+        workers = commonExecutorServiceFactory.newThreadPoolExecutorService("instance-status-batch-worker", "instanceStatusBatchWorkerExecutor",
+                workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy(), List.of());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        LOGGER.info("Stopping instance status check coordinator with {} pending batches", pendingBatches.size());
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    public boolean isBatchingPossible(CloudContext cloudContext) {
+        return enabled && instanceStateQuery.isBulkCheckSupported(cloudContext);
+    }
+
+    public List<CloudVmInstanceStatus> queryInstanceStatuses(CloudCredential cloudCredential, CloudContext cloudContext, List<CloudInstance> cloudInstances) {
+        BatchKey batchKey = new BatchKey(cloudContext.getAccountId(), cloudCredential.getId(), cloudContext.getLocation().getRegion().value(),
+                cloudContext.getPlatformVariant());
+        PendingCheck pendingCheck = new PendingCheck(cloudInstances);
+        metricService.incrementMetricCounter(MetricType.INSTANCE_STATUS_CHECK_BATCHED_REQUEST, "platform", platform(batchKey));
+        enqueue(batchKey, cloudCredential, cloudContext, pendingCheck);
+        try {
+            return pendingCheck.result.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the batched instance check of stack " + cloudContext.getId(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.info("Batched instance check of stack {} failed, checking its instances on their own", cloudContext.getId(), e);
+            metricService.incrementMetricCounter(MetricType.INSTANCE_STATUS_CHECK_BATCH_FALLBACK, "platform", platform(batchKey));
+            return instanceStateQuery.getCloudVmInstanceStatusesWithoutRetry(cloudCredential, cloudContext, cloudInstances);
+        }
+    }
+
+    private void enqueue(BatchKey batchKey, CloudCredential cloudCredential, CloudContext cloudContext, PendingCheck pendingCheck) {
+        while (true) {
+            Batch batch = pendingBatches.computeIfAbsent(batchKey, key -> {
+                Batch newBatch = new Batch(cloudCredential, cloudContext);
+                timer.schedule(() -> flush(key, newBatch), windowMillis, TimeUnit.MILLISECONDS);
+                return newBatch;
+            });
+            int instanceCount = batch.add(pendingCheck);
+            if (instanceCount >= 0) {
+                if (instanceCount >= maxInstances) {
+                    flush(batchKey, batch);
+                }
+                return;
+            }
+        }
+    }
+
+    private void flush(BatchKey batchKey, Batch batch) {
+        if (batch.close()) {
+            pendingBatches.remove(batchKey, batch);
+            workers.execute(() -> check(batchKey, batch));
+        }
+    }
+
+    private void check(BatchKey batchKey, Batch batch) {
+        List<CloudInstance> cloudInstances = batch.pendingChecks.stream()
+                .flatMap(pendingCheck -> pendingCheck.cloudInstances.stream())
+                .toList();
+        LOGGER.debug("Checking {} instances of {} stacks in bulk for {}", cloudInstances.size(), batch.pendingChecks.size(), batchKey);
+        metricService.incrementMetricCounter(MetricType.INSTANCE_STATUS_CHECK_BATCH_CALL, "platform", platform(batchKey));
+        metricService.gauge(MetricType.INSTANCE_STATUS_CHECK_BATCH_SIZE, cloudInstances.size(), Map.of("platform", platform(batchKey)));
+        try {
+            Map<CloudInstance, CloudVmInstanceStatus> statusesByInstance = new IdentityHashMap<>();
+            instanceStateQuery.getCloudVmInstanceStatusesInBulk(batch.cloudCredential, batch.cloudContext, cloudInstances)
+                    .forEach(status -> statusesByInstance.put(status.getCloudInstance(), status));
+            batch.pendingChecks.forEach(pendingCheck -> pendingCheck.result.complete(pendingCheck.cloudInstances.stream()
+                    .map(statusesByInstance::get)
+                    .filter(Objects::nonNull)
+                    .toList()));
+        } catch (RuntimeException e) {
+            batch.pendingChecks.forEach(pendingCheck -> pendingCheck.result.completeExceptionally(e));
+        }
+    }
+
+    private String platform(BatchKey batchKey) {
+        return batchKey.platformVariant().getPlatform().value();
+    }
+
+    private record BatchKey(String accountId, String credentialId, String region, CloudPlatformVariant platformVariant) {
+    }
+
+    private static final class PendingCheck {
+
+        private final List<CloudInstance> cloudInstances;
+
+        private final CompletableFuture<List<CloudVmInstanceStatus>> result = new CompletableFuture<>();
+
+        private PendingCheck(List<CloudInstance> cloudInstances) {
+            this.cloudInstances = cloudInstances;
+        }
+    }
+
+    private static final class Batch {
+
+        private final CloudCredential cloudCredential;
+
+        private final CloudContext cloudContext;
+
+        private final List<PendingCheck> pendingChecks = new ArrayList<>();
+
+        private int instanceCount;
+
+        private boolean closed;
+
+        private Batch(CloudCredential cloudCredential, CloudContext cloudContext) {
+            this.cloudCredential = cloudCredential;
+            this.cloudContext = cloudContext;
+        }
+
+        /**
+         * @return the number of instances in the batch after adding the check, or -1 if the batch has already been sent
+         */
+        private synchronized int add(PendingCheck pendingCheck) {
+            if (closed) {
+                return -1;
+            }
+            pendingChecks.add(pendingCheck);
+            instanceCount += pendingCheck.cloudInstances.size();
+            return instanceCount;
+        }
+
+        private synchronized boolean close() {
+            boolean wasOpen = !closed;
+            closed = true;
+            return wasOpen;
+        }
+    }
+}
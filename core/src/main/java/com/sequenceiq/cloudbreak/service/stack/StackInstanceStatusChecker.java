@@ -40,6 +40,9 @@ public class StackInstanceStatusChecker {
     @Inject
     private CredentialToCloudCredentialConverter cloudCredentialConverter;
 
+    @Inject
+    private InstanceStatusCheckCoordinator instanceStatusCheckCoordinator;
+
     public List<CloudVmInstanceStatus> queryInstanceStatuses(StackDtoDelegate stack, List<CloudInstance> cloudInstances) {
         List<CloudVmInstanceStatus> result = Collections.emptyList();
         if (!cloudInstances.isEmpty()) {
@@ -67,7 +70,11 @@ public class StackInstanceStatusChecker {
             CloudContext cloudContext, CloudCredential cloudCredential) {
         List<CloudVmInstanceStatus> instanceStatuses;
         try {
-            instanceStatuses = instanceStateQuery.getCloudVmInstanceStatusesWithoutRetry(cloudCredential, cloudContext, cloudInstances);
+            if (instanceStatusCheckCoordinator.isBatchingPossible(cloudContext)) {
+                instanceStatuses = instanceStatusCheckCoordinator.queryInstanceStatuses(cloudCredential, cloudContext, cloudInstances);
+            } else {
+                instanceStatuses = instanceStateQuery.getCloudVmInstanceStatusesWithoutRetry(cloudCredential, cloudContext, cloudInstances);
+            }
         } catch (RuntimeException e) {
             instanceStatuses = cloudInstances.stream()
                     .map(instance -> new CloudVmInstanceStatus(instance, InstanceStatus.UNKNOWN))
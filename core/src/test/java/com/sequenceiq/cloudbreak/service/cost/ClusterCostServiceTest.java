@@ -5,7 +5,6 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -35,6 +34,8 @@ import com.sequenceiq.cloudbreak.service.stack.StackDtoService;
 @ExtendWith(MockitoExtension.class)
 public class ClusterCostServiceTest {
 
+    private static final Long STACK_ID = 1L;
+
     @Mock
     private UsdCalculatorService usdCalculatorService;
 
@@ -66,7 +67,7 @@ public class ClusterCostServiceTest {
         when(stackDtoService.findNotTerminatedByEnvironmentCrnsAndCloudPlatforms(any(), any())).thenReturn(List.of(getStack()));
         when(usdCalculatorService.calculateProviderCost(any())).thenReturn(0.5);
         when(usdCalculatorService.calculateClouderaCost(any(), any())).thenReturn(0.5);
-        when(instanceTypeCollectorService.getAllInstanceTypesForCost(any())).thenReturn(Optional.of(new ClusterCostDto()));
+        when(instanceTypeCollectorService.getAllInstanceTypesForCost(any())).thenReturn(Map.of(STACK_ID, new ClusterCostDto()));
 
         ThreadBasedUserCrnProvider.doAs("crn:cdp:iam:us-west-1:1234:user:1", () -> {
             Map<String, RealTimeCost> costs = underTest.getCosts(List.of("RESOURCE_CRN"), List.of("ENV_CRN"));
@@ -84,7 +85,7 @@ public class ClusterCostServiceTest {
         when(stackDtoService.findNotTerminatedByResourceCrnsAndCloudPlatforms(any(), any())).thenReturn(List.of(getStack()));
         when(stackDtoService.findNotTerminatedByEnvironmentCrnsAndCloudPlatforms(any(), any())).thenReturn(List.of(getStack()));
         when(co2CostCalculatorService.calculateCO2InGrams(any())).thenReturn(10.0);
-        when(instanceTypeCollectorService.getAllInstanceTypesForCO2(any())).thenReturn(Optional.of(new ClusterCO2Dto()));
+        when(instanceTypeCollectorService.getAllInstanceTypesForCO2(any())).thenReturn(Map.of(STACK_ID, new ClusterCO2Dto()));
 
         ThreadBasedUserCrnProvider.doAs("crn:cdp:iam:us-west-1:1234:user:1", () -> {
             Map<String, RealTimeCO2> costs = underTest.getCO2(List.of("RESOURCE_CRN"), List.of("ENV_CRN"));
@@ -97,6 +98,7 @@ public class ClusterCostServiceTest {
 
     private Stack getStack() {
         Stack stack = new Stack();
+        stack.setId(STACK_ID);
         stack.setStackStatus(new StackStatus(stack, Status.AVAILABLE, "Status reason.", DetailedStackStatus.AVAILABLE));
         stack.setEnvironmentCrn("ENVIRONMENT_CRN");
         stack.setName("RESOURCE_NAME");
@@ -3,6 +3,8 @@ package com.sequenceiq.cloudbreak.service.cost;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -22,6 +24,10 @@ import com.sequenceiq.cloudbreak.api.endpoint.v4.common.DetailedStackStatus;
 import com.sequenceiq.cloudbreak.api.endpoint.v4.common.Status;
 import com.sequenceiq.cloudbreak.auth.ThreadBasedUserCrnProvider;
 import com.sequenceiq.cloudbreak.cloud.PricingCache;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypeKey;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypePricingService;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypeResources;
+import com.sequenceiq.cloudbreak.cloud.model.ExtendedCloudCredential;
 import com.sequenceiq.cloudbreak.co2.model.ClusterCO2Dto;
 import com.sequenceiq.cloudbreak.co2.model.DiskCO2Dto;
 import com.sequenceiq.cloudbreak.co2.model.InstanceGroupCO2Dto;
@@ -52,6 +58,12 @@ public class InstanceTypeCollectorServiceTest {
 
     private static final double MAGIC_PRICE_PER_DISK_GB = 0.000138;
 
+    private static final String ENVIRONMENT_CRN = "ENVIRONMENT_CRN";
+
+    private static final InstanceTypeKey AWS_INSTANCE_TYPE = new InstanceTypeKey(CloudPlatform.AWS, REGION, INSTANCE_TYPE);
+
+    private static final InstanceTypeKey AZURE_INSTANCE_TYPE = new InstanceTypeKey(CloudPlatform.AZURE, REGION, INSTANCE_TYPE);
+
     @Mock
     private InstanceGroupService instanceGroupService;
 
@@ -73,22 +85,54 @@ public class InstanceTypeCollectorServiceTest {
     @Mock
     private CredentialToExtendedCloudCredentialConverter credentialConverter;
 
+    @Mock
+    private InstanceTypePricingService instanceTypePricingService;
+
+    @Mock
+    private ExtendedCloudCredential extendedCloudCredential;
+
     @InjectMocks
     private InstanceTypeCollectorService underTest;
 
+    @Test
+    void getAllInstanceTypesForCostFetchesTheCredentialOfAnEnvironmentOnce() {
+        when(instanceMetaDataService.countByInstanceGroupIds(Set.of(420L, 421L))).thenReturn(Map.of(420L, 2, 421L, 1));
+        when(clouderaCostCache.getPriceByType(any())).thenReturn(0.5);
+        when(pricingCaches.containsKey(any(CloudPlatform.class))).thenReturn(Boolean.TRUE);
+        when(pricingCaches.get(any(CloudPlatform.class))).thenReturn(pricingCache);
+        when(instanceTypePricingService.getPricesForInstanceTypes(Map.of(AWS_INSTANCE_TYPE, extendedCloudCredential)))
+                .thenReturn(Map.of(AWS_INSTANCE_TYPE, 0.5));
+        when(pricingCache.getStoragePricePerGBHour(eq(REGION), any(), anyInt())).thenReturn(Optional.of(MAGIC_PRICE_PER_DISK_GB));
+        InstanceGroup otherInstanceGroup = getInstanceGroup("gp2");
+        otherInstanceGroup.setId(421L);
+        when(instanceGroupService.getInstanceGroupViewsByStackIds(Set.of(69L, 70L)))
+                .thenReturn(Map.of(69L, List.of(getInstanceGroup("gp2")), 70L, List.of(otherInstanceGroup)));
+        when(credentialClientService.getByEnvironmentCrn(ENVIRONMENT_CRN)).thenReturn(getCredential("AWS"));
+        when(credentialConverter.convert(any(Credential.class))).thenReturn(extendedCloudCredential);
+        Stack otherStack = getStack("AWS");
+        otherStack.setId(70L);
+
+        Map<Long, ClusterCostDto> clusterCostDtos = underTest.getAllInstanceTypesForCost(List.of(getStack("AWS"), otherStack));
+
+        Assertions.assertEquals(Set.of(69L, 70L), clusterCostDtos.keySet());
+        Assertions.assertEquals(1.0, clusterCostDtos.get(69L).getInstanceGroups().getFirst().getTotalProviderPrice());
+        Assertions.assertEquals(0.5, clusterCostDtos.get(70L).getInstanceGroups().getFirst().getTotalProviderPrice());
+        verify(credentialClientService, times(1)).getByEnvironmentCrn(ENVIRONMENT_CRN);
+    }
+
     @Test
     void getAllInstanceTypesForCost() {
-        when(instanceMetaDataService.countByInstanceGroupId(420L)).thenReturn(2);
+        when(instanceMetaDataService.countByInstanceGroupIds(Set.of(420L))).thenReturn(Map.of(420L, 2));
         when(clouderaCostCache.getPriceByType(any())).thenReturn(0.5);
         when(pricingCaches.containsKey(any(CloudPlatform.class))).thenReturn(Boolean.TRUE);
         when(pricingCaches.get(any(CloudPlatform.class))).thenReturn(pricingCache);
-        when(pricingCache.getPriceForInstanceType(eq(REGION), eq(INSTANCE_TYPE), any())).thenReturn(Optional.of(0.5));
+        when(instanceTypePricingService.getPricesForInstanceTypes(any())).thenReturn(Map.of(AZURE_INSTANCE_TYPE, 0.5));
         when(pricingCache.getStoragePricePerGBHour(eq(REGION), any(), anyInt())).thenReturn(Optional.of(MAGIC_PRICE_PER_DISK_GB));
-        when(instanceGroupService.getInstanceGroupViewByStackId(69L)).thenReturn(List.of(getInstanceGroup("gp2")));
+        when(instanceGroupService.getInstanceGroupViewsByStackIds(Set.of(69L))).thenReturn(Map.of(69L, List.of(getInstanceGroup("gp2"))));
         when(credentialClientService.getByEnvironmentCrn(any())).thenReturn(getCredential("AZURE"));
 
         ThreadBasedUserCrnProvider.doAs("crn:cdp:iam:us-west-1:1234:user:1", () -> {
-            Optional<ClusterCostDto> clusterCostDto = underTest.getAllInstanceTypesForCost(getStack("AZURE"));
+            Optional<ClusterCostDto> clusterCostDto = Optional.ofNullable(underTest.getAllInstanceTypesForCost(List.of(getStack("AZURE"))).get(69L));
 
             Assertions.assertTrue(clusterCostDto.isPresent());
             Assertions.assertEquals("AVAILABLE", clusterCostDto.get().getStatus());
@@ -108,16 +152,16 @@ public class InstanceTypeCollectorServiceTest {
 
     @Test
     void getAllInstanceTypesForCO2() {
-        when(instanceMetaDataService.countByInstanceGroupId(420L)).thenReturn(2);
+        when(instanceMetaDataService.countByInstanceGroupIds(Set.of(420L))).thenReturn(Map.of(420L, 2));
         when(pricingCaches.containsKey(any(CloudPlatform.class))).thenReturn(Boolean.TRUE);
-        when(pricingCaches.get(any(CloudPlatform.class))).thenReturn(pricingCache);
-        when(pricingCache.getCpuCountForInstanceType(eq(REGION), eq(INSTANCE_TYPE), any())).thenReturn(Optional.of(8));
-        when(pricingCache.getMemoryForInstanceType(eq(REGION), eq(INSTANCE_TYPE), any())).thenReturn(Optional.of(16));
-        when(instanceGroupService.getInstanceGroupViewByStackId(69L)).thenReturn(List.of(getInstanceGroup("gp2")));
+        when(instanceTypePricingService.getResourcesForInstanceTypes(Map.of(AWS_INSTANCE_TYPE, extendedCloudCredential)))
+                .thenReturn(Map.of(AWS_INSTANCE_TYPE, new InstanceTypeResources(8, 16)));
+        when(instanceGroupService.getInstanceGroupViewsByStackIds(Set.of(69L))).thenReturn(Map.of(69L, List.of(getInstanceGroup("gp2"))));
         when(credentialClientService.getByEnvironmentCrn(any())).thenReturn(getCredential("AWS"));
+        when(credentialConverter.convert(any(Credential.class))).thenReturn(extendedCloudCredential);
 
         ThreadBasedUserCrnProvider.doAs("crn:cdp:iam:us-west-1:1234:user:1", () -> {
-            Optional<ClusterCO2Dto> clusterCO2Dto = underTest.getAllInstanceTypesForCO2(getStack("AWS"));
+            Optional<ClusterCO2Dto> clusterCO2Dto = Optional.ofNullable(underTest.getAllInstanceTypesForCO2(List.of(getStack("AWS"))).get(69L));
 
             Assertions.assertTrue(clusterCO2Dto.isPresent());
             Assertions.assertEquals("AVAILABLE", clusterCO2Dto.get().getStatus());
@@ -139,6 +183,7 @@ public class InstanceTypeCollectorServiceTest {
         Stack stack = new Stack();
         stack.setId(69L);
         stack.setRegion(REGION);
+        stack.setEnvironmentCrn(ENVIRONMENT_CRN);
         stack.setCloudPlatform(cloudPlatform);
         stack.setStackStatus(new StackStatus(stack, Status.AVAILABLE, "Status reason.", DetailedStackStatus.AVAILABLE));
         stack.setInstanceGroups(Set.of(getInstanceGroup("standard")));
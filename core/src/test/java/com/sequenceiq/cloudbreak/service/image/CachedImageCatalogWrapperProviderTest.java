@@ -2,9 +2,20 @@ package com.sequenceiq.cloudbreak.service.image;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collections;
@@ -15,10 +26,12 @@ import java.util.stream.Collectors;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -28,13 +41,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.sequenceiq.cloudbreak.TestUtil;
 import com.sequenceiq.cloudbreak.client.RestClientFactory;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakImageCatalogV3;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakVersion;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.Image;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
 import com.sequenceiq.cloudbreak.core.CloudbreakImageCatalogException;
 import com.sequenceiq.cloudbreak.service.image.catalog.ImageCatalogServiceProxy;
+import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogIndex;
+import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogWrapper;
 
 @ExtendWith(MockitoExtension.class)
 public class CachedImageCatalogWrapperProviderTest {
@@ -61,6 +79,8 @@ public class CachedImageCatalogWrapperProviderTest {
 
     private static final String CB_VERSION = "1.16.5";
 
+    private static final String ETAG = "\"catalog-etag\"";
+
     private static final List<String> RC_IMAGE_CATALOG_OS_TYPES = Lists.newArrayList("amazonlinux", "centos7", "amazonlinux2", "sles12", "ubuntu16");
 
     private static final List<String> CB_AMAZONLINUX_FILTER = Lists.newArrayList("amazonlinux");
@@ -91,9 +111,21 @@ public class CachedImageCatalogWrapperProviderTest {
     @Mock
     private RestClientFactory restClientFactory;
 
+    @Mock
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
     @Spy
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(underTest, "ttlMinutes", 15L);
+        ReflectionTestUtils.setField(underTest, "refreshThreads", 1);
+        when(commonExecutorServiceFactory.newThreadPoolExecutorService(any(), any(), anyInt(), anyInt(), anyLong(), any(), any(), any(), any()))
+                .thenReturn(MoreExecutors.newDirectExecutorService());
+        underTest.init();
+    }
+
     @Test
     public void testReadImageCatalogFromFile() throws Exception {
 
@@ -222,7 +254,7 @@ public class CachedImageCatalogWrapperProviderTest {
         when(builderMock.get()).thenReturn(responseMock);
         when(responseMock.getStatusInfo()).thenReturn(statusTypeMock);
         when(statusTypeMock.getFamily()).thenReturn(Response.Status.Family.SUCCESSFUL);
-        when(responseMock.readEntity(String.class)).thenReturn(Files.readString(Paths.get(path, CB_IMAGE_CATALOG_V2_JSON)));
+        when(responseMock.readEntity(InputStream.class)).thenReturn(Files.newInputStream(Paths.get(path, CB_IMAGE_CATALOG_V2_JSON)));
 
         ReflectionTestUtils.setField(underTest, "etcConfigDir", path);
         ReflectionTestUtils.setField(underTest, "enabledLinuxTypes", Collections.emptyList());
@@ -236,6 +268,48 @@ public class CachedImageCatalogWrapperProviderTest {
 
     }
 
+    @Test
+    public void testHttpImageCatalogIsNotParsedAgainWhenNotModified() throws CloudbreakImageCatalogException, IOException {
+        String path = getPath(CB_IMAGE_CATALOG_V2_JSON);
+        String catalogUrl = "http";
+        Response notModifiedResponseMock = mock(Response.class);
+
+        when(restClientFactory.getOrCreateWithFollowRedirects()).thenReturn(clientMock);
+        when(clientMock.target(catalogUrl)).thenReturn(webTargetMock);
+        when(webTargetMock.request()).thenReturn(builderMock);
+        when(builderMock.get()).thenReturn(responseMock, notModifiedResponseMock);
+        when(builderMock.header(HttpHeaders.IF_NONE_MATCH, ETAG)).thenReturn(builderMock);
+        when(responseMock.getStatusInfo()).thenReturn(statusTypeMock);
+        when(statusTypeMock.getFamily()).thenReturn(Response.Status.Family.SUCCESSFUL);
+        when(responseMock.readEntity(InputStream.class)).thenReturn(Files.newInputStream(Paths.get(path, CB_IMAGE_CATALOG_V2_JSON)));
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn(ETAG);
+        when(notModifiedResponseMock.getStatus()).thenReturn(Response.Status.NOT_MODIFIED.getStatusCode());
+
+        ReflectionTestUtils.setField(underTest, "enabledLinuxTypes", Collections.emptyList());
+
+        ImageCatalogWrapper loaded = underTest.getImageCatalogWrapper(catalogUrl);
+        LoadingCache<String, ?> imageCatalogs = (LoadingCache<String, ?>) ReflectionTestUtils.getField(underTest, "imageCatalogs");
+        imageCatalogs.refresh(catalogUrl).join();
+        ImageCatalogWrapper refreshed = underTest.getImageCatalogWrapper(catalogUrl);
+
+        assertSame(loaded, refreshed);
+        verify(objectMapper, times(1)).readValue(any(InputStream.class), eq(CloudbreakImageCatalogV3.class));
+    }
+
+    @Test
+    public void testImageCatalogIndex() throws CloudbreakImageCatalogException {
+        String path = getPath(CB_IMAGE_CATALOG_V2_JSON);
+        ReflectionTestUtils.setField(underTest, "etcConfigDir", path);
+        ReflectionTestUtils.setField(underTest, "enabledLinuxTypes", Collections.emptyList());
+
+        ImageCatalogWrapper imageCatalogWrapper = underTest.getImageCatalogWrapper(CB_IMAGE_CATALOG_V2_JSON);
+
+        ImageCatalogIndex index = imageCatalogWrapper.getImageCatalogIndex();
+        Image baseImage = imageCatalogWrapper.getImageCatalog().getImages().getBaseImages().get(0);
+        assertEquals(Optional.of(baseImage), index.getImageById(baseImage.getUuid()));
+        assertEquals(Optional.empty(), index.getImageById("unknown"));
+    }
+
     @Test
     public void testHttpImageCatalogNotValidJson() {
         String path = getPath(CB_IMAGE_CATALOG_VALID_JSON);
@@ -247,7 +321,7 @@ public class CachedImageCatalogWrapperProviderTest {
         when(builderMock.get()).thenReturn(responseMock);
         when(responseMock.getStatusInfo()).thenReturn(statusTypeMock);
         when(statusTypeMock.getFamily()).thenReturn(Response.Status.Family.SUCCESSFUL);
-        when(responseMock.readEntity(String.class)).thenReturn("image catalog");
+        when(responseMock.readEntity(InputStream.class)).thenReturn(new ByteArrayInputStream("image catalog".getBytes(StandardCharsets.UTF_8)));
 
         ReflectionTestUtils.setField(underTest, "etcConfigDir", path);
         ReflectionTestUtils.setField(underTest, "enabledLinuxTypes", Collections.emptyList());
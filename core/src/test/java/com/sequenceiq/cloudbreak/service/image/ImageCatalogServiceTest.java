@@ -88,6 +88,7 @@ import com.sequenceiq.cloudbreak.service.image.catalog.AdvertisedImageProvider;
 import com.sequenceiq.cloudbreak.service.image.catalog.ImageCatalogServiceProxy;
 import com.sequenceiq.cloudbreak.service.image.catalog.VersionBasedImageCatalogService;
 import com.sequenceiq.cloudbreak.service.image.catalog.VersionBasedImageProvider;
+import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogIndex;
 import com.sequenceiq.cloudbreak.service.image.catalog.model.ImageCatalogMetaData;
 import com.sequenceiq.cloudbreak.service.stack.StackService;
 import com.sequenceiq.cloudbreak.service.upgrade.image.ImageFilterResult;
@@ -1165,6 +1166,9 @@ public class ImageCatalogServiceTest {
         lenient().when(imageCatalog.getImageCatalogUrl()).thenReturn(catalogUrl);
         lenient().when(imageCatalogProvider.getImageCatalogV3(catalogUrl)).thenReturn(catalog);
         lenient().when(imageCatalogProvider.getImageCatalogV3(catalogUrl, true)).thenReturn(catalog);
+        ImageCatalogIndex imageCatalogIndex = ImageCatalogIndex.of(catalog);
+        lenient().when(imageCatalogProvider.getImageCatalogIndex(catalogUrl)).thenReturn(imageCatalogIndex);
+        lenient().when(imageCatalogProvider.getImageCatalogIndex(catalogUrl, true)).thenReturn(imageCatalogIndex);
         lenient().when(cloudbreakVersionListProvider.getVersions(any())).thenReturn(catalog.getVersions().getCloudbreakVersions());
     }
 
@@ -0,0 +1,127 @@
+package com.sequenceiq.cloudbreak.service.stack;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.handler.InstanceStateQuery;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.Location;
+import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+
+@ExtendWith(MockitoExtension.class)
+class InstanceStatusCheckCoordinatorTest {
+
+    private static final long WINDOW_MILLIS = 60_000L;
+
+    @InjectMocks
+    private InstanceStatusCheckCoordinator underTest;
+
+    @Mock
+    private InstanceStateQuery instanceStateQuery;
+
+    @Mock
+    private MetricService metricService;
+
+    private final CloudCredential cloudCredential = new CloudCredential("credentialCrn", "credential", Map.of(), "account");
+
+    private ScheduledThreadPoolExecutor timer;
+
+    private ExecutorService workers;
+
+    @BeforeEach
+    void setUp() {
+        timer = new ScheduledThreadPoolExecutor(1);
+        workers = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(underTest, "timer", timer);
+        ReflectionTestUtils.setField(underTest, "workers", workers);
+        ReflectionTestUtils.setField(underTest, "windowMillis", WINDOW_MILLIS);
+        ReflectionTestUtils.setField(underTest, "maxInstances", 2);
+        ReflectionTestUtils.setField(underTest, "timeoutSeconds", 10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void testChecksOfStacksSharingCredentialAndRegionAreSentTogether() {
+        CloudInstance instance1 = new CloudInstance("i-1", null, null, "subnet", "az");
+        CloudInstance instance2 = new CloudInstance("i-2", null, null, "subnet", "az");
+        when(instanceStateQuery.getCloudVmInstanceStatusesInBulk(eq(cloudCredential), any(), anyList())).thenReturn(List.of(
+                new CloudVmInstanceStatus(instance2, InstanceStatus.STOPPED),
+                new CloudVmInstanceStatus(instance1, InstanceStatus.STARTED)));
+
+        CompletableFuture<List<CloudVmInstanceStatus>> stack1Result =
+                CompletableFuture.supplyAsync(() -> underTest.queryInstanceStatuses(cloudCredential, cloudContext(1L), List.of(instance1)));
+        CompletableFuture<List<CloudVmInstanceStatus>> stack2Result =
+                CompletableFuture.supplyAsync(() -> underTest.queryInstanceStatuses(cloudCredential, cloudContext(2L), List.of(instance2)));
+
+        assertThat(stack1Result.join()).containsExactly(new CloudVmInstanceStatus(instance1, InstanceStatus.STARTED));
+        assertThat(stack2Result.join()).containsExactly(new CloudVmInstanceStatus(instance2, InstanceStatus.STOPPED));
+        verify(instanceStateQuery, times(1)).getCloudVmInstanceStatusesInBulk(eq(cloudCredential), any(), anyList());
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.INSTANCE_STATUS_CHECK_BATCH_CALL, "platform", "AWS");
+        verify(metricService, times(2)).incrementMetricCounter(MetricType.INSTANCE_STATUS_CHECK_BATCHED_REQUEST, "platform", "AWS");
+    }
+
+    @Test
+    void testFailedBulkCheckFallsBackToCheckPerStack() {
+        ReflectionTestUtils.setField(underTest, "maxInstances", 1);
+        CloudInstance instance = new CloudInstance("i-1", null, null, "subnet", "az");
+        CloudContext cloudContext = cloudContext(1L);
+        List<CloudVmInstanceStatus> statuses = List.of(new CloudVmInstanceStatus(instance, InstanceStatus.STARTED));
+        when(instanceStateQuery.getCloudVmInstanceStatusesInBulk(eq(cloudCredential), any(), anyList())).thenThrow(new IllegalStateException("throttled"));
+        when(instanceStateQuery.getCloudVmInstanceStatusesWithoutRetry(cloudCredential, cloudContext, List.of(instance))).thenReturn(statuses);
+
+        List<CloudVmInstanceStatus> result = underTest.queryInstanceStatuses(cloudCredential, cloudContext, List.of(instance));
+
+        assertThat(result).isEqualTo(statuses);
+        verify(metricService).incrementMetricCounter(MetricType.INSTANCE_STATUS_CHECK_BATCH_FALLBACK, "platform", "AWS");
+    }
+
+    @Test
+    void testBatchingIsNotPossibleWhenDisabled() {
+        assertThat(underTest.isBatchingPossible(cloudContext(1L))).isFalse();
+        verify(instanceStateQuery, never()).isBulkCheckSupported(any());
+    }
+
+    private CloudContext cloudContext(Long stackId) {
+        return CloudContext.Builder.builder()
+                .withId(stackId)
+                .withName("stack" + stackId)
+                .withCrn("crn" + stackId)
+                .withPlatform("AWS")
+                .withVariant("AWS")
+                .withLocation(Location.location(Region.region("eu-central-1")))
+                .withAccountId("account")
+                .build();
+    }
+}
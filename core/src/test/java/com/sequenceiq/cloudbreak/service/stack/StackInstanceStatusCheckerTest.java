@@ -1,6 +1,7 @@
 package com.sequenceiq.cloudbreak.service.stack;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -58,6 +59,9 @@ class StackInstanceStatusCheckerTest {
     @Mock
     private CredentialEndpoint credentialEndpoint;
 
+    @Mock
+    private InstanceStatusCheckCoordinator instanceStatusCheckCoordinator;
+
     private Stack stack;
 
     private List<CloudInstance> instanceMetaData;
@@ -106,4 +110,15 @@ class StackInstanceStatusCheckerTest {
         verify(instanceStateQuery, never()).getCloudVmInstanceStatuses(any(), any(), any());
     }
 
+    @Test
+    void shouldQueryThroughCoordinatorWhenBatchingIsPossible() {
+        setUpCredentials();
+        instanceMetaData.add(mock(CloudInstance.class));
+        when(instanceStatusCheckCoordinator.isBatchingPossible(any())).thenReturn(true);
+
+        underTest.queryInstanceStatuses(stack, instanceMetaData);
+
+        verify(instanceStatusCheckCoordinator).queryInstanceStatuses(any(), any(), eq(instanceMetaData));
+        verify(instanceStateQuery, never()).getCloudVmInstanceStatusesWithoutRetry(any(), any(), any());
+    }
 }
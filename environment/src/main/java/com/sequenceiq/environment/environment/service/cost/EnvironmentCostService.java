@@ -3,12 +3,16 @@ package com.sequenceiq.environment.environment.service.cost;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import jakarta.inject.Inject;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.api.endpoint.v4.co2.ClusterCO2V4Endpoint;
@@ -51,6 +55,9 @@ public class EnvironmentCostService {
     @Inject
     private RegionAwareInternalCrnGeneratorFactory regionAwareInternalCrnGeneratorFactory;
 
+    @Inject
+    private AsyncTaskExecutor intermediateBuilderExecutor;
+
     public Map<String, EnvironmentRealTimeCost> getCosts(List<String> environmentCrns, List<String> clusterCrns) {
         errorIfCostCalculationFeatureIsNotEnabled();
 
@@ -59,16 +66,17 @@ public class EnvironmentCostService {
         String initiatorUserCrn = ThreadBasedUserCrnProvider.getUserCrn();
 
         String internalCrn = regionAwareInternalCrnGeneratorFactory.iam().getInternalCrnForServiceAsString();
+        Optional<Future<RealTimeCostResponse>> freeipaCostFuture = Optional.empty();
         if (CollectionUtils.isNotEmpty(environmentCrns)) {
-            RealTimeCostResponse freeipaCostResponse = ThreadBasedUserCrnProvider.doAsInternalActor(internalCrn,
-                    () -> freeIpaCostV1Endpoint.list(environmentCrns, initiatorUserCrn));
-            totalCosts.putAll(freeipaCostResponse.getCost());
+            freeipaCostFuture = Optional.of(intermediateBuilderExecutor.submit(() -> ThreadBasedUserCrnProvider.doAsInternalActor(internalCrn,
+                    () -> freeIpaCostV1Endpoint.list(environmentCrns, initiatorUserCrn))));
         }
         ClusterCostV4Request request = new ClusterCostV4Request();
         request.setEnvironmentCrns(environmentCrns);
         request.setClusterCrns(clusterCrns);
         RealTimeCostResponse clusterCostResponse = ThreadBasedUserCrnProvider.doAsInternalActor(internalCrn,
                 () -> clusterCostV4Endpoint.listByEnv(request, initiatorUserCrn));
+        freeipaCostFuture.ifPresent(future -> totalCosts.putAll(getFreeIpaResponse(future).getCost()));
         totalCosts.putAll(clusterCostResponse.getCost());
 
         LOGGER.debug("Total Costs: {}", totalCosts);
@@ -92,16 +100,17 @@ public class EnvironmentCostService {
         String initiatorUserCrn = ThreadBasedUserCrnProvider.getUserCrn();
 
         String internalCrn = regionAwareInternalCrnGeneratorFactory.iam().getInternalCrnForServiceAsString();
+        Optional<Future<RealTimeCO2Response>> freeipaCO2Future = Optional.empty();
         if (CollectionUtils.isNotEmpty(environmentCrns)) {
-            RealTimeCO2Response freeipaCO2Response = ThreadBasedUserCrnProvider.doAsInternalActor(internalCrn,
-                    () -> freeIpaCO2V1Endpoint.list(environmentCrns, initiatorUserCrn));
-            totalCO2.putAll(freeipaCO2Response.getCo2());
+            freeipaCO2Future = Optional.of(intermediateBuilderExecutor.submit(() -> ThreadBasedUserCrnProvider.doAsInternalActor(internalCrn,
+                    () -> freeIpaCO2V1Endpoint.list(environmentCrns, initiatorUserCrn))));
         }
         ClusterCO2V4Request clusterCO2V4Request = new ClusterCO2V4Request();
         clusterCO2V4Request.setEnvironmentCrns(environmentCrns);
         clusterCO2V4Request.setClusterCrns(clusterCrns);
         RealTimeCO2Response clusterCO2Response = ThreadBasedUserCrnProvider.doAsInternalActor(internalCrn,
                 () -> clusterCO2V4Endpoint.listByEnv(clusterCO2V4Request, initiatorUserCrn));
+        freeipaCO2Future.ifPresent(future -> totalCO2.putAll(getFreeIpaResponse(future).getCo2()));
         totalCO2.putAll(clusterCO2Response.getCo2());
 
         LOGGER.debug("Total CO2: {}", totalCO2);
@@ -118,6 +127,20 @@ public class EnvironmentCostService {
         return environmentRealTimeCO2Map;
     }
 
+    private <T> T getFreeIpaResponse(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the FreeIPA response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to get the FreeIPA response", e.getCause());
+        }
+    }
+
     private void errorIfCostCalculationFeatureIsNotEnabled() {
         String accountId = ThreadBasedUserCrnProvider.getAccountId();
         if (!entitlementService.isUsdCostCalculationEnabled(accountId)) {
@@ -0,0 +1,128 @@
+package com.sequenceiq.flow.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.support.ConversionServiceFactoryBean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import com.sequenceiq.cloudbreak.common.event.PayloadContext;
+import com.sequenceiq.flow.core.ApplicationFlowInformation;
+import com.sequenceiq.flow.core.EventParameterFactory;
+import com.sequenceiq.flow.core.PayloadContextProvider;
+import com.sequenceiq.flow.core.ResourceIdProvider;
+import com.sequenceiq.flow.core.config.FlowConfiguration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Boots the flow engine with the hello world flow against an in-memory H2 database. The schema is generated by Hibernate, so the
+ * migration scripts and the Postgres container of the component tests are not needed.
+ */
+@EnableAutoConfiguration
+@EnableJpaRepositories(basePackages = "com.sequenceiq")
+@EntityScan(basePackages = "com.sequenceiq")
+@EnableTransactionManagement
+@ComponentScan(basePackages = "com.sequenceiq", excludeFilters = @Filter(
+        type = FilterType.REGEX,
+        pattern = {
+                "com.sequenceiq.authorization.*",
+                "com.sequenceiq.cloudbreak.auth.*",
+                "com.sequenceiq.cloudbreak.quartz.*",
+                "com.sequenceiq.cloudbreak.common.dbmigration.*",
+                "com.sequenceiq.flow.component.*"
+        }
+))
+public class FlowBenchmarkConfig {
+
+    static final String[] PROPERTIES = {
+            "logging.level.root=ERROR",
+            "spring.datasource.url=jdbc:h2:mem:flowbenchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.hibernate.ddl-auto=create",
+            "spring.quartz.auto-startup=false",
+            "statuschecker.enabled=false",
+            "instance.node.id=benchmark",
+            "instance.uuid=benchmark"
+    };
+
+    @Bean
+    public ApplicationFlowInformation applicationFlowInformation() {
+        return new ApplicationFlowInformation() {
+            @Override
+            public List<String> getAllowedParallelFlows() {
+                return List.of();
+            }
+
+            @Override
+            public List<Class<? extends FlowConfiguration<?>>> getTerminationFlow() {
+                return List.of();
+            }
+        };
+    }
+
+    @Bean
+    public PayloadContextProvider payloadContextProvider() {
+        return new PayloadContextProvider() {
+            @Override
+            public PayloadContext getPayloadContext(Long resourceId) {
+                return PayloadContext.create(
+                        String.format("crn:altus:datalake:us-west-1:datalake:resource:%s", resourceId),
+                        String.format("crn:altus:environments:us-west-1:noop:environment:%s", resourceId),
+                        "MOCK");
+            }
+        };
+    }
+
+    @Bean
+    public ResourceIdProvider resourceIdProvider() {
+        AtomicLong idSeq = new AtomicLong(0);
+        ConcurrentMap<String, Long> crnIdMap = new ConcurrentHashMap<>();
+        ConcurrentMap<String, Long> nameIdMap = new ConcurrentHashMap<>();
+        return new ResourceIdProvider() {
+            @Override
+            public Long getResourceIdByResourceCrn(String resourceCrn) {
+                return crnIdMap.computeIfAbsent(resourceCrn, r -> idSeq.incrementAndGet());
+            }
+
+            @Override
+            public Long getResourceIdByResourceName(String resourceName) {
+                return nameIdMap.computeIfAbsent(resourceName, r -> idSeq.incrementAndGet());
+            }
+        };
+    }
+
+    @Bean(name = "conversionService")
+    public ConversionServiceFactoryBean conversionServiceFactoryBean() {
+        ConversionServiceFactoryBean conversionServiceFactoryBean = new ConversionServiceFactoryBean();
+        conversionServiceFactoryBean.afterPropertiesSet();
+        return conversionServiceFactoryBean;
+    }
+
+    @Bean
+    public EventParameterFactory eventParameterFactory() {
+        return new EventParameterFactory(null) {
+            @Override
+            protected Optional<String> getUserCrnByResourceId(Long resourceId) {
+                return Optional.empty();
+            }
+        };
+    }
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
@@ -0,0 +1,139 @@
+package com.sequenceiq.flow.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sequenceiq.cloudbreak.common.event.Acceptable;
+import com.sequenceiq.cloudbreak.eventbus.Event;
+import com.sequenceiq.cloudbreak.eventbus.EventBus;
+import com.sequenceiq.flow.api.model.FlowCheckResponse;
+import com.sequenceiq.flow.core.FlowConstants;
+import com.sequenceiq.flow.core.FlowRegister;
+import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowChainFactory;
+import com.sequenceiq.flow.core.helloworld.flowevents.HelloWorldFlowTrigger;
+import com.sequenceiq.flow.core.model.FlowAcceptResult;
+import com.sequenceiq.flow.reactor.api.event.BaseFlowEvent;
+import com.sequenceiq.flow.service.FlowService;
+
+/**
+ * Drives hello world flows and flow chains through the real flow engine: {@code Flow2Handler} dispatch, action context creation,
+ * flow log serialization and persistence, and {@code FlowChains} handling. Every benchmark thread runs one flow after the other on
+ * a separate resource, so the number of threads is the number of concurrently running flows.
+ * <p>
+ * One operation is one state transition: the throughput mode reports transitions per second, the sample time mode reports the latency
+ * percentiles of a flow divided by its transition count, and {@code gc.alloc.rate.norm} of the gc profiler is the allocation per
+ * transition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(1)
+public class FlowEngineBenchmark {
+
+    static final int HELLO_WORLD_TRANSITIONS = 4;
+
+    private static final String USER_CRN = "crn:altus:iam:us-west-1:460c0d8f-ae8e-4dce-9cd7-2351762eb9ac:user:63e312c2-d36a-45a7-bb93-fa46c97ffb6b";
+
+    private static final long TIMEOUT_SECONDS = 60L;
+
+    private static final long FLOW_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(50L);
+
+    private static final long CHAIN_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private final AtomicLong resourceIdSequence = new AtomicLong();
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private EventBus eventBus;
+
+    private FlowRegister flowRegister;
+
+    private FlowService flowService;
+
+    @Setup(Level.Trial)
+    public void startFlowEngine() {
+        applicationContext = new SpringApplicationBuilder(FlowBenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties(FlowBenchmarkConfig.PROPERTIES)
+                .run();
+        eventBus = applicationContext.getBean(EventBus.class);
+        flowRegister = applicationContext.getBean(FlowRegister.class);
+        flowService = applicationContext.getBean(FlowService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopFlowEngine() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HELLO_WORLD_TRANSITIONS)
+    public FlowAcceptResult helloWorldFlow() throws InterruptedException {
+        HelloWorldFlowTrigger trigger = new HelloWorldFlowTrigger(resourceIdSequence.incrementAndGet());
+        FlowAcceptResult acceptResult = notify(trigger.selector(), trigger);
+        String flowId = acceptResult.getAsFlowId();
+        await("flow " + flowId, FLOW_POLL_NANOS, () -> flowRegister.get(flowId) == null);
+        return acceptResult;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HELLO_WORLD_TRANSITIONS)
+    public FlowAcceptResult helloWorldFlowChain() throws InterruptedException {
+        Long resourceId = resourceIdSequence.incrementAndGet();
+        String selector = new HelloWorldFlowChainFactory().initEvent();
+        BaseFlowEvent trigger = new BaseFlowEvent(selector, resourceId, "crn:altus:datalake:us-west-1:datalake:resource:" + resourceId);
+        FlowAcceptResult acceptResult = notify(selector, trigger);
+        String flowChainId = acceptResult.getAsFlowChainId();
+        await("flow chain " + flowChainId, CHAIN_POLL_NANOS, () -> {
+            FlowCheckResponse flowChainState = flowService.getFlowChainState(flowChainId);
+            if (Boolean.TRUE.equals(flowChainState.getLatestFlowFinalizedAndFailed())) {
+                throw new IllegalStateException("Flow chain " + flowChainId + " failed");
+            }
+            return !Boolean.TRUE.equals(flowChainState.getHasActiveFlow());
+        });
+        return acceptResult;
+    }
+
+    private FlowAcceptResult notify(String selector, Acceptable event) throws InterruptedException {
+        eventBus.notify(selector, new Event<>(new Event.Headers(Map.of(FlowConstants.FLOW_TRIGGER_USERCRN, USER_CRN)), event));
+        FlowAcceptResult acceptResult = (FlowAcceptResult) event.accepted().await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (acceptResult == null) {
+            throw new IllegalStateException("Flow was not accepted in " + TIMEOUT_SECONDS + " seconds for selector " + selector);
+        }
+        return acceptResult;
+    }
+
+    private void await(String name, long pollNanos, BooleanSupplier finished) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!finished.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(name + " did not finish in " + TIMEOUT_SECONDS + " seconds");
+            }
+            LockSupport.parkNanos(pollNanos);
+        }
+    }
+}
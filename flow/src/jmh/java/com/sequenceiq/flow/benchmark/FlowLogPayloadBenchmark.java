@@ -0,0 +1,80 @@
+package com.sequenceiq.flow.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sequenceiq.cloudbreak.common.json.JsonUtil;
+import com.sequenceiq.cloudbreak.common.json.TypedJsonUtil;
+import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowConfig;
+import com.sequenceiq.flow.core.helloworld.config.HelloWorldState;
+import com.sequenceiq.flow.core.helloworld.flowevents.HelloWorldFlowTrigger;
+import com.sequenceiq.flow.domain.ClassValue;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.PayloadFormat;
+
+/**
+ * Measures the flow log payload handling of a single transition the same way as {@code FlowLogDBService.save} and flow restart do it,
+ * for every supported payload format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FlowLogPayloadBenchmark {
+
+    private static final int VARIABLE_COUNT = 10;
+
+    // JMH injects the parameters into public fields
+    // CHECKSTYLE_CHECK:OFF VisibilityModifier
+    @Param({"JSON", "GZIP_JSON"})
+    public PayloadFormat payloadFormat;
+    // CHECKSTYLE_CHECK:ON VisibilityModifier
+
+    private HelloWorldFlowTrigger payload;
+
+    private Map<Object, Object> variables;
+
+    private FlowLog encodedFlowLog;
+
+    @Setup
+    public void setUp() {
+        payload = new HelloWorldFlowTrigger(1L);
+        variables = new HashMap<>();
+        for (int i = 0; i < VARIABLE_COUNT; i++) {
+            variables.put("variable" + i, "crn:cdp:datalake:us-west-1:tenant:datalake:" + i);
+        }
+        encodedFlowLog = serialize();
+    }
+
+    @Benchmark
+    public FlowLog serialize() {
+        FlowLog flowLog = new FlowLog(payload.getResourceId(), "flowId", "flowChainId", "userCrn", payload.selector(),
+                JsonUtil.writeValueAsStringSilent(payload), ClassValue.of(payload.getClass()), TypedJsonUtil.writeValueAsStringSilent(variables),
+                ClassValue.of(HelloWorldFlowConfig.class), HelloWorldState.INIT_STATE.toString());
+        flowLog.encodeWith(payloadFormat);
+        return flowLog;
+    }
+
+    @Benchmark
+    public void deserialize(Blackhole blackhole) throws IOException {
+        blackhole.consume(JsonUtil.readValue(encodedFlowLog.getPayloadJackson(), HelloWorldFlowTrigger.class));
+        blackhole.consume(TypedJsonUtil.readValue(encodedFlowLog.getVariablesJackson(), Map.class));
+    }
+}
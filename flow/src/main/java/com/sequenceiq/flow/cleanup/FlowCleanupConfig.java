@@ -12,6 +12,15 @@ public class FlowCleanupConfig {
     @Value("${flowcleanup.retention.period.hours:24}")
     private int retentionPeriodInHours;
 
+    @Value("${flowcleanup.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+
+    @Value("${flowcleanup.partitioning.interval.hours:24}")
+    private int partitionIntervalInHours;
+
+    @Value("${flowcleanup.partitioning.precreated.partitions:2}")
+    private int precreatedPartitions;
+
     public int getIntervalInHours() {
         return intervalInHours;
     }
@@ -19,4 +28,16 @@ public class FlowCleanupConfig {
     public int getRetentionPeriodInHours() {
         return retentionPeriodInHours;
     }
+
+    public boolean isPartitioningEnabled() {
+        return partitioningEnabled;
+    }
+
+    public int getPartitionIntervalInHours() {
+        return partitionIntervalInHours;
+    }
+
+    public int getPrecreatedPartitions() {
+        return precreatedPartitions;
+    }
 }
@@ -1,5 +1,9 @@
 package com.sequenceiq.flow.cleanup;
 
+import static com.sequenceiq.flow.core.FlowMetricType.FLOWLOG_PURGE_DROPPED_PARTITIONS;
+import static com.sequenceiq.flow.core.FlowMetricType.FLOWLOG_PURGE_TIME;
+
+import java.time.Duration;
 import java.util.Optional;
 
 import jakarta.inject.Inject;
@@ -8,8 +12,10 @@ import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.common.service.TransactionService;
 import com.sequenceiq.cloudbreak.logger.MdcContextInfoProvider;
 import com.sequenceiq.cloudbreak.quartz.MdcQuartzJob;
@@ -41,6 +47,13 @@ public class FlowCleanupJob extends MdcQuartzJob {
     @Inject
     private FlowStatCache flowStatCache;
 
+    @Inject
+    private FlowLogPartitionService flowLogPartitionService;
+
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
     @Override
     protected Optional<MdcContextInfoProvider> getMdcContextConfigProvider() {
         return Optional.empty();
@@ -62,14 +75,24 @@ public class FlowCleanupJob extends MdcQuartzJob {
     }
 
     public void purgeFinalisedFlowLogs(int retentionPeriodHours) throws TransactionService.TransactionExecutionException {
-        transactionService.required(() -> {
-            LOGGER.debug("Cleaning finalised flowlogs");
-            int purgedFinalizedFlowLogs = flowLogService.purgeFinalizedFlowLogs(retentionPeriodHours);
-            LOGGER.debug("Deleted flowlog count: {}", purgedFinalizedFlowLogs);
-            LOGGER.debug("Cleaning orphan flowchainlogs");
-            int purgedOrphanFLowChainLogs = flowChainLogService.purgeOrphanFlowChainLogs();
-            LOGGER.debug("Deleted flowchainlog count: {}", purgedOrphanFLowChainLogs);
-            return null;
-        });
+        long start = System.currentTimeMillis();
+        if (flowCleanupConfig.isPartitioningEnabled() && flowLogPartitionService.ensurePartitioned()) {
+            LOGGER.debug("Cleaning expired flowlog and flowchainlog partitions");
+            FlowLogPartitionService.PurgeResult purgeResult = flowLogPartitionService.purgeExpiredPartitions(retentionPeriodHours);
+            LOGGER.debug("Dropped partition count: {}, deleted row count: {}", purgeResult.droppedPartitions(), purgeResult.deletedRows());
+            metricService.gauge(FLOWLOG_PURGE_DROPPED_PARTITIONS, purgeResult.droppedPartitions());
+            metricService.recordTimerMetric(FLOWLOG_PURGE_TIME, Duration.ofMillis(System.currentTimeMillis() - start), "mode", "partition");
+        } else {
+            transactionService.required(() -> {
+                LOGGER.debug("Cleaning finalised flowlogs");
+                int purgedFinalizedFlowLogs = flowLogService.purgeFinalizedFlowLogs(retentionPeriodHours);
+                LOGGER.debug("Deleted flowlog count: {}", purgedFinalizedFlowLogs);
+                LOGGER.debug("Cleaning orphan flowchainlogs");
+                int purgedOrphanFLowChainLogs = flowChainLogService.purgeOrphanFlowChainLogs();
+                LOGGER.debug("Deleted flowchainlog count: {}", purgedOrphanFLowChainLogs);
+                return null;
+            });
+            metricService.recordTimerMetric(FLOWLOG_PURGE_TIME, Duration.ofMillis(System.currentTimeMillis() - start), "mode", "delete");
+        }
     }
 }
@@ -0,0 +1,335 @@
+package com.sequenceiq.flow.cleanup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Service;
+
+import com.sequenceiq.cloudbreak.common.service.Clock;
+import com.sequenceiq.cloudbreak.common.service.LockNumber;
+
+/**
+ * Keeps the {@code flowlog} and {@code flowchainlog} tables range partitioned by their {@code created} column when
+ * {@code flowcleanup.partitioning.enabled} is set, so the retention can drop whole expired partitions instead of deleting the rows one by one.
+ * <p>
+ * A table which is not partitioned yet is converted in place: the existing rows stay in a {@code <table>_legacy} partition holding everything
+ * created before the cutover, new rows go to partitions of {@code flowcleanup.partitioning.interval.hours} width, and a default partition
+ * catches the rows outside of the created partitions. The maintenance runs on one connection under a PostgreSQL advisory lock, so only one
+ * instance of the service changes the partitions at a time.
+ */
+@Service
+public class FlowLogPartitionService {
+
+    static final String FLOW_LOG_TABLE = "flowlog";
+
+    static final String FLOW_CHAIN_LOG_TABLE = "flowchainlog";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowLogPartitionService.class);
+
+    private static final List<String> PARTITIONED_TABLES = List.of(FLOW_LOG_TABLE, FLOW_CHAIN_LOG_TABLE);
+
+    private static final String LEGACY_SUFFIX = "_legacy";
+
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+
+    private static final Duration CONVERSION_MARGIN = Duration.ofHours(6);
+
+    private static final String LOCK_TIMEOUT = "10s";
+
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('?(-?\\d+)'?\\)");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHH").withZone(ZoneOffset.UTC);
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private FlowCleanupConfig flowCleanupConfig;
+
+    @Inject
+    private Clock clock;
+
+    /**
+     * Converts the flow log tables to partitioned ones if needed and creates the partitions of the upcoming intervals.
+     *
+     * @return {@code true} if both tables are partitioned, so the retention can be done by {@link #purgeExpiredPartitions(int)}
+     */
+    public boolean ensurePartitioned() {
+        long now = clock.getCurrentTimeMillis();
+        return withLockedSession((connection, session) -> {
+            boolean partitioned = true;
+            for (String table : PARTITIONED_TABLES) {
+                if (!isPartitioned(session, table)) {
+                    convertToPartitioned(connection, session, table, now);
+                }
+                if (isPartitioned(session, table)) {
+                    createUpcomingPartitions(session, table, now);
+                } else {
+                    partitioned = false;
+                }
+            }
+            return partitioned;
+        }).orElse(Boolean.FALSE);
+    }
+
+    /**
+     * Drops the partitions which end before the retention period and hold only finalized flows, resp. unreferenced flow chains. The rows
+     * of the expired partitions that cannot be dropped yet and of the default partition are purged with the same rules as without
+     * partitioning, the partitions which are not expired yet are not touched.
+     */
+    public PurgeResult purgeExpiredPartitions(int retentionPeriodHours) {
+        long cutoff = clock.getCurrentTimeMillis() - Duration.ofHours(retentionPeriodHours).toMillis();
+        return withLockedSession((connection, session) -> {
+            PurgeResult flowLogResult = purgeFlowLogPartitions(connection, session, cutoff);
+            PurgeResult flowChainLogResult = purgeFlowChainLogPartitions(connection, session, cutoff);
+            return flowLogResult.add(flowChainLogResult);
+        }).orElse(new PurgeResult(0, 0));
+    }
+
+    private PurgeResult purgeFlowLogPartitions(Connection connection, JdbcTemplate session, long cutoff) throws SQLException {
+        int droppedPartitions = 0;
+        int deletedRows = 0;
+        for (Partition partition : listPartitions(session, FLOW_LOG_TABLE)) {
+            if (partition.upperBound() == null) {
+                deletedRows += session.update(String.format("DELETE FROM %s WHERE finalized = TRUE AND endtime <= ?", partition.name()), cutoff);
+            } else if (partition.upperBound() <= cutoff) {
+                Boolean hasRowsToKeep = session.queryForObject(String.format("SELECT EXISTS (SELECT 1 FROM %s "
+                        + "WHERE finalized IS NOT TRUE OR endtime IS NULL OR endtime > ?)", partition.name()), Boolean.class, cutoff);
+                if (Boolean.FALSE.equals(hasRowsToKeep) && dropPartition(connection, session, FLOW_LOG_TABLE, partition.name())) {
+                    droppedPartitions++;
+                } else {
+                    deletedRows += session.update(String.format("DELETE FROM %s WHERE finalized = TRUE AND endtime <= ?", partition.name()), cutoff);
+                }
+            }
+        }
+        LOGGER.debug("Dropped flowlog partition count: {}, deleted flowlog count: {}", droppedPartitions, deletedRows);
+        return new PurgeResult(droppedPartitions, deletedRows);
+    }
+
+    private PurgeResult purgeFlowChainLogPartitions(Connection connection, JdbcTemplate session, long cutoff) throws SQLException {
+        int droppedPartitions = 0;
+        int deletedRows = 0;
+        String orphanCondition = "NOT EXISTS (SELECT 1 FROM flowlog f WHERE f.flowchainid = c.flowchainid) "
+                + "AND NOT EXISTS (SELECT 1 FROM flowchainlog child WHERE child.parentflowchainid = c.flowchainid)";
+        for (Partition partition : listPartitions(session, FLOW_CHAIN_LOG_TABLE)) {
+            if (partition.upperBound() == null) {
+                deletedRows += session.update(String.format("DELETE FROM %s c WHERE c.created <= ? AND %s", partition.name(), orphanCondition), cutoff);
+            } else if (partition.upperBound() <= cutoff) {
+                Boolean hasRowsToKeep = session.queryForObject(String.format("SELECT EXISTS (SELECT 1 FROM %s c WHERE NOT (%s))",
+                        partition.name(), orphanCondition), Boolean.class);
+                if (Boolean.FALSE.equals(hasRowsToKeep) && dropPartition(connection, session, FLOW_CHAIN_LOG_TABLE, partition.name())) {
+                    droppedPartitions++;
+                } else {
+                    deletedRows += session.update(String.format("DELETE FROM %s c WHERE %s", partition.name(), orphanCondition));
+                }
+            }
+        }
+        LOGGER.debug("Dropped flowchainlog partition count: {}, deleted flowchainlog count: {}", droppedPartitions, deletedRows);
+        return new PurgeResult(droppedPartitions, deletedRows);
+    }
+
+    private boolean dropPartition(Connection connection, JdbcTemplate session, String table, String partition) throws SQLException {
+        try {
+            inTransaction(connection, () -> {
+                session.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+                session.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", table, partition));
+                session.execute(String.format("DROP TABLE %s", partition));
+            });
+            LOGGER.info("Expired partition {} of {} is dropped", partition, table);
+            return true;
+        } catch (DataAccessException e) {
+            LOGGER.warn("Expired partition {} of {} could not be dropped, its rows are deleted instead", partition, table, e);
+            return false;
+        }
+    }
+
+    private void createUpcomingPartitions(JdbcTemplate session, String table, long now) {
+        long interval = intervalMillis();
+        long currentPartitionStart = partitionStart(now);
+        long from = listPartitions(session, table).stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(Long::compare)
+                .map(highestBound -> Math.max(highestBound, currentPartitionStart))
+                .orElse(currentPartitionStart);
+        long until = currentPartitionStart + (flowCleanupConfig.getPrecreatedPartitions() + 1L) * interval;
+        while (from < until) {
+            long to = partitionStart(from) + interval;
+            String partition = partitionName(table, from);
+            long partitionFrom = from;
+            try {
+                withLockTimeout(session, () -> session.execute(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM (%d) TO (%d)",
+                        partition, table, partitionFrom, to)));
+            } catch (DataAccessException e) {
+                LOGGER.warn("Partition {} of {} could not be created, its rows stay in the default partition", partition, table, e);
+            }
+            from = to;
+        }
+    }
+
+    private void convertToPartitioned(Connection connection, JdbcTemplate session, String table, long now) throws SQLException {
+        long cutover = partitionStart(now + CONVERSION_MARGIN.toMillis()) + intervalMillis();
+        String legacyTable = table + LEGACY_SUFFIX;
+        String createdCheck = table + "_created_before_partitioning";
+        String idCreatedIndex = table + "_id_created_key";
+        LOGGER.info("Converting {} to a table partitioned by created, the existing rows are kept in {}", table, legacyTable);
+        try {
+            // these steps only validate and index the existing rows, they run outside of a transaction to avoid blocking the flows
+            session.update(String.format("UPDATE %s SET created = 0 WHERE created IS NULL", table));
+            withLockTimeout(session, () -> {
+                session.execute(String.format("ALTER TABLE %s DROP CONSTRAINT IF EXISTS %s", table, createdCheck));
+                session.execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s CHECK (created IS NOT NULL AND created < %d) NOT VALID",
+                        table, createdCheck, cutover));
+                session.execute(String.format("ALTER TABLE %s VALIDATE CONSTRAINT %s", table, createdCheck));
+            });
+            session.execute(String.format("DROP INDEX CONCURRENTLY IF EXISTS %s", idCreatedIndex));
+            session.execute(String.format("CREATE UNIQUE INDEX CONCURRENTLY %s ON %s (id, created)", idCreatedIndex, table));
+            inTransaction(connection, () -> swapToPartitionedTable(session, table, legacyTable, createdCheck, idCreatedIndex, cutover));
+            LOGGER.info("{} is partitioned by created, rows created before {} are in {}", table, Instant.ofEpochMilli(cutover), legacyTable);
+        } catch (DataAccessException | IllegalStateException e) {
+            LOGGER.error("Conversion of {} to a partitioned table failed, the rows are purged by deleting them", table, e);
+            withLockTimeout(session, () -> session.execute(String.format("ALTER TABLE %s DROP CONSTRAINT IF EXISTS %s", table, createdCheck)));
+        }
+    }
+
+    private void swapToPartitionedTable(JdbcTemplate session, String table, String legacyTable, String createdCheck, String idCreatedIndex,
+            long cutover) {
+        session.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+        session.execute(String.format("LOCK TABLE %s IN ACCESS EXCLUSIVE MODE", table));
+        if (clock.getCurrentTimeMillis() >= cutover) {
+            throw new IllegalStateException(String.format("The cutover of %s passed before the table could be locked", table));
+        }
+        String primaryKey = session.queryForObject("SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'p'",
+                String.class, table);
+        String idSequence = session.queryForObject("SELECT pg_get_serial_sequence(?, 'id')", String.class, table);
+        List<Map<String, Object>> indexes = session.queryForList("SELECT i.relname AS name, pg_get_indexdef(i.oid) AS definition "
+                + "FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid WHERE x.indrelid = to_regclass(?) AND NOT x.indisprimary AND i.relname <> ?",
+                table, idCreatedIndex);
+
+        session.execute(String.format("ALTER TABLE %s RENAME TO %s", table, legacyTable));
+        session.execute(String.format("ALTER TABLE %s DROP CONSTRAINT %s", legacyTable, primaryKey));
+        session.execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s_pkey PRIMARY KEY USING INDEX %s", legacyTable, legacyTable, idCreatedIndex));
+        indexes.forEach(index -> session.execute(String.format("ALTER INDEX %s RENAME TO %s", index.get("name"), legacyIndexName(index.get("name")))));
+
+        session.execute(String.format("CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS) PARTITION BY RANGE (created)", table, legacyTable));
+        session.execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s PRIMARY KEY (id, created)", table, primaryKey));
+        // the definitions still refer to the original table name, which is the partitioned table now
+        indexes.forEach(index -> session.execute((String) index.get("definition")));
+        if (idSequence != null) {
+            // the sequence must not be dropped together with the legacy partition
+            session.execute(String.format("ALTER SEQUENCE %s OWNED BY %s.id", idSequence, table));
+        }
+        session.execute(String.format("ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM (MINVALUE) TO (%d)", table, legacyTable, cutover));
+        session.execute(String.format("ALTER TABLE %s DROP CONSTRAINT %s", legacyTable, createdCheck));
+        session.execute(String.format("CREATE TABLE %s_default PARTITION OF %s DEFAULT", table, table));
+    }
+
+    private boolean isPartitioned(JdbcTemplate session, String table) {
+        String relationKind = session.queryForObject("SELECT c.relkind FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, table);
+        return "p".equals(relationKind);
+    }
+
+    private List<Partition> listPartitions(JdbcTemplate session, String table) {
+        return session.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+                (rs, rowNum) -> new Partition(rs.getString(1), upperBound(rs.getString(2))), table);
+    }
+
+    private <T> Optional<T> withLockedSession(SessionWork<T> work) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Boolean locked = session.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class, LockNumber.FLOW_LOG.getLockNumber());
+            if (!Boolean.TRUE.equals(locked)) {
+                LOGGER.info("Flow log partitions are maintained by another instance at the moment");
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(work.run(connection, session));
+            } finally {
+                session.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LockNumber.FLOW_LOG.getLockNumber());
+            }
+        });
+    }
+
+    /**
+     * Runs statements outside of a transaction which lock the whole table, so they give up instead of queueing the flows behind them while they
+     * wait for a long running transaction. The session keeps the lock timeout until it is reset.
+     */
+    private void withLockTimeout(JdbcTemplate session, Runnable work) {
+        session.execute("SET lock_timeout = '" + LOCK_TIMEOUT + "'");
+        try {
+            work.run();
+        } finally {
+            session.execute("RESET lock_timeout");
+        }
+    }
+
+    private void inTransaction(Connection connection, Runnable work) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    long partitionStart(long timestamp) {
+        return Math.floorDiv(timestamp, intervalMillis()) * intervalMillis();
+    }
+
+    private long intervalMillis() {
+        return Duration.ofHours(flowCleanupConfig.getPartitionIntervalInHours()).toMillis();
+    }
+
+    static String partitionName(String table, long from) {
+        return table + "_p" + PARTITION_SUFFIX.format(Instant.ofEpochMilli(from));
+    }
+
+    static Long upperBound(String partitionBound) {
+        Matcher matcher = UPPER_BOUND.matcher(partitionBound == null ? "" : partitionBound);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private static String legacyIndexName(Object indexName) {
+        String name = String.valueOf(indexName);
+        return (name.length() > MAX_IDENTIFIER_LENGTH - LEGACY_SUFFIX.length() ? name.substring(0, MAX_IDENTIFIER_LENGTH - LEGACY_SUFFIX.length()) : name)
+                + LEGACY_SUFFIX;
+    }
+
+    public record PurgeResult(int droppedPartitions, int deletedRows) {
+
+        PurgeResult add(PurgeResult other) {
+            return new PurgeResult(droppedPartitions + other.droppedPartitions, deletedRows + other.deletedRows);
+        }
+    }
+
+    private record Partition(String name, Long upperBound) {
+    }
+
+    @FunctionalInterface
+    private interface SessionWork<T> {
+        T run(Connection connection, JdbcTemplate session) throws SQLException;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sequenceiq.flow.converter;
+
+import com.sequenceiq.cloudbreak.converter.DefaultEnumConverter;
+import com.sequenceiq.flow.domain.PayloadFormat;
+
+public class PayloadFormatConverter extends DefaultEnumConverter<PayloadFormat> {
+
+    @Override
+    public PayloadFormat getDefault() {
+        return PayloadFormat.JSON;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sequenceiq.flow.converter.payload;
+
+/**
+ * Encodes the serialized JSON form of flow payloads, variables and chain queues into the binary representation stored in the database.
+ */
+public interface FlowPayloadCodec {
+
+    byte[] encode(String json);
+
+    String decode(byte[] data);
+}
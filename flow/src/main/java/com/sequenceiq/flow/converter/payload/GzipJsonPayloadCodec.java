@@ -0,0 +1,40 @@
+package com.sequenceiq.flow.converter.payload;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class GzipJsonPayloadCodec implements FlowPayloadCodec {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public byte[] encode(String json) {
+        if (json == null) {
+            return null;
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(json.length() / 4, BUFFER_SIZE / 16));
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE)) {
+            gzipOutputStream.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compress flow payload", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public String decode(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(data), BUFFER_SIZE)) {
+            return new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decompress flow payload", e);
+        }
+    }
+}
@@ -330,7 +330,7 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
         LOGGER.debug("Creating new flow {}", flow.getFlowId());
         try {
             flow.initialize(contextParams);
-            runningFlows.put(flow, flowChainId);
+            runningFlows.put(flow, flowChainId, payload.getResourceId());
             Benchmark.measure(() -> flowStatCache.put(flowId, flowChainId, payload.getResourceId(),
                     flowConfig.getFlowOperationType().name(), flow.getFlowConfigClass(), false), LOGGER, "Creating flow stat took {}ms");
             transactionService.required(() -> {
@@ -391,7 +391,7 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
         if (flow != null) {
             MutableBoolean flowCancelled = new MutableBoolean(false);
             try {
-                updateFlowLogStatusInTransaction(key, payload, flowParameters, flowChainId, flow, flowCancelled);
+                persistFlowTransition(key, payload, flowParameters, flowChainId, flow, flowCancelled);
             } catch (TransactionExecutionException e) {
                 LOGGER.error("Can't update flow status: {}", flowId);
                 throw e;
@@ -414,25 +414,33 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
         }
     }
 
-    private void updateFlowLogStatusInTransaction(String key, Payload payload, FlowParameters flowParameters, String flowChainId, Flow flow,
+    private void persistFlowTransition(String key, Payload payload, FlowParameters flowParameters, String flowChainId, Flow flow,
             MutableBoolean flowCancelled) throws TransactionExecutionException {
-        transactionService.required(() -> {
-            Optional<FlowLog> lastFlowLog = flowLogService.findFirstByFlowIdOrderByCreatedDesc(flow.getFlowId());
-            if (lastFlowLog.isPresent()) {
-                String nodeId = nodeConfig.getId();
-                FlowLog flowLog = lastFlowLog.get();
-                if (flowLog.getFinalized() || flowLog.getCloudbreakNodeId() == null || flowLog.getCloudbreakNodeId().equals(nodeId)) {
-                    updateFlowLogStatus(key, payload, flowChainId, flow, flowLog, flowParameters);
-                } else {
-                    LOGGER.info("Flow {} was handled by another node {}, current node ID is {}, abandoning.",
-                            flow.getFlowId(), flowLog.getCloudbreakNodeId(), nodeId);
-                    inMemoryCleanup.cancelFlowWithoutDbUpdate(flow.getFlowId());
-                    flowCancelled.setTrue();
-                }
+        if (flowLogService.canBatchTransitions()) {
+            // the batch writer commits the status update and the insert of the transition together in a transaction of its own
+            updateLastFlowLog(key, payload, flowParameters, flowChainId, flow, flowCancelled);
+        } else {
+            transactionService.required(() -> updateLastFlowLog(key, payload, flowParameters, flowChainId, flow, flowCancelled));
+        }
+    }
+
+    private void updateLastFlowLog(String key, Payload payload, FlowParameters flowParameters, String flowChainId, Flow flow,
+            MutableBoolean flowCancelled) {
+        Optional<FlowLog> lastFlowLog = flowLogService.findFirstByFlowIdOrderByCreatedDesc(flow.getFlowId());
+        if (lastFlowLog.isPresent()) {
+            String nodeId = nodeConfig.getId();
+            FlowLog flowLog = lastFlowLog.get();
+            if (flowLog.getFinalized() || flowLog.getCloudbreakNodeId() == null || flowLog.getCloudbreakNodeId().equals(nodeId)) {
+                updateFlowLogStatus(key, payload, flowChainId, flow, flowLog, flowParameters);
             } else {
-                LOGGER.debug("Cannot find LastFlowLog with flowId: {}", flow.getFlowId());
+                LOGGER.info("Flow {} was handled by another node {}, current node ID is {}, abandoning.",
+                        flow.getFlowId(), flowLog.getCloudbreakNodeId(), nodeId);
+                inMemoryCleanup.cancelFlowWithoutDbUpdate(flow.getFlowId());
+                flowCancelled.setTrue();
             }
-        });
+        } else {
+            LOGGER.debug("Cannot find LastFlowLog with flowId: {}", flow.getFlowId());
+        }
     }
 
     private void updateFlowLogStatus(String key, Payload payload, String flowChainId, Flow flow, FlowLog lastFlowLog, FlowParameters flowParameters) {
@@ -442,9 +450,7 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
         } else {
             boolean failureEvent = failHandledEvents.contains(key);
             LOGGER.debug("New flow state: {}, key: {}, failure event: {}", lastFlowLog, key, failureEvent);
-            String reason = payload.getException() != null ? payload.getException().getMessage() : null;
-            flowLogService.updateLastFlowLogStatus(lastFlowLog, failureEvent, reason);
-            flowLogService.save(flowParameters, flowChainId, key, payload, flow.getVariables(), flow.getFlowConfigClass(), flow.getCurrentState());
+            flowLogService.saveTransition(lastFlowLog, failureEvent, flowParameters, flowChainId, key, payload, flow);
         }
     }
 
@@ -544,7 +550,7 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
         String flowChainType = flowChainLogService.getFlowChainType(flowLog.getFlowChainId());
         Payload payload = deserializePayload(flowLog);
         Flow flow = flowConfig.createFlow(flowLog.getFlowId(), flowLog.getFlowChainId(), flowLog.getResourceId(), flowChainType);
-        runningFlows.put(flow, flowLog.getFlowChainId());
+        runningFlows.put(flow, flowLog.getFlowChainId(), flowLog.getResourceId());
         flowStatCache.put(flowLog.getFlowId(), flowLog.getFlowChainId(), flowLog.getResourceId(),
                 flowConfig.getFlowOperationType().name(), flow.getFlowConfigClass(), true);
         if (flowLog.getFlowChainId() != null) {
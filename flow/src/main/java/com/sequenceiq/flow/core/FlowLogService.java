@@ -30,6 +30,18 @@ public interface FlowLogService {
 
     void updateLastFlowLogStatus(FlowLog lastFlowLog, boolean failureEvent, String reason);
 
+    /**
+     * Updates the status of the last FlowLog of the flow and saves the FlowLog of its new state. Outside of a transaction the two writes are
+     * handed to the batch writer together when {@link #canBatchTransitions()} is true, otherwise they join the transaction of the caller.
+     */
+    FlowLog saveTransition(FlowLog lastFlowLog, boolean failureEvent, FlowParameters flowParameters, String flowChainId, String key, Payload payload,
+            Flow flow);
+
+    /**
+     * Whether the flow transitions saved outside of a transaction are committed by the FlowLog batch writer.
+     */
+    boolean canBatchTransitions();
+
     Set<FlowLogIdWithTypeAndTimestamp> findAllRunningNonTerminationFlowsByResourceId(Long resourceId);
 
     boolean isOtherNonTerminationFlowRunning(Long resourceId);
@@ -8,7 +8,17 @@ public enum FlowMetricType implements Metric {
     FLOW_STARTED("flow.started"),
     FLOW_FINISHED("flow.finished"),
     FLOW_TIME("flow.time"),
-    FLOW_FAILED("flow.failed");
+    FLOW_FAILED("flow.failed"),
+    FLOWLOG_BATCH_SIZE("flowlog.batch.size"),
+    FLOWLOG_BATCH_ENTRIES("flowlog.batch.entries"),
+    FLOWLOG_BATCH_QUEUE_DEPTH("flowlog.batch.queue.depth"),
+    FLOWLOG_BATCH_COMMIT_TIME("flowlog.batch.commit.time"),
+    FLOWLOG_PURGE_TIME("flowlog.purge.time"),
+    FLOWLOG_PURGE_DROPPED_PARTITIONS("flowlog.purge.dropped.partitions"),
+    EVENTBUS_LANE_COUNT("eventbus.lane.count"),
+    EVENTBUS_LANE_QUEUED_TASKS("eventbus.lane.queued"),
+    EVENTBUS_LANE_MAX_DEPTH("eventbus.lane.maxdepth"),
+    EVENTBUS_LANE_AVERAGE_WAIT("eventbus.lane.wait.average");
 
     private final String metricName;
 
@@ -1,5 +1,6 @@
 package com.sequenceiq.flow.core;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -8,14 +9,18 @@ import java.util.concurrent.ConcurrentHashMap;
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.flow.core.config.FlowConfiguration;
 
+/**
+ * Node-local register of the running flows. Besides the flow id it indexes the flows by resource id, so questions like
+ * "is a flow running for resource X on this node" can be answered without a database query. The index only knows the flows owned by this
+ * node, therefore a negative answer must still be verified in the database.
+ */
 @Component
 public class FlowRegister {
 
@@ -24,35 +29,49 @@ public class FlowRegister {
     @Inject
     private MetricService metricService;
 
-    private Map<String, Pair<Flow, String>> runningFlows;
+    private Map<String, RunningFlow> runningFlows;
+
+    private final Map<Long, Set<String>> flowIdsByResourceId = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void init() {
         runningFlows = metricService.gaugeMapSize(FlowMetricType.ACTIVE_FLOWS, new ConcurrentHashMap<>());
     }
 
-    public void put(Flow flow, String chainFlowId) {
+    public void put(Flow flow, String chainFlowId, Long resourceId) {
         LOGGER.info("Put flow {} to running flows", flow.getFlowId());
-        runningFlows.put(flow.getFlowId(), new ImmutablePair<>(flow, chainFlowId));
+        RunningFlow previous = runningFlows.put(flow.getFlowId(), new RunningFlow(flow, chainFlowId, resourceId));
+        if (previous != null) {
+            removeFromIndex(previous.resourceId(), flow.getFlowId());
+        }
+        addToIndex(resourceId, flow.getFlowId());
         LOGGER.info("Running flows after put: {}", runningFlows.keySet());
     }
 
     public Flow get(String flowId) {
-        Pair<Flow, String> p = runningFlows.get(flowId);
-        return p != null ? p.getLeft() : null;
+        RunningFlow runningFlow = runningFlows.get(flowId);
+        return runningFlow != null ? runningFlow.flow() : null;
     }
 
     public String getFlowChainId(String flowId) {
-        Pair<Flow, String> p = runningFlows.get(flowId);
-        return p != null ? p.getRight() : null;
+        RunningFlow runningFlow = runningFlows.get(flowId);
+        return runningFlow != null ? runningFlow.chainFlowId() : null;
+    }
+
+    public Long getResourceId(String flowId) {
+        RunningFlow runningFlow = runningFlows.get(flowId);
+        return runningFlow != null ? runningFlow.resourceId() : null;
     }
 
     public Flow remove(String flowId) {
         LOGGER.info("Remove flow {} from running flows", flowId);
-        Pair<Flow, String> pair = runningFlows.remove(flowId);
+        RunningFlow runningFlow = runningFlows.remove(flowId);
+        if (runningFlow != null) {
+            removeFromIndex(runningFlow.resourceId(), flowId);
+        }
         metricService.gauge(FlowMetricType.ACTIVE_FLOWS, runningFlows.size());
         LOGGER.info("Running flows after removal: {}", runningFlows.keySet());
-        return pair == null ? null : pair.getLeft();
+        return runningFlow == null ? null : runningFlow.flow();
     }
 
     public Set<String> getRunningFlowIdsSnapshot() {
@@ -62,4 +81,41 @@ public class FlowRegister {
     public Set<String> getRunningFlowIds() {
         return runningFlows.keySet();
     }
+
+    public Set<String> getRunningFlowIdsByResourceId(Long resourceId) {
+        Set<String> flowIds = resourceId == null ? null : flowIdsByResourceId.get(resourceId);
+        return flowIds == null ? Set.of() : new HashSet<>(flowIds);
+    }
+
+    public boolean isFlowRunningForResource(Long resourceId) {
+        return resourceId != null && flowIdsByResourceId.containsKey(resourceId);
+    }
+
+    public boolean isFlowRunningForResource(Long resourceId, Collection<Class<? extends FlowConfiguration<?>>> excludedFlowTypes) {
+        return getRunningFlowIdsByResourceId(resourceId).stream()
+                .map(runningFlows::get)
+                .anyMatch(runningFlow -> runningFlow != null && !excludedFlowTypes.contains(runningFlow.flow().getFlowConfigClass()));
+    }
+
+    private void addToIndex(Long resourceId, String flowId) {
+        if (resourceId != null) {
+            flowIdsByResourceId.compute(resourceId, (k, flowIds) -> {
+                Set<String> result = flowIds == null ? ConcurrentHashMap.newKeySet() : flowIds;
+                result.add(flowId);
+                return result;
+            });
+        }
+    }
+
+    private void removeFromIndex(Long resourceId, String flowId) {
+        if (resourceId != null) {
+            flowIdsByResourceId.computeIfPresent(resourceId, (k, flowIds) -> {
+                flowIds.remove(flowId);
+                return flowIds.isEmpty() ? null : flowIds;
+            });
+        }
+    }
+
+    private record RunningFlow(Flow flow, String chainFlowId, Long resourceId) {
+    }
 }
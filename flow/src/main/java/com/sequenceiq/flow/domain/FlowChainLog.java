@@ -4,6 +4,7 @@ import java.util.Date;
 import java.util.Queue;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -12,6 +13,7 @@ import jakarta.persistence.SequenceGenerator;
 
 import com.sequenceiq.cloudbreak.common.event.Selectable;
 import com.sequenceiq.cloudbreak.common.json.TypedJsonUtil;
+import com.sequenceiq.flow.converter.PayloadFormatConverter;
 
 @Entity
 public class FlowChainLog {
@@ -38,6 +40,13 @@ public class FlowChainLog {
     @Column(length = Integer.MAX_VALUE, columnDefinition = "TEXT")
     private String triggerEventJackson;
 
+    private byte[] chainBinary;
+
+    private byte[] triggerEventBinary;
+
+    @Convert(converter = PayloadFormatConverter.class)
+    private PayloadFormat payloadFormat;
+
     public FlowChainLog() {
 
     }
@@ -87,7 +96,7 @@ public class FlowChainLog {
 
     @SuppressWarnings("unchecked")
     public Queue<Selectable> getChainAsQueue() {
-        return TypedJsonUtil.readValueUnchecked(chainJackson, Queue.class);
+        return TypedJsonUtil.readValueUnchecked(getChainJackson(), Queue.class);
     }
 
     public String getFlowTriggerUserCrn() {
@@ -107,18 +116,51 @@ public class FlowChainLog {
     }
 
     public String getChainJackson() {
-        return chainJackson;
+        PayloadFormat format = PayloadFormat.orDefault(payloadFormat);
+        return format.isBinary() ? format.decode(chainBinary) : chainJackson;
     }
 
     public void setChainJackson(String chainJackson) {
-        this.chainJackson = chainJackson;
+        PayloadFormat format = PayloadFormat.orDefault(payloadFormat);
+        if (format.isBinary()) {
+            this.chainBinary = format.encode(chainJackson);
+            this.chainJackson = null;
+        } else {
+            this.chainJackson = chainJackson;
+            this.chainBinary = null;
+        }
     }
 
     public String getTriggerEventJackson() {
-        return triggerEventJackson;
+        PayloadFormat format = PayloadFormat.orDefault(payloadFormat);
+        return format.isBinary() ? format.decode(triggerEventBinary) : triggerEventJackson;
     }
 
     public void setTriggerEventJackson(String triggerEventJackson) {
-        this.triggerEventJackson = triggerEventJackson;
+        PayloadFormat format = PayloadFormat.orDefault(payloadFormat);
+        if (format.isBinary()) {
+            this.triggerEventBinary = format.encode(triggerEventJackson);
+            this.triggerEventJackson = null;
+        } else {
+            this.triggerEventJackson = triggerEventJackson;
+            this.triggerEventBinary = null;
+        }
+    }
+
+    public PayloadFormat getPayloadFormat() {
+        return PayloadFormat.orDefault(payloadFormat);
+    }
+
+    /**
+     * Re-encodes the stored chain queue and trigger event with the given format. Legacy rows without a format marker are read as plain JSON.
+     */
+    public void encodeWith(PayloadFormat format) {
+        if (PayloadFormat.orDefault(payloadFormat) != format) {
+            String chain = getChainJackson();
+            String triggerEvent = getTriggerEventJackson();
+            payloadFormat = format;
+            setChainJackson(chain);
+            setTriggerEventJackson(triggerEvent);
+        }
     }
 }
@@ -14,6 +14,7 @@ import jakarta.persistence.Version;
 import com.sequenceiq.flow.api.model.operation.OperationType;
 import com.sequenceiq.flow.converter.ClassValueConverter;
 import com.sequenceiq.flow.converter.OperationTypeConverter;
+import com.sequenceiq.flow.converter.PayloadFormatConverter;
 import com.sequenceiq.flow.converter.StateStatusConverter;
 
 @Entity
@@ -45,6 +46,13 @@ public class FlowLog {
     @Column(length = Integer.MAX_VALUE, columnDefinition = "TEXT")
     private String variablesJackson;
 
+    private byte[] payloadBinary;
+
+    private byte[] variablesBinary;
+
+    @Convert(converter = PayloadFormatConverter.class)
+    private PayloadFormat payloadFormat;
+
     @Convert(converter = ClassValueConverter.class)
     private ClassValue flowType;
 
@@ -260,19 +268,52 @@ public class FlowLog {
     }
 
     public String getPayloadJackson() {
-        return payloadJackson;
+        PayloadFormat format = PayloadFormat.orDefault(payloadFormat);
+        return format.isBinary() ? format.decode(payloadBinary) : payloadJackson;
     }
 
     public void setPayloadJackson(String payloadJackson) {
-        this.payloadJackson = payloadJackson;
+        PayloadFormat format = PayloadFormat.orDefault(payloadFormat);
+        if (format.isBinary()) {
+            this.payloadBinary = format.encode(payloadJackson);
+            this.payloadJackson = null;
+        } else {
+            this.payloadJackson = payloadJackson;
+            this.payloadBinary = null;
+        }
     }
 
     public String getVariablesJackson() {
-        return variablesJackson;
+        PayloadFormat format = PayloadFormat.orDefault(payloadFormat);
+        return format.isBinary() ? format.decode(variablesBinary) : variablesJackson;
     }
 
     public void setVariablesJackson(String variablesJackson) {
-        this.variablesJackson = variablesJackson;
+        PayloadFormat format = PayloadFormat.orDefault(payloadFormat);
+        if (format.isBinary()) {
+            this.variablesBinary = format.encode(variablesJackson);
+            this.variablesJackson = null;
+        } else {
+            this.variablesJackson = variablesJackson;
+            this.variablesBinary = null;
+        }
+    }
+
+    public PayloadFormat getPayloadFormat() {
+        return PayloadFormat.orDefault(payloadFormat);
+    }
+
+    /**
+     * Re-encodes the stored payload and variables with the given format. Legacy rows without a format marker are read as plain JSON.
+     */
+    public void encodeWith(PayloadFormat format) {
+        if (PayloadFormat.orDefault(payloadFormat) != format) {
+            String payload = getPayloadJackson();
+            String variables = getVariablesJackson();
+            payloadFormat = format;
+            setPayloadJackson(payload);
+            setVariablesJackson(variables);
+        }
     }
 
     public Long getEndTime() {
@@ -0,0 +1,35 @@
+package com.sequenceiq.flow.domain;
+
+import com.sequenceiq.flow.converter.payload.FlowPayloadCodec;
+import com.sequenceiq.flow.converter.payload.GzipJsonPayloadCodec;
+
+/**
+ * Storage format of the serialized payload columns of {@link FlowLog} and {@link FlowChainLog}. Rows written before the format marker
+ * existed have no format and are read as {@link #JSON}.
+ */
+public enum PayloadFormat {
+    JSON(null),
+    GZIP_JSON(new GzipJsonPayloadCodec());
+
+    private final FlowPayloadCodec codec;
+
+    PayloadFormat(FlowPayloadCodec codec) {
+        this.codec = codec;
+    }
+
+    public boolean isBinary() {
+        return codec != null;
+    }
+
+    public byte[] encode(String json) {
+        return codec.encode(json);
+    }
+
+    public String decode(byte[] data) {
+        return codec.decode(data);
+    }
+
+    public static PayloadFormat orDefault(PayloadFormat payloadFormat) {
+        return payloadFormat == null ? JSON : payloadFormat;
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Timer;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -28,6 +29,7 @@ import com.sequenceiq.cloudbreak.concurrent.ConcurrencyLimitDecorator;
 import com.sequenceiq.cloudbreak.concurrent.MDCCleanerDecorator;
 import com.sequenceiq.cloudbreak.eventbus.Event;
 import com.sequenceiq.cloudbreak.eventbus.EventBus;
+import com.sequenceiq.cloudbreak.eventbus.KeyedLaneExecutor;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
 import com.sequenceiq.flow.core.FlowConstants;
 import com.sequenceiq.flow.service.flowlog.FlowLogDBService;
@@ -49,6 +51,18 @@ public class EventBusConfig {
     @Value("${spring.threads.virtual.enabled:false}")
     private boolean virtualThreadsAvailable;
 
+    @Value("${cb.eventbus.lanes.enabled:false}")
+    private boolean lanesEnabled;
+
+    @Value("${cb.eventbus.lanes.capacity:100}")
+    private int laneCapacity;
+
+    @Value("${cb.eventbus.lanes.offer.timeout.millis:30000}")
+    private long laneOfferTimeoutMillis;
+
+    @Value("${cb.eventbus.lanes.max.tasks.per.turn:16}")
+    private int laneMaxTasksPerTurn;
+
     @Inject
     private CommonExecutorServiceFactory commonExecutorServiceFactory;
 
@@ -87,12 +101,31 @@ public class EventBusConfig {
     }
 
     @Bean
-    public EventBus reactor(@Named("eventBusThreadPoolExecutor") ExecutorService threadPoolExecutor) {
-        return EventBus.builder()
+    public EventBus reactor(@Named("eventBusThreadPoolExecutor") ExecutorService threadPoolExecutor, KeyedLaneExecutor eventBusLaneExecutor) {
+        EventBus.Builder builder = EventBus.builder()
                 .executor(threadPoolExecutor)
                 .exceptionHandler((event, exception) -> handleException(event, exception, threadPoolExecutor))
-                .unhandledEventHandler(event -> handleUnhandledEvent(event, threadPoolExecutor))
-                .build();
+                .unhandledEventHandler(event -> handleUnhandledEvent(event, threadPoolExecutor));
+        if (lanesEnabled) {
+            LOGGER.info("Event bus dispatches flow events on per flow lanes with capacity {}", laneCapacity);
+            builder.lanes(eventBusLaneExecutor, this::tryGetFlowIdFromEvent);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Lanes are keyed by flow id only: actions may block on a promise completed by a handler of the same resource, which would never run
+     * if the handler's request was queued behind the waiting action on a resource keyed lane.
+     * <p>
+     * Lanes run on their own executor which throws on rejection, so a rejected lane is dropped instead of staying scheduled forever.
+     */
+    @Bean
+    public KeyedLaneExecutor eventBusLaneExecutor(@Named("eventBusLaneThreadPoolExecutor") ExecutorService lanePoolExecutor) {
+        return new KeyedLaneExecutor(lanePoolExecutor, laneCapacity, laneOfferTimeoutMillis, laneMaxTasksPerTurn);
+    }
+
+    public boolean isLanesEnabled() {
+        return lanesEnabled;
     }
 
     private String tryGetFlowIdFromEvent(Object event) {
@@ -123,6 +156,22 @@ public class EventBusConfig {
         }
     }
 
+    @Bean("eventBusLaneThreadPoolExecutor")
+    public ExecutorService getLanePoolExecutor() {
+        if (virtualThreadsAvailable) {
+            return commonExecutorServiceFactory.newVirtualThreadExecutorService("reactorLaneDispatcher", "eventBusLaneThreadPoolExecutor",
+                    List.of(new MDCCleanerDecorator(), new ConcurrencyLimitDecorator(eventBusThreadPoolMaxSize)));
+        } else {
+            return commonExecutorServiceFactory.newThreadPoolExecutorService("reactorLaneDispatcher", "eventBusLaneThreadPoolExecutor",
+                    eventBusThreadPoolCoreSize, eventBusThreadPoolMaxSize, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(eventBusThreadPoolBacklogSize),
+                    (runnable, executor) -> {
+                        throw new RejectedExecutionException(String.format("Task has been rejected from 'reactorLaneDispatcher' threadpool. Executor state: %s",
+                                executor));
+                    },
+                    List.of(new MDCCleanerDecorator()));
+        }
+    }
+
     private void handleException(Event<?> event, Throwable exception, ExecutorService executorService) {
         try {
             LOGGER.error("Exception during event: {}", event, exception);
@@ -1,15 +1,26 @@
 package com.sequenceiq.flow.reactor.config;
 
+import static com.sequenceiq.flow.core.FlowMetricType.EVENTBUS_LANE_AVERAGE_WAIT;
+import static com.sequenceiq.flow.core.FlowMetricType.EVENTBUS_LANE_COUNT;
+import static com.sequenceiq.flow.core.FlowMetricType.EVENTBUS_LANE_MAX_DEPTH;
+import static com.sequenceiq.flow.core.FlowMetricType.EVENTBUS_LANE_QUEUED_TASKS;
+
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.eventbus.KeyedLaneExecutor;
+
 @Component
 public class EventBusStatisticReporter {
 
@@ -19,16 +30,42 @@ public class EventBusStatisticReporter {
     @Named("eventBusThreadPoolExecutor")
     private ExecutorService executor;
 
+    @Inject
+    private KeyedLaneExecutor laneExecutor;
+
+    @Inject
+    private EventBusConfig eventBusConfig;
+
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
+    @PostConstruct
+    public void init() {
+        if (eventBusConfig.isLanesEnabled()) {
+            metricService.registerGaugeMetric(EVENTBUS_LANE_COUNT, laneExecutor, KeyedLaneExecutor::getLaneCount, Map.of());
+            metricService.registerGaugeMetric(EVENTBUS_LANE_QUEUED_TASKS, laneExecutor, KeyedLaneExecutor::getQueuedTaskCount, Map.of());
+            metricService.registerGaugeMetric(EVENTBUS_LANE_MAX_DEPTH, laneExecutor, KeyedLaneExecutor::getMaxLaneDepth, Map.of());
+            metricService.registerGaugeMetric(EVENTBUS_LANE_AVERAGE_WAIT, laneExecutor, KeyedLaneExecutor::getAverageWaitMillis, Map.of());
+        }
+    }
+
     public void logInfoReport() {
         if (executor instanceof ThreadPoolExecutor) {
             LOGGER.info("Reactor event bus statistics: {}", create((ThreadPoolExecutor) executor));
         }
+        if (eventBusConfig.isLanesEnabled()) {
+            LOGGER.info("Reactor event bus lane statistics: {}", laneExecutor.getStatistics());
+        }
     }
 
     public void logErrorReport() {
         if (executor instanceof ThreadPoolExecutor) {
             LOGGER.error("Reactor state is critical, statistics: {}", create((ThreadPoolExecutor) executor));
         }
+        if (eventBusConfig.isLanesEnabled()) {
+            LOGGER.error("Reactor state is critical, lane statistics: {}", laneExecutor.getStatistics());
+        }
     }
 
     private EventBusStatistics create(ThreadPoolExecutor executor) {
@@ -15,6 +15,7 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import com.sequenceiq.flow.domain.FlowChainLog;
+import com.sequenceiq.flow.domain.PayloadFormat;
 
 @Transactional(TxType.REQUIRED)
 public interface FlowChainLogRepository extends CrudRepository<FlowChainLog, Long> {
@@ -44,4 +45,13 @@ public interface FlowChainLogRepository extends CrudRepository<FlowChainLog, Lon
     @Query(value = "SELECT fcl.* " + FIND_BY_FLOW_CHAIN_ID_BASE_QUERY, nativeQuery = true,
             countQuery = "SELECT count(fcl.*) " + FIND_BY_FLOW_CHAIN_ID_BASE_QUERY)
     Page<FlowChainLog> nativeFindByFlowChainIdInOrderByCreatedDesc(@Param("flowChainIds") Set<String> flowChainIds, Pageable pageable);
+
+    @Query("SELECT fcl FROM FlowChainLog fcl WHERE fcl.id > :afterId AND fcl.id <= :upToId AND fcl.created < :createdBefore "
+            + "AND (fcl.payloadFormat <> :payloadFormat OR (:includeLegacy = TRUE AND fcl.payloadFormat IS NULL)) ORDER BY fcl.id")
+    List<FlowChainLog> findOlderWithOtherPayloadFormatInIdRange(@Param("afterId") Long afterId, @Param("upToId") Long upToId,
+            @Param("createdBefore") Long createdBefore, @Param("payloadFormat") PayloadFormat payloadFormat, @Param("includeLegacy") boolean includeLegacy,
+            Pageable page);
+
+    @Query("SELECT MAX(fcl.id) FROM FlowChainLog fcl")
+    Optional<Long> findMaxId();
 }
@@ -18,6 +18,7 @@ import com.sequenceiq.flow.domain.ClassValue;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.FlowLogIdWithTypeAndTimestamp;
 import com.sequenceiq.flow.domain.FlowLogWithoutPayload;
+import com.sequenceiq.flow.domain.PayloadFormat;
 import com.sequenceiq.flow.domain.StateStatus;
 
 @Transactional(TxType.REQUIRED)
@@ -157,4 +158,12 @@ public interface FlowLogRepository extends CrudRepository<FlowLog, Long> {
 
     @Query("SELECT fl FROM FlowLog fl WHERE fl.flowChainId IN (:chainIds) AND fl.currentState <> 'FINISHED' ORDER BY fl.created DESC")
     List<FlowLog> findAllByFlowChainIdOrderByCreatedDesc(@Param("chainIds") Set<String> chainIds);
+
+    @Query("SELECT fl FROM FlowLog fl WHERE fl.id > :afterId AND fl.id <= :upToId AND fl.finalized = TRUE "
+            + "AND (fl.payloadFormat <> :payloadFormat OR (:includeLegacy = TRUE AND fl.payloadFormat IS NULL)) ORDER BY fl.id")
+    List<FlowLog> findFinalizedWithOtherPayloadFormatInIdRange(@Param("afterId") Long afterId, @Param("upToId") Long upToId,
+            @Param("payloadFormat") PayloadFormat payloadFormat, @Param("includeLegacy") boolean includeLegacy, Pageable page);
+
+    @Query("SELECT MAX(fl.id) FROM FlowLog fl")
+    Optional<Long> findMaxId();
 }
@@ -0,0 +1,285 @@
+package com.sequenceiq.flow.service.flowlog;
+
+import static com.sequenceiq.flow.core.FlowMetricType.FLOWLOG_BATCH_COMMIT_TIME;
+import static com.sequenceiq.flow.core.FlowMetricType.FLOWLOG_BATCH_ENTRIES;
+import static com.sequenceiq.flow.core.FlowMetricType.FLOWLOG_BATCH_QUEUE_DEPTH;
+import static com.sequenceiq.flow.core.FlowMetricType.FLOWLOG_BATCH_SIZE;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sequenceiq.cloudbreak.common.exception.CloudbreakServiceException;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionExecutionException;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+/**
+ * Opt-in group commit for FlowLog writes. Inserts and last-status updates coming from many flows are collected for a few milliseconds and
+ * written in one transaction, so the flow log table sees one commit per batch instead of one per transition.
+ * <p>
+ * Callers are blocked until the batch containing their write is committed, therefore a transition is never acknowledged before it is
+ * durable and flow restart sees exactly the same rows as with the synchronous path. A flow transition, the status update of the last
+ * FlowLog together with the insert of the new one, is handed over as one write and always committed in the same transaction.
+ * Only the writes issued outside of a transaction are batched: a write inside the transaction of the caller has to commit or roll back
+ * together with it, and the caller would hold its connection while the writer needs another one from the same pool.
+ */
+@Component
+public class FlowLogBatchWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowLogBatchWriter.class);
+
+    private static final String WRITER_THREAD_NAME = "flowlog-batch-writer";
+
+    @Value("${flow.flowlog.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${flow.flowlog.batch.max.size:200}")
+    private int maxBatchSize;
+
+    @Value("${flow.flowlog.batch.flush.interval.millis:5}")
+    private long flushIntervalMillis;
+
+    @Value("${flow.flowlog.batch.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${flow.flowlog.batch.wait.timeout.seconds:60}")
+    private long waitTimeoutSeconds;
+
+    @Inject
+    private FlowLogRepository flowLogRepository;
+
+    @Inject
+    private TransactionService transactionService;
+
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
+    private BlockingQueue<PendingWrite> queue;
+
+    private Thread writerThread;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            LOGGER.info("FlowLog batch writer is enabled with max batch size {}, flush interval {}ms and queue capacity {}",
+                    maxBatchSize, flushIntervalMillis, queueCapacity);
+            queue = new LinkedBlockingQueue<>(queueCapacity);
+            metricService.registerGaugeMetric(FLOWLOG_BATCH_QUEUE_DEPTH, queue, BlockingQueue::size, Map.of());
+            running = true;
+            writerThread = Thread.ofPlatform().name(WRITER_THREAD_NAME).daemon().start(this::writeLoop);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writerThread != null) {
+            LOGGER.info("Stopping FlowLog batch writer, {} writes are still queued", queue.size());
+            running = false;
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(waitTimeoutSeconds));
+            } catch (InterruptedException e) {
+                LOGGER.warn("FlowLog batch writer shutdown is interrupted.", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Whether the write of the current thread can go through the batch writer, which is only the case when no transaction is active.
+     */
+    public boolean canBatch() {
+        return enabled && running && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    public FlowLog save(FlowLog flowLog) {
+        PendingWrite pendingWrite = PendingWrite.insert(flowLog);
+        submitAndWait(pendingWrite);
+        return flowLog;
+    }
+
+    public void updateLastLogStatus(Long id, StateStatus stateStatus, Long endTime, String reason) {
+        submitAndWait(PendingWrite.statusUpdate(id, stateStatus, endTime, reason));
+    }
+
+    /**
+     * Updates the status of the last FlowLog of a flow and inserts the FlowLog of its new state in the same transaction.
+     */
+    public FlowLog saveTransition(Long lastFlowLogId, StateStatus stateStatus, Long endTime, String reason, FlowLog flowLog) {
+        submitAndWait(new PendingWrite(flowLog, lastFlowLogId, stateStatus, endTime, reason, new CompletableFuture<>()));
+        return flowLog;
+    }
+
+    private void submitAndWait(PendingWrite pendingWrite) {
+        if (!running || !queue.offer(pendingWrite)) {
+            LOGGER.debug("FlowLog batch writer is stopped or its queue is full, writing {} synchronously", pendingWrite);
+            writeSingle(pendingWrite);
+        }
+        try {
+            pendingWrite.result().get(waitTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CloudbreakServiceException("Interrupted while waiting for FlowLog batch commit", e);
+        } catch (ExecutionException e) {
+            throw new CloudbreakServiceException("FlowLog write failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new CloudbreakServiceException(String.format("FlowLog batch commit did not finish in %s seconds", waitTimeoutSeconds), e);
+        }
+    }
+
+    private void writeLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    commit(collectBatch(first));
+                }
+            } catch (InterruptedException e) {
+                LOGGER.warn("FlowLog batch writer thread is interrupted, remaining writes will be committed synchronously.");
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected error in FlowLog batch writer loop", e);
+            }
+        }
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::writeSingle);
+    }
+
+    private List<PendingWrite> collectBatch(PendingWrite first) throws InterruptedException {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+                break;
+            }
+            PendingWrite next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        long start = System.currentTimeMillis();
+        try {
+            transactionService.requiresNew(() -> {
+                writeBatch(batch);
+                return null;
+            });
+            batch.forEach(pendingWrite -> pendingWrite.result().complete(null));
+        } catch (TransactionExecutionException | RuntimeException e) {
+            LOGGER.warn("Batched commit of {} FlowLog writes failed, retrying them one by one", batch.size(), e);
+            batch.forEach(pendingWrite -> {
+                pendingWrite.resetInsert();
+                writeSingle(pendingWrite);
+            });
+        }
+        long duration = System.currentTimeMillis() - start;
+        LOGGER.debug("Committed {} FlowLog writes in {}ms", batch.size(), duration);
+        metricService.recordTimerMetric(FLOWLOG_BATCH_COMMIT_TIME, Duration.ofMillis(duration));
+        metricService.gauge(FLOWLOG_BATCH_SIZE, batch.size());
+        metricService.incrementMetricCounter(FLOWLOG_BATCH_ENTRIES.getMetricName(), batch.size());
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        List<FlowLog> inserts = new ArrayList<>();
+        Map<Long, PendingWrite> coalescedStatusUpdates = new LinkedHashMap<>();
+        for (PendingWrite pendingWrite : batch) {
+            if (pendingWrite.id() != null) {
+                coalescedStatusUpdates.put(pendingWrite.id(), pendingWrite);
+            }
+            if (pendingWrite.flowLog() != null) {
+                inserts.add(pendingWrite.flowLog());
+            }
+        }
+        coalescedStatusUpdates.values().forEach(this::updateStatus);
+        if (!inserts.isEmpty()) {
+            flowLogRepository.saveAll(inserts);
+        }
+    }
+
+    private void writeSingle(PendingWrite pendingWrite) {
+        try {
+            transactionService.requiresNew(() -> {
+                if (pendingWrite.id() != null) {
+                    updateStatus(pendingWrite);
+                }
+                if (pendingWrite.flowLog() != null) {
+                    flowLogRepository.save(pendingWrite.flowLog());
+                }
+                return null;
+            });
+            pendingWrite.result().complete(null);
+        } catch (TransactionExecutionException | RuntimeException e) {
+            LOGGER.error("FlowLog write failed: {}", pendingWrite, e);
+            pendingWrite.result().completeExceptionally(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private void updateStatus(PendingWrite pendingWrite) {
+        flowLogRepository.updateLastLogStatusInFlow(pendingWrite.id(), pendingWrite.stateStatus(), pendingWrite.endTime(), pendingWrite.reason());
+    }
+
+    private record PendingWrite(FlowLog flowLog, Long id, StateStatus stateStatus, Long endTime, String reason, CompletableFuture<Void> result) {
+
+        static PendingWrite insert(FlowLog flowLog) {
+            return new PendingWrite(flowLog, null, null, null, null, new CompletableFuture<>());
+        }
+
+        /**
+         * The rolled back batch may have assigned the id and the version of the inserted entity already, those are cleared so the retry
+         * persists it as a new row instead of merging it.
+         */
+        void resetInsert() {
+            if (flowLog != null) {
+                flowLog.setId(null);
+                flowLog.setVersion(null);
+            }
+        }
+
+        static PendingWrite statusUpdate(Long id, StateStatus stateStatus, Long endTime, String reason) {
+            return new PendingWrite(null, id, stateStatus, endTime, reason, new CompletableFuture<>());
+        }
+
+        @Override
+        public String toString() {
+            String statusUpdate = "status update of FlowLog " + id + " to " + stateStatus;
+            if (flowLog == null) {
+                return statusUpdate;
+            }
+            return id != null ? statusUpdate + " and insert " + flowLog.minimizedString() : "insert " + flowLog.minimizedString();
+        }
+    }
+}
@@ -18,6 +18,7 @@ import jakarta.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -37,9 +38,11 @@ import com.sequenceiq.cloudbreak.ha.NodeConfig;
 import com.sequenceiq.cloudbreak.util.Benchmark;
 import com.sequenceiq.flow.api.model.operation.OperationType;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
+import com.sequenceiq.flow.core.Flow;
 import com.sequenceiq.flow.core.FlowConstants;
 import com.sequenceiq.flow.core.FlowLogService;
 import com.sequenceiq.flow.core.FlowParameters;
+import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.FlowState;
 import com.sequenceiq.flow.core.ResourceIdProvider;
 import com.sequenceiq.flow.core.chain.config.FlowTriggerEventQueue;
@@ -50,6 +53,7 @@ import com.sequenceiq.flow.domain.FlowChainLog;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.FlowLogIdWithTypeAndTimestamp;
 import com.sequenceiq.flow.domain.FlowLogWithoutPayload;
+import com.sequenceiq.flow.domain.PayloadFormat;
 import com.sequenceiq.flow.domain.StateStatus;
 import com.sequenceiq.flow.repository.FlowLogRepository;
 
@@ -59,6 +63,9 @@ public class FlowLogDBService implements FlowLogService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowLogDBService.class);
 
+    @Value("${flow.payload.format:JSON}")
+    private PayloadFormat payloadFormat;
+
     @Inject
     private NodeConfig nodeConfig;
 
@@ -80,15 +87,49 @@ public class FlowLogDBService implements FlowLogService {
     @Inject
     private Clock clock;
 
+    @Inject
+    private FlowLogBatchWriter flowLogBatchWriter;
+
+    @Inject
+    private FlowRegister flowRegister;
+
     @Override
     public FlowLog save(FlowParameters flowParameters, String flowChainId, String key, Payload payload, Map<Object, Object> variables, Class<?> flowType,
             FlowState currentState) {
+        FlowLog flowLog = createFlowLog(flowParameters, flowChainId, key, payload, variables, flowType, currentState);
+        if (flowLogBatchWriter.canBatch()) {
+            return flowLogBatchWriter.save(flowLog);
+        }
+        return flowLogRepository.save(flowLog);
+    }
+
+    @Override
+    public FlowLog saveTransition(FlowLog lastFlowLog, boolean failureEvent, FlowParameters flowParameters, String flowChainId, String key,
+            Payload payload, Flow flow) {
+        StateStatus stateStatus = failureEvent ? StateStatus.FAILED : StateStatus.SUCCESSFUL;
+        String reason = payload.getException() != null ? payload.getException().getMessage() : null;
+        FlowLog flowLog = createFlowLog(flowParameters, flowChainId, key, payload, flow.getVariables(), flow.getFlowConfigClass(), flow.getCurrentState());
+        if (flowLogBatchWriter.canBatch()) {
+            return flowLogBatchWriter.saveTransition(lastFlowLog.getId(), stateStatus, clock.getCurrentTimeMillis(), reason, flowLog);
+        }
+        flowLogRepository.updateLastLogStatusInFlow(lastFlowLog.getId(), stateStatus, clock.getCurrentTimeMillis(), reason);
+        return flowLogRepository.save(flowLog);
+    }
+
+    @Override
+    public boolean canBatchTransitions() {
+        return flowLogBatchWriter.canBatch();
+    }
+
+    private FlowLog createFlowLog(FlowParameters flowParameters, String flowChainId, String key, Payload payload, Map<Object, Object> variables,
+            Class<?> flowType, FlowState currentState) {
         String payloadJackson = JsonUtil.writeValueAsStringSilent(payload);
         String variablesJackson = TypedJsonUtil.writeValueAsStringSilent(variables);
 
         FlowLog flowLog = new FlowLog(payload.getResourceId(), flowParameters.getFlowId(), flowChainId, flowParameters.getFlowTriggerUserCrn(), key,
                 payloadJackson, ClassValue.of(payload.getClass()), variablesJackson,
                 ClassValue.of(flowType), currentState.toString());
+        flowLog.encodeWith(getPayloadFormat());
         flowLog.setOperationType(StringUtils.isNotBlank(flowParameters.getFlowOperationType())
                 ? OperationType.valueOf(flowParameters.getFlowOperationType())
                 : OperationType.UNKNOWN);
@@ -96,7 +137,7 @@ public class FlowLogDBService implements FlowLogService {
         if (payload.getException() != null) {
             flowLog.setReason(payload.getException().getMessage());
         }
-        return flowLogRepository.save(flowLog);
+        return flowLog;
     }
 
     @Override
@@ -137,10 +178,11 @@ public class FlowLogDBService implements FlowLogService {
             if (lastFlowLogOpt.isPresent()) {
                 FlowLog lastFlowLog = lastFlowLogOpt.get();
                 LOGGER.info("Last FlowLog is available: {}", lastFlowLog);
-                updateLastFlowLogStatus(lastFlowLog, failed, reason);
+                updateLastFlowLogStatusInCurrentTransaction(lastFlowLog, failed, reason);
                 operationType = lastFlowLog.getOperationType();
             }
             FlowLog flowLog = new FlowLog(resourceId, flowId, state, Boolean.TRUE, StateStatus.SUCCESSFUL, operationType);
+            flowLog.encodeWith(getPayloadFormat());
             if (contextParams != null) {
                 String variablesJackson = TypedJsonUtil.writeValueAsStringSilent(contextParams);
                 flowLog.setVariablesJackson(variablesJackson);
@@ -170,11 +212,21 @@ public class FlowLogDBService implements FlowLogService {
             triggerEventJackson = JsonUtil.writeValueAsStringSilent(chain.getTriggerEvent());
         }
         FlowChainLog chainLog = new FlowChainLog(chainType, flowChainId, parentFlowChainId, chainJackson, flowTriggerUserCrn, triggerEventJackson);
+        chainLog.encodeWith(getPayloadFormat());
         flowChainLogService.save(chainLog);
     }
 
     @Override
     public void updateLastFlowLogStatus(FlowLog lastFlowLog, boolean failureEvent, String reason) {
+        StateStatus stateStatus = failureEvent ? StateStatus.FAILED : StateStatus.SUCCESSFUL;
+        if (flowLogBatchWriter.canBatch()) {
+            flowLogBatchWriter.updateLastLogStatus(lastFlowLog.getId(), stateStatus, clock.getCurrentTimeMillis(), reason);
+        } else {
+            flowLogRepository.updateLastLogStatusInFlow(lastFlowLog.getId(), stateStatus, clock.getCurrentTimeMillis(), reason);
+        }
+    }
+
+    private void updateLastFlowLogStatusInCurrentTransaction(FlowLog lastFlowLog, boolean failureEvent, String reason) {
         StateStatus stateStatus = failureEvent ? StateStatus.FAILED : StateStatus.SUCCESSFUL;
         flowLogRepository.updateLastLogStatusInFlow(lastFlowLog.getId(), stateStatus, clock.getCurrentTimeMillis(), reason);
     }
@@ -221,6 +273,10 @@ public class FlowLogDBService implements FlowLogService {
 
     @Override
     public boolean isOtherNonTerminationFlowRunning(Long resourceId) {
+        if (flowRegister.isFlowRunningForResource(resourceId, applicationFlowInformation.getTerminationFlow())) {
+            LOGGER.trace("Non-termination flow is running for resource {} on this node", resourceId);
+            return true;
+        }
         Set<String> flowIds = findAllRunningNonTerminationFlowIdsByResourceId(resourceId);
         return !flowIds.isEmpty();
     }
@@ -233,6 +289,10 @@ public class FlowLogDBService implements FlowLogService {
     }
 
     public boolean isOtherFlowRunning(Long resourceId) {
+        if (flowRegister.isFlowRunningForResource(resourceId)) {
+            LOGGER.trace("Flow is running for resource {} on this node", resourceId);
+            return true;
+        }
         Set<String> flowIds = findAllRunningFlowIdsByResourceId(resourceId);
         return !flowIds.isEmpty();
     }
@@ -249,6 +309,7 @@ public class FlowLogDBService implements FlowLogService {
                     if (payload.getException() != null) {
                         flowLog.setReason(payload.getException().getMessage());
                     }
+                    flowLog.encodeWith(getPayloadFormat());
                     flowLog.setPayloadJackson(payloadJackson);
                     flowLog.setVariablesJackson(variablesJackson);
                     flowLogRepository.save(flowLog);
@@ -439,6 +500,10 @@ public class FlowLogDBService implements FlowLogService {
                 .values().stream().filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
     }
 
+    public PayloadFormat getPayloadFormat() {
+        return PayloadFormat.orDefault(payloadFormat);
+    }
+
     public void closeFlow(String flowId, String reason) {
         findFirstByFlowIdOrderByCreatedDesc(flowId).ifPresent(flowLog -> {
             try {
@@ -0,0 +1,123 @@
+package com.sequenceiq.flow.service.flowlog;
+
+import java.time.Duration;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.sequenceiq.cloudbreak.common.service.Clock;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionExecutionException;
+import com.sequenceiq.flow.domain.FlowChainLog;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.PayloadFormat;
+import com.sequenceiq.flow.repository.FlowChainLogRepository;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+/**
+ * Migrates the payloads of already finalized flow logs and of old flow chain logs to the configured payload format in small batches,
+ * so legacy JSON rows shrink without a blocking table rewrite. Rows are only re-encoded when nobody writes them anymore.
+ * Every round scans only the next primary key range of the tables, so the lookup stays cheap without a dedicated index, and the scan
+ * starts over from the beginning once it reached the end of the table. Legacy rows without a format marker are read as JSON,
+ * so they are only rewritten when the target format is not JSON.
+ */
+@Service
+public class FlowPayloadReEncoderService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowPayloadReEncoderService.class);
+
+    private static final Duration FLOW_CHAIN_LOG_MIN_AGE = Duration.ofDays(1);
+
+    @Value("${flow.payload.reencode.enabled:false}")
+    private boolean enabled;
+
+    @Value("${flow.payload.reencode.batch.size:500}")
+    private int batchSize;
+
+    @Value("${flow.payload.reencode.id.range.size:10000}")
+    private long idRangeSize;
+
+    @Inject
+    private FlowLogDBService flowLogDBService;
+
+    @Inject
+    private FlowLogRepository flowLogRepository;
+
+    @Inject
+    private FlowChainLogRepository flowChainLogRepository;
+
+    @Inject
+    private TransactionService transactionService;
+
+    @Inject
+    private Clock clock;
+
+    private long flowLogCursor;
+
+    private long flowChainLogCursor;
+
+    @Scheduled(initialDelayString = "${flow.payload.reencode.initial.delay.millis:300000}",
+            fixedDelayString = "${flow.payload.reencode.interval.millis:60000}")
+    public void scheduledReEncode() {
+        if (enabled) {
+            PayloadFormat targetFormat = flowLogDBService.getPayloadFormat();
+            try {
+                int flowLogCount = reEncodeFlowLogs(targetFormat);
+                int flowChainLogCount = reEncodeFlowChainLogs(targetFormat);
+                if (flowLogCount > 0 || flowChainLogCount > 0) {
+                    LOGGER.info("Re-encoded {} flow logs and {} flow chain logs to {} format", flowLogCount, flowChainLogCount, targetFormat);
+                }
+            } catch (TransactionExecutionException e) {
+                LOGGER.warn("Failed to re-encode flow payloads to {} format, will retry in the next round: {}", targetFormat, e.getMessage(), e);
+            }
+        }
+    }
+
+    public int reEncodeFlowLogs(PayloadFormat targetFormat) throws TransactionExecutionException {
+        long afterId = flowLogCursor;
+        long upToId = afterId + idRangeSize;
+        List<FlowLog> flowLogs = transactionService.required(() -> {
+            List<FlowLog> found = flowLogRepository.findFinalizedWithOtherPayloadFormatInIdRange(afterId, upToId, targetFormat,
+                    includeLegacy(targetFormat), PageRequest.of(0, batchSize));
+            found.forEach(flowLog -> flowLog.encodeWith(targetFormat));
+            flowLogRepository.saveAll(found);
+            return found;
+        });
+        flowLogCursor = flowLogs.size() == batchSize
+                ? flowLogs.getLast().getId()
+                : nextRangeStart(upToId, flowLogRepository.findMaxId().orElse(0L));
+        return flowLogs.size();
+    }
+
+    public int reEncodeFlowChainLogs(PayloadFormat targetFormat) throws TransactionExecutionException {
+        long createdBefore = clock.nowMinus(FLOW_CHAIN_LOG_MIN_AGE).toEpochMilli();
+        long afterId = flowChainLogCursor;
+        long upToId = afterId + idRangeSize;
+        List<FlowChainLog> flowChainLogs = transactionService.required(() -> {
+            List<FlowChainLog> found = flowChainLogRepository.findOlderWithOtherPayloadFormatInIdRange(afterId, upToId, createdBefore, targetFormat,
+                    includeLegacy(targetFormat), PageRequest.of(0, batchSize));
+            found.forEach(flowChainLog -> flowChainLog.encodeWith(targetFormat));
+            flowChainLogRepository.saveAll(found);
+            return found;
+        });
+        flowChainLogCursor = flowChainLogs.size() == batchSize
+                ? flowChainLogs.getLast().getId()
+                : nextRangeStart(upToId, flowChainLogRepository.findMaxId().orElse(0L));
+        return flowChainLogs.size();
+    }
+
+    private boolean includeLegacy(PayloadFormat targetFormat) {
+        return PayloadFormat.orDefault(null) != targetFormat;
+    }
+
+    private long nextRangeStart(long upToId, long maxId) {
+        return upToId < maxId ? upToId : 0L;
+    }
+}
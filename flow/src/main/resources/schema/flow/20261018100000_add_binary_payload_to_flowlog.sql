@@ -0,0 +1,21 @@
+-- // Add compressed binary payload columns and payload format marker to flowlog and flowchainlog tables
+-- Migration SQL that makes the change goes here.
+
+ALTER TABLE IF EXISTS flowlog ADD COLUMN IF NOT EXISTS payloadbinary bytea;
+ALTER TABLE IF EXISTS flowlog ADD COLUMN IF NOT EXISTS variablesbinary bytea;
+ALTER TABLE IF EXISTS flowlog ADD COLUMN IF NOT EXISTS payloadformat varchar(255);
+
+ALTER TABLE IF EXISTS flowchainlog ADD COLUMN IF NOT EXISTS chainbinary bytea;
+ALTER TABLE IF EXISTS flowchainlog ADD COLUMN IF NOT EXISTS triggereventbinary bytea;
+ALTER TABLE IF EXISTS flowchainlog ADD COLUMN IF NOT EXISTS payloadformat varchar(255);
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+ALTER TABLE IF EXISTS flowchainlog DROP COLUMN IF EXISTS payloadformat;
+ALTER TABLE IF EXISTS flowchainlog DROP COLUMN IF EXISTS triggereventbinary;
+ALTER TABLE IF EXISTS flowchainlog DROP COLUMN IF EXISTS chainbinary;
+
+ALTER TABLE IF EXISTS flowlog DROP COLUMN IF EXISTS payloadformat;
+ALTER TABLE IF EXISTS flowlog DROP COLUMN IF EXISTS variablesbinary;
+ALTER TABLE IF EXISTS flowlog DROP COLUMN IF EXISTS payloadbinary;
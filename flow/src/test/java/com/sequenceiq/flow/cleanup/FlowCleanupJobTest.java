@@ -0,0 +1,90 @@
+package com.sequenceiq.flow.cleanup;
+
+import static com.sequenceiq.flow.core.FlowMetricType.FLOWLOG_PURGE_DROPPED_PARTITIONS;
+import static com.sequenceiq.flow.core.FlowMetricType.FLOWLOG_PURGE_TIME;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.flow.core.FlowLogService;
+import com.sequenceiq.flow.service.flowlog.FlowChainLogService;
+
+@ExtendWith(MockitoExtension.class)
+class FlowCleanupJobTest {
+
+    private static final int RETENTION_PERIOD_HOURS = 24;
+
+    @InjectMocks
+    private FlowCleanupJob underTest;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private FlowLogService flowLogService;
+
+    @Mock
+    private FlowChainLogService flowChainLogService;
+
+    @Mock
+    private FlowCleanupConfig flowCleanupConfig;
+
+    @Mock
+    private FlowLogPartitionService flowLogPartitionService;
+
+    @Mock
+    private MetricService metricService;
+
+    @Test
+    void testRowsAreDeletedWhenPartitioningIsDisabled() throws TransactionService.TransactionExecutionException {
+        when(flowCleanupConfig.isPartitioningEnabled()).thenReturn(false);
+        when(transactionService.required(any(Supplier.class))).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+
+        underTest.purgeFinalisedFlowLogs(RETENTION_PERIOD_HOURS);
+
+        verify(flowLogService).purgeFinalizedFlowLogs(RETENTION_PERIOD_HOURS);
+        verify(flowChainLogService).purgeOrphanFlowChainLogs();
+        verifyNoInteractions(flowLogPartitionService);
+        verify(metricService).recordTimerMetric(eq(FLOWLOG_PURGE_TIME), any(Duration.class), eq("mode"), eq("delete"));
+    }
+
+    @Test
+    void testExpiredPartitionsArePurgedWhenTheTablesArePartitioned() throws TransactionService.TransactionExecutionException {
+        when(flowCleanupConfig.isPartitioningEnabled()).thenReturn(true);
+        when(flowLogPartitionService.ensurePartitioned()).thenReturn(true);
+        when(flowLogPartitionService.purgeExpiredPartitions(RETENTION_PERIOD_HOURS)).thenReturn(new FlowLogPartitionService.PurgeResult(2, 5));
+
+        underTest.purgeFinalisedFlowLogs(RETENTION_PERIOD_HOURS);
+
+        verifyNoInteractions(transactionService, flowLogService, flowChainLogService);
+        verify(metricService).gauge(FLOWLOG_PURGE_DROPPED_PARTITIONS, 2);
+        verify(metricService).recordTimerMetric(eq(FLOWLOG_PURGE_TIME), any(Duration.class), eq("mode"), eq("partition"));
+    }
+
+    @Test
+    void testRowsAreDeletedWhenTheTablesCouldNotBePartitioned() throws TransactionService.TransactionExecutionException {
+        when(flowCleanupConfig.isPartitioningEnabled()).thenReturn(true);
+        when(flowLogPartitionService.ensurePartitioned()).thenReturn(false);
+        when(transactionService.required(any(Supplier.class))).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+
+        underTest.purgeFinalisedFlowLogs(RETENTION_PERIOD_HOURS);
+
+        verify(flowLogPartitionService, never()).purgeExpiredPartitions(RETENTION_PERIOD_HOURS);
+        verify(flowLogService).purgeFinalizedFlowLogs(RETENTION_PERIOD_HOURS);
+        verify(metricService).recordTimerMetric(eq(FLOWLOG_PURGE_TIME), any(Duration.class), eq("mode"), eq("delete"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.sequenceiq.flow.cleanup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FlowLogPartitionServiceTest {
+
+    private static final long OCTOBER_18_MIDNIGHT = 1792281600000L;
+
+    @InjectMocks
+    private FlowLogPartitionService underTest;
+
+    @Mock
+    private FlowCleanupConfig flowCleanupConfig;
+
+    @Test
+    void testPartitionStartIsAlignedToTheInterval() {
+        when(flowCleanupConfig.getPartitionIntervalInHours()).thenReturn(6);
+
+        assertEquals(OCTOBER_18_MIDNIGHT, underTest.partitionStart(OCTOBER_18_MIDNIGHT));
+        assertEquals(OCTOBER_18_MIDNIGHT, underTest.partitionStart(OCTOBER_18_MIDNIGHT + 5 * 3_600_000L));
+        assertEquals(OCTOBER_18_MIDNIGHT + 6 * 3_600_000L, underTest.partitionStart(OCTOBER_18_MIDNIGHT + 7 * 3_600_000L));
+    }
+
+    @Test
+    void testPartitionIsNamedAfterItsLowerBound() {
+        assertEquals("flowlog_p2026101800", FlowLogPartitionService.partitionName(FlowLogPartitionService.FLOW_LOG_TABLE, OCTOBER_18_MIDNIGHT));
+        assertEquals("flowchainlog_p2026101806",
+                FlowLogPartitionService.partitionName(FlowLogPartitionService.FLOW_CHAIN_LOG_TABLE, OCTOBER_18_MIDNIGHT + 6 * 3_600_000L));
+    }
+
+    @Test
+    void testUpperBoundIsParsedFromThePartitionBound() {
+        assertEquals(OCTOBER_18_MIDNIGHT, FlowLogPartitionService.upperBound("FOR VALUES FROM ('1792195200000') TO ('1792281600000')"));
+        assertEquals(OCTOBER_18_MIDNIGHT, FlowLogPartitionService.upperBound("FOR VALUES FROM (MINVALUE) TO ('1792281600000')"));
+        assertNull(FlowLogPartitionService.upperBound("DEFAULT"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.sequenceiq.flow.component;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.sequenceiq.cloudbreak.common.event.Payload;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.eventbus.Event;
+import com.sequenceiq.cloudbreak.eventbus.EventBus;
+import com.sequenceiq.cloudbreak.logger.MDCBuilder;
+import com.sequenceiq.cloudbreak.quartz.configuration.scheduler.TransactionalScheduler;
+import com.sequenceiq.flow.api.model.FlowCheckResponse;
+import com.sequenceiq.flow.component.FlowLogBatchComponentTest.BatchTestEnvironmentInitializer;
+import com.sequenceiq.flow.component.sleep.SleepTriggerCondition;
+import com.sequenceiq.flow.component.sleep.event.SleepEvent;
+import com.sequenceiq.flow.component.sleep.event.SleepStartEvent;
+import com.sequenceiq.flow.core.FlowConstants;
+import com.sequenceiq.flow.core.FlowMetricType;
+import com.sequenceiq.flow.core.FlowTriggerConditionResult;
+import com.sequenceiq.flow.core.model.FlowAcceptResult;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+import com.sequenceiq.flow.service.FlowService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(initializers = BatchTestEnvironmentInitializer.class, classes = ComponentTestConfig.class)
+@Testcontainers
+public class FlowLogBatchComponentTest {
+
+    @Container
+    public static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer("postgres:13.2-alpine")
+            .withUsername("postgres")
+            .withPassword("postgres");
+
+    private static final String USER_CRN = "crn:altus:iam:us-west-1:460c0d8f-ae8e-4dce-9cd7-2351762eb9ac:user:63e312c2-d36a-45a7-bb93-fa46c97ffb6b";
+
+    private static final Duration SLEEP_TIME = Duration.ofSeconds(1);
+
+    @Inject
+    private EventBus eventBus;
+
+    @Inject
+    private FlowService flowService;
+
+    @Inject
+    private FlowLogRepository flowLogRepository;
+
+    @MockBean
+    private SleepTriggerCondition sleepTriggerCondition;
+
+    @MockBean
+    private MetricService metricService;
+
+    @MockBean
+    private TransactionalScheduler scheduler;
+
+    @Test
+    public void testFlowTransitionsAreCommittedByTheBatchWriter() throws InterruptedException {
+        when(sleepTriggerCondition.isFlowTriggerable(any(Payload.class))).thenReturn(FlowTriggerConditionResult.ok());
+        SleepStartEvent sleepStartEvent = SleepStartEvent.neverFail(1L, SLEEP_TIME);
+        Map<String, Object> headers = new HashMap<>(Map.of(FlowConstants.FLOW_TRIGGER_USERCRN, USER_CRN));
+        headers.put(MDCBuilder.MDC_CONTEXT_ID, MDCBuilder.getMdcContextMap());
+
+        eventBus.notify(SleepEvent.SLEEP_STARTED_EVENT.selector(), new Event<>(new Event.Headers(headers), sleepStartEvent));
+        String flowId = ((FlowAcceptResult) sleepStartEvent.accepted().await(5L, TimeUnit.SECONDS)).getAsFlowId();
+
+        await().atMost(SLEEP_TIME.multipliedBy(10)).pollInterval(Duration.ofMillis(200)).until(() -> {
+            FlowCheckResponse flowState = flowService.getFlowState(flowId);
+            return !flowState.getHasActiveFlow() && !flowState.getLatestFlowFinalizedAndFailed();
+        });
+
+        verify(metricService, atLeastOnce()).recordTimerMetric(eq(FlowMetricType.FLOWLOG_BATCH_COMMIT_TIME), any(Duration.class));
+        List<FlowLog> flowLogs = flowLogRepository.findAllByFlowIdOrderByCreatedDesc(flowId);
+        assertTrue(flowLogs.size() > 2);
+        assertEquals(flowLogs.size(), flowLogs.stream().filter(flowLog -> flowLog.getStateStatus() == StateStatus.SUCCESSFUL).count());
+    }
+
+    static class BatchTestEnvironmentInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+        public void initialize(GenericApplicationContext context) {
+            TestPropertyValues.of(
+                    "logging.level.=ERROR",
+                    "spring.datasource.url=" + POSTGRES_CONTAINER.getJdbcUrl(),
+                    "spring.datasource.username=" + POSTGRES_CONTAINER.getUsername(),
+                    "spring.datasource.password=" + POSTGRES_CONTAINER.getPassword(),
+                    "spring.quartz.auto-startup=false",
+                    "statuschecker.enabled=false",
+                    "instance.node.id=aaa",
+                    "instance.uuid=aaa",
+                    "flow.flowlog.batch.enabled=true"
+            ).applyTo(context.getEnvironment());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.sequenceiq.flow.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.Duration;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.service.Clock;
+import com.sequenceiq.cloudbreak.quartz.configuration.scheduler.TransactionalScheduler;
+import com.sequenceiq.flow.api.model.operation.OperationType;
+import com.sequenceiq.flow.cleanup.FlowLogPartitionService;
+import com.sequenceiq.flow.cleanup.FlowLogPartitionService.PurgeResult;
+import com.sequenceiq.flow.component.FlowLogPartitionComponentTest.PartitionTestEnvironmentInitializer;
+import com.sequenceiq.flow.domain.FlowChainLog;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.repository.FlowChainLogRepository;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ContextConfiguration(initializers = PartitionTestEnvironmentInitializer.class, classes = ComponentTestConfig.class)
+@Testcontainers
+public class FlowLogPartitionComponentTest {
+
+    @Container
+    public static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer("postgres:13.2-alpine")
+            .withUsername("postgres")
+            .withPassword("postgres");
+
+    private static final Long RESOURCE_ID = 1L;
+
+    private static final String FLOW_CHAIN_ID = "finished-chain";
+
+    private static final String FINISHED_FLOW_ID = "finished-flow";
+
+    private static final String RUNNING_FLOW_ID = "running-flow";
+
+    private static final int RETENTION_PERIOD_HOURS = 24;
+
+    @Inject
+    private FlowLogPartitionService flowLogPartitionService;
+
+    @Inject
+    private FlowLogRepository flowLogRepository;
+
+    @Inject
+    private FlowChainLogRepository flowChainLogRepository;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private Clock clock;
+
+    @MockBean
+    private MetricService metricService;
+
+    @MockBean
+    private TransactionalScheduler scheduler;
+
+    @Test
+    public void testPopulatedTablesAreConvertedAndTheExpiredPartitionsAreDropped() {
+        long now = System.currentTimeMillis();
+        flowChainLogRepository.save(new FlowChainLog("SleepChain", FLOW_CHAIN_ID, null, "{}", null, "{}"));
+        flowLogRepository.save(flowLog(FINISHED_FLOW_ID, FLOW_CHAIN_ID, "INIT_STATE", now));
+        flowLogRepository.save(flowLog(FINISHED_FLOW_ID, FLOW_CHAIN_ID, "FINISHED", now));
+        flowLogRepository.save(flowLog(RUNNING_FLOW_ID, null, "INIT_STATE", null));
+
+        assertTrue(flowLogPartitionService.ensurePartitioned());
+
+        assertEquals("p", relationKind("flowlog"));
+        assertEquals("p", relationKind("flowchainlog"));
+        assertEquals("r", relationKind("flowlog_legacy"));
+        assertEquals("r", relationKind("flowchainlog_legacy"));
+        assertEquals(2, flowLogRepository.findAllByFlowIdOrderByCreatedDesc(FINISHED_FLOW_ID).size());
+        assertTrue(flowChainLogRepository.findFirstByFlowChainIdOrderByCreatedDesc(FLOW_CHAIN_ID).isPresent());
+        assertEquals(RUNNING_FLOW_ID, flowLogRepository.findAllRunningFlowLogByResourceId(RESOURCE_ID).iterator().next().getFlowId());
+        assertNotNull(flowLogRepository.save(flowLog(RUNNING_FLOW_ID, null, "FINISHED", null)).getId());
+        flowLogRepository.findAllByFlowIdOrderByCreatedDesc(RUNNING_FLOW_ID)
+                .forEach(flowLog -> flowLogRepository.updateLastLogStatusInFlow(flowLog.getId(), StateStatus.SUCCESSFUL, now, null));
+        flowLogRepository.finalizeByFlowId(RUNNING_FLOW_ID);
+        assertTrue(flowLogRepository.findAllRunningFlowLogByResourceId(RESOURCE_ID).isEmpty());
+
+        PurgeResult notExpiredResult = flowLogPartitionService.purgeExpiredPartitions(RETENTION_PERIOD_HOURS);
+
+        assertEquals(new PurgeResult(0, 0), notExpiredResult);
+        assertEquals(4, flowLogRepository.findAllByResourceIdOrderByCreatedDesc(RESOURCE_ID).size());
+
+        doReturn(now + Duration.ofDays(30).toMillis()).when(clock).getCurrentTimeMillis();
+        PurgeResult expiredResult = flowLogPartitionService.purgeExpiredPartitions(RETENTION_PERIOD_HOURS);
+
+        assertTrue(expiredResult.droppedPartitions() >= 2);
+        assertEquals(0, expiredResult.deletedRows());
+        assertNull(relationKind("flowlog_legacy"));
+        assertNull(relationKind("flowchainlog_legacy"));
+        assertTrue(flowLogRepository.findAllByResourceIdOrderByCreatedDesc(RESOURCE_ID).isEmpty());
+        assertFalse(flowChainLogRepository.findFirstByFlowChainIdOrderByCreatedDesc(FLOW_CHAIN_ID).isPresent());
+        assertNotNull(flowLogRepository.save(flowLog(RUNNING_FLOW_ID, null, "INIT_STATE", null)).getId());
+    }
+
+    private FlowLog flowLog(String flowId, String flowChainId, String currentState, Long endTime) {
+        FlowLog flowLog = new FlowLog(RESOURCE_ID, flowId, currentState, endTime != null, endTime != null ? StateStatus.SUCCESSFUL : StateStatus.PENDING,
+                OperationType.UNKNOWN);
+        flowLog.setFlowChainId(flowChainId);
+        flowLog.setEndTime(endTime);
+        return flowLog;
+    }
+
+    private String relationKind(String table) {
+        List<String> relationKinds = jdbcTemplate.queryForList("SELECT relkind FROM pg_class WHERE oid = to_regclass(?)", String.class, table);
+        return relationKinds.isEmpty() ? null : relationKinds.getFirst();
+    }
+
+    static class PartitionTestEnvironmentInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+        public void initialize(GenericApplicationContext context) {
+            TestPropertyValues.of(
+                    "logging.level.=ERROR",
+                    "spring.datasource.url=" + POSTGRES_CONTAINER.getJdbcUrl(),
+                    "spring.datasource.username=" + POSTGRES_CONTAINER.getUsername(),
+                    "spring.datasource.password=" + POSTGRES_CONTAINER.getPassword(),
+                    "spring.quartz.auto-startup=false",
+                    "statuschecker.enabled=false",
+                    "instance.node.id=aaa",
+                    "instance.uuid=aaa"
+            ).applyTo(context.getEnvironment());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.sequenceiq.flow.converter;
+
+import jakarta.persistence.AttributeConverter;
+
+import com.sequenceiq.cloudbreak.converter.DefaultEnumConverterBaseTest;
+import com.sequenceiq.flow.domain.PayloadFormat;
+
+public class PayloadFormatConverterTest extends DefaultEnumConverterBaseTest<PayloadFormat> {
+
+    @Override
+    public PayloadFormat getDefaultValue() {
+        return PayloadFormat.JSON;
+    }
+
+    @Override
+    public AttributeConverter<PayloadFormat, String> getVictim() {
+        return new PayloadFormatConverter();
+    }
+}
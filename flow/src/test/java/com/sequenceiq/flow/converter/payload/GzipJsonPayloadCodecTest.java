@@ -0,0 +1,60 @@
+package com.sequenceiq.flow.converter.payload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.sequenceiq.flow.domain.FlowChainLog;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.PayloadFormat;
+
+class GzipJsonPayloadCodecTest {
+
+    private static final String JSON = "{\"@type\":\"com.sequenceiq.flow.core.helloworld.HelloWorldEvent\",\"resourceId\":1,\"selector\":\"HELLOWORLD\"}";
+
+    private final GzipJsonPayloadCodec underTest = new GzipJsonPayloadCodec();
+
+    @Test
+    void testRoundTrip() {
+        String repeatedJson = JSON.repeat(100);
+
+        byte[] encoded = underTest.encode(repeatedJson);
+
+        assertTrue(encoded.length < repeatedJson.length());
+        assertEquals(repeatedJson, underTest.decode(encoded));
+    }
+
+    @Test
+    void testNullIsKept() {
+        assertNull(underTest.encode(null));
+        assertNull(underTest.decode(null));
+    }
+
+    @Test
+    void testLegacyFlowLogIsReadAndReEncoded() {
+        FlowLog flowLog = new FlowLog();
+        flowLog.setPayloadJackson(JSON);
+        flowLog.setVariablesJackson("{}");
+        assertEquals(PayloadFormat.JSON, flowLog.getPayloadFormat());
+
+        flowLog.encodeWith(PayloadFormat.GZIP_JSON);
+
+        assertEquals(PayloadFormat.GZIP_JSON, flowLog.getPayloadFormat());
+        assertEquals(JSON, flowLog.getPayloadJackson());
+        assertEquals("{}", flowLog.getVariablesJackson());
+    }
+
+    @Test
+    void testFlowChainLogIsReEncoded() {
+        FlowChainLog flowChainLog = new FlowChainLog("type", "chainId", null, "[]", "crn", JSON);
+
+        flowChainLog.encodeWith(PayloadFormat.GZIP_JSON);
+
+        assertEquals("[]", flowChainLog.getChainJackson());
+        assertEquals(JSON, flowChainLog.getTriggerEventJackson());
+        flowChainLog.encodeWith(PayloadFormat.JSON);
+        assertEquals(JSON, flowChainLog.getTriggerEventJackson());
+    }
+}
@@ -197,7 +197,7 @@ class Flow2HandlerTest {
         event.setKey("KEY");
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull());
+        verify(runningFlows, times(1)).put(eq(flow), isNull(), any());
         verify(flowLogService, times(1))
                 .save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(), eq(flowConfig.getClass()), eq(flowState));
         verify(flow, times(1)).sendEvent(anyString(), isNull(), any(), eq(UNKNOWN_OP_TYPE));
@@ -218,7 +218,7 @@ class Flow2HandlerTest {
         assertThrows(CloudbreakServiceException.class,
                 () -> underTest.accept(event));
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull());
+        verify(runningFlows, times(1)).put(eq(flow), isNull(), any());
         verify(flowLogService, times(1))
                 .save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(), eq(flowConfig.getClass()), eq(flowState));
         verify(runningFlows, times(1)).remove(anyString());
@@ -245,7 +245,7 @@ class Flow2HandlerTest {
         verify(accepted, times(1)).onError(any(FlowNotTriggerableException.class));
 
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(0)).put(eq(flow), isNull());
+        verify(runningFlows, times(0)).put(eq(flow), isNull(), any());
         verify(flowLogService, times(0))
                 .save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(), eq(flowConfig.getClass()), eq(flowState));
         verify(runningFlows, times(0)).remove(anyString());
@@ -273,7 +273,7 @@ class Flow2HandlerTest {
 
         verify(accepted, times(0)).onError(any(FlowNotTriggerableException.class));
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(0)).put(eq(flow), isNull());
+        verify(runningFlows, times(0)).put(eq(flow), isNull(), any());
         verify(flowLogService, times(0))
                 .save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(), eq(flowConfig.getClass()), eq(flowState));
         verify(runningFlows, times(0)).remove(anyString());
@@ -297,7 +297,7 @@ class Flow2HandlerTest {
         event.setKey("KEY");
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull());
+        verify(runningFlows, times(1)).put(eq(flow), isNull(), any());
         verify(flowLogService, times(1)).save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(),
                 ArgumentMatchers.eq(helloWorldFlowConfig.getClass()), eq(flowState));
         verify(flow, times(1)).sendEvent(anyString(), anyString(), any(), eq(UNKNOWN_OP_TYPE));
@@ -310,7 +310,7 @@ class Flow2HandlerTest {
         CloudbreakServiceException exception = assertThrows(CloudbreakServiceException.class, () -> underTest.accept(event));
         assertEquals("Couldn't start process.", exception.getMessage());
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, never()).put(any(Flow.class), isNull());
+        verify(runningFlows, never()).put(any(Flow.class), isNull(), any());
         verify(flowLogService, never()).save(any(FlowParameters.class), anyString(), anyString(), any(Payload.class), anyMap(), any(), any(FlowState.class));
     }
 
@@ -329,8 +329,8 @@ class Flow2HandlerTest {
         dummyEvent.setKey("KEY");
         ArgumentCaptor<FlowParameters> flowParamsCaptor = ArgumentCaptor.forClass(FlowParameters.class);
         underTest.accept(dummyEvent);
-        verify(flowLogService, times(1))
-                .save(flowParamsCaptor.capture(), nullable(String.class), eq("KEY"), any(Payload.class), anyMap(), nullable(Class.class), eq(flowState));
+        verify(flowLogService, times(1)).saveTransition(eq(lastFlowLog), eq(false), flowParamsCaptor.capture(), nullable(String.class), eq("KEY"),
+                any(Payload.class), eq(flow));
         verify(flow, times(1)).sendEvent(eq("KEY"), isNull(), any(), any());
         FlowParameters flowParameters = flowParamsCaptor.getValue();
         assertEquals(FLOW_ID, flowParameters.getFlowId());
@@ -352,8 +352,8 @@ class Flow2HandlerTest {
         dummyEvent.setKey("KEY");
         ArgumentCaptor<FlowParameters> flowParamsCaptor = ArgumentCaptor.forClass(FlowParameters.class);
         underTest.accept(dummyEvent);
-        verify(flowLogService, times(1))
-                .save(flowParamsCaptor.capture(), nullable(String.class), eq("KEY"), any(Payload.class), anyMap(), nullable(Class.class), eq(flowState));
+        verify(flowLogService, times(1)).saveTransition(eq(lastFlowLog), eq(false), flowParamsCaptor.capture(), nullable(String.class), eq("KEY"),
+                any(Payload.class), eq(flow));
         verify(flow, times(1)).sendEvent(eq("KEY"), isNull(), any(), any());
         FlowParameters flowParameters = flowParamsCaptor.getValue();
         assertEquals(FLOW_ID, flowParameters.getFlowId());
@@ -376,10 +376,31 @@ class Flow2HandlerTest {
         dummyEvent.setKey("KEY");
         underTest.accept(dummyEvent);
         verify(flowLogService, never()).save(any(), any(), any(), any(), any(), any(), any());
+        verify(flowLogService, never()).saveTransition(any(), anyBoolean(), any(), any(), any(), any(), any());
         verify(flow, never()).sendEvent(any(), any(), any(), any());
         verify(inMemoryCleanup, times(1)).cancelFlowWithoutDbUpdate(FLOW_ID);
     }
 
+    @Test
+    void testExistingFlowTransitionIsHandedToTheBatchWriterOutsideOfATransaction() throws TransactionExecutionException {
+        FlowLog lastFlowLog = mock(FlowLog.class);
+        BDDMockito.<FlowConfiguration<?>>given(flowConfigurationMap.get(any())).willReturn(flowConfig);
+        given(runningFlows.get(anyString())).willReturn(flow);
+        given(flow.getFlowId()).willReturn(FLOW_ID);
+        given(flow.sendEvent(any(), any(), any(), any())).willReturn(true);
+        given(flowLogService.findFirstByFlowIdOrderByCreatedDesc(FLOW_ID)).willReturn(Optional.of(lastFlowLog));
+        given(flowLogService.canBatchTransitions()).willReturn(true);
+
+        dummyEvent.setKey("KEY");
+        underTest.accept(dummyEvent);
+
+        verify(transactionService, never()).required(any(Runnable.class));
+        verify(flowLogService, times(1)).saveTransition(eq(lastFlowLog), eq(false), any(FlowParameters.class), nullable(String.class), eq("KEY"),
+                any(Payload.class), eq(flow));
+        verify(flowLogService, never()).updateLastFlowLogStatus(any(), anyBoolean(), any());
+        verify(flow, times(1)).sendEvent(eq("KEY"), isNull(), any(), any());
+    }
+
     @Test
     void testExistingFlowRepeatedState() {
         BDDMockito.<FlowConfiguration<?>>given(flowConfigurationMap.get(any())).willReturn(flowConfig);
@@ -420,7 +441,7 @@ class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID), eq(false), anyMap(), isNull());
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull());
+        verify(runningFlows, never()).put(any(Flow.class), isNull(), any());
         verify(flowChains, never()).removeFlowChain(anyString(), anyBoolean());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class), any(), any());
     }
@@ -435,7 +456,7 @@ class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID), eq(false), anyMap(), isNull());
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull());
+        verify(runningFlows, never()).put(any(Flow.class), isNull(), any());
         verify(flowChains, never()).removeFlowChain(anyString(), anyBoolean());
         verify(flowChains, times(1)).triggerNextFlow(eq(FLOW_CHAIN_ID), eq(FLOW_TRIGGER_USERCRN), any(Map.class), any(), any());
     }
@@ -495,7 +516,7 @@ class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID), eq(false), anyMap(), isNull());
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull());
+        verify(runningFlows, never()).put(any(Flow.class), isNull(), any());
         verify(flowChains, never()).removeFullFlowChain(anyString(), anyBoolean());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class), any(), any());
     }
@@ -511,7 +532,7 @@ class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID), eq(false), anyMap(), isNull());
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull());
+        verify(runningFlows, never()).put(any(Flow.class), isNull(), any());
         verify(flowChains, times(1)).removeFullFlowChain(anyString(), anyBoolean());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class), any(), any());
     }
@@ -0,0 +1,89 @@
+package com.sequenceiq.flow.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.flow.component.sleep.SleepFlowConfig;
+import com.sequenceiq.flow.core.config.TestFlowConfig;
+
+@ExtendWith(MockitoExtension.class)
+class FlowRegisterTest {
+
+    private static final Long RESOURCE_ID = 1L;
+
+    private static final String CHAIN_ID = "chain";
+
+    @InjectMocks
+    private FlowRegister underTest;
+
+    @Mock
+    private MetricService metricService;
+
+    @BeforeEach
+    void setUp() {
+        when(metricService.gaugeMapSize(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        underTest.init();
+    }
+
+    @Test
+    void testIndexesFollowPutAndRemove() {
+        underTest.put(flow("flow1", TestFlowConfig.class), CHAIN_ID, RESOURCE_ID);
+        underTest.put(flow("flow2", SleepFlowConfig.class), CHAIN_ID, RESOURCE_ID);
+        underTest.put(flow("flow3", TestFlowConfig.class), null, 2L);
+
+        assertEquals(Set.of("flow1", "flow2"), underTest.getRunningFlowIdsByResourceId(RESOURCE_ID));
+        assertEquals(CHAIN_ID, underTest.getFlowChainId("flow1"));
+        assertEquals(RESOURCE_ID, underTest.getResourceId("flow2"));
+        assertTrue(underTest.isFlowRunningForResource(RESOURCE_ID));
+
+        underTest.remove("flow1");
+        underTest.remove("flow2");
+
+        assertFalse(underTest.isFlowRunningForResource(RESOURCE_ID));
+        assertNull(underTest.getResourceId("flow1"));
+        assertTrue(underTest.isFlowRunningForResource(2L));
+    }
+
+    @Test
+    void testExcludedFlowTypesAreIgnored() {
+        underTest.put(flow("flow1", SleepFlowConfig.class), null, RESOURCE_ID);
+
+        assertFalse(underTest.isFlowRunningForResource(RESOURCE_ID, List.of(SleepFlowConfig.class)));
+        assertTrue(underTest.isFlowRunningForResource(RESOURCE_ID, List.of(TestFlowConfig.class)));
+    }
+
+    @Test
+    void testReRegisteredFlowMovesToNewResource() {
+        Flow flow = flow("flow1", TestFlowConfig.class);
+        underTest.put(flow, null, RESOURCE_ID);
+        underTest.put(flow, CHAIN_ID, 2L);
+
+        assertFalse(underTest.isFlowRunningForResource(RESOURCE_ID));
+        assertEquals(Set.of("flow1"), underTest.getRunningFlowIdsByResourceId(2L));
+    }
+
+    private Flow flow(String flowId, Class<?> flowConfigClass) {
+        Flow flow = mock(Flow.class);
+        lenient().when(flow.getFlowId()).thenReturn(flowId);
+        lenient().doReturn(flowConfigClass).when(flow).getFlowConfigClass();
+        return flow;
+    }
+}
@@ -0,0 +1,227 @@
+package com.sequenceiq.flow.service.flowlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sequenceiq.cloudbreak.common.exception.CloudbreakServiceException;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FlowLogBatchWriterTest {
+
+    private static final int FLOW_COUNT = 50;
+
+    @InjectMocks
+    private FlowLogBatchWriter underTest;
+
+    @Mock
+    private FlowLogRepository flowLogRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private MetricService metricService;
+
+    private final List<FlowLog> persistedFlowLogs = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "maxBatchSize", 20);
+        ReflectionTestUtils.setField(underTest, "flushIntervalMillis", 20L);
+        ReflectionTestUtils.setField(underTest, "queueCapacity", 100);
+        ReflectionTestUtils.setField(underTest, "waitTimeoutSeconds", 10L);
+        lenient().when(transactionService.requiresNew(any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier) invocation.getArgument(0)).get());
+        lenient().when(flowLogRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<FlowLog> flowLogs = invocation.getArgument(0);
+            flowLogs.forEach(persistedFlowLogs::add);
+            return flowLogs;
+        });
+        underTest.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void testConcurrentSavesAreCommittedInBatches() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(FLOW_COUNT);
+        try {
+            List<Future<FlowLog>> futures = new ArrayList<>();
+            for (int i = 0; i < FLOW_COUNT; i++) {
+                FlowLog flowLog = new FlowLog();
+                flowLog.setFlowId("flow" + i);
+                futures.add(executorService.submit(() -> underTest.save(flowLog)));
+            }
+            for (Future<FlowLog> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(FLOW_COUNT, persistedFlowLogs.size());
+        verify(flowLogRepository, never()).save(any());
+        verify(metricService, atLeastOnce()).recordTimerMetric(any(), any());
+    }
+
+    @Test
+    void testStatusUpdatesOfTheSameRowInABatchAreCoalesced() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await(10, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        }).when(flowLogRepository).saveAll(anyIterable());
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            Future<FlowLog> blockingSave = executorService.submit(() -> underTest.save(new FlowLog()));
+            assertTrue(firstBatchStarted.await(10, TimeUnit.SECONDS));
+            Future<?> firstUpdate = executorService.submit(() -> underTest.updateLastLogStatus(1L, StateStatus.PENDING, 2L, null));
+            waitForQueuedWrites(1);
+            Future<?> secondUpdate = executorService.submit(() -> underTest.updateLastLogStatus(1L, StateStatus.SUCCESSFUL, 3L, null));
+            waitForQueuedWrites(2);
+            releaseFirstBatch.countDown();
+
+            blockingSave.get(10, TimeUnit.SECONDS);
+            firstUpdate.get(10, TimeUnit.SECONDS);
+            secondUpdate.get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(flowLogRepository, times(1)).updateLastLogStatusInFlow(anyLong(), any(), anyLong(), any());
+        verify(flowLogRepository).updateLastLogStatusInFlow(1L, StateStatus.SUCCESSFUL, 3L, null);
+    }
+
+    @Test
+    void testTransitionIsWrittenInOneTransaction() {
+        FlowLog flowLog = new FlowLog();
+        flowLog.setFlowId("flow");
+
+        assertEquals(flowLog, underTest.saveTransition(1L, StateStatus.SUCCESSFUL, 2L, "reason", flowLog));
+
+        verify(transactionService, times(1)).requiresNew(any(Supplier.class));
+        verify(flowLogRepository).updateLastLogStatusInFlow(1L, StateStatus.SUCCESSFUL, 2L, "reason");
+        assertEquals(List.of(flowLog), persistedFlowLogs);
+    }
+
+    @Test
+    void testFailedTransitionIsRetriedInOneTransaction() {
+        doThrow(new IllegalStateException("batch failed")).when(flowLogRepository).saveAll(anyIterable());
+        FlowLog flowLog = new FlowLog();
+
+        underTest.saveTransition(1L, StateStatus.FAILED, 2L, null, flowLog);
+
+        verify(transactionService, times(2)).requiresNew(any(Supplier.class));
+        verify(flowLogRepository, times(2)).updateLastLogStatusInFlow(1L, StateStatus.FAILED, 2L, null);
+        verify(flowLogRepository, times(1)).save(flowLog);
+    }
+
+    @Test
+    void testFailedBatchIsRetriedOneByOneAndFailureIsPropagated() {
+        doThrow(new IllegalStateException("batch failed")).when(flowLogRepository).saveAll(anyIterable());
+        doAnswer(invocation -> {
+            throw new IllegalStateException("single failed");
+        }).when(flowLogRepository).save(any());
+
+        assertThrows(CloudbreakServiceException.class, () -> underTest.save(new FlowLog()));
+        verify(flowLogRepository, times(1)).save(any());
+    }
+
+    @Test
+    void testRetriedInsertIsPersistedAsNewRow() {
+        doAnswer(invocation -> {
+            Iterable<FlowLog> flowLogs = invocation.getArgument(0);
+            flowLogs.forEach(flowLog -> {
+                flowLog.setId(10L);
+                flowLog.setVersion(0L);
+            });
+            throw new IllegalStateException("batch failed");
+        }).when(flowLogRepository).saveAll(anyIterable());
+        List<FlowLog> retried = new ArrayList<>();
+        doAnswer(invocation -> {
+            FlowLog flowLog = invocation.getArgument(0);
+            assertNull(flowLog.getId());
+            assertNull(flowLog.getVersion());
+            retried.add(flowLog);
+            return flowLog;
+        }).when(flowLogRepository).save(any());
+
+        underTest.save(new FlowLog());
+
+        assertEquals(1, retried.size());
+    }
+
+    @Test
+    void testWritesInsideATransactionAreNotBatched() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertFalse(underTest.canBatch());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertTrue(underTest.canBatch());
+    }
+
+    private void waitForQueuedWrites(int expectedCount) throws InterruptedException {
+        BlockingQueue<?> queue = (BlockingQueue<?>) ReflectionTestUtils.getField(underTest, "queue");
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (queue.size() < expectedCount) {
+            assertTrue(System.currentTimeMillis() < deadline, "Write was not queued");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testShutdownSwitchesToSynchronousWrites() {
+        underTest.shutdown();
+
+        assertFalse(underTest.canBatch());
+        underTest.updateLastLogStatus(1L, StateStatus.FAILED, 2L, "reason");
+        verify(flowLogRepository, times(1)).updateLastLogStatusInFlow(1L, StateStatus.FAILED, 2L, "reason");
+    }
+}
@@ -7,6 +7,7 @@ import static com.sequenceiq.flow.domain.ClassValue.of;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -58,7 +59,10 @@ import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionEx
 import com.sequenceiq.cloudbreak.ha.NodeConfig;
 import com.sequenceiq.flow.api.model.operation.OperationType;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
+import com.sequenceiq.flow.core.Flow;
 import com.sequenceiq.flow.core.FlowEvent;
+import com.sequenceiq.flow.core.FlowParameters;
+import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.FlowState;
 import com.sequenceiq.flow.core.ResourceIdProvider;
 import com.sequenceiq.flow.core.RestartAction;
@@ -111,6 +115,12 @@ class FlowLogDBServiceTest {
     @Mock
     private Clock clock;
 
+    @Mock
+    private FlowLogBatchWriter flowLogBatchWriter;
+
+    @Mock
+    private FlowRegister flowRegister;
+
     @Captor
     private ArgumentCaptor<FlowLog> savedFlowLogCaptor;
 
@@ -135,6 +145,61 @@ class FlowLogDBServiceTest {
         verify(flowLogRepository, times(1)).updateLastLogStatusInFlow(ID, successful, currentTime, REASON);
     }
 
+    @Test
+    void updateLastFlowLogStatusWhenBatchWriterEnabled() {
+        FlowLog flowLog = new FlowLog();
+        flowLog.setId(ID);
+        Long currentTime = 123456789L;
+        doReturn(currentTime).when(clock).getCurrentTimeMillis();
+        when(flowLogBatchWriter.canBatch()).thenReturn(true);
+
+        underTest.updateLastFlowLogStatus(flowLog, false, REASON);
+
+        verify(flowLogBatchWriter, times(1)).updateLastLogStatus(ID, StateStatus.SUCCESSFUL, currentTime, REASON);
+        verify(flowLogRepository, never()).updateLastLogStatusInFlow(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void saveTransitionIsHandedToTheBatchWriterAsOneWrite() {
+        FlowLog lastFlowLog = new FlowLog();
+        lastFlowLog.setId(ID);
+        Long currentTime = 123456789L;
+        doReturn(currentTime).when(clock).getCurrentTimeMillis();
+        when(flowLogBatchWriter.canBatch()).thenReturn(true);
+        when(flowLogBatchWriter.saveTransition(eq(ID), eq(StateStatus.FAILED), eq(currentTime), isNull(), any(FlowLog.class)))
+                .thenAnswer(invocation -> invocation.getArgument(4));
+
+        FlowLog flowLog = underTest.saveTransition(lastFlowLog, true, new FlowParameters(FLOW_ID, null), null, "KEY", new TestSelectable(), flow());
+
+        assertEquals(FLOW_ID, flowLog.getFlowId());
+        assertEquals("KEY", flowLog.getNextEvent());
+        verify(flowLogRepository, never()).updateLastLogStatusInFlow(anyLong(), any(), anyLong(), any());
+        verify(flowLogRepository, never()).save(any());
+    }
+
+    @Test
+    void saveTransitionJoinsTheTransactionOfTheCaller() {
+        FlowLog lastFlowLog = new FlowLog();
+        lastFlowLog.setId(ID);
+        Long currentTime = 123456789L;
+        doReturn(currentTime).when(clock).getCurrentTimeMillis();
+
+        underTest.saveTransition(lastFlowLog, false, new FlowParameters(FLOW_ID, null), null, "KEY", new TestSelectable(), flow());
+
+        verify(flowLogRepository, times(1)).updateLastLogStatusInFlow(ID, StateStatus.SUCCESSFUL, currentTime, null);
+        verify(flowLogRepository, times(1)).save(savedFlowLogCaptor.capture());
+        assertEquals(FLOW_ID, savedFlowLogCaptor.getValue().getFlowId());
+        verify(flowLogBatchWriter, never()).saveTransition(any(), any(), any(), any(), any());
+    }
+
+    private Flow flow() {
+        Flow flow = mock(Flow.class);
+        when(flow.getVariables()).thenReturn(Map.of());
+        doReturn(TerminationFlowConfig.class).when(flow).getFlowConfigClass();
+        when(flow.getCurrentState()).thenReturn(new MockFlowState());
+        return flow;
+    }
+
     @Test
     void getLastFlowLog() {
         FlowLogWithoutPayload flowLog = mock(FlowLogWithoutPayload.class);
@@ -272,6 +337,31 @@ class FlowLogDBServiceTest {
         verify(flowLogRepository, times(0)).updateLastLogStatusInFlow(eq(10L), eq(StateStatus.SUCCESSFUL), eq(1L), isNull());
     }
 
+    @Test
+    void isOtherFlowRunningWhenFlowIsRunningOnThisNode() {
+        when(flowRegister.isFlowRunningForResource(1L)).thenReturn(true);
+
+        assertTrue(underTest.isOtherFlowRunning(1L));
+        verify(flowLogRepository, never()).findAllRunningFlowLogByResourceId(anyLong());
+    }
+
+    @Test
+    void isOtherFlowRunningFallsBackToDatabase() {
+        when(flowLogRepository.findAllRunningFlowLogByResourceId(1L)).thenReturn(Set.of());
+
+        assertFalse(underTest.isOtherFlowRunning(1L));
+        verify(flowRegister).isFlowRunningForResource(1L);
+    }
+
+    @Test
+    void isOtherNonTerminationFlowRunningWhenFlowIsRunningOnThisNode() {
+        when(applicationFlowInformation.getTerminationFlow()).thenReturn(Collections.singletonList(TerminationFlowConfig.class));
+        when(flowRegister.isFlowRunningForResource(1L, List.of(TerminationFlowConfig.class))).thenReturn(true);
+
+        assertTrue(underTest.isOtherNonTerminationFlowRunning(1L));
+        verify(flowLogRepository, never()).findAllRunningFlowLogByResourceId(anyLong());
+    }
+
     @Test
     void testNoPendingFlowEvent() {
         Boolean actual = underTest.hasPendingFlowEvent(Lists.newArrayList(createFlowLog(false, "1"), createFlowLog(false, "2")));
@@ -0,0 +1,152 @@
+package com.sequenceiq.flow.service.flowlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.service.Clock;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.flow.domain.FlowChainLog;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.PayloadFormat;
+import com.sequenceiq.flow.repository.FlowChainLogRepository;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FlowPayloadReEncoderServiceTest {
+
+    private static final String PAYLOAD = "{\"@type\":\"com.sequenceiq.flow.core.helloworld.HelloWorldEvent\",\"resourceId\":1}";
+
+    private static final int BATCH_SIZE = 10;
+
+    private static final long ID_RANGE_SIZE = 100L;
+
+    @Mock
+    private FlowLogRepository flowLogRepository;
+
+    @Mock
+    private FlowChainLogRepository flowChainLogRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private FlowPayloadReEncoderService underTest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(underTest, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(underTest, "idRangeSize", ID_RANGE_SIZE);
+        when(transactionService.required(any(Supplier.class))).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+    }
+
+    @Test
+    void testLegacyFlowLogsAreNotSelectedForJson() throws Exception {
+        when(flowLogRepository.findFinalizedWithOtherPayloadFormatInIdRange(0L, ID_RANGE_SIZE, PayloadFormat.JSON, false, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of());
+        when(flowLogRepository.findMaxId()).thenReturn(Optional.of(1000L));
+
+        assertEquals(0, underTest.reEncodeFlowLogs(PayloadFormat.JSON));
+
+        assertEquals(ID_RANGE_SIZE, ReflectionTestUtils.getField(underTest, "flowLogCursor"));
+    }
+
+    @Test
+    void testLegacyFlowLogIsNotRewrittenWhenEncodedAsJson() {
+        FlowLog legacyFlowLog = legacyFlowLog();
+
+        legacyFlowLog.encodeWith(PayloadFormat.JSON);
+
+        assertNull(ReflectionTestUtils.getField(legacyFlowLog, "payloadFormat"));
+        assertEquals(PAYLOAD, ReflectionTestUtils.getField(legacyFlowLog, "payloadJackson"));
+        assertEquals(PAYLOAD, legacyFlowLog.getPayloadJackson());
+    }
+
+    @Test
+    void testFlowLogsAreCompressedAndDecompressed() throws Exception {
+        FlowLog flowLog = legacyFlowLog();
+        when(flowLogRepository.findFinalizedWithOtherPayloadFormatInIdRange(anyLong(), anyLong(), any(), anyBoolean(), eq(PageRequest.of(0, BATCH_SIZE))))
+                .thenReturn(List.of(flowLog));
+        when(flowLogRepository.findMaxId()).thenReturn(Optional.of(1L));
+
+        underTest.reEncodeFlowLogs(PayloadFormat.GZIP_JSON);
+
+        verify(flowLogRepository).findFinalizedWithOtherPayloadFormatInIdRange(0L, ID_RANGE_SIZE, PayloadFormat.GZIP_JSON, true, PageRequest.of(0, BATCH_SIZE));
+        assertEquals(PayloadFormat.GZIP_JSON, flowLog.getPayloadFormat());
+        assertNull(ReflectionTestUtils.getField(flowLog, "payloadJackson"));
+        assertEquals(PAYLOAD, flowLog.getPayloadJackson());
+
+        underTest.reEncodeFlowLogs(PayloadFormat.JSON);
+
+        assertEquals(PayloadFormat.JSON, flowLog.getPayloadFormat());
+        assertNull(ReflectionTestUtils.getField(flowLog, "payloadBinary"));
+        assertEquals(PAYLOAD, ReflectionTestUtils.getField(flowLog, "payloadJackson"));
+    }
+
+    @Test
+    void testFlowLogCursorFollowsAFullBatchAndStartsOverAfterTheLastRange() throws Exception {
+        List<FlowLog> fullBatch = IntStream.rangeClosed(1, BATCH_SIZE).mapToObj(id -> {
+            FlowLog flowLog = legacyFlowLog();
+            flowLog.setId((long) id);
+            return flowLog;
+        }).toList();
+        when(flowLogRepository.findFinalizedWithOtherPayloadFormatInIdRange(0L, ID_RANGE_SIZE, PayloadFormat.GZIP_JSON, true, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(fullBatch);
+        when(flowLogRepository.findFinalizedWithOtherPayloadFormatInIdRange((long) BATCH_SIZE, BATCH_SIZE + ID_RANGE_SIZE, PayloadFormat.GZIP_JSON, true,
+                PageRequest.of(0, BATCH_SIZE))).thenReturn(List.of());
+        when(flowLogRepository.findMaxId()).thenReturn(Optional.of((long) BATCH_SIZE));
+
+        assertEquals(BATCH_SIZE, underTest.reEncodeFlowLogs(PayloadFormat.GZIP_JSON));
+        assertEquals((long) BATCH_SIZE, ReflectionTestUtils.getField(underTest, "flowLogCursor"));
+
+        assertEquals(0, underTest.reEncodeFlowLogs(PayloadFormat.GZIP_JSON));
+        assertEquals(0L, ReflectionTestUtils.getField(underTest, "flowLogCursor"));
+    }
+
+    @Test
+    void testLegacyFlowChainLogsAreCompressed() throws Exception {
+        FlowChainLog legacyFlowChainLog = new FlowChainLog("type", "chainId", null, "[]", "crn", PAYLOAD);
+        when(clock.nowMinus(any())).thenReturn(Instant.ofEpochMilli(1000L));
+        when(flowChainLogRepository.findOlderWithOtherPayloadFormatInIdRange(0L, ID_RANGE_SIZE, 1000L, PayloadFormat.GZIP_JSON, true,
+                PageRequest.of(0, BATCH_SIZE))).thenReturn(List.of(legacyFlowChainLog));
+        when(flowChainLogRepository.findMaxId()).thenReturn(Optional.empty());
+
+        assertEquals(1, underTest.reEncodeFlowChainLogs(PayloadFormat.GZIP_JSON));
+
+        verify(flowChainLogRepository).saveAll(List.of(legacyFlowChainLog));
+        assertEquals(PayloadFormat.GZIP_JSON, legacyFlowChainLog.getPayloadFormat());
+        assertEquals(PAYLOAD, legacyFlowChainLog.getTriggerEventJackson());
+        assertEquals(0L, ReflectionTestUtils.getField(underTest, "flowChainLogCursor"));
+    }
+
+    private FlowLog legacyFlowLog() {
+        FlowLog flowLog = new FlowLog();
+        flowLog.setPayloadJackson(PAYLOAD);
+        flowLog.setVariablesJackson("{}");
+        flowLog.setFinalized(true);
+        return flowLog;
+    }
+}
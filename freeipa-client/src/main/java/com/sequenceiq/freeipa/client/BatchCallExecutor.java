@@ -0,0 +1,165 @@
+package com.sequenceiq.freeipa.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sequenceiq.cloudbreak.util.CheckedTimeoutRunnable;
+import com.sequenceiq.freeipa.client.operation.BatchOperation;
+
+/**
+ * Runs the partitions of a batch call concurrently, with at most {@code maxInFlight} partitions sent to FreeIPA at the same time. The
+ * operations of one batch call must not depend on each other, the callers keep dependent operations, e.g. adding groups and adding members to
+ * them, in separate batch calls.
+ * <p>
+ * The partition size starts at the configured size and adapts to FreeIPA: it is halved after a partition that failed or took longer than the
+ * target latency, and grows back by a quarter after a partition that took less than half of it. The warnings of the partitions are passed
+ * to the warning consumer one at a time, so it does not need to be thread safe.
+ */
+public class BatchCallExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchCallExecutor.class);
+
+    private static final int GROWTH_DIVISOR = 4;
+
+    private final Executor executor;
+
+    private final int maxInFlight;
+
+    private final int minPartitionSize;
+
+    private final long targetLatencyMillis;
+
+    private final Consumer<BatchCallStatistics> statisticsListener;
+
+    public BatchCallExecutor(Executor executor, int maxInFlight, int minPartitionSize, long targetLatencyMillis,
+            Consumer<BatchCallStatistics> statisticsListener) {
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.minPartitionSize = minPartitionSize;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.statisticsListener = statisticsListener;
+    }
+
+    public BatchCallStatistics callBatch(FreeIpaClient freeIpaClient, BiConsumer<String, String> warnings, List<Object> operations, int partitionSize,
+            Set<FreeIpaErrorCodes> acceptableErrorCodes, CheckedTimeoutRunnable check) throws FreeIpaClientException, TimeoutException {
+        long start = System.nanoTime();
+        BiConsumer<String, String> serializedWarnings = (key, message) -> {
+            synchronized (warnings) {
+                warnings.accept(key, message);
+            }
+        };
+        AdaptivePartitionSize adaptivePartitionSize = new AdaptivePartitionSize(Math.max(1, partitionSize));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicInteger failedPartitionCount = new AtomicInteger();
+        List<CompletableFuture<Void>> partitions = new ArrayList<>();
+        try {
+            int next = 0;
+            while (next < operations.size()) {
+                check.run();
+                acquire(inFlight);
+                if (failure.get() != null) {
+                    inFlight.release();
+                    break;
+                }
+                List<Object> partition = operations.subList(next, Math.min(operations.size(), next + adaptivePartitionSize.get()));
+                next += partition.size();
+                partitions.add(CompletableFuture
+                        .runAsync(() -> callPartition(freeIpaClient, serializedWarnings, partition, acceptableErrorCodes, adaptivePartitionSize,
+                                failure, failedPartitionCount), executor)
+                        .whenComplete((result, throwable) -> inFlight.release()));
+            }
+        } finally {
+            partitions.forEach(partition -> partition.exceptionally(throwable -> null).join());
+        }
+        if (failure.get() instanceof FreeIpaClientException clientException) {
+            throw clientException;
+        } else if (failure.get() instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        BatchCallStatistics statistics = new BatchCallStatistics(operationName(operations), operations.size(), partitions.size(),
+                failedPartitionCount.get(), Duration.ofNanos(System.nanoTime() - start));
+        statisticsListener.accept(statistics);
+        return statistics;
+    }
+
+    private void callPartition(FreeIpaClient freeIpaClient, BiConsumer<String, String> warnings, List<Object> partition,
+            Set<FreeIpaErrorCodes> acceptableErrorCodes, AdaptivePartitionSize adaptivePartitionSize, AtomicReference<Exception> failure,
+            AtomicInteger failedPartitionCount) {
+        AtomicBoolean failed = new AtomicBoolean();
+        long start = System.nanoTime();
+        try {
+            BatchOperation.create(partition, (key, message) -> {
+                failed.set(true);
+                warnings.accept(key, message);
+            }, acceptableErrorCodes).invoke(freeIpaClient);
+        } catch (FreeIpaClientException | RuntimeException e) {
+            LOGGER.warn("Batch call partition of {} operations failed, no more partitions are sent", partition.size(), e);
+            failed.set(true);
+            failure.compareAndSet(null, e);
+        }
+        if (failed.get()) {
+            failedPartitionCount.incrementAndGet();
+        }
+        adaptivePartitionSize.record(partition.size(), Duration.ofNanos(System.nanoTime() - start).toMillis(), failed.get());
+    }
+
+    private void acquire(Semaphore inFlight) throws TimeoutException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for a batch call partition to finish");
+        }
+    }
+
+    private String operationName(List<Object> operations) {
+        return operations.stream()
+                .filter(Map.class::isInstance)
+                .map(operation -> String.valueOf(((Map<?, ?>) operation).get("method")))
+                .findFirst()
+                .orElse("unknown");
+    }
+
+    private final class AdaptivePartitionSize {
+
+        private final int maxSize;
+
+        private final AtomicInteger size;
+
+        private AdaptivePartitionSize(int maxSize) {
+            this.maxSize = maxSize;
+            size = new AtomicInteger(maxSize);
+        }
+
+        private int get() {
+            return size.get();
+        }
+
+        private void record(int partitionSize, long latencyMillis, boolean failed) {
+            int lowerBound = Math.min(minPartitionSize, maxSize);
+            if (failed || latencyMillis > targetLatencyMillis) {
+                int newSize = size.updateAndGet(current -> Math.max(lowerBound, current / 2));
+                LOGGER.debug("Batch call partition of {} operations took {} ms, failed: {}, partition size is decreased to {}",
+                        partitionSize, latencyMillis, failed, newSize);
+            } else if (latencyMillis < targetLatencyMillis / 2) {
+                size.updateAndGet(current -> Math.min(maxSize, current + Math.max(1, current / GROWTH_DIVISOR)));
+            }
+        }
+    }
+}
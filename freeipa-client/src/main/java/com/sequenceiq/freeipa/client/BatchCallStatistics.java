@@ -0,0 +1,11 @@
+package com.sequenceiq.freeipa.client;
+
+import java.time.Duration;
+
+public record BatchCallStatistics(String operationName, int operationCount, int partitionCount, int failedPartitionCount, Duration duration) {
+
+    public double operationsPerSecond() {
+        long millis = Math.max(1L, duration.toMillis());
+        return operationCount * 1000.0 / millis;
+    }
+}
@@ -15,6 +15,7 @@ import java.util.OptionalInt;
 import java.util.Set;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.reflect.TypeUtils;
@@ -84,6 +85,10 @@ public class FreeIpaClient {
 
     private final String hostname;
 
+    private BatchCallExecutor batchCallExecutor;
+
+    private Consumer<FreeIpaClientException> invokeFailureListener;
+
     public FreeIpaClient(JsonRpcHttpClient jsonRpcHttpClient, String apiAddress, String hostname) {
         this(jsonRpcHttpClient, DEFAULT_API_VERSION, apiAddress, hostname);
     }
@@ -590,7 +595,22 @@ public class FreeIpaClient {
         return invoke("server_conncheck", List.of(cn), Map.of("remote_cn", remoteCn), Boolean.class);
     }
 
+    public void ping() throws FreeIpaClientException {
+        invoke("ping", List.of(), Map.of(), Object.class);
+    }
+
     public <T> RPCResponse<T> invoke(String method, List<Object> flags, Map<String, Object> params, Type resultType) throws FreeIpaClientException {
+        try {
+            return doInvoke(method, flags, params, resultType);
+        } catch (FreeIpaClientException e) {
+            if (invokeFailureListener != null) {
+                invokeFailureListener.accept(e);
+            }
+            throw e;
+        }
+    }
+
+    private <T> RPCResponse<T> doInvoke(String method, List<Object> flags, Map<String, Object> params, Type resultType) throws FreeIpaClientException {
         Map<String, Object> parameterMap = new HashMap<>();
         if (params != null && !params.isEmpty()) {
             parameterMap.putAll(params);
@@ -669,8 +689,23 @@ public class FreeIpaClient {
         return (TopologySegment) invoke("topologysegment_del", flags, params, TopologySegment.class).getResult();
     }
 
+    public void setBatchCallExecutor(BatchCallExecutor batchCallExecutor) {
+        this.batchCallExecutor = batchCallExecutor;
+    }
+
+    /**
+     * The listener is notified about every failed JSON-RPC call of the client before the exception is thrown.
+     */
+    public void setInvokeFailureListener(Consumer<FreeIpaClientException> invokeFailureListener) {
+        this.invokeFailureListener = invokeFailureListener;
+    }
+
     public void callBatch(BiConsumer<String, String> warnings, List<Object> operations, Integer partitionSize,
             Set<FreeIpaErrorCodes> acceptableErrorCodes, CheckedTimeoutRunnable check) throws FreeIpaClientException, TimeoutException {
+        if (batchCallExecutor != null) {
+            batchCallExecutor.callBatch(this, warnings, operations, partitionSize, acceptableErrorCodes, check);
+            return;
+        }
         List<List<Object>> partitions = Lists.partition(operations, partitionSize);
         for (List<Object> operationsPartition : partitions) {
             check.run();
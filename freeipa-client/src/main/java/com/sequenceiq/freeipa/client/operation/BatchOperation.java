@@ -1,9 +1,11 @@
 package com.sequenceiq.freeipa.client.operation;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +19,8 @@ public class BatchOperation extends AbstractFreeipaOperation<Object> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BatchOperation.class);
 
+    private static final int MAX_DESCRIBED_OPERATIONS = 10;
+
     private List<Object> operations;
 
     private BiConsumer<String, String> warnings;
@@ -54,10 +58,32 @@ public class BatchOperation extends AbstractFreeipaOperation<Object> {
                 LOGGER.debug(String.format("Batch call had error with acceptable error code: %s", e.getMessage()));
             } else {
                 LOGGER.warn(e.getMessage());
-                warnings.accept("batch call failed: ", e.getMessage());
+                warnings.accept(String.format("batch call failed for %s: ", describeOperations()), e.getMessage());
                 freeipaClient.checkIfClientStillUsable(e);
             }
         }
         return Optional.empty();
     }
+
+    // Names the operations of the failed batch call, e.g. "group_add_member admins", so the warning can be traced back to them
+    private String describeOperations() {
+        String described = operations.stream()
+                .limit(MAX_DESCRIBED_OPERATIONS)
+                .map(this::describeOperation)
+                .collect(Collectors.joining(", "));
+        return operations.size() > MAX_DESCRIBED_OPERATIONS
+                ? String.format("[%s and %d more]", described, operations.size() - MAX_DESCRIBED_OPERATIONS)
+                : String.format("[%s]", described);
+    }
+
+    private String describeOperation(Object operation) {
+        if (operation instanceof Map<?, ?> operationParams) {
+            Object params = operationParams.get("params");
+            if (params instanceof List<?> paramList && !paramList.isEmpty() && paramList.get(0) instanceof List<?> flags && !flags.isEmpty()) {
+                return operationParams.get("method") + " " + flags.get(0);
+            }
+            return String.valueOf(operationParams.get("method"));
+        }
+        return String.valueOf(operation);
+    }
 }
@@ -0,0 +1,125 @@
+package com.sequenceiq.freeipa.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import com.googlecode.jsonrpc4j.JsonRpcClientException;
+import com.sequenceiq.cloudbreak.client.RPCResponse;
+import com.sequenceiq.freeipa.client.operation.UserAddOperation;
+
+@ExtendWith(MockitoExtension.class)
+class BatchCallExecutorTest {
+
+    private static final long TARGET_LATENCY_MILLIS = 60_000L;
+
+    @Mock
+    private FreeIpaClient freeIpaClient;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    private final List<BatchCallStatistics> reportedStatistics = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testPartitionsAreSentConcurrentlyUpToTheInFlightLimit() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> partitionSizes = Collections.synchronizedList(new ArrayList<>());
+        when(freeIpaClient.invoke(eq("batch"), anyList(), any(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            List<Object> flags = invocation.getArgument(1);
+            partitionSizes.add(((List<?>) flags.get(0)).size());
+            Thread.sleep(50L);
+            running.decrementAndGet();
+            return rpcResponse();
+        });
+        BatchCallExecutor underTest = new BatchCallExecutor(executorService, 2, 1, TARGET_LATENCY_MILLIS, reportedStatistics::add);
+
+        BatchCallStatistics statistics = underTest.callBatch(freeIpaClient, (key, message) -> { }, userAddOperations(10), 3, Set.of(), () -> { });
+
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(10, partitionSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(4, statistics.partitionCount());
+        assertEquals(10, statistics.operationCount());
+        assertEquals("user_add", statistics.operationName());
+        assertEquals(List.of(statistics), reportedStatistics);
+    }
+
+    @Test
+    void testPartitionSizeIsDecreasedAfterFailedPartitionAndWarningNamesTheOperations() throws Exception {
+        List<Integer> partitionSizes = Collections.synchronizedList(new ArrayList<>());
+        when(freeIpaClient.invoke(eq("batch"), anyList(), any(), any())).thenAnswer(invocation -> {
+            List<Object> flags = invocation.getArgument(1);
+            partitionSizes.add(((List<?>) flags.get(0)).size());
+            if (partitionSizes.size() == 1) {
+                throw new FreeIpaClientException("error", new JsonRpcClientException(5000, "", null));
+            }
+            return rpcResponse();
+        });
+        Multimap<String, String> warnings = ArrayListMultimap.create();
+        BatchCallExecutor underTest = new BatchCallExecutor(executorService, 1, 1, TARGET_LATENCY_MILLIS, reportedStatistics::add);
+
+        BatchCallStatistics statistics = underTest.callBatch(freeIpaClient, warnings::put, userAddOperations(8), 4, Set.of(), () -> { });
+
+        assertEquals(List.of(4, 2, 2), partitionSizes);
+        assertEquals(1, statistics.failedPartitionCount());
+        assertEquals(Set.of("batch call failed for [user_add user0, user_add user1, user_add user2, user_add user3]: "), warnings.keySet());
+    }
+
+    @Test
+    void testNoMorePartitionsAreSentWhenClientIsNotUsableAnymore() throws Exception {
+        FreeIpaClientException clientException = new FreeIpaClientException("error", new JsonRpcClientException(5000, "", null));
+        when(freeIpaClient.invoke(eq("batch"), anyList(), any(), any())).thenThrow(clientException);
+        doThrow(clientException).when(freeIpaClient).checkIfClientStillUsable(clientException);
+        BatchCallExecutor underTest = new BatchCallExecutor(executorService, 1, 1, TARGET_LATENCY_MILLIS, reportedStatistics::add);
+
+        assertThrows(FreeIpaClientException.class,
+                () -> underTest.callBatch(freeIpaClient, (key, message) -> { }, userAddOperations(6), 2, Set.of(), () -> { }));
+
+        verify(freeIpaClient, times(1)).invoke(eq("batch"), anyList(), any(), any());
+        assertTrue(reportedStatistics.isEmpty());
+    }
+
+    private List<Object> userAddOperations(int count) {
+        return IntStream.range(0, count)
+                .<Object>mapToObj(i -> UserAddOperation.create("user" + i, "first", "last", false, Optional.empty()).getOperationParamsForBatchCall())
+                .toList();
+    }
+
+    private RPCResponse<Object> rpcResponse() {
+        RPCResponse<Object> rpcResponse = new RPCResponse<>();
+        rpcResponse.setResult(Map.of());
+        return rpcResponse;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sequenceiq.freeipa.configuration;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import jakarta.inject.Inject;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.sequenceiq.cloudbreak.concurrent.ActorCrnTaskDecorator;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+import com.sequenceiq.cloudbreak.concurrent.CompositeTaskDecorator;
+import com.sequenceiq.cloudbreak.concurrent.ConcurrencyLimitDecorator;
+import com.sequenceiq.cloudbreak.concurrent.MDCCopyDecorator;
+import com.sequenceiq.cloudbreak.concurrent.TimeTaskDecorator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class HealthCheckConfig {
+
+    public static final String HEALTH_CHECK_TASK_EXECUTOR = "healthCheckTaskExecutor";
+
+    @Value("${freeipa.healthcheck.snapshot.threadpool.core.size:20}")
+    private int corePoolSize;
+
+    @Value("${freeipa.healthcheck.snapshot.threadpool.capacity.size:1000}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsAvailable;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Inject
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @Bean(name = HEALTH_CHECK_TASK_EXECUTOR)
+    public ExecutorService healthCheckTaskExecutor() {
+        if (virtualThreadsAvailable) {
+            return commonExecutorServiceFactory.newVirtualThreadExecutorService("healthCheckExecutor", HEALTH_CHECK_TASK_EXECUTOR,
+                    List.of(new MDCCopyDecorator(), new ActorCrnTaskDecorator(),
+                            new TimeTaskDecorator(meterRegistry, HEALTH_CHECK_TASK_EXECUTOR),
+                            new ConcurrencyLimitDecorator(corePoolSize)));
+        } else {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(corePoolSize);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix("healthCheckExecutor-");
+            executor.setTaskDecorator(
+                    new CompositeTaskDecorator(
+                            List.of(new MDCCopyDecorator(), new ActorCrnTaskDecorator())));
+            executor.initialize();
+            return ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), HEALTH_CHECK_TASK_EXECUTOR, "threadpool");
+        }
+    }
+}
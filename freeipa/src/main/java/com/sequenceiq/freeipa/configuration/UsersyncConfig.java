@@ -33,12 +33,17 @@ public class UsersyncConfig {
 
     public static final String USERSYNC_INTERNAL_TASK_EXECUTOR = "usersyncInternalTaskExecutor";
 
+    public static final String BATCH_CALL_TASK_EXECUTOR = "batchCallTaskExecutor";
+
     @Value("${freeipa.usersync.threadpool.core.size}")
     private int usersyncCorePoolSize;
 
     @Value("${freeipa.usersync.threadpool.capacity.size}")
     private int usersyncQueueCapacity;
 
+    @Value("${freeipa.batch.concurrency.threadpool.core.size:20}")
+    private int batchCallCorePoolSize;
+
     @Value("${spring.threads.virtual.enabled:false}")
     private boolean virtualThreadsAvailable;
 
@@ -87,6 +92,26 @@ public class UsersyncConfig {
         }
     }
 
+    @Bean(name = BATCH_CALL_TASK_EXECUTOR)
+    public ExecutorService batchCallTaskExecutor() {
+        if (virtualThreadsAvailable) {
+            return commonExecutorServiceFactory.newVirtualThreadExecutorService("batchCallExecutor", BATCH_CALL_TASK_EXECUTOR,
+                    List.of(new MDCCopyDecorator(), new ActorCrnTaskDecorator(),
+                            new TimeTaskDecorator(meterRegistry, BATCH_CALL_TASK_EXECUTOR),
+                            new ConcurrencyLimitDecorator(batchCallCorePoolSize)));
+        } else {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(batchCallCorePoolSize);
+            executor.setQueueCapacity(usersyncQueueCapacity);
+            executor.setThreadNamePrefix("batchCallExecutor-");
+            executor.setTaskDecorator(
+                    new CompositeTaskDecorator(
+                            List.of(new MDCCopyDecorator(), new ActorCrnTaskDecorator())));
+            executor.initialize();
+            return ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), BATCH_CALL_TASK_EXECUTOR, "threadpool");
+        }
+    }
+
     @Bean(name = USERSYNC_TIMEOUT_TASK_EXECUTOR)
     public ScheduledExecutorService usersyncScheduledTaskExecutor() {
         if (virtualThreadsAvailable) {
@@ -57,8 +57,9 @@ public class FreeIpaCostService {
         Map<String, RealTimeCost> realTimeCosts = new HashMap<>();
 
         List<Stack> stacks = stackService.getByEnvironmentCrnsAndCloudPlatforms(environmentCrns, pricingCacheMap.keySet());
+        Map<Long, ClusterCostDto> clusterCostDtos = freeIpaInstanceTypeCollectorService.getAllInstanceTypesForCost(stacks);
         for (Stack stack : stacks) {
-            Optional<ClusterCostDto> clusterCostDto = freeIpaInstanceTypeCollectorService.getAllInstanceTypesForCost(stack);
+            Optional<ClusterCostDto> clusterCostDto = Optional.ofNullable(clusterCostDtos.get(stack.getId()));
 
             if (clusterCostDto.isPresent()) {
                 RealTimeCost realTimeCost = new RealTimeCost();
@@ -81,8 +82,9 @@ public class FreeIpaCostService {
         Map<String, RealTimeCO2> realTimeCO2Map = new HashMap<>();
 
         List<Stack> stacks = stackService.getByEnvironmentCrnsAndCloudPlatforms(environmentCrns, co2EmissionFactorServiceMap.keySet());
+        Map<Long, ClusterCO2Dto> clusterCO2Dtos = freeIpaInstanceTypeCollectorService.getAllInstanceTypesForCO2(stacks);
         for (Stack stack : stacks) {
-            Optional<ClusterCO2Dto> clusterCO2Dto = freeIpaInstanceTypeCollectorService.getAllInstanceTypesForCO2(stack);
+            Optional<ClusterCO2Dto> clusterCO2Dto = Optional.ofNullable(clusterCO2Dtos.get(stack.getId()));
 
             if (clusterCO2Dto.isPresent()) {
                 RealTimeCO2 realTimeCO2 = new RealTimeCO2();
@@ -1,6 +1,7 @@
 package com.sequenceiq.freeipa.cost;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -10,6 +11,9 @@ import jakarta.inject.Inject;
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.cloud.PricingCache;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypeKey;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypePricingService;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypeResources;
 import com.sequenceiq.cloudbreak.cloud.model.ExtendedCloudCredential;
 import com.sequenceiq.cloudbreak.co2.model.ClusterCO2Dto;
 import com.sequenceiq.cloudbreak.co2.model.DiskCO2Dto;
@@ -20,7 +24,6 @@ import com.sequenceiq.cloudbreak.cost.model.ClusterCostDto;
 import com.sequenceiq.cloudbreak.cost.model.DiskCostDto;
 import com.sequenceiq.cloudbreak.cost.model.InstanceGroupCostDto;
 import com.sequenceiq.freeipa.converter.cloud.CredentialToExtendedCloudCredentialConverter;
-import com.sequenceiq.freeipa.dto.Credential;
 import com.sequenceiq.freeipa.entity.InstanceGroup;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.entity.Template;
@@ -45,57 +48,90 @@ public class FreeIpaInstanceTypeCollectorService {
     @Inject
     private CredentialToExtendedCloudCredentialConverter credentialConverter;
 
-    public Optional<ClusterCostDto> getAllInstanceTypesForCost(Stack stack) {
-        String region = stack.getRegion();
-        CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
-        Credential credential = credentialService.getCredentialByEnvCrn(stack.getEnvironmentCrn());
+    @Inject
+    private InstanceTypePricingService instanceTypePricingService;
 
-        ClusterCostDto clusterCostDto = new ClusterCostDto();
-        clusterCostDto.setStatus(stack.getStackStatus().getStatus().name());
-        clusterCostDto.setRegion(region);
+    public Map<Long, ClusterCostDto> getAllInstanceTypesForCost(List<Stack> stacks) {
+        Map<InstanceTypeKey, Double> prices = instanceTypePricingService.getPricesForInstanceTypes(collectInstanceTypes(stacks));
 
-        List<InstanceGroupCostDto> instanceGroupCostDtos = new ArrayList<>();
-        for (InstanceGroup instanceGroup : stack.getInstanceGroups()) {
-            getInstanceGroupCostDto(region, cloudPlatform, instanceGroup, credential).ifPresent(instanceGroupCostDtos::add);
-        }
+        Map<Long, ClusterCostDto> clusterCostDtos = new HashMap<>();
+        for (Stack stack : stacks) {
+            String region = stack.getRegion();
+            CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
+
+            ClusterCostDto clusterCostDto = new ClusterCostDto();
+            clusterCostDto.setStatus(stack.getStackStatus().getStatus().name());
+            clusterCostDto.setRegion(region);
+
+            List<InstanceGroupCostDto> instanceGroupCostDtos = new ArrayList<>();
+            for (InstanceGroup instanceGroup : stack.getInstanceGroups()) {
+                getInstanceGroupCostDto(region, cloudPlatform, instanceGroup, prices).ifPresent(instanceGroupCostDtos::add);
+            }
 
-        if (!instanceGroupCostDtos.isEmpty()) {
-            clusterCostDto.setInstanceGroups(instanceGroupCostDtos);
-            return Optional.of(clusterCostDto);
+            if (!instanceGroupCostDtos.isEmpty()) {
+                clusterCostDto.setInstanceGroups(instanceGroupCostDtos);
+                clusterCostDtos.put(stack.getId(), clusterCostDto);
+            }
         }
-        return Optional.empty();
+        return clusterCostDtos;
     }
 
-    public Optional<ClusterCO2Dto> getAllInstanceTypesForCO2(Stack stack) {
-        String region = stack.getRegion();
-        CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
-        Credential credential = credentialService.getCredentialByEnvCrn(stack.getEnvironmentCrn());
+    public Map<Long, ClusterCO2Dto> getAllInstanceTypesForCO2(List<Stack> stacks) {
+        Map<InstanceTypeKey, InstanceTypeResources> resources = instanceTypePricingService.getResourcesForInstanceTypes(collectInstanceTypes(stacks));
+
+        Map<Long, ClusterCO2Dto> clusterCO2Dtos = new HashMap<>();
+        for (Stack stack : stacks) {
+            String region = stack.getRegion();
+            CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
 
-        ClusterCO2Dto clusterCO2Dto = new ClusterCO2Dto();
-        clusterCO2Dto.setRegion(region);
-        clusterCO2Dto.setCloudPlatform(cloudPlatform);
-        clusterCO2Dto.setStatus(stack.getStackStatus().getStatus().name());
+            ClusterCO2Dto clusterCO2Dto = new ClusterCO2Dto();
+            clusterCO2Dto.setRegion(region);
+            clusterCO2Dto.setCloudPlatform(cloudPlatform);
+            clusterCO2Dto.setStatus(stack.getStackStatus().getStatus().name());
 
-        List<InstanceGroupCO2Dto> instanceGroupCO2Dtos = new ArrayList<>();
-        for (InstanceGroup instanceGroup : stack.getInstanceGroups()) {
-            getInstanceGroupCO2Dto(region, cloudPlatform, instanceGroup, credential).ifPresent(instanceGroupCO2Dtos::add);
+            List<InstanceGroupCO2Dto> instanceGroupCO2Dtos = new ArrayList<>();
+            for (InstanceGroup instanceGroup : stack.getInstanceGroups()) {
+                getInstanceGroupCO2Dto(region, cloudPlatform, instanceGroup, resources).ifPresent(instanceGroupCO2Dtos::add);
+            }
+
+            if (!instanceGroupCO2Dtos.isEmpty()) {
+                clusterCO2Dto.setInstanceGroups(instanceGroupCO2Dtos);
+                clusterCO2Dtos.put(stack.getId(), clusterCO2Dto);
+            }
         }
+        return clusterCO2Dtos;
+    }
 
-        if (!instanceGroupCO2Dtos.isEmpty()) {
-            clusterCO2Dto.setInstanceGroups(instanceGroupCO2Dtos);
-            return Optional.of(clusterCO2Dto);
+    // The prices are cached per region and instance type by the pricing caches, so the credential of any environment will do
+    private Map<InstanceTypeKey, ExtendedCloudCredential> collectInstanceTypes(List<Stack> stacks) {
+        Map<String, ExtendedCloudCredential> credentialsByEnvironmentCrn = new HashMap<>();
+        Map<InstanceTypeKey, ExtendedCloudCredential> instanceTypes = new HashMap<>();
+        for (Stack stack : stacks) {
+            CloudPlatform cloudPlatform = CloudPlatform.valueOf(stack.getCloudPlatform());
+            if (pricingCacheMap.containsKey(cloudPlatform)) {
+                for (InstanceGroup instanceGroup : stack.getInstanceGroups()) {
+                    Template template = instanceGroup.getTemplate();
+                    if (template != null) {
+                        InstanceTypeKey instanceType = new InstanceTypeKey(cloudPlatform, stack.getRegion(), template.getInstanceType());
+                        if (!instanceTypes.containsKey(instanceType)) {
+                            ExtendedCloudCredential credential = credentialsByEnvironmentCrn.computeIfAbsent(stack.getEnvironmentCrn(),
+                                    environmentCrn -> credentialConverter.convert(credentialService.getCredentialByEnvCrn(environmentCrn)));
+                            instanceTypes.put(instanceType, credential);
+                        }
+                    }
+                }
+            }
         }
-        return Optional.empty();
+        return instanceTypes;
     }
 
     private Optional<InstanceGroupCostDto> getInstanceGroupCostDto(String region, CloudPlatform cloudPlatform,
-            InstanceGroup instanceGroup, Credential credential) {
+            InstanceGroup instanceGroup, Map<InstanceTypeKey, Double> prices) {
         Template template = instanceGroup.getTemplate();
         if (pricingCacheMap.containsKey(cloudPlatform) && template != null) {
             PricingCache pricingCache = pricingCacheMap.get(cloudPlatform);
             String instanceType = template.getInstanceType();
-            ExtendedCloudCredential extendedCloudCredential = credentialConverter.convert(credential);
-            Optional<Double> pricePerInstance = pricingCache.getPriceForInstanceType(region, instanceType, extendedCloudCredential);
+            Optional<Double> pricePerInstance = Optional.ofNullable(prices.get(new InstanceTypeKey(cloudPlatform, region, instanceType)));
 
             if (pricePerInstance.isPresent()) {
                 InstanceGroupCostDto instanceGroupCostDto = new InstanceGroupCostDto();
@@ -128,20 +164,17 @@ public class FreeIpaInstanceTypeCollectorService {
     }
 
     private Optional<InstanceGroupCO2Dto> getInstanceGroupCO2Dto(String region, CloudPlatform cloudPlatform,
-            InstanceGroup instanceGroup, Credential credential) {
+            InstanceGroup instanceGroup, Map<InstanceTypeKey, InstanceTypeResources> resources) {
         Template template = instanceGroup.getTemplate();
         if (pricingCacheMap.containsKey(cloudPlatform) && template != null) {
-            PricingCache pricingCache = pricingCacheMap.get(cloudPlatform);
             String instanceType = template.getInstanceType();
-            ExtendedCloudCredential extendedCloudCredential = credentialConverter.convert(credential);
-            Optional<Integer> coresPerInstance = pricingCache.getCpuCountForInstanceType(region, instanceType, extendedCloudCredential);
-            Optional<Integer> memoryPerInstance = pricingCache.getMemoryForInstanceType(region, instanceType, extendedCloudCredential);
+            Optional<InstanceTypeResources> resourcesPerInstance = Optional.ofNullable(resources.get(new InstanceTypeKey(cloudPlatform, region, instanceType)));
 
-            if (coresPerInstance.isPresent() && memoryPerInstance.isPresent()) {
+            if (resourcesPerInstance.isPresent()) {
                 InstanceGroupCO2Dto instanceGroupCO2Dto = new InstanceGroupCO2Dto();
                 instanceGroupCO2Dto.setCount(instanceGroup.getInstanceMetaData().size());
-                instanceGroupCO2Dto.setvCPUs(coresPerInstance.get());
-                instanceGroupCO2Dto.setMemory(memoryPerInstance.get());
+                instanceGroupCO2Dto.setvCPUs(resourcesPerInstance.get().cpuCount());
+                instanceGroupCO2Dto.setMemory(resourcesPerInstance.get().memory());
 
                 List<DiskCO2Dto> diskCO2Dtos = new ArrayList<>();
                 int rootVolumeSize = template.getRootVolumeSize() != null ? template.getRootVolumeSize() : DEFAULT_ROOT_DISK_SIZE;
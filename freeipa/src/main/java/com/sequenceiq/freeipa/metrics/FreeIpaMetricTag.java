@@ -4,5 +4,7 @@ public enum FreeIpaMetricTag {
     CCM_ENABLED,
     STATUS,
     CLOUD_PLATFORM,
-    TUNNEL
+    TUNNEL,
+    OPERATION,
+    REASON
 }
@@ -8,7 +8,13 @@ public enum MetricType implements Metric {
     AWS_VARIANT_MIGRATION_FAILED("aws.variant.migration.successful"),
     AWS_VARIANT_MIGRATION_SUCCESSFUL("aws.variant.migration.failed"),
     STACK_STATUS_CLOUDPLATFORM_COUNT("stack.status.cloudplatform.count"),
-    STACK_STATUS_TUNNEL_COUNT("stack.status.tunnel.count");
+    STACK_STATUS_TUNNEL_COUNT("stack.status.tunnel.count"),
+    USERSYNC_DURATION("usersync.duration"),
+    USERSYNC_ALLOCATED_HEAP("usersync.allocated.heap"),
+    BATCH_CALL_THROUGHPUT("batch.call.throughput"),
+    CLIENT_CREATED("client.created"),
+    CLIENT_REUSED("client.reused"),
+    CLIENT_LOGIN_DURATION("client.login.duration");
 
     private final String metricName;
 
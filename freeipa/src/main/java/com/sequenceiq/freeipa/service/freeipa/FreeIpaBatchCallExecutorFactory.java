@@ -0,0 +1,61 @@
+package com.sequenceiq.freeipa.service.freeipa;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.freeipa.client.BatchCallExecutor;
+import com.sequenceiq.freeipa.client.BatchCallStatistics;
+import com.sequenceiq.freeipa.configuration.UsersyncConfig;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricTag;
+import com.sequenceiq.freeipa.metrics.MetricType;
+
+@Component
+public class FreeIpaBatchCallExecutorFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreeIpaBatchCallExecutorFactory.class);
+
+    @Value("${freeipa.batch.concurrency.enabled:false}")
+    private boolean enabled;
+
+    @Value("${freeipa.batch.concurrency.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${freeipa.batch.concurrency.min-partition-size:5}")
+    private int minPartitionSize;
+
+    @Value("${freeipa.batch.concurrency.target-latency-ms:10000}")
+    private long targetLatencyMillis;
+
+    @Inject
+    @Qualifier(UsersyncConfig.BATCH_CALL_TASK_EXECUTOR)
+    private ExecutorService batchCallTaskExecutor;
+
+    @Inject
+    private FreeIpaMetricService freeIpaMetricService;
+
+    public Optional<BatchCallExecutor> create(String environmentCrn) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.of(new BatchCallExecutor(batchCallTaskExecutor, maxInFlight, minPartitionSize, targetLatencyMillis,
+                statistics -> reportStatistics(environmentCrn, statistics)));
+    }
+
+    private void reportStatistics(String environmentCrn, BatchCallStatistics statistics) {
+        LOGGER.info("Batch call of {} {} operations in {} partitions took {} ms in environment {}, {} partitions failed, throughput: {} operations/s",
+                statistics.operationCount(), statistics.operationName(), statistics.partitionCount(), statistics.duration().toMillis(), environmentCrn,
+                statistics.failedPartitionCount(), String.format("%.1f", statistics.operationsPerSecond()));
+        freeIpaMetricService.gauge(MetricType.BATCH_CALL_THROUGHPUT, statistics.operationsPerSecond(),
+                Map.of(FreeIpaMetricTag.OPERATION.name(), statistics.operationName()));
+    }
+}
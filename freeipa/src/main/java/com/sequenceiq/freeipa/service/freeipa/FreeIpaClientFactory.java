@@ -31,7 +31,6 @@ import com.sequenceiq.freeipa.client.FreeIpaClientException;
 import com.sequenceiq.freeipa.client.FreeIpaHostNotAvailableException;
 import com.sequenceiq.freeipa.client.InvalidFreeIpaStateException;
 import com.sequenceiq.freeipa.client.RetryableFreeIpaClientException;
-import com.sequenceiq.freeipa.entity.FreeIpa;
 import com.sequenceiq.freeipa.entity.InstanceMetaData;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.service.TlsSecurityService;
@@ -73,6 +72,12 @@ public class FreeIpaClientFactory {
     @Inject
     private ClusterProxyServiceAvailabilityChecker clusterProxyServiceAvailabilityChecker;
 
+    @Inject
+    private FreeIpaBatchCallExecutorFactory batchCallExecutorFactory;
+
+    @Inject
+    private FreeIpaClientPool freeIpaClientPool;
+
     public FreeIpaClient getFreeIpaClientForStackId(Long stackId) throws FreeIpaClientException {
         LOGGER.debug("Retrieving stack for stack id {}", stackId);
         Stack stack = stackService.getStackById(stackId);
@@ -136,9 +141,19 @@ public class FreeIpaClientFactory {
     private Optional<FreeIpaClient> tryToCreateFreeIpaClientForInstance(Stack stack, InstanceMetaData instanceMetaData, boolean withPing, boolean lastInstance)
             throws Exception {
         try {
-            FreeIpaClient client = clusterProxyService.isCreateConfigForClusterProxy(stack) ?
-                    getFreeIpaClientBuilderForClusterProxy(stack, instanceMetaData.getDiscoveryFQDN()).build(withPing)
-                    : getFreeIpaClientBuilderForDirectMode(stack, instanceMetaData).build(withPing);
+            boolean clusterProxy = clusterProxyService.isCreateConfigForClusterProxy(stack);
+            String adminPassword = freeIpaService.findByStack(stack).getAdminPassword();
+            String target = clusterProxy ? toClusterProxyBasepath(stack, instanceMetaData.getDiscoveryFQDN())
+                    : instanceMetaData.getPublicIpWrapper() + ':' + getGatewayPort(stack);
+            FreeIpaClientPool.Key key = FreeIpaClientPool.Key.of(stack.getId(), instanceMetaData.getDiscoveryFQDN(), clusterProxy, target, adminPassword);
+            // the pooled client is validated when there is another instance to fail over to
+            FreeIpaClient client = freeIpaClientPool.getClient(key, withPing || !lastInstance, () -> {
+                FreeIpaClient newClient = clusterProxy ?
+                        getFreeIpaClientBuilderForClusterProxy(instanceMetaData.getDiscoveryFQDN(), target, adminPassword).build(withPing)
+                        : getFreeIpaClientBuilderForDirectMode(stack, instanceMetaData, adminPassword).build(withPing);
+                batchCallExecutorFactory.create(stack.getEnvironmentCrn()).ifPresent(newClient::setBatchCallExecutor);
+                return newClient;
+            });
             return Optional.of(client);
         } catch (FreeIpaClientException e) {
             handleException(instanceMetaData, e, () -> canTryAnotherInstance(lastInstance, e));
@@ -203,13 +218,11 @@ public class FreeIpaClientFactory {
         return getFreeIpaClient(stack.getId(), true, true, Optional.of(freeIpaFqdn));
     }
 
-    private FreeIpaClientBuilder getFreeIpaClientBuilderForClusterProxy(Stack stack, String freeIpaFqdn) throws Exception {
+    private FreeIpaClientBuilder getFreeIpaClientBuilderForClusterProxy(String freeIpaFqdn, String clusterProxyPath, String adminPassword) throws Exception {
         HttpClientConfig httpClientConfig = new HttpClientConfig(clusterProxyConfiguration.getClusterProxyHost());
-        FreeIpa freeIpa = freeIpaService.findByStack(stack);
-        String clusterProxyPath = toClusterProxyBasepath(stack, freeIpaFqdn);
 
         return new FreeIpaClientBuilder(ADMIN_USER,
-                freeIpa.getAdminPassword(),
+                adminPassword,
                 httpClientConfig,
                 freeIpaFqdn,
                 clusterProxyConfiguration.getClusterProxyPort(),
@@ -219,13 +232,15 @@ public class FreeIpaClientFactory {
         );
     }
 
-    private FreeIpaClientBuilder getFreeIpaClientBuilderForDirectMode(Stack stack, InstanceMetaData instanceMetaData) throws Exception {
+    private FreeIpaClientBuilder getFreeIpaClientBuilderForDirectMode(Stack stack, InstanceMetaData instanceMetaData, String adminPassword) throws Exception {
         LOGGER.info("Trying to create direct FreeIPA client against {}", instanceMetaData);
         HttpClientConfig httpClientConfig = tlsSecurityService.buildTLSClientConfig(
                 stack, instanceMetaData.getPublicIpWrapper(), instanceMetaData);
-        FreeIpa freeIpa = freeIpaService.findByStack(stack);
-        int gatewayPort = Optional.ofNullable(stack.getGatewayport()).orElse(ServiceFamilies.GATEWAY.getDefaultPort());
-        return new FreeIpaClientBuilder(ADMIN_USER, freeIpa.getAdminPassword(), httpClientConfig, gatewayPort, instanceMetaData.getDiscoveryFQDN());
+        return new FreeIpaClientBuilder(ADMIN_USER, adminPassword, httpClientConfig, getGatewayPort(stack), instanceMetaData.getDiscoveryFQDN());
+    }
+
+    private int getGatewayPort(Stack stack) {
+        return Optional.ofNullable(stack.getGatewayport()).orElse(ServiceFamilies.GATEWAY.getDefaultPort());
     }
 
     private InvalidFreeIpaStateException createFreeIpaStateIsInvalidException(Status stackStatus) {
@@ -0,0 +1,195 @@
+package com.sequenceiq.freeipa.service.freeipa;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.inject.Inject;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.common.service.Clock;
+import com.sequenceiq.freeipa.client.FreeIpaClient;
+import com.sequenceiq.freeipa.client.FreeIpaClientException;
+import com.sequenceiq.freeipa.client.RetryableFreeIpaClientException;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricTag;
+import com.sequenceiq.freeipa.metrics.MetricType;
+
+/**
+ * Bounded pool of the logged in FreeIPA clients, one per stack, FreeIPA instance and connection target. A pooled client keeps its session cookie,
+ * so the callers do not log in to FreeIPA on every call. The client is checked with a ping when it was not used for a while, and it is replaced
+ * before the FreeIPA session could expire. A client is dropped from the pool as soon as one of its calls fails because the instance is not
+ * reachable or the client is not usable anymore. The key contains the hash of the admin password, so the client is created again after the
+ * rotation of the password. The least recently used clients are dropped when the pool is full.
+ */
+@Component
+public class FreeIpaClientPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreeIpaClientPool.class);
+
+    private static final String REASON_NEW = "new";
+
+    private static final String REASON_EXPIRED = "expired";
+
+    private static final String REASON_INVALID = "invalid";
+
+    @Value("${freeipa.client.pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${freeipa.client.pool.max-size:500}")
+    private int maxSize;
+
+    // FreeIPA sessions expire after 20 minutes by default, the client is renewed before that
+    @Value("${freeipa.client.pool.max-age-minutes:15}")
+    private long maxAgeMinutes;
+
+    @Value("${freeipa.client.pool.validation-interval-seconds:60}")
+    private long validationIntervalSeconds;
+
+    @Inject
+    private FreeIpaMetricService freeIpaMetricService;
+
+    @Inject
+    private Clock clock;
+
+    private final Map<Key, PooledClient> clients = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, PooledClient> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Returns the pooled client of the key, or creates it with the given creator. The pooled client is pinged before it is returned when
+     * {@code validate} is set or when it was not validated in the validation interval.
+     */
+    public FreeIpaClient getClient(Key key, boolean validate, ClientCreator creator) throws Exception {
+        if (!enabled) {
+            return creator.create();
+        }
+        PooledClient pooledClient;
+        synchronized (clients) {
+            pooledClient = clients.computeIfAbsent(key, k -> new PooledClient());
+        }
+        pooledClient.lock.lock();
+        try {
+            String reason = REASON_NEW;
+            if (pooledClient.client != null) {
+                long now = clock.getCurrentTimeMillis();
+                if (now - pooledClient.createdAt >= TimeUnit.MINUTES.toMillis(maxAgeMinutes)) {
+                    reason = REASON_EXPIRED;
+                } else if (!validate && now - pooledClient.validatedAt < TimeUnit.SECONDS.toMillis(validationIntervalSeconds)) {
+                    return reuse(pooledClient);
+                } else if (ping(key, pooledClient.client)) {
+                    pooledClient.validatedAt = now;
+                    return reuse(pooledClient);
+                } else {
+                    reason = REASON_INVALID;
+                }
+                pooledClient.client = null;
+            }
+            return create(key, pooledClient, creator, reason);
+        } finally {
+            pooledClient.lock.unlock();
+        }
+    }
+
+    public void invalidate(Long stackId) {
+        synchronized (clients) {
+            clients.keySet().removeIf(key -> key.stackId().equals(stackId));
+        }
+    }
+
+    int size() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    private FreeIpaClient reuse(PooledClient pooledClient) {
+        freeIpaMetricService.incrementMetricCounter(MetricType.CLIENT_REUSED);
+        return pooledClient.client;
+    }
+
+    private FreeIpaClient create(Key key, PooledClient pooledClient, ClientCreator creator, String reason) throws Exception {
+        long start = clock.getCurrentTimeMillis();
+        try {
+            FreeIpaClient client = creator.create();
+            long now = clock.getCurrentTimeMillis();
+            freeIpaMetricService.recordTimerMetric(MetricType.CLIENT_LOGIN_DURATION, Duration.ofMillis(now - start));
+            freeIpaMetricService.incrementMetricCounter(MetricType.CLIENT_CREATED, FreeIpaMetricTag.REASON.name(), reason);
+            LOGGER.debug("Created FreeIPA client for {} in stack {}, reason: {}", key.fqdn(), key.stackId(), reason);
+            client.setInvokeFailureListener(e -> onInvokeFailure(key, pooledClient, client, e));
+            pooledClient.client = client;
+            pooledClient.createdAt = now;
+            pooledClient.validatedAt = now;
+            return client;
+        } catch (Exception e) {
+            synchronized (clients) {
+                clients.remove(key, pooledClient);
+            }
+            throw e;
+        }
+    }
+
+    private void onInvokeFailure(Key key, PooledClient pooledClient, FreeIpaClient client, FreeIpaClientException e) {
+        if (e instanceof RetryableFreeIpaClientException || e.isClientUnusable()) {
+            LOGGER.info("Dropping the pooled FreeIPA client for {} in stack {} because of a failed call. Reason: {}", key.fqdn(), key.stackId(),
+                    e.getMessage());
+            synchronized (clients) {
+                if (pooledClient.client == client) {
+                    clients.remove(key, pooledClient);
+                }
+            }
+        }
+    }
+
+    private boolean ping(Key key, FreeIpaClient client) {
+        try {
+            client.ping();
+            return true;
+        } catch (FreeIpaClientException e) {
+            LOGGER.info("Pooled FreeIPA client for {} in stack {} is not usable anymore, creating a new one. Reason: {}", key.fqdn(), key.stackId(),
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ClientCreator {
+        FreeIpaClient create() throws Exception;
+    }
+
+    /**
+     * The target is the cluster proxy base path or the gateway address the client connects to.
+     */
+    public record Key(Long stackId, String fqdn, boolean clusterProxy, String target, String credentialHash) {
+
+        public static Key of(Long stackId, String fqdn, boolean clusterProxy, String target, String adminPassword) {
+            return new Key(stackId, fqdn, clusterProxy, target, DigestUtils.sha256Hex(String.valueOf(adminPassword)));
+        }
+
+        @Override
+        public String toString() {
+            return "Key{stackId=" + stackId + ", fqdn='" + fqdn + "', clusterProxy=" + clusterProxy + ", target='" + target + "'}";
+        }
+    }
+
+    private static class PooledClient {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile FreeIpaClient client;
+
+        private long createdAt;
+
+        private long validatedAt;
+    }
+}
@@ -15,6 +15,10 @@ public class EventGenerationIdsChecker {
     private static final Logger LOGGER = LoggerFactory.getLogger(EventGenerationIdsChecker.class);
 
     public boolean isInSync(UserSyncStatus userSyncStatus, UmsEventGenerationIds currentGeneration, Stack stack) {
+        return isInSync(userSyncStatus, currentGeneration, stack.getEnvironmentCrn(), stack.getAccountId());
+    }
+
+    public boolean isInSync(UserSyncStatus userSyncStatus, UmsEventGenerationIds currentGeneration, String environmentCrn, String accountId) {
         boolean inSync = userSyncStatus != null &&
                 userSyncStatus.getUmsEventGenerationIds() != null;
         if (inSync) {
@@ -23,11 +27,11 @@ public class EventGenerationIdsChecker {
                 inSync = currentGeneration.equals(lastUmsEventGenerationIds);
             } catch (IOException e) {
                 LOGGER.warn("Failed to retrieve UmsEventGenerationIds for Environment {} in Account {}. Assuming not in sync",
-                        stack.getEnvironmentCrn(), stack.getAccountId());
+                        environmentCrn, accountId);
                 inSync = false;
             }
         }
-        LOGGER.debug("Environment {} in Account {} {} in sync", stack.getEnvironmentCrn(), stack.getAccountId(), inSync ? "is" : "is not");
+        LOGGER.debug("Environment {} in Account {} {} in sync", environmentCrn, accountId, inSync ? "is" : "is not");
         return inSync;
     }
 }
@@ -5,15 +5,19 @@ import static com.sequenceiq.freeipa.service.freeipa.user.UserSyncLogEvent.PARTI
 import static com.sequenceiq.freeipa.service.freeipa.user.UserSyncLogEvent.RETRIEVE_FULL_UMS_STATE;
 import static com.sequenceiq.freeipa.service.freeipa.user.UserSyncLogEvent.RETRIEVE_PARTIAL_UMS_STATE;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
@@ -49,6 +53,9 @@ public class UserSyncForEnvService {
     @Value("#{${freeipa.operation.cleanup.timeout-millis} * 0.9 }")
     private Long operationTimeout;
 
+    @Value("${freeipa.usersync.incremental.enabled:false}")
+    private boolean incrementalSyncEnabled;
+
     @Inject
     private UmsEventGenerationIdsProvider umsEventGenerationIdsProvider;
 
@@ -74,19 +81,24 @@ public class UserSyncForEnvService {
     @Inject
     private EntitlementService entitlementService;
 
+    @Inject
+    private EventGenerationIdsChecker eventGenerationIdsChecker;
+
     public void synchronizeUsers(String operationId, String accountId, List<StackUserSyncView> stacks, UserSyncRequestFilter userSyncFilter,
             UserSyncOptions options, long startTime) {
         operationService.tryWithOperationCleanup(operationId, accountId, () -> {
             Set<String> environmentCrns = stacks.stream().map(StackUserSyncView::environmentCrn).collect(Collectors.toSet());
             UserSyncLogEvent logUserSyncEvent = options.isFullSync() ? FULL_USER_SYNC : PARTIAL_USER_SYNC;
             LOGGER.info("Starting {} for environments {} with operationId {} ...", logUserSyncEvent, environmentCrns, operationId);
+            LongAdder allocatedBytes = new LongAdder();
+            long allocatedAtStart = userSyncStatusService.getCurrentThreadAllocatedBytes();
 
             if (options.isFullSync()) {
                 umsVirtualGroupCreateService.createVirtualGroups(accountId, stacks);
             }
 
             Map<String, Future<SyncStatusDetail>> statusFutures =
-                    startAsyncSyncsForStacks(operationId, accountId, stacks, userSyncFilter, options, environmentCrns);
+                    startAsyncSyncsForStacks(operationId, accountId, stacks, userSyncFilter, options, allocatedBytes);
 
             List<SuccessDetails> success = new ArrayList<>();
             List<FailureDetails> failure = new ArrayList<>();
@@ -115,6 +127,9 @@ public class UserSyncForEnvService {
                 }
             });
             operationService.completeOperation(accountId, operationId, success, failure);
+            addAllocatedBytes(allocatedBytes, allocatedAtStart);
+            userSyncStatusService.reportSyncStatistics(accountId, operationId, options.isFullSync(), environmentCrns.size(),
+                    Duration.ofMillis(System.currentTimeMillis() - startTime), allocatedBytes.sum());
             LOGGER.info("Finished {} for environments {} with operationId {}.", logUserSyncEvent, environmentCrns, operationId);
         });
     }
@@ -128,25 +143,54 @@ public class UserSyncForEnvService {
     }
 
     private Map<String, Future<SyncStatusDetail>> startAsyncSyncsForStacks(String operationId, String accountId, List<StackUserSyncView> stacks,
-            UserSyncRequestFilter userSyncFilter, UserSyncOptions options, Set<String> environmentCrns) {
+            UserSyncRequestFilter userSyncFilter, UserSyncOptions options, LongAdder allocatedBytes) {
         if (userSyncFilter.getDeletedWorkloadUser().isEmpty()) {
-            UserSyncLogEvent logRetrieveUmsEvent = options.isFullSync() ? RETRIEVE_FULL_UMS_STATE : RETRIEVE_PARTIAL_UMS_STATE;
-            LOGGER.debug("Starting {} for environments {} ...", logRetrieveUmsEvent, environmentCrns);
-            Map<String, UmsUsersState> envToUmsStateMap = umsUsersStateProviderDispatcher
-                    .getEnvToUmsUsersStateMap(accountId, environmentCrns, userSyncFilter.getUserCrnFilter(),
-                            userSyncFilter.getMachineUserCrnFilter(), options);
-            LOGGER.debug("Finished {}.", logRetrieveUmsEvent);
             UmsEventGenerationIds umsEventGenerationIds = options.isFullSync() ?
                     umsEventGenerationIdsProvider.getEventGenerationIds(accountId) : null;
-            return stacks.stream()
-                    .collect(Collectors.toMap(StackUserSyncView::environmentCrn,
-                            stack -> asyncSynchronizeStack(stack, envToUmsStateMap.get(stack.environmentCrn()), umsEventGenerationIds, options,
-                                    operationId, accountId)));
+            boolean skipUnchangedEnvironments = incrementalSyncEnabled && options.isSkipUnchangedEnvironments() && umsEventGenerationIds != null;
+            Map<String, Future<SyncStatusDetail>> statusFutures = skipUnchangedEnvironments ?
+                    skipStacksInSync(accountId, stacks, umsEventGenerationIds) : new HashMap<>();
+            List<StackUserSyncView> stacksToSync = stacks.stream()
+                    .filter(stack -> !statusFutures.containsKey(stack.environmentCrn()))
+                    .toList();
+            if (!stacksToSync.isEmpty()) {
+                Set<String> environmentCrnsToSync = stacksToSync.stream().map(StackUserSyncView::environmentCrn).collect(Collectors.toSet());
+                UserSyncLogEvent logRetrieveUmsEvent = options.isFullSync() ? RETRIEVE_FULL_UMS_STATE : RETRIEVE_PARTIAL_UMS_STATE;
+                LOGGER.debug("Starting {} for environments {} ...", logRetrieveUmsEvent, environmentCrnsToSync);
+                Map<String, UmsUsersState> envToUmsStateMap = umsUsersStateProviderDispatcher
+                        .getEnvToUmsUsersStateMap(accountId, environmentCrnsToSync, userSyncFilter.getUserCrnFilter(),
+                                userSyncFilter.getMachineUserCrnFilter(), options);
+                LOGGER.debug("Finished {}.", logRetrieveUmsEvent);
+                stacksToSync.forEach(stack -> statusFutures.put(stack.environmentCrn(),
+                        asyncSynchronizeStack(stack, envToUmsStateMap.get(stack.environmentCrn()), umsEventGenerationIds, options, operationId, accountId,
+                                allocatedBytes)));
+            }
+            return statusFutures;
         } else {
             String deletedWorkloadUser = userSyncFilter.getDeletedWorkloadUser().get();
             return stacks.stream()
-                    .collect(Collectors.toMap(StackUserSyncView::environmentCrn, stack -> asyncSynchronizeStackForDeleteUser(stack, deletedWorkloadUser)));
+                    .collect(Collectors.toMap(StackUserSyncView::environmentCrn,
+                            stack -> asyncSynchronizeStackForDeleteUser(stack, deletedWorkloadUser, allocatedBytes)));
+        }
+    }
+
+    /**
+     * Environments whose last full sync succeeded with the current UMS event generation ids have not changed since then in UMS, so neither
+     * the UMS state is fetched nor the FreeIPA state is diffed for them. Only the automatic syncs skip environments, see
+     * {@link UserSyncOptions#isSkipUnchangedEnvironments()}, a sync requested by a user also repairs the changes made directly in FreeIPA.
+     */
+    private Map<String, Future<SyncStatusDetail>> skipStacksInSync(String accountId, List<StackUserSyncView> stacks,
+            UmsEventGenerationIds umsEventGenerationIds) {
+        Map<String, Future<SyncStatusDetail>> skippedSyncs = new HashMap<>();
+        for (StackUserSyncView stack : stacks) {
+            UserSyncStatus userSyncStatus = userSyncStatusService.getOrCreateForStack(stack.id());
+            if (userSyncStatus.getLastSuccessfulFullSync() != null
+                    && eventGenerationIdsChecker.isInSync(userSyncStatus, umsEventGenerationIds, stack.environmentCrn(), accountId)) {
+                LOGGER.info("Skipping user sync of environment {}, it is in sync with UMS", stack.environmentCrn());
+                skippedSyncs.put(stack.environmentCrn(), CompletableFuture.completedFuture(SyncStatusDetail.succeed(stack.environmentCrn())));
+            }
         }
+        return skippedSyncs;
     }
 
     private FailureDetails createFailureDetails(String envCrn, String details, Multimap<String, String> warnings) {
@@ -157,20 +201,39 @@ public class UserSyncForEnvService {
     }
 
     private Future<SyncStatusDetail> asyncSynchronizeStack(StackUserSyncView stack, UmsUsersState umsUsersState, UmsEventGenerationIds umsEventGenerationIds,
-            UserSyncOptions options, String operationId, String accountId) {
+            UserSyncOptions options, String operationId, String accountId, LongAdder allocatedBytes) {
         return asyncTaskExecutor.submit(() -> {
-            SyncStatusDetail statusDetail = userSyncForStackService.synchronizeStack(stack, umsUsersState, options, operationId);
-            if (options.isFullSync() && statusDetail.getStatus() == SynchronizationStatus.COMPLETED) {
-                UserSyncStatus userSyncStatus = userSyncStatusService.getOrCreateForStack(stack.id());
-                userSyncStatus.setUmsEventGenerationIds(new Json(umsEventGenerationIds));
-                userSyncStatus.setLastSuccessfulFullSync(operationService.getOperationForAccountIdAndOperationId(accountId, operationId));
-                userSyncStatusService.save(userSyncStatus);
+            long allocatedAtStart = userSyncStatusService.getCurrentThreadAllocatedBytes();
+            try {
+                SyncStatusDetail statusDetail = userSyncForStackService.synchronizeStack(stack, umsUsersState, options, operationId);
+                if (options.isFullSync() && statusDetail.getStatus() == SynchronizationStatus.COMPLETED) {
+                    UserSyncStatus userSyncStatus = userSyncStatusService.getOrCreateForStack(stack.id());
+                    userSyncStatus.setUmsEventGenerationIds(new Json(umsEventGenerationIds));
+                    userSyncStatus.setLastSuccessfulFullSync(operationService.getOperationForAccountIdAndOperationId(accountId, operationId));
+                    userSyncStatusService.save(userSyncStatus);
+                }
+                return statusDetail;
+            } finally {
+                addAllocatedBytes(allocatedBytes, allocatedAtStart);
             }
-            return statusDetail;
         });
     }
 
-    private Future<SyncStatusDetail> asyncSynchronizeStackForDeleteUser(StackUserSyncView stack, String deletedWorkloadUser) {
-        return asyncTaskExecutor.submit(() -> userSyncForStackService.synchronizeStackForDeleteUser(stack, deletedWorkloadUser));
+    private Future<SyncStatusDetail> asyncSynchronizeStackForDeleteUser(StackUserSyncView stack, String deletedWorkloadUser, LongAdder allocatedBytes) {
+        return asyncTaskExecutor.submit(() -> {
+            long allocatedAtStart = userSyncStatusService.getCurrentThreadAllocatedBytes();
+            try {
+                return userSyncForStackService.synchronizeStackForDeleteUser(stack, deletedWorkloadUser);
+            } finally {
+                addAllocatedBytes(allocatedBytes, allocatedAtStart);
+            }
+        });
+    }
+
+    private void addAllocatedBytes(LongAdder allocatedBytes, long allocatedAtStart) {
+        long allocatedAtEnd = userSyncStatusService.getCurrentThreadAllocatedBytes();
+        if (allocatedAtStart >= 0 && allocatedAtEnd >= 0) {
+            allocatedBytes.add(allocatedAtEnd - allocatedAtStart);
+        }
     }
 }
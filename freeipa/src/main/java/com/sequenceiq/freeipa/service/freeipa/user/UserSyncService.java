@@ -23,6 +23,7 @@ import com.sequenceiq.authorization.service.CustomCheckUtil;
 import com.sequenceiq.cloudbreak.auth.ThreadBasedUserCrnProvider;
 import com.sequenceiq.cloudbreak.auth.altus.EntitlementService;
 import com.sequenceiq.cloudbreak.auth.crn.RegionAwareInternalCrnGeneratorFactory;
+import com.sequenceiq.cloudbreak.auth.crn.RegionAwareInternalCrnGeneratorUtil;
 import com.sequenceiq.cloudbreak.common.exception.BadRequestException;
 import com.sequenceiq.cloudbreak.common.exception.NotFoundException;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
@@ -90,7 +91,7 @@ public class UserSyncService {
         UserSyncRequestFilter userSyncFilter = new UserSyncRequestFilter(userCrnFilter, machineUserCrnFilter, Optional.empty());
         checkPartialUserSync(accountId, userSyncFilter);
         List<StackUserSyncView> stacks = getStacksForSync(accountId, actorCrn, environmentCrnFilter, userSyncFilter);
-        UserSyncOptions options = getUserSyncOptions(accountId, userSyncFilter.isFullSync(), workloadCredentialsUpdateType);
+        UserSyncOptions options = getUserSyncOptions(accountId, actorCrn, userSyncFilter.isFullSync(), workloadCredentialsUpdateType);
         return performSyncForStacks(accountId, userSyncFilter, options, stacks);
     }
 
@@ -100,7 +101,7 @@ public class UserSyncService {
         List<StackUserSyncView> stacks = getStacksForSync(accountId, actorCrn, environmentCrnFilter, userSyncFilter);
         List<String> relatedEnvironmentCrns = stacks.stream().map(StackUserSyncView::environmentCrn).collect(Collectors.toList());
         customCheckUtil.run(actorCrn, () -> commonPermissionCheckingUtils.checkPermissionForUserOnResources(action, actorCrn, relatedEnvironmentCrns));
-        UserSyncOptions options = getUserSyncOptions(accountId, userSyncFilter.isFullSync(), workloadCredentialsUpdateType);
+        UserSyncOptions options = getUserSyncOptions(accountId, actorCrn, userSyncFilter.isFullSync(), workloadCredentialsUpdateType);
         return performSyncForStacks(accountId, userSyncFilter, options, stacks);
     }
 
@@ -112,7 +113,8 @@ public class UserSyncService {
         }
     }
 
-    private UserSyncOptions getUserSyncOptions(String accountId, boolean fullSync, WorkloadCredentialsUpdateType requestedCredentialsUpdateType) {
+    private UserSyncOptions getUserSyncOptions(String accountId, String actorCrn, boolean fullSync,
+            WorkloadCredentialsUpdateType requestedCredentialsUpdateType) {
         WorkloadCredentialsUpdateType credentialsUpdateType = requestedCredentialsUpdateType == WorkloadCredentialsUpdateType.UPDATE_IF_CHANGED &&
                 !entitlementService.usersyncCredentialsUpdateOptimizationEnabled(accountId) ?
                 WorkloadCredentialsUpdateType.FORCE_UPDATE : requestedCredentialsUpdateType;
@@ -124,6 +126,8 @@ public class UserSyncService {
                 .largeGroupThreshold(largeGroupThreshold)
                 .largeGroupLimit(largeGroupLimit)
                 .splitFreeIPAUserRetrievalEnabled(entitlementService.isUserSyncSplitFreeIPAUserRetrievalEnabled(accountId))
+                // Only the automatic syncs of the internal actor may skip environments, a sync requested by a user always runs
+                .skipUnchangedEnvironments(fullSync && RegionAwareInternalCrnGeneratorUtil.isInternalCrn(actorCrn))
                 .build();
         LOGGER.info("Credentials update optimization is{} enabled for this sync request",
                 userSyncOptions.isCredentialsUpdateOptimizationEnabled() ? "" : " not");
@@ -1,23 +1,36 @@
 package com.sequenceiq.freeipa.service.freeipa.user;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.Optional;
 
 import jakarta.inject.Inject;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.common.json.Json;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.entity.UserSyncStatus;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
+import com.sequenceiq.freeipa.metrics.MetricType;
 import com.sequenceiq.freeipa.repository.UserSyncStatusRepository;
 import com.sequenceiq.freeipa.service.freeipa.user.model.UmsEventGenerationIds;
 
 @Service
 public class UserSyncStatusService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserSyncStatusService.class);
+
+    private static final long BYTES_IN_MB = 1024L * 1024L;
+
     @Inject
     private UserSyncStatusRepository userSyncStatusRepository;
 
+    @Inject
+    private FreeIpaMetricService freeIpaMetricService;
+
     public UserSyncStatus save(UserSyncStatus userSyncStatus) {
         return userSyncStatusRepository.save(userSyncStatus);
     }
@@ -37,4 +50,23 @@ public class UserSyncStatusService {
         return userSyncStatusRepository.findByStackId(stack.getId());
     }
 
+    /**
+     * Returns the bytes allocated on the heap by the current thread so far, or -1 if the JVM does not measure it for the thread, e.g. for a
+     * virtual thread. The difference of two calls is the heap allocated by one sync step, which is not affected by the concurrent syncs of
+     * other accounts, unlike the usage of the heap memory pools shared by the whole JVM.
+     */
+    public long getCurrentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    public void reportSyncStatistics(String accountId, String operationId, boolean fullSync, int environmentCount, Duration duration,
+            long allocatedBytes) {
+        LOGGER.info("User sync {} of account {} finished for {} environment(s) in {} ms, full sync: {}, allocated heap: {} MB",
+                operationId, accountId, environmentCount, duration.toMillis(), fullSync, allocatedBytes / BYTES_IN_MB);
+        freeIpaMetricService.recordTimerMetric(MetricType.USERSYNC_DURATION, duration, "fullSync", String.valueOf(fullSync));
+        freeIpaMetricService.gauge(MetricType.USERSYNC_ALLOCATED_HEAP, allocatedBytes);
+    }
 }
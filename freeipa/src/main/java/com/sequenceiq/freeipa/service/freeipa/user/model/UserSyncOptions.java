@@ -20,10 +20,12 @@ public class UserSyncOptions {
 
     private final boolean splitFreeIPAUserRetrievalEnabled;
 
+    private final boolean skipUnchangedEnvironments;
+
     @SuppressWarnings("checkstyle:ExecutableStatementCount")
     private UserSyncOptions(boolean fullSync, boolean fmsToFreeIpaBatchCallEnabled,
             WorkloadCredentialsUpdateType workloadCredentialsUpdateType, boolean enforceGroupMembershipLimitEnabled,
-            int largeGroupThreshold, int largeGroupLimit, boolean splitFreeIPAUserRetrievalEnabled) {
+            int largeGroupThreshold, int largeGroupLimit, boolean splitFreeIPAUserRetrievalEnabled, boolean skipUnchangedEnvironments) {
         checkArgument(workloadCredentialsUpdateType == WorkloadCredentialsUpdateType.UPDATE_IF_CHANGED ||
                 workloadCredentialsUpdateType == WorkloadCredentialsUpdateType.FORCE_UPDATE);
         this.fullSync = fullSync;
@@ -33,6 +35,7 @@ public class UserSyncOptions {
         this.largeGroupThreshold = largeGroupThreshold;
         this.largeGroupLimit = largeGroupLimit;
         this.splitFreeIPAUserRetrievalEnabled = splitFreeIPAUserRetrievalEnabled;
+        this.skipUnchangedEnvironments = skipUnchangedEnvironments;
     }
 
     public boolean isFullSync() {
@@ -63,6 +66,10 @@ public class UserSyncOptions {
         return splitFreeIPAUserRetrievalEnabled;
     }
 
+    public boolean isSkipUnchangedEnvironments() {
+        return skipUnchangedEnvironments;
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -82,6 +89,8 @@ public class UserSyncOptions {
 
         private boolean splitFreeIPAUserRetrievalEnabled;
 
+        private boolean skipUnchangedEnvironments;
+
         public Builder fullSync(boolean fullSync) {
             this.fullSync = fullSync;
             return this;
@@ -117,9 +126,15 @@ public class UserSyncOptions {
             return this;
         }
 
+        public Builder skipUnchangedEnvironments(boolean skipUnchangedEnvironments) {
+            this.skipUnchangedEnvironments = skipUnchangedEnvironments;
+            return this;
+        }
+
         public UserSyncOptions build() {
             return new UserSyncOptions(fullSync, fmsToFreeIpaBatchCallEnabled, workloadCredentialsUpdateType,
-                    enforceGroupMembershipLimitEnabled, largeGroupThreshold, largeGroupLimit, splitFreeIPAUserRetrievalEnabled);
+                    enforceGroupMembershipLimitEnabled, largeGroupThreshold, largeGroupLimit, splitFreeIPAUserRetrievalEnabled,
+                    skipUnchangedEnvironments);
         }
     }
 }
@@ -11,6 +11,7 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multimap;
 
 public class UsersState {
@@ -26,7 +27,7 @@ public class UsersState {
         Set<FmsGroup> groups, Set<FmsUser> users, Multimap<String, String> groupMembership, Map<String, UserMetadata> userMetadataMap) {
         this.groups = ImmutableSet.copyOf(requireNonNull(groups, "groups is null"));
         this.users = ImmutableSet.copyOf(requireNonNull(users, "users is null"));
-        this.groupMembership = ImmutableMultimap.copyOf(requireNonNull(groupMembership, "group membership is null"));
+        this.groupMembership = ImmutableSetMultimap.copyOf(requireNonNull(groupMembership, "group membership is null"));
         this.userMetadataMap = ImmutableMap.copyOf(requireNonNull(userMetadataMap, "user metadata map is null"));
     }
 
@@ -21,6 +21,7 @@ import com.sequenceiq.freeipa.client.FreeIpaClientException;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.rotation.FreeIpaSecretRotationStep;
 import com.sequenceiq.freeipa.service.freeipa.FreeIpaClientFactory;
+import com.sequenceiq.freeipa.service.freeipa.FreeIpaClientPool;
 import com.sequenceiq.freeipa.service.freeipa.user.AdminUserService;
 import com.sequenceiq.freeipa.service.rotation.adminpassword.context.FreeIpaAdminPasswordRotationContext;
 import com.sequenceiq.freeipa.service.stack.StackService;
@@ -36,6 +37,9 @@ public class FreeIpaAdminPasswordRotationExecutor extends AbstractRotationExecut
     @Inject
     private FreeIpaClientFactory freeIpaClientFactory;
 
+    @Inject
+    private FreeIpaClientPool freeIpaClientPool;
+
     @Inject
     private StackService stackService;
 
@@ -58,6 +62,7 @@ public class FreeIpaAdminPasswordRotationExecutor extends AbstractRotationExecut
                     try {
                         FreeIpaClient freeIpaClient = freeIpaClientFactory.getFreeIpaClientForStack(stack);
                         adminUserService.updateAdminUserPassword(newPassword, freeIpaClient);
+                        freeIpaClientPool.invalidate(stack.getId());
                     } catch (FreeIpaClientException e) {
                         LOGGER.info("Freeipa client can not be created for admin password update", e);
                         throw new CloudbreakRuntimeException("Freeipa client can not be created for admin password update", e);
@@ -82,6 +87,8 @@ public class FreeIpaAdminPasswordRotationExecutor extends AbstractRotationExecut
         RotationSecret adminPasswordRotationSecret = uncachedSecretServiceForRotation.getRotation(rotationContext.getAdminPasswordSecret());
         String backupPassword = adminPasswordRotationSecret.getBackupSecret();
         Stack stack = stackService.getByEnvironmentCrnAndAccountIdWithLists(environmentCrnAsString, environmentCrn.getAccountId());
+        // the password is checked by logging in, so a pooled client must not be used for it
+        freeIpaClientPool.invalidate(stack.getId());
         try {
             freeIpaClientFactory.getFreeIpaClientForStack(stack);
             LOGGER.info("We were able to create client with the backup secret, so we did not modify the admin password, therefore " +
@@ -119,6 +126,7 @@ public class FreeIpaAdminPasswordRotationExecutor extends AbstractRotationExecut
         String environmentCrnAsString = rotationContext.getResourceCrn();
         Crn environmentCrn = Crn.safeFromString(environmentCrnAsString);
         Stack stack = stackService.getByEnvironmentCrnAndAccountIdWithLists(environmentCrnAsString, environmentCrn.getAccountId());
+        freeIpaClientPool.invalidate(stack.getId());
         ThreadBasedVaultReadFieldProvider.doWithNewSecret(Set.of(rotationContext.getAdminPasswordSecret()), () -> {
             try {
                 freeIpaClientFactory.getFreeIpaClientForStack(stack);
@@ -0,0 +1,139 @@
+package com.sequenceiq.freeipa.service.stack;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.sequenceiq.cloudbreak.common.service.Clock;
+import com.sequenceiq.freeipa.client.FreeIpaClientException;
+import com.sequenceiq.freeipa.configuration.HealthCheckConfig;
+import com.sequenceiq.freeipa.entity.InstanceMetaData;
+import com.sequenceiq.freeipa.entity.Stack;
+
+/**
+ * Checks the health of the instances of a FreeIPA stack in parallel, with a timeout for each instance. The results are kept for a short time
+ * and shared by the status sync job and the health API, and a check which is already running is joined instead of being started again.
+ * The flows which need a fresh result call {@link FreeIpaInstanceHealthDetailsService} directly.
+ */
+@Service
+public class FreeIpaHealthSnapshotService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreeIpaHealthSnapshotService.class);
+
+    @Value("${freeipa.healthcheck.snapshot.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${freeipa.healthcheck.snapshot.instance-timeout-seconds:60}")
+    private long instanceTimeoutSeconds;
+
+    @Inject
+    private FreeIpaInstanceHealthDetailsService healthDetailsService;
+
+    @Inject
+    @Qualifier(HealthCheckConfig.HEALTH_CHECK_TASK_EXECUTOR)
+    private ExecutorService healthCheckTaskExecutor;
+
+    @Inject
+    private Clock clock;
+
+    private final Map<SnapshotKey, SnapshotEntry> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the health of the given instances in the order of the collection. The call takes at most the instance timeout, the instances
+     * which do not answer in time are reported as failed.
+     */
+    public Map<InstanceMetaData, FreeIpaInstanceHealth> getHealth(Stack stack, Collection<InstanceMetaData> instances) {
+        long now = clock.getCurrentTimeMillis();
+        removeExpiredSnapshots(now);
+        Map<InstanceMetaData, Future<FreeIpaInstanceHealth>> futures = new LinkedHashMap<>();
+        for (InstanceMetaData instance : instances) {
+            futures.put(instance, getOrStartCheck(stack, instance, now));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(instanceTimeoutSeconds);
+        Map<InstanceMetaData, FreeIpaInstanceHealth> result = new LinkedHashMap<>();
+        futures.forEach((instance, future) -> result.put(instance, waitForResult(stack, instance, future, deadline)));
+        return result;
+    }
+
+    private Future<FreeIpaInstanceHealth> getOrStartCheck(Stack stack, InstanceMetaData instance, long now) {
+        if (stack.getId() == null || instance.getId() == null) {
+            return startCheck(stack, instance);
+        }
+        SnapshotEntry entry = snapshots.compute(new SnapshotKey(stack.getId(), instance.getId()), (key, current) -> {
+            if (current != null && !current.future().isCancelled() && (!current.future().isDone() || !current.isExpired(now, ttlSeconds))) {
+                LOGGER.debug("Using the health check of {} started {} ms ago", instance.getDiscoveryFQDN(), now - current.startedAt());
+                return current;
+            }
+            return new SnapshotEntry(startCheck(stack, instance), now);
+        });
+        return entry.future();
+    }
+
+    private Future<FreeIpaInstanceHealth> startCheck(Stack stack, InstanceMetaData instance) {
+        try {
+            return healthCheckTaskExecutor.submit(() -> {
+                try {
+                    return healthDetailsService.getInstanceHealth(stack, instance);
+                } catch (FreeIpaClientException | RuntimeException e) {
+                    LOGGER.info("Health check of FreeIPA instance {} failed: {}", instance.getInstanceId(), e.getMessage(), e);
+                    return FreeIpaInstanceHealth.failed(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Health check of FreeIPA instance {} could not be started", instance.getInstanceId(), e);
+            return CompletableFuture.completedFuture(FreeIpaInstanceHealth.failed(e));
+        }
+    }
+
+    private FreeIpaInstanceHealth waitForResult(Stack stack, InstanceMetaData instance, Future<FreeIpaInstanceHealth> future, long deadline) {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            if (stack.getId() != null && instance.getId() != null) {
+                snapshots.computeIfPresent(new SnapshotKey(stack.getId(), instance.getId()), (key, entry) -> entry.future() == future ? null : entry);
+            }
+            String message = String.format("Health check of %s did not finish in %d seconds", instance.getDiscoveryFQDN(), instanceTimeoutSeconds);
+            LOGGER.info(message);
+            return FreeIpaInstanceHealth.failed(new FreeIpaClientException(message, e));
+        } catch (CancellationException e) {
+            return FreeIpaInstanceHealth.failed(new FreeIpaClientException("Health check of " + instance.getDiscoveryFQDN() + " was cancelled", e));
+        } catch (ExecutionException e) {
+            return FreeIpaInstanceHealth.failed(e.getCause() instanceof Exception cause ? cause : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return FreeIpaInstanceHealth.failed(e);
+        }
+    }
+
+    private void removeExpiredSnapshots(long now) {
+        snapshots.values().removeIf(entry -> entry.future().isDone() && entry.isExpired(now, ttlSeconds));
+    }
+
+    private record SnapshotKey(Long stackId, Long instanceMetaDataId) {
+    }
+
+    private record SnapshotEntry(Future<FreeIpaInstanceHealth> future, long startedAt) {
+
+        boolean isExpired(long now, long ttlSeconds) {
+            return now - startedAt >= TimeUnit.SECONDS.toMillis(ttlSeconds);
+        }
+    }
+}
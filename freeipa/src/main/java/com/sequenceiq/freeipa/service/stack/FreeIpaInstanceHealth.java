@@ -0,0 +1,61 @@
+package com.sequenceiq.freeipa.service.stack;
+
+import com.sequenceiq.cloudbreak.client.RPCResponse;
+import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.health.NodeHealthDetails;
+
+/**
+ * Result of one health check of a FreeIPA instance, in the form used by the status sync and in the form of the health API.
+ */
+public class FreeIpaInstanceHealth {
+
+    private final NodeHealthDetails nodeHealthDetails;
+
+    private final RPCResponse<Boolean> checkResponse;
+
+    private final Exception checkFailure;
+
+    private final Exception failure;
+
+    private FreeIpaInstanceHealth(NodeHealthDetails nodeHealthDetails, RPCResponse<Boolean> checkResponse, Exception checkFailure, Exception failure) {
+        this.nodeHealthDetails = nodeHealthDetails;
+        this.checkResponse = checkResponse;
+        this.checkFailure = checkFailure;
+        this.failure = failure;
+    }
+
+    public static FreeIpaInstanceHealth of(NodeHealthDetails nodeHealthDetails, RPCResponse<Boolean> checkResponse) {
+        return new FreeIpaInstanceHealth(nodeHealthDetails, checkResponse, null, null);
+    }
+
+    /**
+     * The health details are available, but the response can not be used by the status sync, e.g. it was received from another instance.
+     */
+    public static FreeIpaInstanceHealth withCheckFailure(NodeHealthDetails nodeHealthDetails, Exception checkFailure) {
+        return new FreeIpaInstanceHealth(nodeHealthDetails, null, checkFailure, null);
+    }
+
+    public static FreeIpaInstanceHealth failed(Exception failure) {
+        return new FreeIpaInstanceHealth(null, null, null, failure);
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public Exception getFailure() {
+        return failure;
+    }
+
+    public NodeHealthDetails getNodeHealthDetails() {
+        return nodeHealthDetails;
+    }
+
+    public RPCResponse<Boolean> getCheckResponse() throws Exception {
+        if (failure != null) {
+            throw failure;
+        } else if (checkFailure != null) {
+            throw checkFailure;
+        }
+        return checkResponse;
+    }
+}
@@ -88,6 +88,26 @@ public class FreeIpaInstanceHealthDetailsService {
         }
     }
 
+    /**
+     * Runs the health check of the instance once, and returns the result both as the health details and as the response of
+     * {@link #checkFreeIpaHealth(Stack, InstanceMetaData)}.
+     */
+    @Retryable(value = RetryableFreeIpaClientException.class, maxAttempts = 2)
+    public FreeIpaInstanceHealth getInstanceHealth(Stack stack, InstanceMetaData instance) throws FreeIpaClientException {
+        if (healthCheckAvailabilityChecker.isCdpFreeIpaHeathAgentAvailable(stack)) {
+            RPCResponse<CheckResult> rpcResponse = freeIpaHealthCheck(stack, instance);
+            NodeHealthDetails nodeHealthDetails = parseMessages(rpcResponse, instance);
+            try {
+                return FreeIpaInstanceHealth.of(nodeHealthDetails, toBooleanRpcResponse(rpcResponse, instance.getDiscoveryFQDN()));
+            } catch (FreeIpaClientException e) {
+                return FreeIpaInstanceHealth.withCheckFailure(nodeHealthDetails, e);
+            }
+        } else {
+            RPCResponse<Boolean> rpcResponse = legacyFreeIpaHealthCheck(stack, instance);
+            return FreeIpaInstanceHealth.of(legacyParseMessages(rpcResponse, instance), rpcResponse);
+        }
+    }
+
     private RPCResponse<CheckResult> freeIpaHealthCheck(Stack stack, InstanceMetaData instance) throws FreeIpaClientException {
         if (instance.getDiscoveryFQDN() == null) {
             LOGGER.info("The health check cannot run on {} because the instance was not fully installed and it is missing the FQDN", instance);
@@ -1,5 +1,9 @@
 package com.sequenceiq.freeipa.service.stack;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import jakarta.inject.Inject;
 
 import org.slf4j.Logger;
@@ -19,6 +23,9 @@ public class FreeIpaSafeInstanceHealthDetailsService {
     @Inject
     private FreeIpaInstanceHealthDetailsService healthDetailsService;
 
+    @Inject
+    private FreeIpaHealthSnapshotService healthSnapshotService;
+
     public NodeHealthDetails getInstanceHealthDetails(Stack stack, InstanceMetaData instance) {
         NodeHealthDetails nodeHealthDetails;
         try {
@@ -30,6 +37,22 @@ public class FreeIpaSafeInstanceHealthDetailsService {
         return nodeHealthDetails;
     }
 
+    /**
+     * Returns the health details of the instances from the shared health snapshot of the stack, the instances are checked in parallel.
+     */
+    public Map<InstanceMetaData, NodeHealthDetails> getInstanceHealthDetailsSnapshot(Stack stack, Collection<InstanceMetaData> instances) {
+        Map<InstanceMetaData, NodeHealthDetails> result = new LinkedHashMap<>();
+        healthSnapshotService.getHealth(stack, instances).forEach((instance, health) -> {
+            if (health.isFailed()) {
+                LOGGER.error(String.format("Unable to check the health of FreeIPA instance: %s", instance.getInstanceId()), health.getFailure());
+                result.put(instance, createNodeResponseWithStatusAndIssue(instance, InstanceStatus.UNREACHABLE, health.getFailure().getLocalizedMessage()));
+            } else {
+                result.put(instance, health.getNodeHealthDetails());
+            }
+        });
+        return result;
+    }
+
     public NodeHealthDetails createNodeResponseWithStatusAndIssue(InstanceMetaData instance, InstanceStatus status, String issue) {
         NodeHealthDetails nodeResponse = new NodeHealthDetails();
         nodeResponse.setName(instance.getDiscoveryFQDN());
@@ -40,11 +40,14 @@ public class FreeIpaStackHealthDetailsService {
         Stack stack = stackService.getByEnvironmentCrnAndAccountIdWithListsAndMdcContext(environmentCrn, accountId);
         List<InstanceMetaData> instances = stack.getAllInstanceMetaDataList();
 
+        Map<InstanceMetaData, NodeHealthDetails> checkedInstances = healthDetailsService.getInstanceHealthDetailsSnapshot(stack,
+                instances.stream().filter(this::shouldRunHealthCheck).collect(Collectors.toList()));
+
         HealthDetailsFreeIpaResponse response = new HealthDetailsFreeIpaResponse();
         for (InstanceMetaData instance : instances) {
             NodeHealthDetails nodeResponse;
-            if (shouldRunHealthCheck(instance)) {
-                nodeResponse = healthDetailsService.getInstanceHealthDetails(stack, instance);
+            if (checkedInstances.containsKey(instance)) {
+                nodeResponse = checkedInstances.get(instance);
             } else {
                 String issue = "Unable to check health as instance is " + instance.getInstanceStatus().name();
                 nodeResponse = healthDetailsService.createNodeResponseWithStatusAndIssue(instance, instance.getInstanceStatus(), issue);
@@ -23,7 +23,8 @@ import com.sequenceiq.cloudbreak.client.RPCResponse;
 import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.common.DetailedStackStatus;
 import com.sequenceiq.freeipa.entity.InstanceMetaData;
 import com.sequenceiq.freeipa.entity.Stack;
-import com.sequenceiq.freeipa.service.stack.FreeIpaInstanceHealthDetailsService;
+import com.sequenceiq.freeipa.service.stack.FreeIpaHealthSnapshotService;
+import com.sequenceiq.freeipa.service.stack.FreeIpaInstanceHealth;
 
 @Component
 public class FreeipaChecker {
@@ -31,7 +32,7 @@ public class FreeipaChecker {
     private static final Logger LOGGER = LoggerFactory.getLogger(FreeipaChecker.class);
 
     @Inject
-    private FreeIpaInstanceHealthDetailsService freeIpaInstanceHealthDetailsService;
+    private FreeIpaHealthSnapshotService freeIpaHealthSnapshotService;
 
     private Pair<Map<InstanceMetaData, DetailedStackStatus>, String> checkStatus(Stack stack, Set<InstanceMetaData> checkableInstances) throws Exception {
         return checkedMeasure(() -> {
@@ -39,10 +40,11 @@ public class FreeipaChecker {
             List<RPCResponse<Boolean>> responses = new LinkedList<>();
             LOGGER.info("Checking FreeIPA status for instance IDs {}",
                     checkableInstances.stream().map(InstanceMetaData::getInstanceId).collect(Collectors.toList()));
+            Map<InstanceMetaData, FreeIpaInstanceHealth> healthSnapshot = checkedMeasure(
+                    () -> freeIpaHealthSnapshotService.getHealth(stack, checkableInstances), LOGGER, ":::Auto sync::: FreeIPA health checks ran in {}ms");
             for (InstanceMetaData instanceMetaData : checkableInstances) {
                 try {
-                    RPCResponse<Boolean> response = checkedMeasure(() -> freeIpaInstanceHealthDetailsService.checkFreeIpaHealth(stack, instanceMetaData), LOGGER,
-                            ":::Auto sync::: FreeIPA health check ran in {}ms");
+                    RPCResponse<Boolean> response = healthSnapshot.get(instanceMetaData).getCheckResponse();
                     responses.add(response);
                     DetailedStackStatus newDetailedStackStatus;
                     if (response.getResult()) {
@@ -6,7 +6,6 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -32,6 +31,8 @@ import com.sequenceiq.freeipa.service.stack.StackService;
 @ExtendWith(MockitoExtension.class)
 public class FreeIpaCostServiceTest {
 
+    private static final Long STACK_ID = 1L;
+
     @Mock
     private UsdCalculatorService usdCalculatorService;
 
@@ -62,7 +63,7 @@ public class FreeIpaCostServiceTest {
         when(stackService.getByEnvironmentCrnsAndCloudPlatforms(any(), any())).thenReturn(List.of(getStack()));
         when(usdCalculatorService.calculateProviderCost(any())).thenReturn(0.5);
         when(usdCalculatorService.calculateClouderaCost(any(), eq("FREEIPA"))).thenReturn(0.5);
-        when(instanceTypeCollectorService.getAllInstanceTypesForCost(any())).thenReturn(Optional.of(new ClusterCostDto()));
+        when(instanceTypeCollectorService.getAllInstanceTypesForCost(any())).thenReturn(Map.of(STACK_ID, new ClusterCostDto()));
 
         ThreadBasedUserCrnProvider.doAs("crn:cdp:iam:us-west-1:1234:user:1", () -> {
             Map<String, RealTimeCost> costs = underTest.getCosts(List.of("ENVIRONMENT_CRN"));
@@ -79,7 +80,7 @@ public class FreeIpaCostServiceTest {
         when(entitlementService.isCO2CalculationEnabled(any())).thenReturn(true);
         when(stackService.getByEnvironmentCrnsAndCloudPlatforms(any(), any())).thenReturn(List.of(getStack()));
         when(co2CostCalculatorService.calculateCO2InGrams(any())).thenReturn(10.0);
-        when(instanceTypeCollectorService.getAllInstanceTypesForCO2(any())).thenReturn(Optional.of(new ClusterCO2Dto()));
+        when(instanceTypeCollectorService.getAllInstanceTypesForCO2(any())).thenReturn(Map.of(STACK_ID, new ClusterCO2Dto()));
 
         ThreadBasedUserCrnProvider.doAs("crn:cdp:iam:us-west-1:1234:user:1", () -> {
             Map<String, RealTimeCO2> co2Map = underTest.getCO2(List.of("ENVIRONMENT_CRN"));
@@ -92,6 +93,7 @@ public class FreeIpaCostServiceTest {
 
     private Stack getStack() {
         Stack stack = new Stack();
+        stack.setId(STACK_ID);
         stack.setEnvironmentCrn("ENVIRONMENT_CRN");
         stack.setName("RESOURCE_NAME");
         stack.setResourceCrn("RESOURCE_CRN");
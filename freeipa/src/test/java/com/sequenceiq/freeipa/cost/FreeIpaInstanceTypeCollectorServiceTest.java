@@ -20,6 +20,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.sequenceiq.cloudbreak.auth.ThreadBasedUserCrnProvider;
 import com.sequenceiq.cloudbreak.cloud.PricingCache;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypeKey;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypePricingService;
+import com.sequenceiq.cloudbreak.cloud.cost.InstanceTypeResources;
 import com.sequenceiq.cloudbreak.co2.model.ClusterCO2Dto;
 import com.sequenceiq.cloudbreak.co2.model.DiskCO2Dto;
 import com.sequenceiq.cloudbreak.co2.model.InstanceGroupCO2Dto;
@@ -42,6 +45,8 @@ import com.sequenceiq.freeipa.service.CredentialService;
 @ExtendWith(MockitoExtension.class)
 public class FreeIpaInstanceTypeCollectorServiceTest {
 
+    private static final Long STACK_ID = 1L;
+
     private static final String REGION = "REGION";
 
     private static final String INSTANCE_TYPE = "INSTANCE_TYPE";
@@ -63,6 +68,9 @@ public class FreeIpaInstanceTypeCollectorServiceTest {
     @Mock
     private CredentialToExtendedCloudCredentialConverter credentialConverter;
 
+    @Mock
+    private InstanceTypePricingService instanceTypePricingService;
+
     @InjectMocks
     private FreeIpaInstanceTypeCollectorService underTest;
 
@@ -71,12 +79,13 @@ public class FreeIpaInstanceTypeCollectorServiceTest {
         when(clouderaCostCache.getPriceByType(any())).thenReturn(0.5);
         when(pricingCaches.containsKey(any(CloudPlatform.class))).thenReturn(Boolean.TRUE);
         when(pricingCaches.get(any(CloudPlatform.class))).thenReturn(pricingCache);
-        when(pricingCache.getPriceForInstanceType(eq(REGION), eq(INSTANCE_TYPE), any())).thenReturn(Optional.of(0.5));
+        when(instanceTypePricingService.getPricesForInstanceTypes(any()))
+                .thenReturn(Map.of(new InstanceTypeKey(CloudPlatform.AZURE, REGION, INSTANCE_TYPE), 0.5));
         when(pricingCache.getStoragePricePerGBHour(eq(REGION), any(), anyInt())).thenReturn(Optional.of(MAGIC_PRICE_PER_DISK_GB));
         when(credentialService.getCredentialByEnvCrn(any())).thenReturn(getCredential("AZURE"));
 
         ThreadBasedUserCrnProvider.doAs("crn:cdp:iam:us-west-1:1234:user:1", () -> {
-            Optional<ClusterCostDto> clusterCostDto = underTest.getAllInstanceTypesForCost(getStack("AZURE"));
+            Optional<ClusterCostDto> clusterCostDto = Optional.ofNullable(underTest.getAllInstanceTypesForCost(List.of(getStack("AZURE"))).get(STACK_ID));
 
             Assertions.assertTrue(clusterCostDto.isPresent());
             Assertions.assertEquals("AVAILABLE", clusterCostDto.get().getStatus());
@@ -94,13 +103,12 @@ public class FreeIpaInstanceTypeCollectorServiceTest {
     @Test
     void getAllInstanceTypesForCO2() {
         when(pricingCaches.containsKey(any(CloudPlatform.class))).thenReturn(Boolean.TRUE);
-        when(pricingCaches.get(any(CloudPlatform.class))).thenReturn(pricingCache);
-        when(pricingCache.getCpuCountForInstanceType(eq(REGION), eq(INSTANCE_TYPE), any())).thenReturn(Optional.of(8));
-        when(pricingCache.getMemoryForInstanceType(eq(REGION), eq(INSTANCE_TYPE), any())).thenReturn(Optional.of(16));
+        when(instanceTypePricingService.getResourcesForInstanceTypes(any()))
+                .thenReturn(Map.of(new InstanceTypeKey(CloudPlatform.AWS, REGION, INSTANCE_TYPE), new InstanceTypeResources(8, 16)));
         when(credentialService.getCredentialByEnvCrn(any())).thenReturn(getCredential("AWS"));
 
         ThreadBasedUserCrnProvider.doAs("crn:cdp:iam:us-west-1:1234:user:1", () -> {
-            Optional<ClusterCO2Dto> clusterCO2Dto = underTest.getAllInstanceTypesForCO2(getStack("AWS"));
+            Optional<ClusterCO2Dto> clusterCO2Dto = Optional.ofNullable(underTest.getAllInstanceTypesForCO2(List.of(getStack("AWS"))).get(STACK_ID));
 
             Assertions.assertTrue(clusterCO2Dto.isPresent());
             Assertions.assertEquals("AVAILABLE", clusterCO2Dto.get().getStatus());
@@ -120,6 +128,7 @@ public class FreeIpaInstanceTypeCollectorServiceTest {
 
     private Stack getStack(String cloudPlatform) {
         Stack stack = new Stack();
+        stack.setId(STACK_ID);
         stack.setEnvironmentCrn("ENVIRONMENT_CRN");
         stack.setRegion(REGION);
         stack.setCloudPlatform(cloudPlatform);
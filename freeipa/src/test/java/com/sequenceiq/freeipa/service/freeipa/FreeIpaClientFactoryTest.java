@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.sequenceiq.cloudbreak.client.HttpClientConfig;
@@ -56,6 +57,9 @@ class FreeIpaClientFactoryTest {
     @Mock
     private GatewayConfigService gatewayConfigService;
 
+    @Spy
+    private FreeIpaClientPool freeIpaClientPool = new FreeIpaClientPool();
+
     @InjectMocks
     private FreeIpaClientFactory underTest;
 
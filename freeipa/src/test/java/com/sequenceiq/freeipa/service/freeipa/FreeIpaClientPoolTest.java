@@ -0,0 +1,181 @@
+package com.sequenceiq.freeipa.service.freeipa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.service.Clock;
+import com.sequenceiq.freeipa.client.FreeIpaClient;
+import com.sequenceiq.freeipa.client.FreeIpaClientBuildException;
+import com.sequenceiq.freeipa.client.FreeIpaClientException;
+import com.sequenceiq.freeipa.client.RetryableFreeIpaClientException;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
+
+@ExtendWith(MockitoExtension.class)
+class FreeIpaClientPoolTest {
+
+    private static final String TARGET = "10.0.0.1:9443";
+
+    private static final FreeIpaClientPool.Key KEY = FreeIpaClientPool.Key.of(1L, "ipa1.example.com", false, TARGET, "password");
+
+    @Mock
+    private FreeIpaMetricService freeIpaMetricService;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private FreeIpaClientPool underTest;
+
+    private final List<FreeIpaClient> createdClients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "maxSize", 2);
+        ReflectionTestUtils.setField(underTest, "maxAgeMinutes", 15L);
+        ReflectionTestUtils.setField(underTest, "validationIntervalSeconds", 60L);
+    }
+
+    @Test
+    void testClientIsReusedWithoutPingInTheValidationInterval() throws Exception {
+        when(clock.getCurrentTimeMillis()).thenReturn(0L, 0L, TimeUnit.SECONDS.toMillis(30));
+
+        FreeIpaClient first = underTest.getClient(KEY, false, this::createClient);
+        FreeIpaClient second = underTest.getClient(KEY, false, this::createClient);
+
+        assertSame(first, second);
+        assertEquals(1, createdClients.size());
+        verify(first, never()).ping();
+    }
+
+    @Test
+    void testClientIsPingedAfterTheValidationIntervalAndReplacedWhenThePingFails() throws Exception {
+        when(clock.getCurrentTimeMillis()).thenReturn(0L, 0L, TimeUnit.SECONDS.toMillis(90), TimeUnit.SECONDS.toMillis(90),
+                TimeUnit.SECONDS.toMillis(100), TimeUnit.SECONDS.toMillis(100));
+        FreeIpaClient first = underTest.getClient(KEY, false, this::createClient);
+        FreeIpaClient pinged = underTest.getClient(KEY, false, this::createClient);
+        doThrow(new FreeIpaClientException("session expired")).when(first).ping();
+
+        FreeIpaClient replaced = underTest.getClient(KEY, true, this::createClient);
+
+        assertSame(first, pinged);
+        assertEquals(2, createdClients.size());
+        assertSame(createdClients.get(1), replaced);
+    }
+
+    @Test
+    void testClientIsRenewedAfterTheMaximumAge() throws Exception {
+        when(clock.getCurrentTimeMillis()).thenReturn(0L, 0L, TimeUnit.MINUTES.toMillis(15));
+
+        FreeIpaClient first = underTest.getClient(KEY, false, this::createClient);
+        FreeIpaClient second = underTest.getClient(KEY, false, this::createClient);
+
+        assertEquals(2, createdClients.size());
+        assertSame(createdClients.get(1), second);
+        verify(first, never()).ping();
+    }
+
+    @Test
+    void testNewClientIsCreatedWhenTheAdminPasswordChanges() throws Exception {
+        FreeIpaClient first = underTest.getClient(KEY, false, this::createClient);
+        FreeIpaClient second = underTest.getClient(FreeIpaClientPool.Key.of(1L, "ipa1.example.com", false, TARGET, "rotated"), false, this::createClient);
+
+        assertEquals(2, createdClients.size());
+        assertSame(createdClients.get(0), first);
+        assertSame(createdClients.get(1), second);
+    }
+
+    @Test
+    void testNewClientIsCreatedWhenTheConnectionTargetChanges() throws Exception {
+        FreeIpaClient first = underTest.getClient(KEY, false, this::createClient);
+        FreeIpaClient second = underTest.getClient(FreeIpaClientPool.Key.of(1L, "ipa1.example.com", false, "10.0.0.2:9443", "password"), false,
+                this::createClient);
+
+        assertEquals(2, createdClients.size());
+        assertSame(createdClients.get(0), first);
+        assertSame(createdClients.get(1), second);
+    }
+
+    @Test
+    void testClientIsDroppedWhenACallFailsBecauseTheInstanceIsNotReachable() throws Exception {
+        FreeIpaClient first = underTest.getClient(KEY, false, this::createClient);
+        ArgumentCaptor<Consumer<FreeIpaClientException>> invokeFailureListener = ArgumentCaptor.forClass(Consumer.class);
+        verify(first).setInvokeFailureListener(invokeFailureListener.capture());
+
+        invokeFailureListener.getValue().accept(new FreeIpaClientException("not found"));
+        assertEquals(1, underTest.size());
+        invokeFailureListener.getValue().accept(new RetryableFreeIpaClientException("host unavailable", new IOException("connection refused")));
+        assertEquals(0, underTest.size());
+
+        FreeIpaClient second = underTest.getClient(KEY, false, this::createClient);
+        assertSame(createdClients.get(1), second);
+    }
+
+    @Test
+    void testLeastRecentlyUsedClientIsDroppedWhenThePoolIsFull() throws Exception {
+        underTest.getClient(KEY, false, this::createClient);
+        underTest.getClient(FreeIpaClientPool.Key.of(1L, "ipa2.example.com", false, TARGET, "password"), false, this::createClient);
+        underTest.getClient(FreeIpaClientPool.Key.of(1L, "ipa3.example.com", false, TARGET, "password"), false, this::createClient);
+
+        assertEquals(2, underTest.size());
+        underTest.getClient(KEY, false, this::createClient);
+        assertEquals(4, createdClients.size());
+    }
+
+    @Test
+    void testFailedCreationIsNotPooled() {
+        assertThrows(FreeIpaClientBuildException.class, () -> underTest.getClient(KEY, false, () -> {
+            throw new FreeIpaClientBuildException("login failed");
+        }));
+
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    void testClientIsCreatedEveryTimeWhenThePoolIsDisabled() throws Exception {
+        ReflectionTestUtils.setField(underTest, "enabled", false);
+
+        underTest.getClient(KEY, false, this::createClient);
+        underTest.getClient(KEY, false, this::createClient);
+
+        assertEquals(2, createdClients.size());
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    void testInvalidateDropsTheClientsOfTheStack() throws Exception {
+        underTest.getClient(KEY, false, this::createClient);
+        underTest.getClient(FreeIpaClientPool.Key.of(2L, "ipa1.example.com", false, TARGET, "password"), false, this::createClient);
+
+        underTest.invalidate(1L);
+
+        assertEquals(1, underTest.size());
+    }
+
+    private FreeIpaClient createClient() {
+        FreeIpaClient client = mock(FreeIpaClient.class);
+        createdClients.add(client);
+        return client;
+    }
+}
@@ -48,6 +48,7 @@ import com.sequenceiq.freeipa.api.v1.freeipa.user.model.SuccessDetails;
 import com.sequenceiq.freeipa.api.v1.freeipa.user.model.SynchronizationStatus;
 import com.sequenceiq.freeipa.api.v1.freeipa.user.model.WorkloadCredentialsUpdateType;
 import com.sequenceiq.freeipa.configuration.UsersyncConfig;
+import com.sequenceiq.freeipa.entity.Operation;
 import com.sequenceiq.freeipa.entity.UserSyncStatus;
 import com.sequenceiq.freeipa.entity.projection.StackUserSyncView;
 import com.sequenceiq.freeipa.service.freeipa.user.model.SyncStatusDetail;
@@ -96,6 +97,9 @@ class UserSyncForEnvServiceTest {
     @Mock
     private EntitlementService entitlementService;
 
+    @Mock
+    private EventGenerationIdsChecker eventGenerationIdsChecker;
+
     @InjectMocks
     private UserSyncForEnvService underTest;
 
@@ -147,6 +151,87 @@ class UserSyncForEnvServiceTest {
         assertTrue(failureCaptor.getValue().isEmpty());
         assertTrue(successCaptor.getValue().contains(new SuccessDetails(ENV_CRN)));
         assertTrue(successCaptor.getValue().contains(new SuccessDetails(ENV_CRN_2)));
+        verify(userSyncStatusService, times(6)).getCurrentThreadAllocatedBytes();
+        verify(userSyncStatusService).reportSyncStatistics(eq(ACCOUNT_ID), eq(OPERATION_ID), eq(true), eq(2), any(), anyLong());
+    }
+
+    @Test
+    public void testIncrementalSyncSkipsEnvironmentsInSync() {
+        ReflectionTestUtils.setField(underTest, "incrementalSyncEnabled", true);
+        StackUserSyncView stack1 = mock(StackUserSyncView.class);
+        when(stack1.environmentCrn()).thenReturn(ENV_CRN);
+        when(stack1.id()).thenReturn(1L);
+        StackUserSyncView stack2 = mock(StackUserSyncView.class);
+        when(stack2.environmentCrn()).thenReturn(ENV_CRN_2);
+        when(stack2.id()).thenReturn(2L);
+        UserSyncRequestFilter userSyncFilter = new UserSyncRequestFilter(Set.of(), Set.of(), Optional.empty());
+        UserSyncOptions options = createUserSyncOptionsBuilder().skipUnchangedEnvironments(true).build();
+        doAnswer(inv -> {
+            inv.getArgument(2, Runnable.class).run();
+            return null;
+        }).when(operationService).tryWithOperationCleanup(eq(OPERATION_ID), eq(ACCOUNT_ID), any(Runnable.class));
+        UmsEventGenerationIds umsEventGenerationIds = new UmsEventGenerationIds();
+        when(umsEventGenerationIdsProvider.getEventGenerationIds(eq(ACCOUNT_ID))).thenReturn(umsEventGenerationIds);
+        UserSyncStatus syncedStatus = new UserSyncStatus();
+        syncedStatus.setLastSuccessfulFullSync(new Operation());
+        UserSyncStatus outdatedStatus = new UserSyncStatus();
+        when(userSyncStatusService.getOrCreateForStack(1L)).thenReturn(syncedStatus);
+        when(userSyncStatusService.getOrCreateForStack(2L)).thenReturn(outdatedStatus);
+        when(eventGenerationIdsChecker.isInSync(syncedStatus, umsEventGenerationIds, ENV_CRN, ACCOUNT_ID)).thenReturn(true);
+        UmsUsersState umsUsersState2 = mock(UmsUsersState.class);
+        when(umsUsersStateProviderDispatcher.getEnvToUmsUsersStateMap(eq(ACCOUNT_ID), eq(Set.of(ENV_CRN_2)), eq(Set.of()), eq(Set.of()), eq(options)))
+                .thenReturn(Map.of(ENV_CRN_2, umsUsersState2));
+        when(asyncTaskExecutor.submit(any(Callable.class))).thenAnswer(inv -> {
+            SyncStatusDetail result = (SyncStatusDetail) inv.getArgument(0, Callable.class).call();
+            Future future = mock(Future.class);
+            when(future.get(0L, TimeUnit.MILLISECONDS)).thenReturn(result);
+            return future;
+        });
+        when(userSyncForStackService.synchronizeStack(stack2, umsUsersState2, options, OPERATION_ID))
+                .thenReturn(new SyncStatusDetail(ENV_CRN_2, SynchronizationStatus.COMPLETED, "", ImmutableMultimap.of()));
+
+        underTest.synchronizeUsers(OPERATION_ID, ACCOUNT_ID, List.of(stack1, stack2), userSyncFilter, options, System.currentTimeMillis());
+
+        verify(userSyncForStackService, never()).synchronizeStack(eq(stack1), any(), any(), any());
+        verify(userSyncStatusService).save(outdatedStatus);
+        ArgumentCaptor<Collection> successCaptor = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection> failureCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(operationService).completeOperation(eq(ACCOUNT_ID), eq(OPERATION_ID), successCaptor.capture(), failureCaptor.capture());
+        assertTrue(failureCaptor.getValue().isEmpty());
+        assertTrue(successCaptor.getValue().contains(new SuccessDetails(ENV_CRN)));
+        assertTrue(successCaptor.getValue().contains(new SuccessDetails(ENV_CRN_2)));
+    }
+
+    @Test
+    public void testIncrementalSyncDoesNotSkipEnvironmentsInSyncWhenRequestedByUser() {
+        ReflectionTestUtils.setField(underTest, "incrementalSyncEnabled", true);
+        StackUserSyncView stack = mock(StackUserSyncView.class);
+        when(stack.environmentCrn()).thenReturn(ENV_CRN);
+        when(stack.id()).thenReturn(1L);
+        UserSyncRequestFilter userSyncFilter = new UserSyncRequestFilter(Set.of(), Set.of(), Optional.empty());
+        UserSyncOptions options = createUserSyncOptions();
+        doAnswer(inv -> {
+            inv.getArgument(2, Runnable.class).run();
+            return null;
+        }).when(operationService).tryWithOperationCleanup(eq(OPERATION_ID), eq(ACCOUNT_ID), any(Runnable.class));
+        when(umsEventGenerationIdsProvider.getEventGenerationIds(eq(ACCOUNT_ID))).thenReturn(new UmsEventGenerationIds());
+        UmsUsersState umsUsersState = mock(UmsUsersState.class);
+        when(umsUsersStateProviderDispatcher.getEnvToUmsUsersStateMap(eq(ACCOUNT_ID), eq(Set.of(ENV_CRN)), eq(Set.of()), eq(Set.of()), eq(options)))
+                .thenReturn(Map.of(ENV_CRN, umsUsersState));
+        when(asyncTaskExecutor.submit(any(Callable.class))).thenAnswer(inv -> {
+            SyncStatusDetail result = (SyncStatusDetail) inv.getArgument(0, Callable.class).call();
+            Future future = mock(Future.class);
+            when(future.get(0L, TimeUnit.MILLISECONDS)).thenReturn(result);
+            return future;
+        });
+        when(userSyncForStackService.synchronizeStack(stack, umsUsersState, options, OPERATION_ID))
+                .thenReturn(new SyncStatusDetail(ENV_CRN, SynchronizationStatus.COMPLETED, "", ImmutableMultimap.of()));
+        when(userSyncStatusService.getOrCreateForStack(1L)).thenReturn(new UserSyncStatus());
+
+        underTest.synchronizeUsers(OPERATION_ID, ACCOUNT_ID, List.of(stack), userSyncFilter, options, System.currentTimeMillis());
+
+        verify(userSyncForStackService).synchronizeStack(stack, umsUsersState, options, OPERATION_ID);
+        verifyNoInteractions(eventGenerationIdsChecker);
     }
 
     @Test
@@ -180,7 +265,8 @@ class UserSyncForEnvServiceTest {
 
         underTest.synchronizeUsers(OPERATION_ID, ACCOUNT_ID, List.of(stack1, stack2), userSyncFilter, options, System.currentTimeMillis());
 
-        verifyNoInteractions(userSyncStatusService);
+        verify(userSyncStatusService, never()).getOrCreateForStack(anyLong());
+        verify(userSyncStatusService, never()).save(any(UserSyncStatus.class));
         ArgumentCaptor<Collection> successCaptor = ArgumentCaptor.forClass(Collection.class);
         ArgumentCaptor<Collection> failureCaptor = ArgumentCaptor.forClass(Collection.class);
         verify(operationService).completeOperation(eq(ACCOUNT_ID), eq(OPERATION_ID), successCaptor.capture(), failureCaptor.capture());
@@ -222,7 +308,8 @@ class UserSyncForEnvServiceTest {
 
         underTest.synchronizeUsers(OPERATION_ID, ACCOUNT_ID, List.of(stack1), userSyncFilter, options, System.currentTimeMillis());
 
-        verifyNoInteractions(userSyncStatusService);
+        verify(userSyncStatusService, never()).getOrCreateForStack(anyLong());
+        verify(userSyncStatusService, never()).save(any(UserSyncStatus.class));
         ArgumentCaptor<Collection> successCaptor = ArgumentCaptor.forClass(Collection.class);
         ArgumentCaptor<Collection> failureCaptor = ArgumentCaptor.forClass(Collection.class);
         verify(operationService).completeOperation(eq(ACCOUNT_ID), eq(OPERATION_ID), successCaptor.capture(), failureCaptor.capture());
@@ -260,7 +347,8 @@ class UserSyncForEnvServiceTest {
 
         underTest.synchronizeUsers(OPERATION_ID, ACCOUNT_ID, List.of(stack1), userSyncFilter, options, System.currentTimeMillis());
 
-        verifyNoInteractions(userSyncStatusService);
+        verify(userSyncStatusService, never()).getOrCreateForStack(anyLong());
+        verify(userSyncStatusService, never()).save(any(UserSyncStatus.class));
         ArgumentCaptor<Collection> successCaptor = ArgumentCaptor.forClass(Collection.class);
         ArgumentCaptor<Collection> failureCaptor = ArgumentCaptor.forClass(Collection.class);
         verify(operationService).completeOperation(eq(ACCOUNT_ID), eq(OPERATION_ID), successCaptor.capture(), failureCaptor.capture());
@@ -338,7 +426,8 @@ class UserSyncForEnvServiceTest {
 
         underTest.synchronizeUsers(OPERATION_ID, ACCOUNT_ID, List.of(stack1, stack2), userSyncFilter, options, System.currentTimeMillis());
 
-        verifyNoInteractions(userSyncStatusService);
+        verify(userSyncStatusService, never()).getOrCreateForStack(anyLong());
+        verify(userSyncStatusService, never()).save(any(UserSyncStatus.class));
         ArgumentCaptor<Collection> successCaptor = ArgumentCaptor.forClass(Collection.class);
         ArgumentCaptor<Collection> failureCaptor = ArgumentCaptor.forClass(Collection.class);
         verify(operationService).completeOperation(eq(ACCOUNT_ID), eq(OPERATION_ID), successCaptor.capture(), failureCaptor.capture());
@@ -348,13 +437,16 @@ class UserSyncForEnvServiceTest {
     }
 
     private UserSyncOptions createUserSyncOptions() {
+        return createUserSyncOptionsBuilder().build();
+    }
+
+    private UserSyncOptions.Builder createUserSyncOptionsBuilder() {
         return UserSyncOptions.newBuilder()
                 .fullSync(true)
                 .fmsToFreeIpaBatchCallEnabled(true)
                 .workloadCredentialsUpdateType(WorkloadCredentialsUpdateType.UPDATE_IF_CHANGED)
                 .enforceGroupMembershipLimitEnabled(true)
                 .largeGroupThreshold(500)
-                .largeGroupLimit(750)
-                .build();
+                .largeGroupLimit(750);
     }
 }
\ No newline at end of file
@@ -262,9 +262,47 @@ public class UserSyncServiceTest {
         assertTrue(userSyncOptions.isFullSync());
         assertTrue(userSyncOptions.isCredentialsUpdateOptimizationEnabled());
         assertTrue(userSyncOptions.isFmsToFreeIpaBatchCallEnabled());
+        assertFalse(userSyncOptions.isSkipUnchangedEnvironments());
         verify(commonPermissionCheckingUtils).checkPermissionForUserOnResources(AuthorizationResourceAction.DESCRIBE_ENVIRONMENT, ACTOR_CRN, List.of(ENV_CRN));
     }
 
+    @Test
+    public void testAutomaticFullSyncOfInternalActorSkipsUnchangedEnvironments() {
+        StackUserSyncView stack = mock(StackUserSyncView.class);
+        when(stack.environmentCrn()).thenReturn(ENV_CRN);
+        when(stack.id()).thenReturn(STACK_ID);
+        when(stackService.getAllUserSyncViewByEnvironmentCrnOrChildEnvironmentCrnAndAccountId(Set.of(), ACCOUNT_ID)).thenReturn(List.of(stack));
+        Operation operation = createRunningOperation();
+        when(operationService.startOperation(anyString(), any(OperationType.class), anyCollection(), anyCollection()))
+                .thenReturn(operation);
+        doAnswer(inv -> {
+            Runnable runnable = inv.getArgument(2, Runnable.class);
+            runnable.run();
+            return null;
+        }).when(operationService).tryWithOperationCleanup(eq(operation.getOperationId()), eq(ACCOUNT_ID), any(Runnable.class));
+        when(regionAwareInternalCrnGenerator.getInternalCrnForServiceAsString())
+                .thenReturn(INTERNAL_ACTOR);
+        when(regionAwareInternalCrnGeneratorFactory.iam()).thenReturn(regionAwareInternalCrnGenerator);
+        when(userSyncStatusService.getOrCreateForStack(STACK_ID)).thenReturn(new UserSyncStatus());
+        doAnswer(inv -> {
+            inv.getArgument(0, Runnable.class).run();
+            return mock(Future.class);
+        }).when(asyncTaskExecutor).submit(any(Runnable.class));
+        UserSyncRequestFilter userSyncFilter = new UserSyncRequestFilter(Set.of(), Set.of(), Optional.empty());
+        doAnswer(inv -> {
+            inv.getArgument(1, Runnable.class).run();
+            return null;
+        }).when(customCheckUtil).run(eq(INTERNAL_ACTOR), any(Runnable.class));
+
+        underTest.synchronizeUsersWithCustomPermissionCheck(ACCOUNT_ID, INTERNAL_ACTOR, Set.of(), userSyncFilter,
+                WorkloadCredentialsUpdateType.UPDATE_IF_CHANGED, AuthorizationResourceAction.DESCRIBE_ENVIRONMENT);
+
+        ArgumentCaptor<UserSyncOptions> syncOptionsCaptor = ArgumentCaptor.forClass(UserSyncOptions.class);
+        verify(userSyncForEnvService)
+                .synchronizeUsers(eq(operation.getOperationId()), eq(ACCOUNT_ID), eq(List.of(stack)), any(), syncOptionsCaptor.capture(), anyLong());
+        assertTrue(syncOptionsCaptor.getValue().isSkipUnchangedEnvironments());
+    }
+
     @Test
     public void testSyncUsersWithTimeoutCheckTaskFinished() {
         StackUserSyncView stack = mock(StackUserSyncView.class);
@@ -2,10 +2,12 @@ package com.sequenceiq.freeipa.service.freeipa.user;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.sequenceiq.freeipa.entity.UserSyncStatus;
+import com.sequenceiq.freeipa.metrics.FreeIpaMetricService;
+import com.sequenceiq.freeipa.metrics.MetricType;
 import com.sequenceiq.freeipa.repository.UserSyncStatusRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +30,9 @@ class UserSyncStatusServiceTest {
     @Mock
     private UserSyncStatusRepository userSyncStatusRepository;
 
+    @Mock
+    private FreeIpaMetricService freeIpaMetricService;
+
     @InjectMocks
     private UserSyncStatusService underTest;
 
@@ -54,4 +61,22 @@ class UserSyncStatusServiceTest {
         assertNotNull(saved.getUmsEventGenerationIds());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testReportSyncStatistics() {
+        underTest.reportSyncStatistics("accountId", "operationId", true, 2, Duration.ofSeconds(3L), 1024L);
+
+        verify(freeIpaMetricService).recordTimerMetric(MetricType.USERSYNC_DURATION, Duration.ofSeconds(3L), "fullSync", "true");
+        verify(freeIpaMetricService).gauge(MetricType.USERSYNC_ALLOCATED_HEAP, 1024.0);
+    }
+
+    @Test
+    public void testCurrentThreadAllocatedBytesGrowWithAllocations() {
+        long before = underTest.getCurrentThreadAllocatedBytes();
+        byte[] allocation = new byte[1024 * 1024];
+
+        long after = underTest.getCurrentThreadAllocatedBytes();
+
+        assertNotNull(allocation);
+        assertTrue(before < 0 || after - before >= allocation.length);
+    }
+}
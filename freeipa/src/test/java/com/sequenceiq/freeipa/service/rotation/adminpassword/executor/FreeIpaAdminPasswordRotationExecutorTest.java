@@ -26,6 +26,7 @@ import com.sequenceiq.freeipa.client.FreeIpaClient;
 import com.sequenceiq.freeipa.client.FreeIpaClientException;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.service.freeipa.FreeIpaClientFactory;
+import com.sequenceiq.freeipa.service.freeipa.FreeIpaClientPool;
 import com.sequenceiq.freeipa.service.freeipa.user.AdminUserService;
 import com.sequenceiq.freeipa.service.rotation.adminpassword.context.FreeIpaAdminPasswordRotationContext;
 import com.sequenceiq.freeipa.service.stack.StackService;
@@ -39,6 +40,9 @@ class FreeIpaAdminPasswordRotationExecutorTest {
     @Mock
     private FreeIpaClientFactory freeIpaClientFactory;
 
+    @Mock
+    private FreeIpaClientPool freeIpaClientPool;
+
     @Mock
     private StackService stackService;
 
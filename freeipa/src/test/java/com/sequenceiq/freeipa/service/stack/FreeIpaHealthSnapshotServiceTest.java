@@ -0,0 +1,146 @@
+package com.sequenceiq.freeipa.service.stack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.client.RPCResponse;
+import com.sequenceiq.cloudbreak.common.service.Clock;
+import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.health.NodeHealthDetails;
+import com.sequenceiq.freeipa.client.FreeIpaClientException;
+import com.sequenceiq.freeipa.entity.InstanceMetaData;
+import com.sequenceiq.freeipa.entity.Stack;
+
+@ExtendWith(MockitoExtension.class)
+class FreeIpaHealthSnapshotServiceTest {
+
+    @Mock
+    private FreeIpaInstanceHealthDetailsService healthDetailsService;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private FreeIpaHealthSnapshotService underTest;
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    private final Stack stack = new Stack();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "healthCheckTaskExecutor", executorService);
+        ReflectionTestUtils.setField(underTest, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(underTest, "instanceTimeoutSeconds", 1L);
+        stack.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testInstancesAreCheckedInParallel() throws Exception {
+        InstanceMetaData instance1 = instance(1L);
+        InstanceMetaData instance2 = instance(2L);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(healthDetailsService.getInstanceHealth(stack, instance1)).thenAnswer(invocation -> waitForEachOther(bothStarted));
+        when(healthDetailsService.getInstanceHealth(stack, instance2)).thenAnswer(invocation -> waitForEachOther(bothStarted));
+
+        Map<InstanceMetaData, FreeIpaInstanceHealth> result = underTest.getHealth(stack, List.of(instance1, instance2));
+
+        assertEquals(List.of(instance1, instance2), List.copyOf(result.keySet()));
+        assertFalse(result.get(instance1).isFailed());
+        assertFalse(result.get(instance2).isFailed());
+    }
+
+    @Test
+    void testResultIsSharedUntilItExpires() throws Exception {
+        InstanceMetaData instance = instance(1L);
+        FreeIpaInstanceHealth health = healthy();
+        when(healthDetailsService.getInstanceHealth(stack, instance)).thenReturn(health);
+        when(clock.getCurrentTimeMillis()).thenReturn(0L, TimeUnit.SECONDS.toMillis(20), TimeUnit.SECONDS.toMillis(30));
+
+        assertSame(health, underTest.getHealth(stack, List.of(instance)).get(instance));
+        assertSame(health, underTest.getHealth(stack, List.of(instance)).get(instance));
+        verify(healthDetailsService, times(1)).getInstanceHealth(stack, instance);
+
+        underTest.getHealth(stack, List.of(instance));
+        verify(healthDetailsService, times(2)).getInstanceHealth(stack, instance);
+    }
+
+    @Test
+    void testSlowInstanceIsReportedAsFailedAfterTheTimeout() throws Exception {
+        InstanceMetaData fastInstance = instance(1L);
+        InstanceMetaData slowInstance = instance(2L);
+        FreeIpaInstanceHealth health = healthy();
+        when(healthDetailsService.getInstanceHealth(stack, fastInstance)).thenReturn(health);
+        when(healthDetailsService.getInstanceHealth(stack, slowInstance)).thenAnswer(invocation -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return healthy();
+        });
+
+        long start = System.nanoTime();
+        Map<InstanceMetaData, FreeIpaInstanceHealth> result = underTest.getHealth(stack, List.of(fastInstance, slowInstance));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+        assertSame(health, result.get(fastInstance));
+        assertTrue(result.get(slowInstance).isFailed());
+        assertTrue(result.get(slowInstance).getFailure() instanceof FreeIpaClientException);
+    }
+
+    @Test
+    void testFailedCheckIsReturnedAsFailedHealth() throws Exception {
+        InstanceMetaData instance = instance(1L);
+        FreeIpaClientException cause = new FreeIpaClientException("unreachable");
+        when(healthDetailsService.getInstanceHealth(stack, instance)).thenThrow(cause);
+
+        FreeIpaInstanceHealth result = underTest.getHealth(stack, List.of(instance)).get(instance);
+
+        assertTrue(result.isFailed());
+        assertSame(cause, result.getFailure());
+    }
+
+    private FreeIpaInstanceHealth waitForEachOther(CountDownLatch bothStarted) throws InterruptedException {
+        bothStarted.countDown();
+        if (!bothStarted.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("The instances were not checked in parallel");
+        }
+        return healthy();
+    }
+
+    private FreeIpaInstanceHealth healthy() {
+        RPCResponse<Boolean> response = new RPCResponse<>();
+        response.setResult(true);
+        return FreeIpaInstanceHealth.of(new NodeHealthDetails(), response);
+    }
+
+    private InstanceMetaData instance(Long id) {
+        InstanceMetaData instanceMetaData = new InstanceMetaData();
+        instanceMetaData.setId(id);
+        instanceMetaData.setInstanceId("i-" + id);
+        instanceMetaData.setDiscoveryFQDN("ipa" + id + ".example.com");
+        return instanceMetaData;
+    }
+}
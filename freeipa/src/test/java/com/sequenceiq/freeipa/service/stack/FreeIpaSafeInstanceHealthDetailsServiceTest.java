@@ -5,7 +5,9 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.sequenceiq.cloudbreak.client.RPCResponse;
 import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.common.instance.InstanceGroupType;
 import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.common.instance.InstanceStatus;
 import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.health.NodeHealthDetails;
@@ -28,6 +31,9 @@ class FreeIpaSafeInstanceHealthDetailsServiceTest {
     @Mock
     private FreeIpaInstanceHealthDetailsService healthDetailsService;
 
+    @Mock
+    private FreeIpaHealthSnapshotService healthSnapshotService;
+
     @InjectMocks
     private FreeIpaSafeInstanceHealthDetailsService underTest;
 
@@ -58,6 +64,24 @@ class FreeIpaSafeInstanceHealthDetailsServiceTest {
         verify(healthDetailsService).getInstanceHealthDetails(stack, instance);
     }
 
+    @Test
+    void getInstanceHealthDetailsSnapshotReportsFailedChecksAsUnreachable() {
+        InstanceMetaData healthyInstance = getInstance();
+        InstanceMetaData failedInstance = getInstance();
+        Stack stack = getStack(Set.of(healthyInstance, failedInstance));
+        NodeHealthDetails nodeHealthDetails = new NodeHealthDetails();
+        Map<InstanceMetaData, FreeIpaInstanceHealth> health = new LinkedHashMap<>();
+        health.put(healthyInstance, FreeIpaInstanceHealth.of(nodeHealthDetails, new RPCResponse<>()));
+        health.put(failedInstance, FreeIpaInstanceHealth.failed(new FreeIpaClientException("timed out")));
+        when(healthSnapshotService.getHealth(stack, List.of(healthyInstance, failedInstance))).thenReturn(health);
+
+        Map<InstanceMetaData, NodeHealthDetails> result = underTest.getInstanceHealthDetailsSnapshot(stack, List.of(healthyInstance, failedInstance));
+
+        assertEquals(nodeHealthDetails, result.get(healthyInstance));
+        assertEquals(InstanceStatus.UNREACHABLE, result.get(failedInstance).getStatus());
+        assertEquals(List.of("timed out"), result.get(failedInstance).getIssues());
+    }
+
     private InstanceMetaData getInstance() {
         InstanceMetaData instanceMetaData = new InstanceMetaData();
         instanceMetaData.setInstanceId("i-1");
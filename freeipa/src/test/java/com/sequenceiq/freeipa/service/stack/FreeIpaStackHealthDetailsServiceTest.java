@@ -6,9 +6,12 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -157,7 +160,7 @@ class FreeIpaStackHealthDetailsServiceTest {
     @Test
     void testHealthySingleNode() throws Exception {
         Mockito.when(stackService.getByEnvironmentCrnAndAccountIdWithListsAndMdcContext(anyString(), anyString())).thenReturn(getStack());
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), any())).thenReturn(getGoodDetails1());
+        mockHealthDetails(getGoodDetails1());
         HealthDetailsFreeIpaResponse response = underTest.getHealthDetails(ENVIRONMENT_ID, ACCOUNT_ID);
         assertEquals(Status.AVAILABLE, response.getStatus());
         assertFalse(response.getNodeHealthDetails().isEmpty());
@@ -170,7 +173,7 @@ class FreeIpaStackHealthDetailsServiceTest {
     @Test
     void testUnhealthySingleNode() throws Exception {
         Mockito.when(stackService.getByEnvironmentCrnAndAccountIdWithListsAndMdcContext(anyString(), anyString())).thenReturn(getStack());
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), any())).thenReturn(getUnhealthyDetails1());
+        mockHealthDetails(getUnhealthyDetails1());
         HealthDetailsFreeIpaResponse response = underTest.getHealthDetails(ENVIRONMENT_ID, ACCOUNT_ID);
         assertEquals(Status.UNHEALTHY, response.getStatus());
         assertFalse(response.getNodeHealthDetails().isEmpty());
@@ -185,8 +188,7 @@ class FreeIpaStackHealthDetailsServiceTest {
         InstanceMetaData im1 = getInstance1();
         InstanceMetaData im2 = getInstance2();
         Mockito.when(stackService.getByEnvironmentCrnAndAccountIdWithListsAndMdcContext(anyString(), anyString())).thenReturn(getStackTwoInstances(im1, im2));
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), eq(im1))).thenReturn(getGoodDetails1());
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), eq(im2))).thenReturn(getGoodDetails2());
+        mockHealthDetails(getGoodDetails1(), getGoodDetails2());
         HealthDetailsFreeIpaResponse response = underTest.getHealthDetails(ENVIRONMENT_ID, ACCOUNT_ID);
         assertEquals(Status.AVAILABLE, response.getStatus());
         assertEquals(2, response.getNodeHealthDetails().size());
@@ -197,8 +199,7 @@ class FreeIpaStackHealthDetailsServiceTest {
         InstanceMetaData im1 = getInstance1();
         InstanceMetaData im2 = getInstance2();
         Mockito.when(stackService.getByEnvironmentCrnAndAccountIdWithListsAndMdcContext(anyString(), anyString())).thenReturn(getStackTwoInstances(im1, im2));
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), eq(im1))).thenReturn(getGoodDetails1());
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), eq(im2))).thenReturn(getUnhealthyDetails2());
+        mockHealthDetails(getGoodDetails1(), getUnhealthyDetails2());
         HealthDetailsFreeIpaResponse response = underTest.getHealthDetails(ENVIRONMENT_ID, ACCOUNT_ID);
         assertEquals(Status.UNHEALTHY, response.getStatus());
         assertEquals(2, response.getNodeHealthDetails().size());
@@ -209,8 +210,7 @@ class FreeIpaStackHealthDetailsServiceTest {
         InstanceMetaData im1 = getInstance1();
         InstanceMetaData im2 = getInstance2();
         Mockito.when(stackService.getByEnvironmentCrnAndAccountIdWithListsAndMdcContext(anyString(), anyString())).thenReturn(getStackTwoInstances(im1, im2));
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), eq(im1))).thenReturn(getUnhealthyDetails1());
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), eq(im2))).thenReturn(getUnhealthyDetails2());
+        mockHealthDetails(getUnhealthyDetails1(), getUnhealthyDetails2());
         HealthDetailsFreeIpaResponse response = underTest.getHealthDetails(ENVIRONMENT_ID, ACCOUNT_ID);
         assertEquals(Status.UNHEALTHY, response.getStatus());
         assertEquals(2, response.getNodeHealthDetails().size());
@@ -222,7 +222,7 @@ class FreeIpaStackHealthDetailsServiceTest {
         im1.setInstanceStatus(InstanceStatus.STOPPED);
         InstanceMetaData im2 = getInstance2();
         Mockito.when(stackService.getByEnvironmentCrnAndAccountIdWithListsAndMdcContext(anyString(), anyString())).thenReturn(getStackTwoInstances(im1, im2));
-        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetails(any(), eq(im2))).thenReturn(getUnhealthyDetails2());
+        mockHealthDetails(getUnhealthyDetails2());
         HealthDetailsFreeIpaResponse response = underTest.getHealthDetails(ENVIRONMENT_ID, ACCOUNT_ID);
         assertEquals(Status.UNHEALTHY, response.getStatus());
         assertEquals(2, response.getNodeHealthDetails().size());
@@ -252,4 +252,17 @@ class FreeIpaStackHealthDetailsServiceTest {
         assertEquals(2, response.getNodeHealthDetails().size());
     }
 
+    private void mockHealthDetails(NodeHealthDetails... nodeHealthDetails) {
+        Mockito.when(freeIpaInstanceHealthDetailsService.getInstanceHealthDetailsSnapshot(any(), any())).thenAnswer(invocation -> {
+            Collection<InstanceMetaData> instances = invocation.getArgument(1);
+            Map<InstanceMetaData, NodeHealthDetails> result = new LinkedHashMap<>();
+            for (InstanceMetaData instance : instances) {
+                Arrays.stream(nodeHealthDetails)
+                        .filter(details -> details.getInstanceId().equals(instance.getInstanceId()))
+                        .findFirst()
+                        .ifPresent(details -> result.put(instance, details));
+            }
+            return result;
+        });
+    }
 }
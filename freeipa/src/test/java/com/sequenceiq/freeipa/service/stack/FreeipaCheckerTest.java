@@ -1,12 +1,16 @@
 package com.sequenceiq.freeipa.service.stack;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,10 +23,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.sequenceiq.cloudbreak.client.RPCMessage;
 import com.sequenceiq.cloudbreak.client.RPCResponse;
+import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.common.DetailedStackStatus;
 import com.sequenceiq.freeipa.client.FreeIpaClientException;
+import com.sequenceiq.freeipa.entity.InstanceGroup;
 import com.sequenceiq.freeipa.entity.InstanceMetaData;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.sync.FreeipaChecker;
+import com.sequenceiq.freeipa.sync.SyncResult;
 
 @ExtendWith(MockitoExtension.class)
 public class FreeipaCheckerTest {
@@ -33,7 +40,7 @@ public class FreeipaCheckerTest {
     private FreeipaChecker underTest;
 
     @Mock
-    private FreeIpaInstanceHealthDetailsService freeIpaInstanceHealthDetailsService;
+    private FreeIpaHealthSnapshotService freeIpaHealthSnapshotService;
 
     @BeforeEach
     public void setUp() {
@@ -42,16 +49,39 @@ public class FreeipaCheckerTest {
     }
 
     @Test
-    public void testGetStatus() throws FreeIpaClientException {
+    public void testGetStatus() {
         // GIVEN
-        Stack stack = new Stack();
         Set<InstanceMetaData> instanceMetaDataSet = createInstanceMetaDataSet();
-        given(freeIpaInstanceHealthDetailsService.checkFreeIpaHealth(any(), any()))
-                .willReturn(createHealthResponse());
+        Stack stack = createStack(instanceMetaDataSet);
+        Map<InstanceMetaData, FreeIpaInstanceHealth> health = new HashMap<>();
+        instanceMetaDataSet.forEach(instance -> health.put(instance, FreeIpaInstanceHealth.of(null, createHealthResponse())));
+        given(freeIpaHealthSnapshotService.getHealth(any(), any())).willReturn(health);
         // WHEN
-        underTest.getStatus(stack, instanceMetaDataSet);
+        SyncResult result = underTest.getStatus(stack, instanceMetaDataSet);
         // THEN
-        verify(freeIpaInstanceHealthDetailsService, times(2)).checkFreeIpaHealth(any(), any());
+        verify(freeIpaHealthSnapshotService, times(1)).getHealth(stack, instanceMetaDataSet);
+        assertEquals(DetailedStackStatus.AVAILABLE, result.getStatus());
+        assertEquals(2, result.getInstanceStatusMap().size());
+    }
+
+    @Test
+    public void testGetStatusWhenTheHealthCheckOfAnInstanceFailed() {
+        // GIVEN
+        Set<InstanceMetaData> instanceMetaDataSet = createInstanceMetaDataSet();
+        Stack stack = createStack(instanceMetaDataSet);
+        Map<InstanceMetaData, FreeIpaInstanceHealth> health = new HashMap<>();
+        Iterator<InstanceMetaData> instances = instanceMetaDataSet.iterator();
+        InstanceMetaData healthyInstance = instances.next();
+        InstanceMetaData failedInstance = instances.next();
+        health.put(healthyInstance, FreeIpaInstanceHealth.of(null, createHealthResponse()));
+        health.put(failedInstance, FreeIpaInstanceHealth.failed(new FreeIpaClientException("timed out")));
+        given(freeIpaHealthSnapshotService.getHealth(any(), any())).willReturn(health);
+        // WHEN
+        SyncResult result = underTest.getStatus(stack, instanceMetaDataSet);
+        // THEN
+        assertEquals(DetailedStackStatus.UNHEALTHY, result.getStatus());
+        assertEquals(DetailedStackStatus.AVAILABLE, result.getInstanceStatusMap().get(healthyInstance));
+        assertEquals(DetailedStackStatus.UNREACHABLE, result.getInstanceStatusMap().get(failedInstance));
     }
 
     private RPCResponse<Boolean> createHealthResponse() {
@@ -68,6 +98,14 @@ public class FreeipaCheckerTest {
         return List.of(rpcMessage);
     }
 
+    private Stack createStack(Set<InstanceMetaData> instanceMetaDataSet) {
+        Stack stack = new Stack();
+        InstanceGroup instanceGroup = new InstanceGroup();
+        instanceGroup.setInstanceMetaData(instanceMetaDataSet);
+        stack.getInstanceGroups().add(instanceGroup);
+        return stack;
+    }
+
     private Set<InstanceMetaData> createInstanceMetaDataSet() {
         Set<InstanceMetaData> instanceMetaDataSet = new HashSet<>();
         InstanceMetaData instance1 = new InstanceMetaData();
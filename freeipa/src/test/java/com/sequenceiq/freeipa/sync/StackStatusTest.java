@@ -8,8 +8,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import jakarta.inject.Inject;
@@ -44,7 +47,8 @@ import com.sequenceiq.freeipa.entity.InstanceGroup;
 import com.sequenceiq.freeipa.entity.InstanceMetaData;
 import com.sequenceiq.freeipa.entity.Stack;
 import com.sequenceiq.freeipa.entity.StackStatus;
-import com.sequenceiq.freeipa.service.stack.FreeIpaInstanceHealthDetailsService;
+import com.sequenceiq.freeipa.service.stack.FreeIpaHealthSnapshotService;
+import com.sequenceiq.freeipa.service.stack.FreeIpaInstanceHealth;
 import com.sequenceiq.freeipa.service.stack.StackService;
 import com.sequenceiq.freeipa.service.stack.StackUpdater;
 import com.sequenceiq.freeipa.service.stack.instance.InstanceMetaDataService;
@@ -71,7 +75,7 @@ class StackStatusTest {
     private FlowLogService flowLogService;
 
     @MockBean
-    private FreeIpaInstanceHealthDetailsService freeIpaInstanceHealthDetailsService;
+    private FreeIpaHealthSnapshotService freeIpaHealthSnapshotService;
 
     @MockBean
     private StackInstanceProviderChecker stackInstanceProviderChecker;
@@ -143,7 +147,12 @@ class StackStatusTest {
         when(instanceMetaDataService.findNotTerminatedForStack(STACK_ID)).thenReturn(notTerminatedInstances);
 
         rpcResponse = new RPCResponse<>();
-        when(freeIpaInstanceHealthDetailsService.checkFreeIpaHealth(eq(stack), any())).thenReturn(rpcResponse);
+        when(freeIpaHealthSnapshotService.getHealth(eq(stack), any())).thenAnswer(invocation -> {
+            Collection<InstanceMetaData> checkedInstances = invocation.getArgument(1);
+            Map<InstanceMetaData, FreeIpaInstanceHealth> health = new HashMap<>();
+            checkedInstances.forEach(instance -> health.put(instance, FreeIpaInstanceHealth.of(null, rpcResponse)));
+            return health;
+        });
     }
 
     private InstanceMetaData createInstance(String instanceName, String ip) {
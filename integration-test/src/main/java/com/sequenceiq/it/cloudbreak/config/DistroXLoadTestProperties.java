@@ -0,0 +1,91 @@
+package com.sequenceiq.it.cloudbreak.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "loadtest.distrox")
+public class DistroXLoadTestProperties {
+
+    private Integer numThreads;
+
+    private Integer numClusters;
+
+    private Integer numRounds;
+
+    private String scaleHostGroup;
+
+    private Integer scaleUpCount;
+
+    private Integer scaleDownCount;
+
+    private List<String> metricNamePatterns;
+
+    private String reportFile;
+
+    public Integer getNumThreads() {
+        return numThreads;
+    }
+
+    public void setNumThreads(Integer numThreads) {
+        this.numThreads = numThreads;
+    }
+
+    public Integer getNumClusters() {
+        return numClusters;
+    }
+
+    public void setNumClusters(Integer numClusters) {
+        this.numClusters = numClusters;
+    }
+
+    public Integer getNumRounds() {
+        return numRounds;
+    }
+
+    public void setNumRounds(Integer numRounds) {
+        this.numRounds = numRounds;
+    }
+
+    public String getScaleHostGroup() {
+        return scaleHostGroup;
+    }
+
+    public void setScaleHostGroup(String scaleHostGroup) {
+        this.scaleHostGroup = scaleHostGroup;
+    }
+
+    public Integer getScaleUpCount() {
+        return scaleUpCount;
+    }
+
+    public void setScaleUpCount(Integer scaleUpCount) {
+        this.scaleUpCount = scaleUpCount;
+    }
+
+    public Integer getScaleDownCount() {
+        return scaleDownCount;
+    }
+
+    public void setScaleDownCount(Integer scaleDownCount) {
+        this.scaleDownCount = scaleDownCount;
+    }
+
+    public List<String> getMetricNamePatterns() {
+        return metricNamePatterns;
+    }
+
+    public void setMetricNamePatterns(List<String> metricNamePatterns) {
+        this.metricNamePatterns = metricNamePatterns;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+}
@@ -0,0 +1,91 @@
+package com.sequenceiq.it.cloudbreak.performance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sequenceiq.cloudbreak.common.json.JsonUtil;
+
+/**
+ * The machine readable result of a load test run: the scenario, the lifecycle throughput, the latency percentiles of the measured actions
+ * and the change of the selected service metrics during the run.
+ */
+public class LoadTestReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestReport.class);
+
+    private final String scenario;
+
+    private final Map<String, Object> parameters;
+
+    private final long durationMs;
+
+    private final int lifecycles;
+
+    private final int failedLifecycles;
+
+    private final List<PercentileStatistic> latencies;
+
+    private final Map<String, Map<String, ServiceMetricsSnapshot.MetricChange>> serviceMetrics;
+
+    public LoadTestReport(String scenario, Map<String, Object> parameters, long durationMs, int lifecycles, int failedLifecycles,
+            List<PercentileStatistic> latencies, Map<String, Map<String, ServiceMetricsSnapshot.MetricChange>> serviceMetrics) {
+        this.scenario = scenario;
+        this.parameters = parameters;
+        this.durationMs = durationMs;
+        this.lifecycles = lifecycles;
+        this.failedLifecycles = failedLifecycles;
+        this.latencies = latencies;
+        this.serviceMetrics = serviceMetrics;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public int getLifecycles() {
+        return lifecycles;
+    }
+
+    public int getFailedLifecycles() {
+        return failedLifecycles;
+    }
+
+    public double getLifecyclesPerMinute() {
+        return (lifecycles - failedLifecycles) * 60_000.0 / Math.max(1L, durationMs);
+    }
+
+    public List<PercentileStatistic> getLatencies() {
+        return latencies;
+    }
+
+    public Map<String, Map<String, ServiceMetricsSnapshot.MetricChange>> getServiceMetrics() {
+        return serviceMetrics;
+    }
+
+    public void writeToFile(String fileName) {
+        try {
+            Path path = Path.of(fileName);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, JsonUtil.writeValueAsString(this));
+            LOGGER.info("Load test report is written to {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.error("Load test report writing is failed", e);
+        }
+    }
+}
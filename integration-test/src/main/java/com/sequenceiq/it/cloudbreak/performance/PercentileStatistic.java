@@ -0,0 +1,76 @@
+package com.sequenceiq.it.cloudbreak.performance;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class PercentileStatistic extends KeyMeasurement {
+    private String action;
+
+    private int count;
+
+    private long p50;
+
+    private long p90;
+
+    private long p99;
+
+    private long max;
+
+    private PercentileStatistic(String action, List<Long> sortedDurations) {
+        this.action = action;
+        count = sortedDurations.size();
+        p50 = percentile(sortedDurations, 50);
+        p90 = percentile(sortedDurations, 90);
+        p99 = percentile(sortedDurations, 99);
+        max = sortedDurations.get(sortedDurations.size() - 1);
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public static KeyPerformanceIndicator<PercentileStatistic> build(Measure measure) {
+        if (measure == null || measure.getAll().isEmpty()) {
+            return null;
+        }
+        Map<String, List<Long>> durations = measure.stream().collect(
+                Collectors.groupingBy(PerformanceIndicator::getAction,
+                        Collectors.mapping(PerformanceIndicator::getDuration, Collectors.toList()))
+        );
+        List<PercentileStatistic> result = durations.entrySet().stream()
+                .map(entry -> new PercentileStatistic(entry.getKey(), entry.getValue().stream().sorted().toList()))
+                .sorted(Comparator.comparingLong(PercentileStatistic::getP99).reversed())
+                .collect(Collectors.toList());
+        KeyPerformanceIndicator<PercentileStatistic> keyPI = new KeyPerformanceIndicator<>(result);
+        keyPI.setFormatter(new PercentileStatisticFormatter());
+        return keyPI;
+    }
+
+    // nearest-rank percentile
+    private static long percentile(List<Long> sortedDurations, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedDurations.size());
+        return sortedDurations.get(Math.max(0, rank - 1));
+    }
+}
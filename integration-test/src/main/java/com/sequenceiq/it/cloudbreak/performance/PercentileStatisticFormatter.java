@@ -0,0 +1,35 @@
+package com.sequenceiq.it.cloudbreak.performance;
+
+public class PercentileStatisticFormatter implements KeyMeasurementFormatter {
+    @Override
+    public String header() {
+        return "      <table style=\"border: 1px solid black;\">\n"
+                + "        <caption>Latency percentiles</caption>\n"
+                + "          <tr style=\"border: 1px solid black;\">\n"
+                + "            <th style=\"border: 1px solid black;\">Action</th>\n"
+                + "            <th style=\"border: 1px solid black;\">Count</th>\n"
+                + "            <th style=\"border: 1px solid black;\">p50 (ms)</th>\n"
+                + "            <th style=\"border: 1px solid black;\">p90 (ms)</th>\n"
+                + "            <th style=\"border: 1px solid black;\">p99 (ms)</th>\n"
+                + "            <th style=\"border: 1px solid black;\">Max (ms)</th>\n"
+                + "          </tr>";
+    }
+
+    @Override
+    public String element(KeyMeasurement p) {
+        PercentileStatistic statistic = (PercentileStatistic) p;
+        return "        <tr style=\"border: 1px solid black;\">\n"
+                + "          <td style=\"border: 1px solid black;\">" + statistic.getAction() + "</td>\n"
+                + "          <td style=\"border: 1px solid black;\">" + statistic.getCount() + "</td>\n"
+                + "          <td style=\"border: 1px solid black;\">" + statistic.getP50() + "</td>\n"
+                + "          <td style=\"border: 1px solid black;\">" + statistic.getP90() + "</td>\n"
+                + "          <td style=\"border: 1px solid black;\">" + statistic.getP99() + "</td>\n"
+                + "          <td style=\"border: 1px solid black;\">" + statistic.getMax() + "</td>\n"
+                + "        </tr>";
+    }
+
+    @Override
+    public String foot() {
+        return "      </table>";
+    }
+}
@@ -0,0 +1,84 @@
+package com.sequenceiq.it.cloudbreak.performance;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.WebTarget;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sequenceiq.cloudbreak.client.ApiKeyRequestFilter;
+import com.sequenceiq.cloudbreak.client.RestClientUtil;
+import com.sequenceiq.it.cloudbreak.context.TestContext;
+
+/**
+ * The samples of a service's Prometheus endpoint whose name matches one of the given patterns, e.g. the flow counters, the JVM heap and GC,
+ * and the connection pool and transaction metrics of the service. Two snapshots taken before and after a load test give the change of the
+ * counters caused by the test.
+ */
+public class ServiceMetricsSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceMetricsSnapshot.class);
+
+    private final Map<String, Double> samples;
+
+    private ServiceMetricsSnapshot(Map<String, Double> samples) {
+        this.samples = samples;
+    }
+
+    public static ServiceMetricsSnapshot scrape(TestContext testContext, String address, List<Pattern> metricNamePatterns) {
+        try {
+            Client client = RestClientUtil.get();
+            WebTarget webTarget = client.target(address).path("/metrics");
+            webTarget.register(new ApiKeyRequestFilter(testContext.getActingUserAccessKey(), testContext.getActingUser().getSecretKey()));
+            return parse(webTarget.request().get().readEntity(String.class), metricNamePatterns);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Metrics of {} could not be collected", address, e);
+            return new ServiceMetricsSnapshot(Map.of());
+        }
+    }
+
+    static ServiceMetricsSnapshot parse(String responseBody, List<Pattern> metricNamePatterns) {
+        Map<String, Double> samples = new TreeMap<>();
+        for (String line : responseBody.split("\n")) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            int nameEnd = line.contains("}") ? line.lastIndexOf('}') + 1 : line.indexOf(' ');
+            if (nameEnd <= 0) {
+                continue;
+            }
+            String sampleName = line.substring(0, nameEnd);
+            String metricName = sampleName.contains("{") ? sampleName.substring(0, sampleName.indexOf('{')) : sampleName;
+            if (metricNamePatterns.stream().anyMatch(pattern -> pattern.matcher(metricName).matches())) {
+                try {
+                    samples.put(sampleName, Double.parseDouble(line.substring(nameEnd).trim().split("\\s+")[0]));
+                } catch (NumberFormatException e) {
+                    LOGGER.debug("Metric sample could not be parsed: {}", line);
+                }
+            }
+        }
+        return new ServiceMetricsSnapshot(samples);
+    }
+
+    public Map<String, Double> getSamples() {
+        return samples;
+    }
+
+    public Map<String, MetricChange> changesSince(ServiceMetricsSnapshot before) {
+        Map<String, MetricChange> changes = new LinkedHashMap<>();
+        samples.forEach((name, value) -> {
+            double previous = before.samples.getOrDefault(name, 0.0);
+            changes.put(name, new MetricChange(previous, value, value - previous));
+        });
+        return changes;
+    }
+
+    public record MetricChange(double before, double after, double delta) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.sequenceiq.it.cloudbreak.testcase.load;
+
+import static com.sequenceiq.it.cloudbreak.context.RunningParameter.key;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import com.sequenceiq.it.cloudbreak.client.DistroXTestClient;
+import com.sequenceiq.it.cloudbreak.config.DistroXLoadTestProperties;
+import com.sequenceiq.it.cloudbreak.config.server.ServerProperties;
+import com.sequenceiq.it.cloudbreak.context.Description;
+import com.sequenceiq.it.cloudbreak.context.MockedTestContext;
+import com.sequenceiq.it.cloudbreak.context.TestContext;
+import com.sequenceiq.it.cloudbreak.dto.distrox.DistroXTestDto;
+import com.sequenceiq.it.cloudbreak.exception.TestFailException;
+import com.sequenceiq.it.cloudbreak.performance.KeyPerformanceIndicator;
+import com.sequenceiq.it.cloudbreak.performance.LoadTestReport;
+import com.sequenceiq.it.cloudbreak.performance.Measure;
+import com.sequenceiq.it.cloudbreak.performance.MeasureAll;
+import com.sequenceiq.it.cloudbreak.performance.PercentileStatistic;
+import com.sequenceiq.it.cloudbreak.performance.PerformanceIndicator;
+import com.sequenceiq.it.cloudbreak.performance.ServiceMetricsSnapshot;
+import com.sequenceiq.it.cloudbreak.testcase.mock.AbstractMockTest;
+
+/**
+ * Drives {@code loadtest.distrox.numClusters} DistroX create, scale, stop, start and delete lifecycles against the mock infrastructure, with
+ * {@code loadtest.distrox.numThreads} lifecycles running at the same time. The API call and the flow of every step are measured separately,
+ * and the latency percentiles are written to a JSON report together with the change of the selected Prometheus metrics of the services.
+ * <p>
+ * The mock infrastructure is not started in the test process: the lifecycles need the cloudbreak, environment, freeipa, datalake and redbeams
+ * services too, so the test runs against the local docker compose deployment, which starts the mock infrastructure next to them. The
+ * {@code make runloadtest} target of the integration-test module builds and starts that deployment and runs this test only.
+ */
+public class DistroXLifecycleLoadTest extends AbstractMockTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DistroXLifecycleLoadTest.class);
+
+    private static final String SCENARIO = "distrox-lifecycle";
+
+    private static final String DISTRO_X_KEY_PREFIX = "loaddx";
+
+    @Inject
+    private DistroXTestClient distroXTestClient;
+
+    @Inject
+    private DistroXLoadTestProperties loadTestProperties;
+
+    @Inject
+    private ServerProperties serverProperties;
+
+    @Override
+    protected void setupTest(TestContext testContext) {
+        super.setupTest(testContext);
+        createDatalake(testContext);
+    }
+
+    @Test(dataProvider = TEST_CONTEXT_WITH_MOCK)
+    @Description(
+            given = "there is a running environment with a data lake",
+            when = "many DistroX clusters are created, scaled, stopped, started and deleted concurrently",
+            then = "every lifecycle should finish and the load test report should be written")
+    public void testConcurrentDistroXLifecycles(MockedTestContext testContext) {
+        List<Pattern> metricNamePatterns = loadTestProperties.getMetricNamePatterns().stream().map(Pattern::compile).toList();
+        Map<String, ServiceMetricsSnapshot> metricsBefore = scrapeServiceMetrics(testContext, metricNamePatterns);
+        ExecutorService threadPool = Executors.newFixedThreadPool(loadTestProperties.getNumThreads());
+        MeasureAll measure = new MeasureAll();
+        int failedLifecycles = 0;
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<Measure>> lifecycles = new ArrayList<>();
+            for (int clusterCounter = 1; clusterCounter <= loadTestProperties.getNumClusters(); clusterCounter++) {
+                int clusterCounterFinal = clusterCounter;
+                lifecycles.add(threadPool.submit(() -> runLifecycle(testContext, clusterCounterFinal)));
+            }
+            for (Future<Measure> lifecycle : lifecycles) {
+                try {
+                    measure.addAll(lifecycle.get());
+                } catch (ExecutionException e) {
+                    LOGGER.warn("DistroX lifecycle failed", e.getCause());
+                    failedLifecycles++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestFailException("Load test was interrupted", e);
+        } finally {
+            threadPool.shutdownNow();
+        }
+        long duration = System.currentTimeMillis() - start;
+        Map<String, Map<String, ServiceMetricsSnapshot.MetricChange>> metricChanges = new LinkedHashMap<>();
+        scrapeServiceMetrics(testContext, metricNamePatterns)
+                .forEach((service, metricsAfter) -> metricChanges.put(service, metricsAfter.changesSince(metricsBefore.get(service))));
+        KeyPerformanceIndicator<PercentileStatistic> latencies = PercentileStatistic.build(measure);
+        LoadTestReport report = new LoadTestReport(SCENARIO, scenarioParameters(), duration, loadTestProperties.getNumClusters(), failedLifecycles,
+                latencies == null ? List.of() : latencies.getKeyPerformanceIndicatorList(), metricChanges);
+        report.writeToFile(loadTestProperties.getReportFile());
+        if (failedLifecycles > 0 || !testContext.getExceptionMap().isEmpty()) {
+            throw new TestFailException(String.format("%d of %d DistroX lifecycles failed, errors: %s", failedLifecycles,
+                    loadTestProperties.getNumClusters(), testContext.getExceptionMap().keySet()));
+        }
+    }
+
+    private Measure runLifecycle(MockedTestContext testContext, int clusterIndex) {
+        String distroXKey = DISTRO_X_KEY_PREFIX + clusterIndex;
+        MeasureAll measure = new MeasureAll();
+        DistroXTestDto distroX = testContext.given(distroXKey, DistroXTestDto.class);
+        measure(measure, "create",
+                () -> distroX.when(distroXTestClient.create(), key(distroXKey)),
+                () -> distroX.await(STACK_AVAILABLE, key(distroXKey)));
+        for (int round = 1; round <= loadTestProperties.getNumRounds(); round++) {
+            measure(measure, "upscale",
+                    () -> distroX.when(distroXTestClient.scale(loadTestProperties.getScaleHostGroup(), loadTestProperties.getScaleUpCount()),
+                            key(distroXKey)),
+                    () -> distroX.await(STACK_AVAILABLE, key(distroXKey)));
+            measure(measure, "downscale",
+                    () -> distroX.when(distroXTestClient.scale(loadTestProperties.getScaleHostGroup(), loadTestProperties.getScaleDownCount()),
+                            key(distroXKey)),
+                    () -> distroX.await(STACK_AVAILABLE, key(distroXKey)));
+            measure(measure, "stop",
+                    () -> distroX.when(distroXTestClient.stop(), key(distroXKey)),
+                    () -> distroX.await(STACK_STOPPED, key(distroXKey)));
+            measure(measure, "start",
+                    () -> distroX.when(distroXTestClient.start(), key(distroXKey)),
+                    () -> distroX.await(STACK_AVAILABLE, key(distroXKey)));
+        }
+        measure(measure, "delete",
+                () -> distroX.when(distroXTestClient.delete(), key(distroXKey)),
+                () -> distroX.await(STACK_DELETED, key(distroXKey)));
+        return measure;
+    }
+
+    private void measure(Measure measure, String action, Runnable apiCall, Runnable flow) {
+        PerformanceIndicator apiIndicator = new PerformanceIndicator(action + ".api");
+        apiCall.run();
+        measure.add(apiIndicator);
+        PerformanceIndicator flowIndicator = new PerformanceIndicator(action + ".flow");
+        flow.run();
+        measure.add(flowIndicator);
+    }
+
+    private Map<String, ServiceMetricsSnapshot> scrapeServiceMetrics(TestContext testContext, List<Pattern> metricNamePatterns) {
+        Map<String, ServiceMetricsSnapshot> snapshots = new LinkedHashMap<>();
+        snapshots.put("cloudbreak", ServiceMetricsSnapshot.scrape(testContext, serverProperties.getCloudbreakAddress(), metricNamePatterns));
+        snapshots.put("environment", ServiceMetricsSnapshot.scrape(testContext, serverProperties.getEnvironmentAddress(), metricNamePatterns));
+        snapshots.put("freeipa", ServiceMetricsSnapshot.scrape(testContext, serverProperties.getFreeipaAddress(), metricNamePatterns));
+        snapshots.put("datalake", ServiceMetricsSnapshot.scrape(testContext, serverProperties.getSdxAddress(), metricNamePatterns));
+        snapshots.put("redbeams", ServiceMetricsSnapshot.scrape(testContext, serverProperties.getRedbeamsAddress(), metricNamePatterns));
+        return snapshots;
+    }
+
+    private Map<String, Object> scenarioParameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("numThreads", loadTestProperties.getNumThreads());
+        parameters.put("numClusters", loadTestProperties.getNumClusters());
+        parameters.put("numRounds", loadTestProperties.getNumRounds());
+        parameters.put("scaleHostGroup", loadTestProperties.getScaleHostGroup());
+        parameters.put("scaleUpCount", loadTestProperties.getScaleUpCount());
+        parameters.put("scaleDownCount", loadTestProperties.getScaleDownCount());
+        return parameters;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sequenceiq.it.cloudbreak.performance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ServiceMetricsSnapshotTest {
+
+    private static final List<Pattern> PATTERNS = List.of(Pattern.compile(".*_flow_.*"), Pattern.compile("jvm_memory_used_bytes"));
+
+    @Test
+    public void testParseKeepsMatchingSamplesWithLabels() {
+        String body = "# HELP cloudbreak_flow_started_total\n"
+                + "# TYPE cloudbreak_flow_started_total counter\n"
+                + "cloudbreak_flow_started_total{flow_type=\"StackStopFlowConfig\",} 3.0\n"
+                + "jvm_memory_used_bytes{area=\"heap\",id=\"G1 Eden Space\",} 1.2E7\n"
+                + "jvm_threads_live_threads 42.0\n";
+
+        ServiceMetricsSnapshot snapshot = ServiceMetricsSnapshot.parse(body, PATTERNS);
+
+        Assertions.assertEquals(Map.of(
+                "cloudbreak_flow_started_total{flow_type=\"StackStopFlowConfig\",}", 3.0,
+                "jvm_memory_used_bytes{area=\"heap\",id=\"G1 Eden Space\",}", 1.2E7), snapshot.getSamples());
+    }
+
+    @Test
+    public void testChangesSinceTreatsNewSamplesAsStartingFromZero() {
+        ServiceMetricsSnapshot before = ServiceMetricsSnapshot.parse("cloudbreak_flow_started_total{flow_type=\"A\",} 3.0\n", PATTERNS);
+        ServiceMetricsSnapshot after = ServiceMetricsSnapshot.parse("cloudbreak_flow_started_total{flow_type=\"A\",} 5.0\n"
+                + "cloudbreak_flow_started_total{flow_type=\"B\",} 2.0\n", PATTERNS);
+
+        Map<String, ServiceMetricsSnapshot.MetricChange> changes = after.changesSince(before);
+
+        Assertions.assertEquals(2.0, changes.get("cloudbreak_flow_started_total{flow_type=\"A\",}").delta());
+        Assertions.assertEquals(new ServiceMetricsSnapshot.MetricChange(0.0, 2.0, 2.0), changes.get("cloudbreak_flow_started_total{flow_type=\"B\",}"));
+    }
+}
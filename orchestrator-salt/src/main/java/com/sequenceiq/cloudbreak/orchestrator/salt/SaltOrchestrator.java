@@ -1172,12 +1172,17 @@ public class SaltOrchestrator implements HostOrchestrator {
             Callable<Boolean> saltPillarRunner = saltRunner.runnerWithConfiguredErrorCount(scriptPillarSave, exitCriteria, exitModel);
             saltPillarRunner.call();
 
+            List<Callable<Void>> recipeUploads = new ArrayList<>();
             for (List<RecipeModel> recipeList : recipes.values()) {
                 for (RecipeModel model : recipeList) {
-                    LOGGER.info("Uploading recipe with name [{}] and size: {} characters.", model.getName(), model.getGeneratedScript().length());
-                    uploadRecipe(sc, gatewayTargets, exitModel, model.getName(), model.getGeneratedScript(), convert(model.getRecipeType()));
+                    recipeUploads.add(() -> {
+                        LOGGER.info("Uploading recipe with name [{}] and size: {} characters.", model.getName(), model.getGeneratedScript().length());
+                        uploadRecipe(sc, gatewayTargets, exitModel, model.getName(), model.getGeneratedScript(), convert(model.getRecipeType()));
+                        return null;
+                    });
                 }
             }
+            saltService.callInParallel(recipeUploads);
         } catch (Exception e) {
             LOGGER.info("Error occurred during recipe upload", e);
             throw new CloudbreakOrchestratorFailedException(e.getMessage(), e);
@@ -1191,13 +1196,18 @@ public class SaltOrchestrator implements HostOrchestrator {
         Set<String> gatewayTargets = getGatewayPrivateIps(allGatewayConfigs);
         try (SaltConnector sc = saltService.createSaltConnector(primaryGatewayConfig)) {
             Map<String, Object> properties = new HashMap<>();
+            List<Callable<Void>> keytabUploads = new ArrayList<>();
             for (KeytabModel keytabModel : keytabModels) {
-                uploadFileToTargets(sc, gatewayTargets, exitModel, keytabModel.getPath(), keytabModel.getFileName(), keytabModel.getKeytab());
+                keytabUploads.add(() -> {
+                    uploadFileToTargets(sc, gatewayTargets, exitModel, keytabModel.getPath(), keytabModel.getFileName(), keytabModel.getKeytab());
+                    return null;
+                });
                 Map<String, String> keytabProps = Map.of(
                         "principal", keytabModel.getPrincipal(),
                         "path", keytabModel.getPath() + "/" + keytabModel.getFileName());
                 properties.put(keytabModel.getService(), keytabProps);
             }
+            saltService.callInParallel(keytabUploads);
             SaltPillarProperties saltPillarProperties = new SaltPillarProperties("/kerberos/keytab.sls", Collections.singletonMap("keytab", properties));
             OrchestratorBootstrap pillarSave = PillarSave.createCustomPillar(sc, gatewayTargets, saltPillarProperties);
             Callable<Boolean> runner = saltRunner.runnerWithConfiguredErrorCount(pillarSave, exitCriteria, exitModel);
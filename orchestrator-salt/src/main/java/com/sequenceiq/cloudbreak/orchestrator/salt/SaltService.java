@@ -1,11 +1,20 @@
 package com.sequenceiq.cloudbreak.orchestrator.salt;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 
 import org.slf4j.Logger;
@@ -13,8 +22,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+import com.sequenceiq.cloudbreak.concurrent.MDCCopyDecorator;
 import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorFailedException;
 import com.sequenceiq.cloudbreak.orchestrator.model.GatewayConfig;
+import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltClientPool;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
 
 @Service
@@ -22,18 +34,43 @@ public class SaltService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SaltService.class);
 
+    private static final int CONNECT_TIMEOUT_MS = 20_000;
+
     @Inject
     private SaltErrorResolver saltErrorResolver;
 
+    @Inject
+    private SaltClientPool saltClientPool;
+
+    @Inject
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
     @Value("${rest.debug}")
     private boolean restDebug;
 
+    @Value("${salt.parallel.calls.per.operation:4}")
+    private int parallelCallsPerOperation;
+
+    private ExecutorService parallelCallExecutor;
+
+    @PostConstruct
+    public void init() {
+        parallelCallExecutor = commonExecutorServiceFactory.newVirtualThreadExecutorService("salt-parallel-call", "saltParallelCallExecutor",
+                List.of(new MDCCopyDecorator()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parallelCallExecutor.shutdownNow();
+    }
+
     public SaltConnector createSaltConnector(GatewayConfig gatewayConfig) {
-        return new SaltConnector(gatewayConfig, saltErrorResolver, restDebug);
+        return new SaltConnector(gatewayConfig, saltErrorResolver, saltClientPool.lease(gatewayConfig, CONNECT_TIMEOUT_MS, OptionalInt.empty(), restDebug));
     }
 
     public SaltConnector createSaltConnector(GatewayConfig gatewayConfig, int connectTimeoutMs, int readTimeout) {
-        return new SaltConnector(gatewayConfig, saltErrorResolver, restDebug, connectTimeoutMs, OptionalInt.of(readTimeout));
+        return new SaltConnector(gatewayConfig, saltErrorResolver,
+                saltClientPool.lease(gatewayConfig, connectTimeoutMs, OptionalInt.of(readTimeout), restDebug));
     }
 
     public List<SaltConnector> createSaltConnector(Collection<GatewayConfig> gatewayConfigs) {
@@ -49,4 +86,57 @@ public class SaltService {
         }
         throw new CloudbreakOrchestratorFailedException("No primary gateway specified");
     }
+
+    /**
+     * Runs independent Salt calls, e.g. the uploads of different files, in parallel and waits for all of them. At most
+     * {@code salt.parallel.calls.per.operation} calls of one invocation run at the same time, so a single operation can not flood the gateway,
+     * while the executor itself is not bounded and parallel operations do not wait for each other. The first failure is thrown after every
+     * call has finished, so no call keeps using a connector that the caller closes.
+     */
+    public void callInParallel(Collection<? extends Callable<?>> calls) throws Exception {
+        Semaphore permits = new Semaphore(Math.max(1, parallelCallsPerOperation));
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Callable<?> call : calls) {
+                permits.acquire();
+                futures.add(submit(call, permits));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Interrupted while starting parallel Salt calls", e);
+        }
+        Exception failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new IllegalStateException("Interrupted while waiting for parallel Salt calls", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception cause ? cause : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Future<?> submit(Callable<?> call, Semaphore permits) {
+        try {
+            return parallelCallExecutor.submit(() -> {
+                try {
+                    return call.call();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
 }
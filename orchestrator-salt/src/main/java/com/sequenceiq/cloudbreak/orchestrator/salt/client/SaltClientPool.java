@@ -0,0 +1,147 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.client.Client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.client.RestClientUtil;
+import com.sequenceiq.cloudbreak.orchestrator.model.GatewayConfig;
+
+/**
+ * Shares the REST clients of the Salt connectors between the connectors of the same gateway TLS identity and timeouts. Building a client
+ * loads the key and trust material of the gateway, and a client of its own per connector means a new TLS handshake and no kept-alive
+ * connection for every Salt operation. A shared client keeps its connections and TLS sessions while it is leased, and for
+ * {@code salt.client.pool.idle.timeout.seconds} after its last lease was released.
+ */
+@Component
+public class SaltClientPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaltClientPool.class);
+
+    @Value("${salt.client.pool.idle.timeout.seconds:300}")
+    private long idleTimeoutSeconds;
+
+    private final ConcurrentMap<String, PooledClient> clients = new ConcurrentHashMap<>();
+
+    public Lease lease(GatewayConfig gatewayConfig, int connectTimeoutMs, OptionalInt readTimeout, boolean debug) {
+        evictIdleClients();
+        String key = clientKey(gatewayConfig, connectTimeoutMs, readTimeout, debug);
+        PooledClient pooledClient = clients.compute(key, (k, existing) -> {
+            PooledClient client = existing == null ? new PooledClient(createClient(gatewayConfig, connectTimeoutMs, readTimeout, debug)) : existing;
+            client.leases++;
+            return client;
+        });
+        return new Lease(key, pooledClient.client);
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        clients.values().forEach(pooledClient -> pooledClient.client.close());
+        clients.clear();
+    }
+
+    private void release(String key) {
+        clients.computeIfPresent(key, (k, pooledClient) -> {
+            pooledClient.leases--;
+            pooledClient.lastReleased = System.nanoTime();
+            return pooledClient;
+        });
+    }
+
+    private void evictIdleClients() {
+        long idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        long now = System.nanoTime();
+        clients.keySet().forEach(key -> clients.computeIfPresent(key, (k, pooledClient) -> {
+            if (pooledClient.leases == 0 && now - pooledClient.lastReleased >= idleTimeoutNanos) {
+                LOGGER.debug("Closing Salt REST client {} which has not been used for {} seconds", pooledClient.client, idleTimeoutSeconds);
+                pooledClient.client.close();
+                return null;
+            }
+            return pooledClient;
+        }));
+    }
+
+    private Client createClient(GatewayConfig gatewayConfig, int connectTimeoutMs, OptionalInt readTimeout, boolean debug) {
+        try {
+            LOGGER.debug("Creating shared Salt REST client for gateway {}", gatewayConfig.getHostname());
+            return RestClientUtil.createClient(gatewayConfig.getServerCert(), gatewayConfig.getNewServerCert(),
+                    gatewayConfig.getClientCert(), gatewayConfig.getClientKey(),
+                    connectTimeoutMs, readTimeout, debug);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create rest client with 2-way-ssl config", e);
+        }
+    }
+
+    // The key material is hashed, so the pool does not hold a second copy of the client keys
+    private String clientKey(GatewayConfig gatewayConfig, int connectTimeoutMs, OptionalInt readTimeout, boolean debug) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[] {gatewayConfig.getServerCert(), gatewayConfig.getNewServerCert().orElse(""),
+                    gatewayConfig.getClientCert(), gatewayConfig.getClientKey()}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest()) + ':' + connectTimeoutMs + ':' + readTimeout.orElse(-1) + ':' + debug;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class PooledClient {
+
+        private final Client client;
+
+        private int leases;
+
+        private long lastReleased;
+
+        private PooledClient(Client client) {
+            this.client = client;
+        }
+    }
+
+    /**
+     * A lease of a shared client. The client must not be closed by the lessee, the lease is released instead.
+     */
+    public final class Lease {
+
+        private final String key;
+
+        private final Client client;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(String key, Client client) {
+            this.key = key;
+            this.client = client;
+        }
+
+        public Client getClient() {
+            return client;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                SaltClientPool.this.release(key);
+            }
+        }
+    }
+}
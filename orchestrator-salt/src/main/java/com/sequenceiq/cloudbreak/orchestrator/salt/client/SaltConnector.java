@@ -85,30 +85,49 @@ public class SaltConnector implements Closeable {
 
     private final String hostname;
 
+    private final SaltClientPool.Lease clientLease;
+
     public SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug,
             int connectTimeoutMs, OptionalInt readTimeout) {
+        this(gatewayConfig, saltErrorResolver, createClient(gatewayConfig, debug, connectTimeoutMs, readTimeout), null);
+    }
+
+    /**
+     * Creates a connector on a client leased from the {@link SaltClientPool}. Closing the connector releases the lease instead of closing the
+     * client.
+     */
+    public SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, SaltClientPool.Lease clientLease) {
+        this(gatewayConfig, saltErrorResolver, clientLease.getClient(), clientLease);
+    }
+
+    private SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, Client restClient, SaltClientPool.Lease clientLease) {
+        this.restClient = restClient;
+        this.clientLease = clientLease;
+        this.hostname = gatewayConfig.getHostname();
+        String saltBootPasswd = Optional.ofNullable(gatewayConfig.getSaltBootPassword()).orElse(SALT_BOOT_PASSWORD);
+        saltTarget = restClient.target(gatewayConfig.getGatewayUrl())
+                .register(HttpAuthenticationFeature.basic(SALT_BOOT_USER, saltBootPasswd))
+                .register(new DisableProxyAuthFeature())
+                .register(new SetProxyTimeoutFeature(PROXY_TIMEOUT));
+        saltPassword = Optional.ofNullable(gatewayConfig.getSaltPassword()).orElse(SALT_PASSWORD);
+        signatureKey = gatewayConfig.getSignatureKey();
+        this.saltErrorResolver = saltErrorResolver;
+    }
+
+    public SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug) {
+        this(gatewayConfig, saltErrorResolver, debug, CONNECT_TIMEOUT_MS, OptionalInt.empty());
+    }
+
+    private static Client createClient(GatewayConfig gatewayConfig, boolean debug, int connectTimeoutMs, OptionalInt readTimeout) {
         try {
-            restClient = RestClientUtil.createClient(gatewayConfig.getServerCert(), gatewayConfig.getNewServerCert(),
+            return RestClientUtil.createClient(gatewayConfig.getServerCert(), gatewayConfig.getNewServerCert(),
                     gatewayConfig.getClientCert(), gatewayConfig.getClientKey(),
                     connectTimeoutMs, readTimeout, debug);
-            this.hostname = gatewayConfig.getHostname();
-            String saltBootPasswd = Optional.ofNullable(gatewayConfig.getSaltBootPassword()).orElse(SALT_BOOT_PASSWORD);
-            saltTarget = restClient.target(gatewayConfig.getGatewayUrl())
-                    .register(HttpAuthenticationFeature.basic(SALT_BOOT_USER, saltBootPasswd))
-                    .register(new DisableProxyAuthFeature())
-                    .register(new SetProxyTimeoutFeature(PROXY_TIMEOUT));
-            saltPassword = Optional.ofNullable(gatewayConfig.getSaltPassword()).orElse(SALT_PASSWORD);
-            signatureKey = gatewayConfig.getSignatureKey();
-            this.saltErrorResolver = saltErrorResolver;
         } catch (Exception e) {
             throw new RuntimeException("Failed to create rest client with 2-way-ssl config", e);
         }
     }
 
-    public SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug) {
-        this(gatewayConfig, saltErrorResolver, debug, CONNECT_TIMEOUT_MS, OptionalInt.empty());
-    }
-
     @Measure(SaltConnector.class)
     @Retryable(value = ClusterProxyWebApplicationException.class, backoff = @Backoff(delay = 1000))
     public GenericResponse health() {
@@ -326,7 +345,9 @@ public class SaltConnector implements Closeable {
 
     @Override
     public void close() {
-        if (restClient != null) {
+        if (clientLease != null) {
+            clientLease.release();
+        } else if (restClient != null) {
             restClient.close();
         }
     }
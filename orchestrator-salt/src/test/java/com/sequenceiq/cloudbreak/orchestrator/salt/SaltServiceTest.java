@@ -0,0 +1,88 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+
+@ExtendWith(MockitoExtension.class)
+class SaltServiceTest {
+
+    @Mock
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @InjectMocks
+    private SaltService underTest;
+
+    @BeforeEach
+    void setUp() {
+        when(commonExecutorServiceFactory.newVirtualThreadExecutorService(anyString(), anyString(), any())).thenReturn(Executors.newCachedThreadPool());
+        ReflectionTestUtils.setField(underTest, "parallelCallsPerOperation", 2);
+        underTest.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void testCallInParallelLimitsTheParallelCallsOfAnOperation() throws Exception {
+        AtomicInteger runningCalls = new AtomicInteger();
+        AtomicInteger maxRunningCalls = new AtomicInteger();
+        AtomicInteger finishedCalls = new AtomicInteger();
+        List<Callable<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(() -> {
+                maxRunningCalls.accumulateAndGet(runningCalls.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                runningCalls.decrementAndGet();
+                finishedCalls.incrementAndGet();
+                return null;
+            });
+        }
+
+        underTest.callInParallel(calls);
+
+        assertEquals(6, finishedCalls.get());
+        assertEquals(2, maxRunningCalls.get());
+    }
+
+    @Test
+    void testCallInParallelThrowsTheFirstFailureAfterEveryCallHasFinished() {
+        IllegalStateException failure = new IllegalStateException("upload failed");
+        AtomicInteger finishedCalls = new AtomicInteger();
+        Callable<Void> failingCall = () -> {
+            throw failure;
+        };
+        Callable<Void> slowCall = () -> {
+            Thread.sleep(100);
+            finishedCalls.incrementAndGet();
+            return null;
+        };
+
+        Exception exception = assertThrows(Exception.class, () -> underTest.callInParallel(List.of(failingCall, slowCall, slowCall)));
+
+        assertSame(failure, exception);
+        assertEquals(2, finishedCalls.get());
+    }
+}
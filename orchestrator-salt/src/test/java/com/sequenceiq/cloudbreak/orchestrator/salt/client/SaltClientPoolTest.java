@@ -0,0 +1,77 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.orchestrator.model.GatewayConfig;
+
+class SaltClientPoolTest {
+
+    private static final int CONNECT_TIMEOUT_MS = 20_000;
+
+    private final SaltClientPool underTest = new SaltClientPool();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "idleTimeoutSeconds", 300L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.closeAll();
+    }
+
+    @Test
+    void testConnectorsOfTheSameGatewayShareTheClient() {
+        GatewayConfig gatewayConfig = gatewayConfig("client-cert");
+
+        SaltClientPool.Lease first = underTest.lease(gatewayConfig, CONNECT_TIMEOUT_MS, OptionalInt.empty(), false);
+        SaltClientPool.Lease second = underTest.lease(gatewayConfig, CONNECT_TIMEOUT_MS, OptionalInt.empty(), false);
+
+        assertSame(first.getClient(), second.getClient());
+        assertEquals(1, underTest.size());
+    }
+
+    @Test
+    void testGatewaysWithDifferentCertificatesOrTimeoutsDoNotShareTheClient() {
+        SaltClientPool.Lease first = underTest.lease(gatewayConfig("client-cert-1"), CONNECT_TIMEOUT_MS, OptionalInt.empty(), false);
+        SaltClientPool.Lease second = underTest.lease(gatewayConfig("client-cert-2"), CONNECT_TIMEOUT_MS, OptionalInt.empty(), false);
+        SaltClientPool.Lease third = underTest.lease(gatewayConfig("client-cert-1"), CONNECT_TIMEOUT_MS, OptionalInt.of(1000), false);
+
+        assertNotSame(first.getClient(), second.getClient());
+        assertNotSame(first.getClient(), third.getClient());
+        assertEquals(3, underTest.size());
+    }
+
+    @Test
+    void testIdleClientIsClosedOnlyWhenAllLeasesAreReleased() {
+        ReflectionTestUtils.setField(underTest, "idleTimeoutSeconds", 0L);
+        SaltClientPool.Lease first = underTest.lease(gatewayConfig("client-cert-1"), CONNECT_TIMEOUT_MS, OptionalInt.empty(), false);
+        SaltClientPool.Lease second = underTest.lease(gatewayConfig("client-cert-1"), CONNECT_TIMEOUT_MS, OptionalInt.empty(), false);
+        first.release();
+        first.release();
+
+        underTest.lease(gatewayConfig("client-cert-2"), CONNECT_TIMEOUT_MS, OptionalInt.empty(), false);
+        assertEquals(2, underTest.size());
+
+        second.release();
+        underTest.lease(gatewayConfig("client-cert-2"), CONNECT_TIMEOUT_MS, OptionalInt.empty(), false);
+        assertEquals(1, underTest.size());
+    }
+
+    private GatewayConfig gatewayConfig(String clientCert) {
+        GatewayConfig gatewayConfig = mock(GatewayConfig.class);
+        when(gatewayConfig.getClientCert()).thenReturn(clientCert);
+        return gatewayConfig;
+    }
+}
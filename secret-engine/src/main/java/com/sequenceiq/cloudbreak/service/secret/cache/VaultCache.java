@@ -1,12 +1,42 @@
 package com.sequenceiq.cloudbreak.service.secret.cache;
 
+import static com.sequenceiq.cloudbreak.common.metrics.type.MetricType.VAULT_CACHE_HIT;
+import static com.sequenceiq.cloudbreak.common.metrics.type.MetricType.VAULT_CACHE_LOAD_TIME;
+import static com.sequenceiq.cloudbreak.common.metrics.type.MetricType.VAULT_CACHE_MISS;
+import static com.sequenceiq.cloudbreak.common.metrics.type.MetricType.VAULT_CACHE_SIZE;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
 import org.springframework.stereotype.Service;
 
-import com.sequenceiq.cloudbreak.cache.common.AbstractCacheDefinition;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.sequenceiq.cloudbreak.cache.CacheDefinition;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.service.secret.vault.VaultKvV2Engine;
 import com.sequenceiq.cloudbreak.vault.VaultConstants;
 
+/**
+ * Secrets read through {@code VaultKvV2Engine.getWithCache} are cached here. Positive entries live for at most {@code TTL_IN_SECONDS} and
+ * are reloaded in the background when they are read after the refresh interval, so hot paths are not all expired at once. Missing paths
+ * are stored as negative entries for a few seconds only.
+ * <p>
+ * A background refresh never overwrites a newer value: if the path is evicted by a write or a rotation while the refresh is running,
+ * Caffeine discards the refreshed value.
+ */
 @Service
-public class VaultCache extends AbstractCacheDefinition {
+public class VaultCache implements CacheDefinition {
 
     // Average key is  300 chars, average value is less than 4500 chars plus adding some headroom
     // roughly it is 10kb per entry due to UTF-16
@@ -18,18 +48,69 @@ public class VaultCache extends AbstractCacheDefinition {
     // to take over the flow
     private static final long TTL_IN_SECONDS = 60L;
 
+    @Value("${vault.cache.refresh.seconds:45}")
+    private long refreshSeconds;
+
+    @Value("${vault.cache.negative.ttl.seconds:5}")
+    private long negativeTtlSeconds;
+
+    @Inject
+    private ObjectProvider<VaultKvV2Engine> vaultKvV2Engine;
+
+    @Qualifier("CommonMetricService")
+    @Inject
+    private MetricService metricService;
+
     @Override
-    protected String getName() {
-        return VaultConstants.CACHE_NAME;
+    public Cache cacheConfiguration() {
+        LoadingCache<Object, Object> cache = Caffeine.newBuilder()
+                .recordStats()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfter(new VaultEntryExpiry(TimeUnit.SECONDS.toNanos(TTL_IN_SECONDS), TimeUnit.SECONDS.toNanos(negativeTtlSeconds)))
+                .refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+                .build(refreshLoader());
+        registerMetrics(cache);
+        return new CaffeineCache(VaultConstants.CACHE_NAME, cache);
     }
 
-    @Override
-    protected long getMaxEntries() {
-        return MAX_ENTRIES;
+    private CacheLoader<Object, Object> refreshLoader() {
+        return key -> {
+            Map<String, String> secret = vaultKvV2Engine.getObject().getForCacheRefresh((String) key);
+            return secret != null ? secret : NullValue.INSTANCE;
+        };
     }
 
-    @Override
-    protected long getTimeToLiveSeconds() {
-        return TTL_IN_SECONDS;
+    private void registerMetrics(LoadingCache<Object, Object> cache) {
+        metricService.registerGaugeMetric(VAULT_CACHE_HIT, cache, c -> c.stats().hitCount(), Map.of());
+        metricService.registerGaugeMetric(VAULT_CACHE_MISS, cache, c -> c.stats().missCount(), Map.of());
+        metricService.registerGaugeMetric(VAULT_CACHE_LOAD_TIME, cache, c -> TimeUnit.NANOSECONDS.toMillis((long) c.stats().averageLoadPenalty()), Map.of());
+        metricService.registerGaugeMetric(VAULT_CACHE_SIZE, cache, LoadingCache::estimatedSize, Map.of());
+    }
+
+    static class VaultEntryExpiry implements Expiry<Object, Object> {
+
+        private final long ttlNanos;
+
+        private final long negativeTtlNanos;
+
+        VaultEntryExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return value instanceof NullValue ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
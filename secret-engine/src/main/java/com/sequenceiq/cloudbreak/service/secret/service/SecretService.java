@@ -1,6 +1,10 @@
 package com.sequenceiq.cloudbreak.service.secret.service;
 
+import static com.sequenceiq.cloudbreak.util.NullUtil.getIfNotNull;
+
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -13,6 +17,8 @@ import org.springframework.stereotype.Service;
 import com.google.gson.Gson;
 import com.sequenceiq.cloudbreak.service.secret.SecretEngine;
 import com.sequenceiq.cloudbreak.service.secret.conf.VaultConfig;
+import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
+import com.sequenceiq.cloudbreak.service.secret.domain.SecretProxy;
 import com.sequenceiq.cloudbreak.service.secret.model.SecretResponse;
 import com.sequenceiq.cloudbreak.service.secret.vault.VaultKvV2Engine;
 import com.sequenceiq.cloudbreak.service.secret.vault.VaultSecret;
@@ -56,6 +62,48 @@ public class SecretService {
         return response != null ? response.get(field) : null;
     }
 
+    /**
+     * Resolves all the given secrets, e.g. every secret of a stack, reading each Vault path only once even if more secrets point to it.
+     *
+     * @return the resolved value by the secret JSON, secrets which cannot be resolved are mapped to null
+     */
+    public Map<String, String> getAll(Collection<String> vaultSecretJsons) {
+        Map<String, Map<String, String>> responsesByPath = new HashMap<>();
+        Map<String, String> result = new HashMap<>();
+        for (String vaultSecretJson : vaultSecretJsons) {
+            String field = ThreadBasedVaultReadFieldProvider.getFieldName(vaultSecretJson);
+            if (isSecret(vaultSecretJson) && field != null) {
+                String path = vaultSecretConverter.convert(vaultSecretJson).getPath();
+                if (!responsesByPath.containsKey(path)) {
+                    responsesByPath.put(path, vaultRetryService.tryReadingVault(() -> persistentEngine.getWithCache(path)));
+                }
+                Map<String, String> response = responsesByPath.get(path);
+                result.put(vaultSecretJson, response != null ? response.get(field) : null);
+            } else {
+                result.put(vaultSecretJson, null);
+            }
+        }
+        LOGGER.debug("Resolved {} secrets from {} Vault paths", result.size(), responsesByPath.size());
+        return result;
+    }
+
+    /**
+     * Resolves the raw values of the given secrets, e.g. the secrets of a cluster, with one {@link #getAll(Collection)} pass. The secrets which are
+     * not loaded from the database, so they are not stored in Vault yet, return their own raw value.
+     *
+     * @return the raw values in the order of the secrets, null for null secrets
+     */
+    public List<String> getAllRaw(List<? extends Secret> secrets) {
+        List<String> vaultSecretJsons = secrets.stream()
+                .filter(SecretProxy.class::isInstance)
+                .map(Secret::getSecret)
+                .toList();
+        Map<String, String> resolved = vaultSecretJsons.isEmpty() ? Map.of() : getAll(vaultSecretJsons);
+        return secrets.stream()
+                .map(secret -> secret instanceof SecretProxy ? resolved.get(secret.getSecret()) : getIfNotNull(secret, Secret::getRaw))
+                .toList();
+    }
+
     public String getByResponse(SecretResponse secretResponse) {
         if (secretResponse == null) {
             return null;
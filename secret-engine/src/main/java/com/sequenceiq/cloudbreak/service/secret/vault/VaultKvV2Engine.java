@@ -74,7 +74,7 @@ public class VaultKvV2Engine implements SecretEngine {
     }
 
     @Override
-    @Cacheable(cacheNames = VaultConstants.CACHE_NAME, key = "#fullSecretPath")
+    @Cacheable(cacheNames = VaultConstants.CACHE_NAME, key = "#fullSecretPath", sync = true)
     public Map<String, String> getWithCache(@NotNull String fullSecretPath) {
         return get(fullSecretPath);
     }
@@ -85,6 +85,13 @@ public class VaultKvV2Engine implements SecretEngine {
         return get(fullSecretPath);
     }
 
+    /**
+     * Reads the secret from Vault without touching the cache, it is used by the cache itself to refresh entries before they expire.
+     */
+    public Map<String, String> getForCacheRefresh(@NotNull String fullSecretPath) {
+        return get(fullSecretPath);
+    }
+
     private Map<String, String> get(@NotNull String fullSecretPath) {
         validatePathPattern(fullSecretPath);
         long start = System.currentTimeMillis();
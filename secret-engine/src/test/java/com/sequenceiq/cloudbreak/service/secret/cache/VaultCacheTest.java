@@ -0,0 +1,88 @@
+package com.sequenceiq.cloudbreak.service.secret.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.service.secret.vault.VaultKvV2Engine;
+import com.sequenceiq.cloudbreak.vault.VaultConstants;
+
+@ExtendWith(MockitoExtension.class)
+class VaultCacheTest {
+
+    private static final String PATH = "app/path";
+
+    @InjectMocks
+    private VaultCache underTest;
+
+    @Mock
+    private ObjectProvider<VaultKvV2Engine> vaultKvV2EngineProvider;
+
+    @Mock
+    private VaultKvV2Engine vaultKvV2Engine;
+
+    @Mock
+    private MetricService metricService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "vaultKvV2Engine", vaultKvV2EngineProvider);
+        ReflectionTestUtils.setField(underTest, "refreshSeconds", 45L);
+        ReflectionTestUtils.setField(underTest, "negativeTtlSeconds", 5L);
+    }
+
+    @Test
+    void testLoadedValueIsReusedUntilEviction() {
+        Cache cache = underTest.cacheConfiguration();
+        Map<String, String> secret = Map.of(VaultConstants.FIELD_SECRET, "value");
+
+        assertEquals(secret, cache.get(PATH, () -> secret));
+        assertEquals(secret, cache.get(PATH, () -> Map.of(VaultConstants.FIELD_SECRET, "other")));
+        assertEquals(VaultConstants.CACHE_NAME, cache.getName());
+    }
+
+    @Test
+    void testMissingSecretIsCachedAsNegativeEntry() {
+        Cache cache = underTest.cacheConfiguration();
+
+        assertNull(cache.get(PATH, () -> null));
+        assertEquals(NullValue.INSTANCE, ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()).getIfPresent(PATH));
+    }
+
+    @Test
+    void testRefreshReadsVaultWithoutEviction() {
+        when(vaultKvV2EngineProvider.getObject()).thenReturn(vaultKvV2Engine);
+        when(vaultKvV2Engine.getForCacheRefresh(PATH)).thenReturn(Map.of(VaultConstants.FIELD_SECRET, "value"));
+        Cache cache = underTest.cacheConfiguration();
+
+        assertEquals(Map.of(VaultConstants.FIELD_SECRET, "value"), cache.get(PATH, Map.class));
+        verify(vaultKvV2Engine, times(1)).getForCacheRefresh(PATH);
+    }
+
+    @Test
+    void testNegativeEntriesExpireSooner() {
+        VaultCache.VaultEntryExpiry expiry = new VaultCache.VaultEntryExpiry(TimeUnit.SECONDS.toNanos(60L), TimeUnit.SECONDS.toNanos(5L));
+
+        assertEquals(TimeUnit.SECONDS.toNanos(60L), expiry.expireAfterCreate(PATH, Map.of(), 0L));
+        assertEquals(TimeUnit.SECONDS.toNanos(5L), expiry.expireAfterCreate(PATH, NullValue.INSTANCE, 0L));
+        assertEquals(TimeUnit.SECONDS.toNanos(60L), expiry.expireAfterUpdate(PATH, Map.of(), 0L, 1L));
+        assertEquals(1L, expiry.expireAfterRead(PATH, Map.of(), 0L, 1L));
+    }
+}
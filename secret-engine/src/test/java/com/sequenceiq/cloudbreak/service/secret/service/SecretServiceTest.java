@@ -12,6 +12,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,8 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.sequenceiq.cloudbreak.service.secret.SecretEngine;
+import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
+import com.sequenceiq.cloudbreak.service.secret.domain.SecretProxy;
 import com.sequenceiq.cloudbreak.service.secret.model.SecretResponse;
 import com.sequenceiq.cloudbreak.service.secret.vault.VaultSecretConverter;
 import com.sequenceiq.cloudbreak.vault.VaultConstants;
@@ -106,6 +109,28 @@ public class SecretServiceTest {
         assertEquals("value", result);
     }
 
+    @Test
+    public void testGetAllReadsEachPathOnce() {
+        String otherSecretJson = SECRET_JSON.replace("\"version\":1", "\"version\":2");
+        when(persistentEngine.getWithCache("app/path")).thenReturn(Collections.singletonMap(VaultConstants.FIELD_SECRET, "value"));
+
+        Map<String, String> result = underTest.getAll(List.of(SECRET_JSON, otherSecretJson));
+
+        verify(persistentEngine, times(1)).getWithCache("app/path");
+        assertEquals(Map.of(SECRET_JSON, "value", otherSecretJson, "value"), result);
+    }
+
+    @Test
+    public void testGetAllRawResolvesTheStoredSecretsInOnePass() {
+        String otherSecretJson = SECRET_JSON.replace("\"version\":1", "\"version\":2");
+        when(persistentEngine.getWithCache("app/path")).thenReturn(Collections.singletonMap(VaultConstants.FIELD_SECRET, "value"));
+
+        List<String> result = underTest.getAllRaw(Arrays.asList(new SecretProxy(SECRET_JSON), new Secret("raw"), null, new SecretProxy(otherSecretJson)));
+
+        verify(persistentEngine, times(1)).getWithCache("app/path");
+        assertEquals(Arrays.asList("value", "raw", null, "value"), result);
+    }
+
     @Test
     public void testDeleteByVaultSecretJsonNullSecret() {
         underTest.deleteByVaultSecretJson(null);
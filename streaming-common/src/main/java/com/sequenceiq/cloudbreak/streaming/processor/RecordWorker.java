@@ -1,6 +1,9 @@
 package com.sequenceiq.cloudbreak.streaming.processor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,9 +12,14 @@ import com.sequenceiq.cloudbreak.streaming.model.RecordRequest;
 import com.sequenceiq.cloudbreak.streaming.model.StreamProcessingException;
 import com.sequenceiq.cloudbreak.telemetry.streaming.CommonStreamingConfiguration;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+
 /**
  * Worker class that should use specific/custom clients for record processing.
  * It process data in order from a blocking queue. Blocking queues and workers has a one-to-one relation.
+ * Workers that override {@link #getMaxBatchSize()} drain up to that many records (waiting at most {@link #getMaxBatchWaitMillis()})
+ * and hand them over to {@link #processRecordBatch(List)} at once.
  *
  * @param <C> type of the streaming configuration.
  * @param <R> type of the request that is processed.
@@ -20,6 +28,8 @@ public abstract class RecordWorker<P extends AbstractRecordProcessor, C extends
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractRecordProcessor.class);
 
+    private static final String BATCH_SIZE_METRIC = "streaming.record.worker.batch.size";
+
     private final BlockingDeque<R> processingQueue;
 
     private final String serviceName;
@@ -28,12 +38,16 @@ public abstract class RecordWorker<P extends AbstractRecordProcessor, C extends
 
     private final C configuration;
 
+    private final DistributionSummary batchSizeSummary;
+
     public RecordWorker(String name, String serviceName, P recordProcessor, BlockingDeque<R> processingQueue, C configuration) {
         super(name);
         this.serviceName = serviceName;
         this.recordProcessor = recordProcessor;
         this.processingQueue = processingQueue;
         this.configuration = configuration;
+        this.batchSizeSummary = DistributionSummary.builder(BATCH_SIZE_METRIC).tag("service", String.valueOf(serviceName))
+                .publishPercentileHistogram().register(Metrics.globalRegistry);
     }
 
     public BlockingDeque<R> getProcessingQueue() {
@@ -51,19 +65,19 @@ public abstract class RecordWorker<P extends AbstractRecordProcessor, C extends
     @Override
     public void run() {
         LOGGER.info("Start processing {} records. [name:{}]", serviceName, getName());
+        List<R> batch = new ArrayList<>();
         while (true) {
             try {
                 R input = processingQueue.take();
-                try {
-                    processRecordInput(input);
-                } catch (StreamProcessingException e) {
-                    LOGGER.warn("Unexpected error happened during data processing for {} service ", serviceName);
-                    recordProcessor.handleDataStreamingException(input, e);
-                } catch (Exception e) {
-                    LOGGER.warn("Unexpected error happened during data processing for {} service ", serviceName);
-                    recordProcessor.handleUnexpectedException(input, e);
+                if (getMaxBatchSize() > 1) {
+                    batch.add(input);
+                    drainBatch(batch);
+                    processBatch(batch);
+                } else {
+                    processSingleRecord(input);
                 }
             } catch (InterruptedException ie) {
+                processBatch(batch);
                 onInterrupt();
                 LOGGER.debug("{} record processing interrupted: {}", serviceName, ie.getMessage());
                 break;
@@ -71,6 +85,32 @@ public abstract class RecordWorker<P extends AbstractRecordProcessor, C extends
         }
     }
 
+    /**
+     * Maximum number of records handed over to {@link #processRecordBatch(List)} at once. Batching is disabled by default.
+     */
+    public int getMaxBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Maximum time in milliseconds to wait for further records once the first record of a batch has arrived.
+     */
+    public long getMaxBatchWaitMillis() {
+        return 0L;
+    }
+
+    /**
+     * Processes a batch of records. Override this to send the records with one client call.
+     * Default behaviour: the records are processed one by one with {@link #processRecordInput(RecordRequest)}.
+     * If the whole batch fails with an exception, the failure is reported for every record of the batch.
+     *
+     * @param inputs records drained from the blocking queue, in FIFO order
+     * @throws StreamProcessingException throws this exception in case of any kind of error
+     */
+    public void processRecordBatch(List<R> inputs) throws StreamProcessingException {
+        inputs.forEach(this::processSingleRecord);
+    }
+
     public C getConfiguration() {
         return configuration;
     }
@@ -87,4 +127,50 @@ public abstract class RecordWorker<P extends AbstractRecordProcessor, C extends
      * Triggered when the worker thread interrupted. It should cleanup resources or close clients.
      */
     public abstract void onInterrupt();
-}
\ No newline at end of file
+
+    private void drainBatch(List<R> batch) throws InterruptedException {
+        int maxBatchSize = getMaxBatchSize();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getMaxBatchWaitMillis());
+        while (batch.size() < maxBatchSize) {
+            processingQueue.drainTo(batch, maxBatchSize - batch.size());
+            long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+                break;
+            }
+            R next = processingQueue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void processBatch(List<R> batch) {
+        if (!batch.isEmpty()) {
+            batchSizeSummary.record(batch.size());
+            try {
+                processRecordBatch(batch);
+            } catch (StreamProcessingException e) {
+                LOGGER.warn("Unexpected error happened during batch data processing for {} service ", serviceName);
+                batch.forEach(input -> recordProcessor.handleDataStreamingException(input, e));
+            } catch (Exception e) {
+                LOGGER.warn("Unexpected error happened during batch data processing for {} service ", serviceName);
+                batch.forEach(input -> recordProcessor.handleUnexpectedException(input, e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void processSingleRecord(R input) {
+        try {
+            processRecordInput(input);
+        } catch (StreamProcessingException e) {
+            LOGGER.warn("Unexpected error happened during data processing for {} service ", serviceName);
+            recordProcessor.handleDataStreamingException(input, e);
+        } catch (Exception e) {
+            LOGGER.warn("Unexpected error happened during data processing for {} service ", serviceName);
+            recordProcessor.handleUnexpectedException(input, e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Locale;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.sequenceiq.cloudbreak.streaming.model.RecordRequest;
 import com.sequenceiq.cloudbreak.telemetry.streaming.CommonStreamingConfiguration;
@@ -31,6 +32,8 @@ public class RoundRobinStreamProcessingQueues
 
     private final AtomicInteger index = new AtomicInteger(0);
 
+    private final AtomicLong droppedRecords = new AtomicLong();
+
     private final int numberOfQueues;
 
     private final int sizeLimit;
@@ -47,7 +50,7 @@ public class RoundRobinStreamProcessingQueues
     private void initProcessingQueuesAndWorkers() {
         for (int workerIndex = 0; workerIndex < this.numberOfQueues; workerIndex++) {
             String threadName = String.format("%s-record-worker-%d", recordProcessor.getServiceName().toLowerCase(Locale.ROOT), workerIndex);
-            BlockingDeque<R> processingQueue = new LinkedBlockingDeque<>();
+            BlockingDeque<R> processingQueue = new LinkedBlockingDeque<>(sizeLimit);
             processingQueueList.add(processingQueue);
             W recordWorker = recordProcessor.createWorker(threadName, processingQueue);
             workers.add(recordWorker);
@@ -66,16 +69,20 @@ public class RoundRobinStreamProcessingQueues
 
     /**
      * Put a record into a processing queue. Uses round robin scheduling for picking the queue (for the record location).
+     * The queues are bounded, a record that does not fit into the picked queue is dropped without blocking the caller.
      */
     public void process(R input) throws InterruptedException {
         BlockingDeque<R> queue = iterator().next();
-        if (queue.size() >= sizeLimit) {
+        if (!queue.offer(input)) {
+            droppedRecords.incrementAndGet();
             recordProcessor.handleDroppedRecordRequest(input, sizeLimit);
-        } else {
-            queue.put(input);
         }
     }
 
+    public long getDroppedRecordCount() {
+        return droppedRecords.get();
+    }
+
     List<BlockingDeque<R>> getProcessingQueueList() {
         return processingQueueList;
     }
@@ -91,11 +98,7 @@ public class RoundRobinStreamProcessingQueues
 
             @Override
             public BlockingDeque<R> next() {
-                int currentIndex = index.get();
-                BlockingDeque<R> blockingDeque = processingQueueList.get(currentIndex);
-                int newIndex = (currentIndex + 1) % numberOfQueues;
-                index.set(newIndex);
-                return blockingDeque;
+                return processingQueueList.get(Math.floorMod(index.getAndIncrement(), numberOfQueues));
             }
 
             @Override
@@ -0,0 +1,117 @@
+package com.sequenceiq.cloudbreak.streaming.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.sequenceiq.cloudbreak.streaming.config.AbstractStreamingConfiguration;
+import com.sequenceiq.cloudbreak.streaming.model.RecordRequest;
+import com.sequenceiq.cloudbreak.streaming.model.StreamProcessingException;
+import com.sequenceiq.cloudbreak.streaming.processor.RoundRobinStreamProcessingQueuesTest.DummyRequest;
+
+@ExtendWith(MockitoExtension.class)
+class RecordWorkerTest {
+
+    private static final int MAX_BATCH_SIZE = 10;
+
+    private static final int RECORD_COUNT = 25;
+
+    private static final long TIMEOUT_SECONDS = 10L;
+
+    @Mock
+    private AbstractRecordProcessor recordProcessor;
+
+    @Test
+    void testRecordsAreHandedOverInBatches() throws InterruptedException {
+        BlockingDeque<RecordRequest> queue = new LinkedBlockingDeque<>();
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            queue.put(request());
+        }
+        BatchingRecordWorker underTest = new BatchingRecordWorker(queue, RECORD_COUNT, false);
+
+        underTest.start();
+
+        assertTrue(underTest.processed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        underTest.interrupt();
+        assertEquals(List.of(10, 10, 5), underTest.batchSizes);
+    }
+
+    @Test
+    void testFailedBatchIsReportedForEveryRecord() throws InterruptedException {
+        BlockingDeque<RecordRequest> queue = new LinkedBlockingDeque<>();
+        queue.put(request());
+        queue.put(request());
+        BatchingRecordWorker underTest = new BatchingRecordWorker(queue, 2, true);
+
+        underTest.start();
+
+        assertTrue(underTest.processed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        underTest.interrupt();
+        underTest.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        verify(recordProcessor, times(2)).handleDataStreamingException(any(), eq(BatchingRecordWorker.FAILURE));
+    }
+
+    private RecordRequest request() {
+        return new DummyRequest("body", null, new Date().getTime(), true);
+    }
+
+    private class BatchingRecordWorker extends RecordWorker<AbstractRecordProcessor, AbstractStreamingConfiguration, RecordRequest> {
+
+        private static final StreamProcessingException FAILURE = new StreamProcessingException("batch failed");
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch processed;
+
+        private final boolean failing;
+
+        BatchingRecordWorker(BlockingDeque<RecordRequest> queue, int expectedRecords, boolean failing) {
+            super("test-worker", "test", recordProcessor, queue, null);
+            this.processed = new CountDownLatch(expectedRecords);
+            this.failing = failing;
+        }
+
+        @Override
+        public int getMaxBatchSize() {
+            return MAX_BATCH_SIZE;
+        }
+
+        @Override
+        public long getMaxBatchWaitMillis() {
+            return 50L;
+        }
+
+        @Override
+        public void processRecordBatch(List<RecordRequest> inputs) throws StreamProcessingException {
+            batchSizes.add(inputs.size());
+            inputs.forEach(input -> processed.countDown());
+            if (failing) {
+                throw FAILURE;
+            }
+        }
+
+        @Override
+        public void processRecordInput(RecordRequest input) {
+        }
+
+        @Override
+        public void onInterrupt() {
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.sequenceiq.cloudbreak.structuredevent.service.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.common.json.JsonToString;
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+import com.sequenceiq.cloudbreak.concurrent.MDCCopyDecorator;
+import com.sequenceiq.cloudbreak.structuredevent.domain.CDPStructuredEventEntity;
+import com.sequenceiq.cloudbreak.structuredevent.repository.CDPStructuredEventRepository;
+import com.sequenceiq.cloudbreak.structuredevent.service.converter.CDPStructuredEventTypeConverter;
+
+/**
+ * Buffers the CDP structured events to be stored and inserts them in JDBC batches on a writer thread of its own, so the flow and REST
+ * threads emitting the events do not wait for the insert of their large JSON body. The buffer holds at most
+ * {@code cdp.structuredevent.db.async.queue.capacity} events: when it is full, or the writer is disabled or already stopped, {@link #offer}
+ * refuses the event and the caller stores it synchronously. The buffered events are written before the application context is closed.
+ * An event which cannot be inserted by JDBC is saved through {@link CDPStructuredEventRepository}, as the caller would have done.
+ */
+@Component
+public class CDPStructuredEventBatchWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CDPStructuredEventBatchWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO cdp_structured_event (eventtype, resourcetype, resourcecrn, accountid, timestamp, "
+            + "structuredeventjson) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Value("${cdp.structuredevent.db.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cdp.structuredevent.db.async.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${cdp.structuredevent.db.async.batch.size:100}")
+    private int batchSize;
+
+    @Value("${cdp.structuredevent.db.async.flush.interval.ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${cdp.structuredevent.db.async.shutdown.timeout.seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private CDPStructuredEventRepository structuredEventRepository;
+
+    @Inject
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    private final CDPStructuredEventTypeConverter eventTypeConverter = new CDPStructuredEventTypeConverter();
+
+    private final JsonToString jsonToString = new JsonToString();
+
+    private BlockingQueue<CDPStructuredEventEntity> queue;
+
+    private ExecutorService writerExecutor;
+
+    private final Object lifecycleLock = new Object();
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+            writerExecutor = commonExecutorServiceFactory.newThreadPoolExecutorService("cdp-structured-event-writer", "cdpStructuredEventWriter", 1, 1,
+                    0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy(), List.of(new MDCCopyDecorator()));
+            running = true;
+            writerExecutor.submit(this::writeUntilStopped);
+            LOGGER.info("Asynchronous CDP structured event writer is started, capacity: {}, batch size: {}", queueCapacity, batchSize);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writerExecutor != null) {
+            // offer enqueues under the same lock, so no event is buffered after the final flush below
+            synchronized (lifecycleLock) {
+                running = false;
+            }
+            writerExecutor.shutdown();
+            try {
+                if (!writerExecutor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                    LOGGER.warn("CDP structured event writer did not finish in {} seconds", shutdownTimeoutSeconds);
+                    writerExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writerExecutor.shutdownNow();
+            }
+            flush();
+        }
+    }
+
+    /**
+     * @return {@code false} if the event is not buffered and has to be stored by the caller
+     */
+    public boolean offer(CDPStructuredEventEntity entity) {
+        boolean accepted;
+        synchronized (lifecycleLock) {
+            if (!running) {
+                return false;
+            }
+            accepted = queue.offer(entity);
+        }
+        if (!accepted) {
+            LOGGER.debug("CDP structured event buffer is full, the event of {} is stored synchronously", entity.getResourceCrn());
+        }
+        return accepted;
+    }
+
+    public int getBufferedEventCount() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    private void writeUntilStopped() {
+        while (running || !queue.isEmpty()) {
+            try {
+                CDPStructuredEventEntity first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<CDPStructuredEventEntity> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("CDP structured event writer failed to write a batch", e);
+            }
+        }
+    }
+
+    private void flush() {
+        List<CDPStructuredEventEntity> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            LOGGER.info("Writing {} buffered CDP structured events on shutdown", remaining.size());
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                write(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+            }
+        }
+    }
+
+    private void write(List<CDPStructuredEventEntity> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entity) -> {
+                ps.setString(1, eventTypeConverter.convertToDatabaseColumn(entity.getEventType()));
+                ps.setString(2, entity.getResourceType());
+                ps.setString(3, entity.getResourceCrn());
+                ps.setString(4, entity.getAccountId());
+                ps.setObject(5, entity.getTimestamp());
+                ps.setString(6, jsonToString.convertToDatabaseColumn(entity.getStructuredEventJson()));
+            });
+        } catch (DataAccessException e) {
+            LOGGER.warn("Batch insert of {} CDP structured events failed, inserting them one by one", batch.size(), e);
+            batch.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(CDPStructuredEventEntity entity) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, eventTypeConverter.convertToDatabaseColumn(entity.getEventType()), entity.getResourceType(),
+                    entity.getResourceCrn(), entity.getAccountId(), entity.getTimestamp(),
+                    jsonToString.convertToDatabaseColumn(entity.getStructuredEventJson()));
+        } catch (DataAccessException e) {
+            LOGGER.warn("Insert of the CDP structured event of {} failed, saving it through the repository", entity.getResourceCrn(), e);
+            save(entity);
+        }
+    }
+
+    private void save(CDPStructuredEventEntity entity) {
+        try {
+            structuredEventRepository.save(entity);
+        } catch (RuntimeException e) {
+            LOGGER.error("CDP structured event of {} could not be stored", entity.getResourceCrn(), e);
+        }
+    }
+}
@@ -49,6 +49,9 @@ public class CDPStructuredEventDBService extends AbstractAccountAwareResourceSer
     @Inject
     private CDPStructuredEventEntityToCDPStructuredEventConverter cdpStructuredEventEntityToCDPStructuredEventConverter;
 
+    @Inject
+    private CDPStructuredEventBatchWriter batchWriter;
+
     @Override
     public void create(CDPStructuredEvent structuredEvent) {
         if (structuredEvent != null && CDPStructuredNotificationEvent.class.getSimpleName().equals(structuredEvent.getType())) {
@@ -60,7 +63,9 @@ public class CDPStructuredEventDBService extends AbstractAccountAwareResourceSer
             } else {
                 CDPStructuredEventEntity structuredEventEntityEntity = cdpStructuredEventToCDPStructuredEventEntityConverter
                         .convert(structuredEvent);
-                create(structuredEventEntityEntity, structuredEventEntityEntity.getAccountId());
+                if (!batchWriter.offer(structuredEventEntityEntity)) {
+                    create(structuredEventEntityEntity, structuredEventEntityEntity.getAccountId());
+                }
             }
         }
     }
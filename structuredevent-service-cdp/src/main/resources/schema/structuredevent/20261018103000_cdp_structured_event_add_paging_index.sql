@@ -0,0 +1,10 @@
+-- // Add timestamp ordered index to cdp_structured_event for paging the events of multiple resources
+-- Migration SQL that makes the change goes here.
+
+CREATE INDEX IF NOT EXISTS idx_cdp_structured_event_timestamp_resourcecrn_eventtype ON cdp_structured_event (timestamp DESC, resourcecrn, eventtype);
+
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+DROP INDEX IF EXISTS idx_cdp_structured_event_timestamp_resourcecrn_eventtype;
@@ -0,0 +1,134 @@
+package com.sequenceiq.cloudbreak.structuredevent.service.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.concurrent.CommonExecutorServiceFactory;
+import com.sequenceiq.cloudbreak.structuredevent.domain.CDPStructuredEventEntity;
+import com.sequenceiq.cloudbreak.structuredevent.repository.CDPStructuredEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CDPStructuredEventBatchWriterTest {
+
+    @InjectMocks
+    private CDPStructuredEventBatchWriter underTest;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CDPStructuredEventRepository structuredEventRepository;
+
+    @Mock
+    private CommonExecutorServiceFactory commonExecutorServiceFactory;
+
+    @Test
+    void testEventsAreNotBufferedWhenDisabled() {
+        ReflectionTestUtils.setField(underTest, "enabled", false);
+        underTest.init();
+
+        assertFalse(underTest.offer(new CDPStructuredEventEntity()));
+
+        underTest.shutdown();
+        verifyNoInteractions(jdbcTemplate, structuredEventRepository, commonExecutorServiceFactory);
+    }
+
+    @Test
+    void testEventsAreWrittenInBatchesAndTheBufferIsFlushedOnShutdown() {
+        setUpEnabledWriter(100);
+        when(commonExecutorServiceFactory.newThreadPoolExecutorService(eq("cdp-structured-event-writer"), anyString(), anyInt(), anyInt(), anyLong(),
+                any(), any(), any(), any())).thenReturn(Executors.newSingleThreadExecutor());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            batchSizes.add(((Collection<?>) invocation.getArgument(1)).size());
+            return new int[0][0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        underTest.init();
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(underTest.offer(entity(i)));
+        }
+        underTest.shutdown();
+
+        assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 3));
+        assertEquals(0, underTest.getBufferedEventCount());
+        assertFalse(underTest.offer(entity(25)));
+    }
+
+    @Test
+    void testEventIsRefusedWhenTheBufferIsFull() {
+        setUpEnabledWriter(1);
+        // the writer thread is not started, so the buffered event stays in the buffer
+        when(commonExecutorServiceFactory.newThreadPoolExecutorService(eq("cdp-structured-event-writer"), anyString(), anyInt(), anyInt(), anyLong(),
+                any(), any(), any(), any())).thenReturn(mock(ExecutorService.class));
+        underTest.init();
+
+        assertTrue(underTest.offer(entity(0)));
+        assertFalse(underTest.offer(entity(1)));
+    }
+
+    @Test
+    void testEventIsSavedThroughTheRepositoryWhenItCannotBeInserted() {
+        setUpEnabledWriter(10);
+        // the writer thread is not started, so the buffered event is written by the flush on shutdown
+        when(commonExecutorServiceFactory.newThreadPoolExecutorService(eq("cdp-structured-event-writer"), anyString(), anyInt(), anyInt(), anyLong(),
+                any(), any(), any(), any())).thenReturn(mock(ExecutorService.class));
+        doThrow(new DataAccessResourceFailureException("batch failed"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        doThrow(new DataAccessResourceFailureException("insert failed"))
+                .when(jdbcTemplate).update(anyString(), any(), any(), any(), any(), any(), any());
+        underTest.init();
+        CDPStructuredEventEntity entity = entity(0);
+
+        assertTrue(underTest.offer(entity));
+        underTest.shutdown();
+
+        verify(structuredEventRepository).save(entity);
+    }
+
+    private void setUpEnabledWriter(int queueCapacity) {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(underTest, "batchSize", 3);
+        ReflectionTestUtils.setField(underTest, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(underTest, "shutdownTimeoutSeconds", 10L);
+    }
+
+    private CDPStructuredEventEntity entity(int index) {
+        CDPStructuredEventEntity entity = new CDPStructuredEventEntity();
+        entity.setResourceCrn("crn:cdp:datalake:us-west-1:tenant:datalake:" + index);
+        entity.setTimestamp((long) index);
+        return entity;
+    }
+}
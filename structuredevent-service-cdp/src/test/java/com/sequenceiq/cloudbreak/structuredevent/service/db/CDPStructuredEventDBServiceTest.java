@@ -52,6 +52,9 @@ public class CDPStructuredEventDBServiceTest {
     @Mock
     private CDPStructuredEventEntityToCDPStructuredEventConverter cdpStructuredEventEntityToCDPStructuredEventConverter;
 
+    @Mock
+    private CDPStructuredEventBatchWriter batchWriter;
+
     @Test
     public void testGetPagedEventsOfResourceWhenEventTypesEmpty() {
         ArgumentCaptor<List> eventTypes = ArgumentCaptor.forClass(List.class);
@@ -113,6 +116,23 @@ public class CDPStructuredEventDBServiceTest {
         verify(structuredEventRepository, Mockito.times(1)).save(entity);
     }
 
+    @Test
+    public void testCreateWhenEventIsBufferedByTheBatchWriter() {
+        CDPStructuredEvent event = new CDPStructuredRestCallEvent();
+        event.setType(CDPStructuredNotificationEvent.class.getSimpleName());
+        CDPOperationDetails operation = new CDPOperationDetails();
+        operation.setResourceCrn("crn:cdp:cloudbreak:us-west-1:someone:stack:12345");
+        event.setOperation(operation);
+        CDPStructuredEventEntity entity = new CDPStructuredEventEntity();
+        when(cdpStructuredEventToCDPStructuredEventEntityConverter.convert(event)).thenReturn(entity);
+        when(batchWriter.offer(entity)).thenReturn(true);
+
+        underTest.create(event);
+
+        verify(batchWriter, Mockito.times(1)).offer(entity);
+        verify(structuredEventRepository, never()).save(any());
+    }
+
     @Test
     public void testCreateWithRestEvent() {
         CDPStructuredEvent event = new CDPStructuredRestCallEvent();
@@ -98,7 +98,11 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
 
     private static final IniFileFactory DEFAULT_INI_FILE_FACTORY = new IniFileFactory();
 
-    private final ApiClusterTemplate cmTemplate;
+    private ApiClusterTemplate cmTemplate;
+
+    // Set while the template is shared with other processors by CmTemplateProcessorFactory. The text is parsed again into a template of
+    // this processor before the first change or before a part of the template is handed out.
+    private String sharedTemplateText;
 
     private final IniFileFactory iniFileFactory;
 
@@ -109,21 +113,40 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
 
     @VisibleForTesting
     CmTemplateProcessor(@Nonnull String cmTemplateText, IniFileFactory iniFileFactory) {
+        cmTemplate = parse(cmTemplateText);
+        this.iniFileFactory = iniFileFactory;
+    }
+
+    CmTemplateProcessor(@Nonnull String cmTemplateText, @Nonnull ApiClusterTemplate sharedTemplate) {
+        cmTemplate = sharedTemplate;
+        sharedTemplateText = cmTemplateText;
+        iniFileFactory = DEFAULT_INI_FILE_FACTORY;
+    }
+
+    static ApiClusterTemplate parse(String cmTemplateText) {
         try {
-            cmTemplate = JsonUtil.readValue(cmTemplateText, ApiClusterTemplate.class);
-            transformHostGroupNameToLowerCase();
+            ApiClusterTemplate template = JsonUtil.readValue(cmTemplateText, ApiClusterTemplate.class);
+            transformHostGroupNameToLowerCase(template);
+            return template;
         } catch (IOException e) {
             throw new BlueprintProcessingException("Failed to parse blueprint text.", e);
         }
-        this.iniFileFactory = iniFileFactory;
     }
 
-    private void transformHostGroupNameToLowerCase() {
-        if (!CollectionUtils.isEmpty(cmTemplate.getHostTemplates())) {
-            cmTemplate.getHostTemplates().forEach(ht -> ht.setRefName(ht.getRefName().toLowerCase()));
+    private static void transformHostGroupNameToLowerCase(ApiClusterTemplate template) {
+        if (!CollectionUtils.isEmpty(template.getHostTemplates())) {
+            template.getHostTemplates().forEach(ht -> ht.setRefName(ht.getRefName().toLowerCase()));
         }
     }
 
+    private ApiClusterTemplate ownTemplate() {
+        if (sharedTemplateText != null) {
+            cmTemplate = parse(sharedTemplateText);
+            sharedTemplateText = null;
+        }
+        return cmTemplate;
+    }
+
     @Override
     public ClusterManagerType getClusterManagerType() {
         return ClusterManagerType.CLOUDERA_MANAGER;
@@ -413,7 +436,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
 
     private Map<String, List<String>> getRoleConfigGroupsByHostGroup() {
         Map<String, List<String>> roleConfigGroupsByHostGroup = new HashMap<>();
-        for (ApiClusterTemplateHostTemplate hostTemplate : getHostTemplates()) {
+        for (ApiClusterTemplateHostTemplate hostTemplate : cmTemplate.getHostTemplates()) {
             roleConfigGroupsByHostGroup.put(hostTemplate.getRefName(), hostTemplate.getRoleConfigGroupsRefNames());
         }
         return roleConfigGroupsByHostGroup;
@@ -577,11 +600,11 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public List<ApiClusterTemplateHostTemplate> getHostTemplates() {
-        return cmTemplate.getHostTemplates();
+        return ownTemplate().getHostTemplates();
     }
 
     public boolean everyHostTemplateHasRoleConfigGroupsRefNames() {
-        for (ApiClusterTemplateHostTemplate hostTemplate : getHostTemplates()) {
+        for (ApiClusterTemplateHostTemplate hostTemplate : cmTemplate.getHostTemplates()) {
             if (hostTemplate.getRoleConfigGroupsRefNames() == null) {
                 return false;
             }
@@ -613,7 +636,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public void addInstantiator(ClouderaManagerRepo clouderaManagerRepoDetails, TemplatePreparationObject templatePreparationObject, String sdxContextName) {
-        ApiClusterTemplateInstantiator instantiator = ofNullable(cmTemplate.getInstantiator()).orElseGet(ApiClusterTemplateInstantiator::new);
+        ApiClusterTemplateInstantiator instantiator = ofNullable(ownTemplate().getInstantiator()).orElseGet(ApiClusterTemplateInstantiator::new);
         if (instantiator.getClusterName() == null) {
             instantiator.setClusterName(templatePreparationObject.getGeneralClusterConfigs().getClusterName());
         }
@@ -654,7 +677,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
 
     public void addVariables(List<ApiClusterTemplateVariable> vars) {
         for (ApiClusterTemplateVariable v : vars) {
-            cmTemplate.getInstantiator().addVariablesItem(v);
+            ownTemplate().getInstantiator().addVariablesItem(v);
         }
     }
 
@@ -664,9 +687,9 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
             List<String> serviceRefNames = service.getRoleConfigGroups().stream()
                     .map(ApiClusterTemplateRoleConfigGroup::getRefName).collect(Collectors.toList());
             if (getServiceByType(service.getServiceType()).isEmpty()) {
-                cmTemplate.addServicesItem(service);
+                ownTemplate().addServicesItem(service);
             }
-            cmTemplate.getHostTemplates().stream()
+            ownTemplate().getHostTemplates().stream()
                     .filter(hostTemplate -> hostTemplate.getRefName().equals(hostGroupService.getKey()))
                     .forEach(ht -> ht.getRoleConfigGroupsRefNames().addAll(serviceRefNames));
         }
@@ -872,7 +895,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public boolean isRoleTypePresentInService(String serviceType, List<String> roleTypes) {
-        return getServiceByType(serviceType).filter(acts -> isAnyRoleTypePresent(acts, roleTypes)).isPresent();
+        return findServiceByType(serviceType).filter(acts -> isAnyRoleTypePresent(acts, roleTypes)).isPresent();
     }
 
     private boolean isAnyRoleTypePresent(ApiClusterTemplateService apiClusterTemplateService, List<String> roleTypes) {
@@ -881,6 +904,11 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public Optional<ApiClusterTemplateService> getServiceByType(String serviceType) {
+        ownTemplate();
+        return findServiceByType(serviceType);
+    }
+
+    private Optional<ApiClusterTemplateService> findServiceByType(String serviceType) {
         for (ApiClusterTemplateService service : cmTemplate.getServices()) {
             if (serviceType.equalsIgnoreCase(service.getServiceType())) {
                 return Optional.of(service);
@@ -890,12 +918,12 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public ApiClusterTemplate getTemplate() {
-        return cmTemplate;
+        return ownTemplate();
     }
 
     public void addHosts(Map<String, List<Map<String, String>>> hostGroupMappings) {
         hostGroupMappings.forEach((hostGroup, hostAttributes) -> hostAttributes.forEach(
-                attr -> cmTemplate.getInstantiator().addHostsItem(new ApiClusterTemplateHostInfo()
+                attr -> ownTemplate().getInstantiator().addHostsItem(new ApiClusterTemplateHostInfo()
                         .hostName(attr.get(ClusterHostAttributes.FQDN))
                         .hostTemplateRefName(hostGroup)
                         .rackId(Strings.isNullOrEmpty(attr.get(ClusterHostAttributes.RACK_ID)) ? null : attr.get(ClusterHostAttributes.RACK_ID))
@@ -904,48 +932,48 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public void resetProducts() {
-        cmTemplate.setProducts(new ArrayList<>());
+        ownTemplate().setProducts(new ArrayList<>());
     }
 
     public void resetRepositories() {
-        cmTemplate.setRepositories(new ArrayList<>());
+        ownTemplate().setRepositories(new ArrayList<>());
     }
 
     public void addProduct(String product, String version) {
         ApiProductVersion productVersion = new ApiProductVersion();
         productVersion.setProduct(product);
         productVersion.setVersion(version);
-        cmTemplate.addProductsItem(productVersion);
+        ownTemplate().addProductsItem(productVersion);
     }
 
     public void addRepositoryItem(String repositoriesItem) {
-        cmTemplate.addRepositoriesItem(repositoriesItem);
+        ownTemplate().addRepositoriesItem(repositoriesItem);
     }
 
     public void setCmVersion(String cmVersion) {
-        cmTemplate.setCmVersion(cmVersion);
+        ownTemplate().setCmVersion(cmVersion);
     }
 
     public void setCdhVersion(String cdhVersion) {
-        cmTemplate.setCdhVersion(cdhVersion);
+        ownTemplate().setCdhVersion(cdhVersion);
     }
 
     public void setDisplayName(String displayName) {
-        cmTemplate.setDisplayName(displayName);
+        ownTemplate().setDisplayName(displayName);
     }
 
     public void setHostTemplates(List<ApiClusterTemplateHostTemplate> hostTemplates) {
-        cmTemplate.setHostTemplates(hostTemplates);
+        ownTemplate().setHostTemplates(hostTemplates);
     }
 
     public void setServices(List<ApiClusterTemplateService> services) {
-        cmTemplate.setServices(services);
+        ownTemplate().setServices(services);
     }
 
     public void addDiagnosticTags(TemplatePreparationObject templatePreparationObject, ClouderaManagerRepo clouderaManagerRepo) {
         if (Objects.nonNull(clouderaManagerRepo) && isTagsResourceSupportedViaBlueprint(clouderaManagerRepo)) {
-            cmTemplate.addTagsItem(new ApiEntityTag().name("_cldr_cb_origin").value("cloudbreak"));
-            cmTemplate.addTagsItem(new ApiEntityTag().name("_cldr_cb_clustertype").value(getClusterType(templatePreparationObject.getStackType())));
+            ownTemplate().addTagsItem(new ApiEntityTag().name("_cldr_cb_origin").value("cloudbreak"));
+            ownTemplate().addTagsItem(new ApiEntityTag().name("_cldr_cb_clustertype").value(getClusterType(templatePreparationObject.getStackType())));
         }
     }
 
@@ -995,7 +1023,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public void removeDanglingVariableReferences() {
-        if (cmTemplate.getServices() != null) {
+        if (ownTemplate().getServices() != null) {
             Set<String> existingVariables = cmTemplate.getInstantiator() != null && cmTemplate.getInstantiator().getVariables() != null
                     ? cmTemplate.getInstantiator().getVariables().stream()
                     .map(ApiClusterTemplateVariable::getName)
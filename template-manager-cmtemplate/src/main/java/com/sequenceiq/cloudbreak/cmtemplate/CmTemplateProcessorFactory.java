@@ -1,10 +1,64 @@
 package com.sequenceiq.cloudbreak.cmtemplate;
 
+import static com.sequenceiq.cloudbreak.common.metrics.type.MetricType.CM_TEMPLATE_CACHE_HIT;
+import static com.sequenceiq.cloudbreak.common.metrics.type.MetricType.CM_TEMPLATE_CACHE_MISS;
+import static com.sequenceiq.cloudbreak.common.metrics.type.MetricType.CM_TEMPLATE_CACHE_SIZE;
+import static com.sequenceiq.cloudbreak.common.metrics.type.MetricType.CM_TEMPLATE_PARSE_TIME;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import com.cloudera.api.swagger.model.ApiClusterTemplate;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+/**
+ * Parsed templates are cached by the SHA-256 hash of their text, so processors created for the same blueprint share one parsed
+ * {@link ApiClusterTemplate}. A processor parses its own copy before it changes the template or hands out a part of it, read only callers
+ * do not parse the template at all.
+ */
 @Component
 public class CmTemplateProcessorFactory {
+
+    // Default blueprints of every runtime and the custom blueprints of the accounts in use fit, old runtimes are evicted first
+    private static final long MAX_ENTRIES = 500L;
+
+    private static final long TTL_IN_MINUTES = 60L;
+
+    private final Cache<String, ApiClusterTemplate> parsedTemplates = Caffeine.newBuilder()
+            .recordStats()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterAccess(TTL_IN_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    @Qualifier("CommonMetricService")
+    @Inject
+    private ObjectProvider<MetricService> metricService;
+
+    @PostConstruct
+    public void registerMetrics() {
+        metricService.ifAvailable(service -> {
+            service.registerGaugeMetric(CM_TEMPLATE_CACHE_HIT, parsedTemplates, cache -> cache.stats().hitCount(), Map.of());
+            service.registerGaugeMetric(CM_TEMPLATE_CACHE_MISS, parsedTemplates, cache -> cache.stats().missCount(), Map.of());
+            service.registerGaugeMetric(CM_TEMPLATE_PARSE_TIME, parsedTemplates,
+                    cache -> TimeUnit.NANOSECONDS.toMillis((long) cache.stats().averageLoadPenalty()), Map.of());
+            service.registerGaugeMetric(CM_TEMPLATE_CACHE_SIZE, parsedTemplates, Cache::estimatedSize, Map.of());
+        });
+    }
+
     public CmTemplateProcessor get(String cmTemplateText) {
-        return new CmTemplateProcessor(cmTemplateText);
+        String contentHash = Hashing.sha256().hashString(cmTemplateText, StandardCharsets.UTF_8).toString();
+        ApiClusterTemplate parsedTemplate = parsedTemplates.get(contentHash, hash -> CmTemplateProcessor.parse(cmTemplateText));
+        return new CmTemplateProcessor(cmTemplateText, parsedTemplate);
     }
 }
@@ -0,0 +1,34 @@
+package com.sequenceiq.cloudbreak.cmtemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.sequenceiq.cloudbreak.template.BlueprintProcessingException;
+import com.sequenceiq.cloudbreak.util.FileReaderUtils;
+
+class CmTemplateProcessorFactoryTest {
+
+    private final CmTemplateProcessorFactory underTest = new CmTemplateProcessorFactory();
+
+    @Test
+    void testProcessorsOfSameTextShareParsedTemplateUntilChanged() {
+        String blueprintText = FileReaderUtils.readFileFromClasspathQuietly("input/clouderamanager.bp");
+
+        CmTemplateProcessor processor1 = underTest.get(blueprintText);
+        CmTemplateProcessor processor2 = underTest.get(blueprintText);
+        processor1.setDisplayName("changed");
+
+        assertThat(processor1.getTemplate().getDisplayName()).isEqualTo("changed");
+        assertThat(processor2.getTemplate().getDisplayName()).isNotEqualTo("changed");
+        assertThat(underTest.get(blueprintText).getTemplate().getDisplayName()).isNotEqualTo("changed");
+        assertThat(processor2.getHostTemplateNames()).isEqualTo(processor1.getHostTemplateNames());
+    }
+
+    @Test
+    void testInvalidTextIsNotCached() {
+        assertThrows(BlueprintProcessingException.class, () -> underTest.get("{invalid"));
+        assertThrows(BlueprintProcessingException.class, () -> underTest.get("{invalid"));
+    }
+}